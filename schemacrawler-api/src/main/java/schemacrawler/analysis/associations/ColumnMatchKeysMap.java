@@ -29,8 +29,12 @@ package schemacrawler.analysis.associations;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.analysis.associations.ProposedWeakAssociation.javaSqlTypeName;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.Table;
@@ -41,12 +45,14 @@ final class ColumnMatchKeysMap
 
   private final Multimap<String, Column> columnsForMatchKey;
   private final Multimap<Column, String> matchKeysForColumn;
+  private final Map<String, Multimap<String, Column>> columnsForMatchKeyAndType;
 
   ColumnMatchKeysMap(final List<Table> tables)
   {
     requireNonNull(tables, "No tables provided");
     columnsForMatchKey = new Multimap<>();
     matchKeysForColumn = new Multimap<>();
+    columnsForMatchKeyAndType = new HashMap<>();
 
     for (final Table table : tables)
     {
@@ -74,6 +80,28 @@ final class ColumnMatchKeysMap
     return columnsForMatchKey.get(matchKey);
   }
 
+  /**
+   * Gets columns for a match key, which have the given Java SQL data type.
+   * Columns of any other data type cannot be weakly associated, so they are
+   * not looked at.
+   *
+   * @param matchKey
+   *   Column match key
+   * @param javaSqlTypeName
+   *   Name of the Java SQL data type
+   * @return Columns, in the order that they were mapped
+   */
+  public List<Column> get(final String matchKey, final String javaSqlTypeName)
+  {
+    final Multimap<String, Column> columnsForType =
+      columnsForMatchKeyAndType.get(matchKey);
+    if (columnsForType == null || !columnsForType.containsKey(javaSqlTypeName))
+    {
+      return Collections.emptyList();
+    }
+    return columnsForType.get(javaSqlTypeName);
+  }
+
   @Override
   public String toString()
   {
@@ -101,6 +129,9 @@ final class ColumnMatchKeysMap
       {
         columnsForMatchKey.add(matchColumnName, column);
         matchKeysForColumn.add(column, matchColumnName);
+        columnsForMatchKeyAndType
+          .computeIfAbsent(matchColumnName, key -> new Multimap<>())
+          .add(javaSqlTypeName(column), column);
       }
     }
   }
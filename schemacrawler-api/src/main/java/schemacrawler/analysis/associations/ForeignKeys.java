@@ -30,11 +30,10 @@ package schemacrawler.analysis.associations;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-import schemacrawler.schema.ColumnReference;
 import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.ForeignKeyColumnReference;
 import schemacrawler.schema.Table;
@@ -42,7 +41,7 @@ import schemacrawler.schema.Table;
 final class ForeignKeys
 {
 
-  private final Collection<ColumnReference> foreignKeys;
+  private final Set<ProposedWeakAssociation> foreignKeys;
 
   ForeignKeys(final List<Table> tables)
   {
@@ -56,19 +55,9 @@ final class ForeignKeys
       return false;
     }
 
-    // We have to loop through the collection, since we want to use the
-    // equals from the WeakAssociation
-    for (final ColumnReference columnReference : foreignKeys)
-    {
-      final ProposedWeakAssociation columnReferenceAsProposal =
-        new ProposedWeakAssociation(columnReference);
-      final boolean equals = columnMap.equals(columnReferenceAsProposal);
-      if (equals)
-      {
-        return true;
-      }
-    }
-    return false;
+    // Foreign key column references are held as proposals, so that the
+    // equals from the weak association is used
+    return foreignKeys.contains(columnMap);
   }
 
   @Override
@@ -77,18 +66,18 @@ final class ForeignKeys
     return foreignKeys.toString();
   }
 
-  private Collection<ColumnReference> mapForeignKeyColumns(final List<Table> tables)
+  private Set<ProposedWeakAssociation> mapForeignKeyColumns(final List<Table> tables)
   {
     requireNonNull(tables, "No tables provided");
 
-    final Collection<ColumnReference> fkColumnsMap = new HashSet<>();
+    final Set<ProposedWeakAssociation> fkColumnsMap = new HashSet<>();
     for (final Table table : tables)
     {
       for (final ForeignKey foreignKey : table.getForeignKeys())
       {
         for (final ForeignKeyColumnReference columnRef : foreignKey)
         {
-          fkColumnsMap.add(columnRef);
+          fkColumnsMap.add(new ProposedWeakAssociation(columnRef));
         }
       }
     }
@@ -49,11 +49,35 @@ public final class ProposedWeakAssociation
     super(columnReference.getPrimaryKeyColumn(), columnReference.getForeignKeyColumn());
   }
 
-  public boolean isValid()
+  /**
+   * Gets the name of the Java SQL data type of a column. Columns can only be
+   * weakly associated if they have the same Java SQL data type.
+   *
+   * @param column
+   *   Column
+   * @return Name of the Java SQL data type
+   */
+  static String javaSqlTypeName(final Column column)
   {
-    final Column primaryKeyColumn = getKey();
-    final Column foreignKeyColumn = getValue();
+    final ColumnDataType columnType = column.getColumnDataType();
+    return columnType
+      .getJavaSqlType()
+      .getName();
+  }
 
+  /**
+   * Checks whether a pair of columns can be weakly associated, without
+   * creating a proposal for the pair.
+   *
+   * @param primaryKeyColumn
+   *   Referenced column
+   * @param foreignKeyColumn
+   *   Referencing column
+   * @return True if the columns can be weakly associated
+   */
+  static boolean isValid(final Column primaryKeyColumn,
+                         final Column foreignKeyColumn)
+  {
     final Table pkTable = primaryKeyColumn.getParent();
     final Table fkTable = foreignKeyColumn.getParent();
     if ((foreignKeyColumn.isPartOfPrimaryKey()
@@ -63,15 +87,14 @@ public final class ProposedWeakAssociation
       return false;
     }
 
-    final ColumnDataType fkColumnType = foreignKeyColumn.getColumnDataType();
-    final ColumnDataType pkColumnType = primaryKeyColumn.getColumnDataType();
-    final boolean isValid = fkColumnType
-      .getJavaSqlType()
-      .getName()
-      .equals(pkColumnType
-                .getJavaSqlType()
-                .getName());
+    final boolean isValid = javaSqlTypeName(foreignKeyColumn)
+      .equals(javaSqlTypeName(primaryKeyColumn));
     return isValid;
   }
 
+  public boolean isValid()
+  {
+    return isValid(getKey(), getValue());
+  }
+
 }
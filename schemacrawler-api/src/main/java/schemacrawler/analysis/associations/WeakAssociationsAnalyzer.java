@@ -29,13 +29,16 @@ package schemacrawler.analysis.associations;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.analysis.associations.ProposedWeakAssociation.javaSqlTypeName;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Column;
@@ -46,11 +49,64 @@ import sf.util.StringFormat;
 public final class WeakAssociationsAnalyzer
 {
 
+  /**
+   * Finds weak associations for a range of tables, splitting the range
+   * until it is small enough to analyze on a single thread. Weak
+   * associations are returned in the order of the tables.
+   */
+  private final class WeakAssociationsTask
+    extends RecursiveTask<List<ProposedWeakAssociation>>
+  {
+
+    private static final long serialVersionUID = -2853385209387420624L;
+
+    private final int from;
+    private final int to;
+
+    WeakAssociationsTask(final int from, final int to)
+    {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected List<ProposedWeakAssociation> compute()
+    {
+      if (to - from <= TABLES_PER_TASK)
+      {
+        final List<ProposedWeakAssociation> tableWeakAssociations =
+          new ArrayList<>();
+        for (int i = from; i < to; i++)
+        {
+          findWeakAssociations(tables.get(i), tableWeakAssociations);
+        }
+        return tableWeakAssociations;
+      }
+
+      final int middle = (from + to) >>> 1;
+      final WeakAssociationsTask left = new WeakAssociationsTask(from, middle);
+      final WeakAssociationsTask right = new WeakAssociationsTask(middle, to);
+      left.fork();
+      final List<ProposedWeakAssociation> rightWeakAssociations =
+        right.compute();
+      final List<ProposedWeakAssociation> tableWeakAssociations =
+        left.join();
+      tableWeakAssociations.addAll(rightWeakAssociations);
+      return tableWeakAssociations;
+    }
+
+  }
+
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(WeakAssociationsAnalyzer.class.getName());
 
+  private static final int TABLES_PER_TASK = 32;
+
   private final List<Table> tables;
   private final Collection<ProposedWeakAssociation> weakAssociations;
+  private ForeignKeys foreignKeys;
+  private ColumnMatchKeysMap columnMatchKeysMap;
+  private TableMatchKeys tableMatchKeys;
 
   public WeakAssociationsAnalyzer(final Collection<Table> tables)
   {
@@ -68,62 +124,76 @@ public final class WeakAssociationsAnalyzer
       return Collections.emptySet();
     }
 
-    findWeakAssociations(tables);
+    findWeakAssociations();
 
     return weakAssociations;
   }
 
-  private void findWeakAssociations(final List<Table> tables)
+  private void findWeakAssociations()
   {
     LOGGER.log(Level.INFO, "Finding weak associations");
-    final ForeignKeys foreignKeys = new ForeignKeys(tables);
-    final ColumnMatchKeysMap columnMatchKeysMap = new ColumnMatchKeysMap(tables);
-    final TableMatchKeys tableMatchKeys = new TableMatchKeys(tables);
+    foreignKeys = new ForeignKeys(tables);
+    columnMatchKeysMap = new ColumnMatchKeysMap(tables);
+    tableMatchKeys = new TableMatchKeys(tables);
 
     if (LOGGER.isLoggable(Level.FINER))
     {
       LOGGER.log(Level.FINER, new StringFormat("Column match keys <%s>", columnMatchKeysMap));
       LOGGER.log(Level.FINER, new StringFormat("Column match keys <%s>", tableMatchKeys));
     }
-    for (final Table table : tables)
+
+    // Match keys are only read while tables are analyzed, so tables can be
+    // analyzed in parallel
+    final List<ProposedWeakAssociation> tableWeakAssociations =
+      ForkJoinPool
+        .commonPool()
+        .invoke(new WeakAssociationsTask(0, tables.size()));
+    weakAssociations.clear();
+    weakAssociations.addAll(tableWeakAssociations);
+  }
+
+  private void findWeakAssociations(final Table table,
+                                    final List<ProposedWeakAssociation> tableWeakAssociations)
+  {
+    final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
+    LOGGER.log(Level.FINER, new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
+    for (final Column pkColumn : tableCandidateKeys)
     {
-      final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
-      LOGGER.log(Level.FINER, new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
-      for (final Column pkColumn : tableCandidateKeys)
+      final Set<String> fkColumnMatchKeys = new LinkedHashSet<>();
+      // Look for all columns matching this table match key
+      if (pkColumn.isPartOfPrimaryKey())
       {
-        final Set<String> fkColumnMatchKeys = new HashSet<>();
-        // Look for all columns matching this table match key
-        if (pkColumn.isPartOfPrimaryKey())
-        {
-          fkColumnMatchKeys.addAll(tableMatchKeys.get(table));
-        }
-        // Look for all columns matching this column match key
-        if (columnMatchKeysMap.containsKey(pkColumn))
-        {
-          fkColumnMatchKeys.addAll(columnMatchKeysMap.get(pkColumn));
-        }
-
-        final Set<Column> fkColumns = new HashSet<>();
-        for (final String fkColumnMatchKey : fkColumnMatchKeys)
+        final List<String> tableKeys = tableMatchKeys.get(table);
+        if (tableKeys != null)
         {
-          if (columnMatchKeysMap.containsKey(fkColumnMatchKey))
-          {
-            fkColumns.addAll(columnMatchKeysMap.get(fkColumnMatchKey));
-          }
+          fkColumnMatchKeys.addAll(tableKeys);
         }
+      }
+      // Look for all columns matching this column match key
+      if (columnMatchKeysMap.containsKey(pkColumn))
+      {
+        fkColumnMatchKeys.addAll(columnMatchKeysMap.get(pkColumn));
+      }
 
-        for (final Column fkColumn : fkColumns)
+      // A column has a single column match key, so columns found for
+      // different match keys are always different columns
+      final String pkColumnType = javaSqlTypeName(pkColumn);
+      for (final String fkColumnMatchKey : fkColumnMatchKeys)
+      {
+        for (final Column fkColumn : columnMatchKeysMap.get(fkColumnMatchKey,
+                                                            pkColumnType))
         {
-          if (pkColumn.equals(fkColumn))
+          if (pkColumn.equals(fkColumn)
+              || !ProposedWeakAssociation.isValid(pkColumn, fkColumn))
           {
             continue;
           }
 
           final ProposedWeakAssociation proposedWeakAssociation = new ProposedWeakAssociation(pkColumn, fkColumn);
-          if (proposedWeakAssociation.isValid() && !foreignKeys.contains(proposedWeakAssociation))
+          if (!foreignKeys.contains(proposedWeakAssociation))
           {
             LOGGER.log(Level.FINE, new StringFormat("Found weak association <%s>", proposedWeakAssociation));
-            weakAssociations.add(proposedWeakAssociation);
+            tableWeakAssociations.add(proposedWeakAssociation);
           }
         }
       }
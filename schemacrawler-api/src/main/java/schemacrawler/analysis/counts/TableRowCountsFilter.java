@@ -60,8 +60,10 @@ public class TableRowCountsFilter
     final boolean hideTable;
     if (noEmptyTables)
     {
+      // Estimates from database statistics can be stale, so only
+      // tables that have been counted are known to be empty
       final long count = TableRowCountsUtility.getRowCount(table);
-      hideTable = count == 0;
+      hideTable = count == 0 && !TableRowCountsUtility.isRowCountEstimated(table);
     }
     else
     {
@@ -29,26 +29,53 @@ package schemacrawler.analysis.counts;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.addEstimatedRowCountToTable;
 import static schemacrawler.analysis.counts.TableRowCountsUtility.addRowCountToTable;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
 import static schemacrawler.schemacrawler.QueryUtility.executeForLong;
 import static sf.util.DatabaseUtility.checkConnection;
+import static sf.util.DatabaseUtility.createStatement;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
-import schemacrawler.schemacrawler.Retriever;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Table;
-import schemacrawler.schemacrawler.SchemaCrawlerException;
-import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
 import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.Retriever;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
 
+/**
+ * Retrieves table row counts, either by counting rows, or by estimating them
+ * from database statistics. Rows can be counted on a number of connections at
+ * a time, with a query timeout for each table.
+ *
+ * @author Sualeh Fatehi
+ */
 @Retriever
 public final class TableRowCountsRetriever
 {
@@ -56,18 +83,62 @@ public final class TableRowCountsRetriever
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(TableRowCountsRetriever.class.getName());
 
+  private static final long UNKNOWN_ROW_COUNT = -1;
+
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
   private final Catalog catalog;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
 
   public TableRowCountsRetriever(final Connection connection, final Catalog catalog)
     throws SchemaCrawlerSQLException
+  {
+    this(connection,
+         null,
+         catalog,
+         SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions());
+  }
+
+  /**
+   * Retrieves table row counts on a live database connection, along with a
+   * supplier of additional connections for counting rows in parallel.
+   *
+   * @param connection
+   *   Live database connection
+   * @param connectionSupplier
+   *   Supplier of additional connections, or null if none are available
+   * @param catalog
+   *   Catalog with tables to count rows for
+   * @param schemaRetrievalOptions
+   *   Database-specific schema retrieval overrides
+   */
+  public TableRowCountsRetriever(final Connection connection,
+                                 final Supplier<Connection> connectionSupplier,
+                                 final Catalog catalog,
+                                 final SchemaRetrievalOptions schemaRetrievalOptions)
+    throws SchemaCrawlerSQLException
   {
     this.connection = checkConnection(connection);
+    this.connectionSupplier = connectionSupplier;
     this.catalog = requireNonNull(catalog, "No catalog provided");
+    this.schemaRetrievalOptions = requireNonNull(schemaRetrievalOptions,
+                                                 "No database specific overrides provided");
   }
 
   public void retrieveTableRowCounts()
   {
+    retrieveTableRowCounts(catalog.getTables());
+  }
+
+  /**
+   * Retrieves row counts for some of the tables in the catalog.
+   *
+   * @param tables
+   *   Tables to count rows for
+   */
+  public void retrieveTableRowCounts(final Collection<Table> tables)
+  {
+    requireNonNull(tables, "No tables provided");
 
     Identifiers identifiers;
     try
@@ -91,21 +162,246 @@ public final class TableRowCountsRetriever
       return;
     }
 
+    final List<Table> allTables = new ArrayList<>(tables);
+    final List<Table> countTables;
+    if (schemaRetrievalOptions.isEstimatedTableRowCounts())
+    {
+      countTables = retrieveEstimatedTableRowCounts(allTables);
+    }
+    else
+    {
+      countTables = allTables;
+    }
+
+    countTableRows(countTables, identifiers);
+
+  }
+
+  /**
+   * Counts rows for each table. The calling thread counts rows on the crawl
+   * connection, while worker threads count rows on connections of their own,
+   * each taking the next table that has not been counted. Counts are added to
+   * the tables once all counting is done.
+   */
+  private void countTableRows(final List<Table> tables,
+                              final Identifiers identifiers)
+  {
+    if (tables.isEmpty())
+    {
+      return;
+    }
+
+    final AtomicLongArray counts = new AtomicLongArray(tables.size());
+    for (int i = 0; i < tables.size(); i++)
+    {
+      counts.set(i, UNKNOWN_ROW_COUNT);
+    }
+    final AtomicInteger nextTable = new AtomicInteger();
+
+    final int parallelism;
+    if (connectionSupplier == null)
+    {
+      parallelism = 1;
+    }
+    else
+    {
+      parallelism = Math.min(schemaRetrievalOptions.getTableRowCountsParallelism(), tables.size());
+    }
+    LOGGER.log(Level.INFO,
+               new StringFormat("Counting rows for %d tables, over %d connections",
+                                tables.size(),
+                                parallelism));
+
+    final ExecutorService executorService;
+    final List<Future<Void>> workers = new ArrayList<>();
+    if (parallelism > 1)
+    {
+      executorService = Executors.newFixedThreadPool(parallelism - 1);
+      for (int i = 1; i < parallelism; i++)
+      {
+        workers.add(executorService.submit(() -> {
+          try (final Connection workerConnection = checkConnection(connectionSupplier.get()))
+          {
+            countTableRows(workerConnection, tables, identifiers, nextTable, counts);
+          }
+          catch (final SQLException e)
+          {
+            // Tables not yet counted are taken by the other connections
+            LOGGER.log(Level.WARNING, "Could not count table rows on a worker connection", e);
+          }
+          return null;
+        }));
+      }
+    }
+    else
+    {
+      executorService = null;
+    }
+
+    try
+    {
+      countTableRows(connection, tables, identifiers, nextTable, counts);
+      for (final Future<Void> worker : workers)
+      {
+        worker.get();
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      Thread
+        .currentThread()
+        .interrupt();
+      LOGGER.log(Level.WARNING, "Interrupted counting table rows", e);
+    }
+    catch (final ExecutionException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not count table rows", e);
+    }
+    finally
+    {
+      if (executorService != null)
+      {
+        executorService.shutdownNow();
+      }
+    }
+
+    for (int i = 0; i < tables.size(); i++)
+    {
+      // Tables that could not be counted are left without a row count,
+      // rather than one from a previous crawl
+      addRowCountToTable(tables.get(i), counts.get(i));
+    }
+  }
+
+  private void countTableRows(final Connection connection,
+                              final List<Table> tables,
+                              final Identifiers identifiers,
+                              final AtomicInteger nextTable,
+                              final AtomicLongArray counts)
+  {
     final Query query = new Query("schemacrawler.table.row_counts", "SELECT COUNT(*) FROM ${table}");
-    final List<Table> allTables = new ArrayList<>(catalog.getTables());
-    for (final Table table : allTables)
+    final int queryTimeout = schemaRetrievalOptions.getTableRowCountsQueryTimeout();
+
+    int tableIndex;
+    while ((tableIndex = nextTable.getAndIncrement()) < tables.size())
     {
-      try
+      final Table table = tables.get(tableIndex);
+      try (final Statement statement = createStatement(connection))
       {
-        final long count = executeForLong(query, connection, table, identifiers);
-        addRowCountToTable(table, count);
+        if (queryTimeout > 0)
+        {
+          statement.setQueryTimeout(queryTimeout);
+        }
+        final long count = executeForLong(query, statement, table, identifiers);
+        counts.set(tableIndex, count);
       }
-      catch (final SchemaCrawlerException e)
+      catch (final SchemaCrawlerException | SQLException e)
       {
         LOGGER.log(Level.WARNING, new StringFormat("Could not get count for table <%s>", table), e);
       }
     }
+  }
+
+  /**
+   * Estimates table row counts from database statistics, using the table row
+   * counts query from the database plugin.
+   *
+   * @return Tables that have no estimate, and need their rows counted
+   */
+  private List<Table> retrieveEstimatedTableRowCounts(final List<Table> tables)
+  {
+    final InformationSchemaViews informationSchemaViews =
+      schemaRetrievalOptions.getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(InformationSchemaKey.TABLE_ROW_COUNTS))
+    {
+      LOGGER.log(Level.INFO,
+                 "Not estimating table row counts, since table row counts SQL statement was not provided");
+      return tables;
+    }
+    final Query tableRowCountsSql =
+      informationSchemaViews.getQuery(InformationSchemaKey.TABLE_ROW_COUNTS);
+
+    final Map<List<String>, Table> tablesMap = new HashMap<>();
+    for (final Table table : tables)
+    {
+      tablesMap.put(table.toUniqueLookupKey(), table);
+    }
+
+    final Map<Table, Long> estimates = new HashMap<>();
+    try (
+      final Statement statement = createStatement(connection);
+      final ResultSet results = executeAgainstSchema(tableRowCountsSql, statement, null)
+    )
+    {
+      while (results != null && results.next())
+      {
+        final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
+        final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEMA"));
+        final String tableName = results.getString("TABLE_NAME");
+        final long rowCount = results.getLong("ROW_COUNT");
+        if (results.wasNull() || rowCount <= 0)
+        {
+          // No statistics have been gathered for the table - some
+          // databases report zero rows for tables that were never
+          // analyzed, so empty tables are counted to be sure
+          continue;
+        }
+
+        final Table table = tablesMap.get(Arrays.asList(catalogName, schemaName, tableName));
+        if (table != null)
+        {
+          estimates.put(table, rowCount);
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not estimate table row counts", e);
+      return tables;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Estimated row counts for %d of %d tables",
+                                estimates.size(),
+                                tables.size()));
+
+    final List<Table> countTables = new ArrayList<>();
+    for (final Table table : tables)
+    {
+      if (estimates.containsKey(table))
+      {
+        addEstimatedRowCountToTable(table, estimates.get(table));
+      }
+      else
+      {
+        countTables.add(table);
+      }
+    }
+    return countTables;
+  }
 
+  private String normalizeCatalogName(final String name)
+  {
+    if (schemaRetrievalOptions.isSupportsCatalogs())
+    {
+      return name;
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  private String normalizeSchemaName(final String name)
+  {
+    if (schemaRetrievalOptions.isSupportsSchemas())
+    {
+      return name;
+    }
+    else
+    {
+      return null;
+    }
   }
 
 }
@@ -39,6 +39,8 @@ public final class TableRowCountsUtility
 
   private static final int UNKNOWN_TABLE_ROW_COUNT = -1;
   private static final String TABLE_ROW_COUNT_KEY = "schemacrawler.table.row_count";
+  private static final String TABLE_ROW_COUNT_ESTIMATED_KEY =
+    "schemacrawler.table.row_count_estimated";
 
   static void addRowCountToTable(final Table table, final long rowCount)
   {
@@ -52,6 +54,28 @@ public final class TableRowCountsUtility
       {
         table.removeAttribute(TABLE_ROW_COUNT_KEY);
       }
+      table.removeAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY);
+    }
+  }
+
+  /**
+   * Adds a row count estimated from database statistics, which is marked as
+   * an estimate, so that it is not taken to be an exact count.
+   *
+   * @param table
+   *   Table to add the estimate to
+   * @param rowCount
+   *   Estimated row count
+   */
+  static void addEstimatedRowCountToTable(final Table table, final long rowCount)
+  {
+    if (table != null)
+    {
+      addRowCountToTable(table, rowCount);
+      if (rowCount >= 0)
+      {
+        table.setAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY, true);
+      }
     }
   }
 
@@ -68,7 +92,15 @@ public final class TableRowCountsUtility
 
   public static String getRowCountMessage(final Table table)
   {
-    return getRowCountMessage(getRowCount(table));
+    final String message = getRowCountMessage(getRowCount(table));
+    if (isRowCountEstimated(table))
+    {
+      return "about " + message;
+    }
+    else
+    {
+      return message;
+    }
   }
 
   /**
@@ -97,6 +129,19 @@ public final class TableRowCountsUtility
     return table != null && table.hasAttribute(TABLE_ROW_COUNT_KEY);
   }
 
+  /**
+   * Whether the row count for the table was estimated from database
+   * statistics, rather than counted.
+   *
+   * @param table
+   *   Table to check
+   * @return Whether the row count is an estimate
+   */
+  public static boolean isRowCountEstimated(final Table table)
+  {
+    return hasRowCount(table) && table.getAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY, false);
+  }
+
   private TableRowCountsUtility()
   {
     // Prevent instantiation
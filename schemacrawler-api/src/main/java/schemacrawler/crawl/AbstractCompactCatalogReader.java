@@ -0,0 +1,865 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import static schemacrawler.crawl.CompactCatalogFormat.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.DriverPropertyInfo;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import schemacrawler.BaseProductVersion;
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.ParameterModeType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Base class for readers of compact binary catalog snapshots. Decodes the
+ * records that are common to all snapshot layouts, from the current body
+ * stream. Subclasses decide where records are read from, and how references
+ * to strings, columns and synonym targets are resolved.
+ *
+ * @author Sualeh Fatehi
+ */
+abstract class AbstractCompactCatalogReader
+{
+
+  private final JavaSqlTypes javaSqlTypes;
+  private final Map<NamedObjectKey, SchemaReference> schemas;
+  private final Map<NamedObjectKey, TablePartial> partialTables;
+  private final List<MutableColumnDataType> columnDataTypes;
+  DataInputStream body;
+  MutableCatalog catalog;
+
+  AbstractCompactCatalogReader()
+  {
+    javaSqlTypes = new JavaSqlTypes();
+    schemas = new HashMap<>();
+    partialTables = new HashMap<>();
+    columnDataTypes = new ArrayList<>();
+  }
+
+  /**
+   * Looks up a string from the string table of the snapshot.
+   *
+   * @param stringId
+   *   String id, starting from 1
+   * @return String value
+   * @throws IOException
+   *   On an exception reading the string table
+   */
+  abstract String lookupString(int stringId)
+    throws IOException;
+
+  abstract Column readColumnReference()
+    throws IOException;
+
+  abstract DatabaseObject readSynonymReference()
+    throws IOException;
+
+  final BigInteger readBigInteger()
+    throws IOException
+  {
+    final String value = readString();
+    return value == null? null: new BigInteger(value);
+  }
+
+  /**
+   * Reads the catalog, database and driver information, schemas and column
+   * data types, which come before any tables in every snapshot layout.
+   *
+   * @throws IOException
+   *   On an exception reading the snapshot
+   */
+  final void readCatalogHeader()
+    throws IOException
+  {
+    final String name = readString();
+    catalog = new MutableCatalog(name, readCrawlInfo());
+    readRemarksAndAttributes(catalog);
+    readDatabaseInfo(catalog.getDatabaseInfo());
+    readJdbcDriverInfo(catalog.getJdbcDriverInfo());
+
+    final int schemasCount = readVarInt();
+    for (int i = 0; i < schemasCount; i++)
+    {
+      final SchemaReference schema = readSchema();
+      final int attributesCount = readVarInt();
+      for (int j = 0; j < attributesCount; j++)
+      {
+        final String attributeName = readString();
+        schema.setAttribute(attributeName, readValue());
+      }
+      catalog.addSchema(schema);
+    }
+
+    readColumnDataTypes();
+  }
+
+  final MutableForeignKey readForeignKey()
+    throws IOException
+  {
+    final MutableForeignKey foreignKey = new MutableForeignKey(readString());
+    foreignKey.setSpecificName(readString());
+    foreignKey.setUpdateRule(readEnum(ForeignKeyUpdateRule.class));
+    foreignKey.setDeleteRule(readEnum(ForeignKeyUpdateRule.class));
+    foreignKey.setDeferrability(readEnum(ForeignKeyDeferrability.class));
+    foreignKey.appendDefinition(readString());
+    readRemarksAndAttributes(foreignKey);
+    final int columnReferencesCount = readVarInt();
+    for (int j = 0; j < columnReferencesCount; j++)
+    {
+      final int keySequence = readSignedVarInt();
+      final Column pkColumn = readColumnReference();
+      final Column fkColumn = readColumnReference();
+      foreignKey.addColumnReference(keySequence, pkColumn, fkColumn);
+    }
+    return foreignKey;
+  }
+
+  /**
+   * Reads a reference to a synonym target that is neither a table nor a
+   * routine in the snapshot.
+   *
+   * @return Database object with just a schema and a name
+   * @throws IOException
+   *   On an exception reading the snapshot
+   */
+  final DatabaseObject readOtherSynonymReference()
+    throws IOException
+  {
+    final Schema schema = readSchema();
+    final String name = readString();
+    return new AbstractDatabaseObject(schema, name)
+    {
+
+      private static final long serialVersionUID = -2212843304418302122L;
+    };
+  }
+
+  /**
+   * Reads a reference to a column of a table that was not crawled, and
+   * resolves it to a partial column.
+   *
+   * @return Partial column
+   * @throws IOException
+   *   On an exception reading the snapshot
+   */
+  final Column readPartialColumnReference()
+    throws IOException
+  {
+    final Schema schema = readSchema();
+    final String tableName = readString();
+    final String columnName = readString();
+    final TablePartial table = partialTables.computeIfAbsent(
+      new NamedObjectKey(schema.getCatalogName(), schema.getName(), tableName),
+      key -> new TablePartial(schema, tableName));
+    final Column column = table
+      .lookupColumn(columnName)
+      .orElse(null);
+    if (column != null)
+    {
+      return column;
+    }
+    final ColumnPartial columnPartial = new ColumnPartial(table, columnName);
+    table.addColumn(columnPartial);
+    return columnPartial;
+  }
+
+  final MutableRoutine readRoutine()
+    throws IOException
+  {
+    final int kind = readVarInt();
+    final Schema schema = readSchema();
+    final String name = readString();
+    final String specificName = readString();
+    final String returnType = readString();
+
+    final MutableRoutine routine;
+    if (kind == FUNCTION)
+    {
+      final MutableFunction function = new MutableFunction(schema, name);
+      if (returnType != null)
+      {
+        function.setReturnType(FunctionReturnType.valueOf(returnType));
+      }
+      routine = function;
+    }
+    else
+    {
+      final MutableProcedure procedure = new MutableProcedure(schema, name);
+      if (returnType != null)
+      {
+        procedure.setReturnType(ProcedureReturnType.valueOf(returnType));
+      }
+      routine = procedure;
+    }
+    routine.setSpecificName(specificName);
+    routine.setRoutineBodyType(readEnum(RoutineBodyType.class));
+    routine.appendDefinition(readString());
+    readRemarksAndAttributes(routine);
+
+    final int parametersCount = readVarInt();
+    for (int i = 0; i < parametersCount; i++)
+    {
+      final String parameterName = readString();
+      final MutableRoutineParameter<?> parameter;
+      if (routine instanceof MutableFunction)
+      {
+        parameter =
+          new MutableFunctionParameter((MutableFunction) routine, parameterName);
+      }
+      else
+      {
+        parameter = new MutableProcedureParameter((MutableProcedure) routine,
+                                                  parameterName);
+      }
+      readBaseColumn(parameter);
+      parameter.setNullable(body.readBoolean());
+      parameter.setPrecision(readSignedVarInt());
+      parameter.setParameterMode(readEnum(ParameterModeType.class));
+      readRemarksAndAttributes(parameter);
+      if (routine instanceof MutableFunction)
+      {
+        ((MutableFunction) routine).addParameter((MutableFunctionParameter) parameter);
+      }
+      else
+      {
+        ((MutableProcedure) routine).addParameter((MutableProcedureParameter) parameter);
+      }
+    }
+
+    return routine;
+  }
+
+  final SchemaReference readSchema()
+    throws IOException
+  {
+    final String catalogName = readString();
+    final String schemaName = readString();
+    return schemas.computeIfAbsent(new NamedObjectKey(catalogName, schemaName),
+                                   key -> new SchemaReference(catalogName,
+                                                              schemaName));
+  }
+
+  final MutableSequence readSequence()
+    throws IOException
+  {
+    final Schema schema = readSchema();
+    final MutableSequence sequence = new MutableSequence(schema, readString());
+    sequence.setIncrement(readVarLong());
+    sequence.setMinimumValue(readBigInteger());
+    sequence.setMaximumValue(readBigInteger());
+    sequence.setCycle(body.readBoolean());
+    readRemarksAndAttributes(sequence);
+    return sequence;
+  }
+
+  final String readString()
+    throws IOException
+  {
+    final int stringId = readVarInt();
+    if (stringId == 0)
+    {
+      return null;
+    }
+    return lookupString(stringId);
+  }
+
+  final MutableSynonym readSynonym()
+    throws IOException
+  {
+    final Schema schema = readSchema();
+    final MutableSynonym synonym = new MutableSynonym(schema, readString());
+    synonym.setReferencedObject(readSynonymReference());
+    readRemarksAndAttributes(synonym);
+    return synonym;
+  }
+
+  /**
+   * Reads a table, without its columns or any of its details.
+   *
+   * @return Table
+   * @throws IOException
+   *   On an exception reading the snapshot
+   */
+  final MutableTable readTable()
+    throws IOException
+  {
+    final int kind = readVarInt();
+    final Schema schema = readSchema();
+    final String name = readString();
+
+    final MutableTable table;
+    if (kind == VIEW)
+    {
+      table = new MutableView(schema, name);
+    }
+    else
+    {
+      table = new MutableTable(schema, name);
+    }
+    table.setTableType(new TableType(readString()));
+    table.appendDefinition(readString());
+    table.setSortIndex(readSignedVarInt());
+    if (kind == VIEW)
+    {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(readEnum(CheckOptionType.class));
+      view.setUpdatable(body.readBoolean());
+    }
+    readRemarksAndAttributes(table);
+    return table;
+  }
+
+  /**
+   * Reads the columns of a table, followed by the hidden columns, and adds
+   * them to the table.
+   *
+   * @param table
+   *   Table to add columns to
+   * @return Columns that were read, in the order that they were written
+   * @throws IOException
+   *   On an exception reading the snapshot
+   */
+  final List<MutableColumn> readTableColumns(final MutableTable table)
+    throws IOException
+  {
+    final int columnsCount = readVarInt();
+    final List<MutableColumn> columns = new ArrayList<>(columnsCount);
+    for (int i = 0; i < columnsCount; i++)
+    {
+      final MutableColumn column = readColumn(table);
+      table.addColumn(column);
+      columns.add(column);
+    }
+    final int hiddenColumnsCount = readVarInt();
+    for (int i = 0; i < hiddenColumnsCount; i++)
+    {
+      final MutableColumn column = readColumn(table);
+      table.addHiddenColumn(column);
+      columns.add(column);
+    }
+    return columns;
+  }
+
+  final void readTableDetails(final MutableTable table)
+    throws IOException
+  {
+    if (body.readBoolean())
+    {
+      final MutablePrimaryKey primaryKey =
+        new MutablePrimaryKey(table, readString());
+      readTableConstraint(primaryKey);
+      table.setPrimaryKey(primaryKey);
+    }
+
+    final int indexesCount = readVarInt();
+    for (int i = 0; i < indexesCount; i++)
+    {
+      readIndex(table);
+    }
+
+    final int tableConstraintsCount = readVarInt();
+    for (int i = 0; i < tableConstraintsCount; i++)
+    {
+      final MutableTableConstraint tableConstraint =
+        new MutableTableConstraint(table, readString());
+      readTableConstraint(tableConstraint);
+      table.addTableConstraint(tableConstraint);
+    }
+
+    final int triggersCount = readVarInt();
+    for (int i = 0; i < triggersCount; i++)
+    {
+      final MutableTrigger trigger = new MutableTrigger(table, readString());
+      trigger.setEventManipulationType(readEnum(EventManipulationType.class));
+      trigger.setActionOrder(readSignedVarInt());
+      trigger.setActionOrientation(readEnum(ActionOrientationType.class));
+      trigger.setConditionTiming(readEnum(ConditionTimingType.class));
+      trigger.appendActionCondition(readString());
+      trigger.appendActionStatement(readString());
+      readRemarksAndAttributes(trigger);
+      table.addTrigger(trigger);
+    }
+
+    final int privilegesCount = readVarInt();
+    for (int i = 0; i < privilegesCount; i++)
+    {
+      final MutablePrivilege<Table> privilege =
+        new MutablePrivilege<>(new TableReference(table), readString());
+      readPrivilege(privilege);
+      table.addPrivilege(privilege);
+    }
+  }
+
+  final int readVarInt()
+    throws IOException
+  {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift = shift + 7)
+    {
+      final int b = body.readUnsignedByte();
+      value = value | (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+
+  final WeakAssociation readWeakAssociation()
+    throws IOException
+  {
+    final WeakAssociation weakAssociation = new WeakAssociation(readString());
+    final int columnReferencesCount = readVarInt();
+    for (int j = 0; j < columnReferencesCount; j++)
+    {
+      final Column pkColumn = readColumnReference();
+      final Column fkColumn = readColumnReference();
+      weakAssociation.addColumnReference(pkColumn, fkColumn);
+    }
+    return weakAssociation;
+  }
+
+  private void readAttributes(final AbstractNamedObjectWithAttributes namedObject)
+    throws IOException
+  {
+    // Attributes from metadata may have null values, which are kept
+    final int count = readVarInt();
+    final Map<String, Object> attributes = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++)
+    {
+      final String name = readString();
+      attributes.put(name, readValue());
+    }
+    namedObject.addAttributes(attributes);
+  }
+
+  private void readBaseColumn(final AbstractColumn<?> column)
+    throws IOException
+  {
+    column.setOrdinalPosition(readSignedVarInt());
+    column.setColumnDataType(readColumnDataTypeId());
+    column.setSize(readSignedVarInt());
+    column.setDecimalDigits(readSignedVarInt());
+  }
+
+  private MutableColumn readColumn(final MutableTable table)
+    throws IOException
+  {
+    final MutableColumn column = new MutableColumn(table, readString());
+
+    readBaseColumn(column);
+    final int flags = readVarInt();
+    column.setNullable((flags & COLUMN_NULLABLE) != 0);
+    column.setAutoIncremented((flags & COLUMN_AUTO_INCREMENTED) != 0);
+    column.setGenerated((flags & COLUMN_GENERATED) != 0);
+    column.setHidden((flags & COLUMN_HIDDEN) != 0);
+    if ((flags & COLUMN_PART_OF_PRIMARY_KEY) != 0)
+    {
+      column.markAsPartOfPrimaryKey();
+    }
+    if ((flags & COLUMN_PART_OF_INDEX) != 0)
+    {
+      column.markAsPartOfIndex();
+    }
+    if ((flags & COLUMN_PART_OF_UNIQUE_INDEX) != 0)
+    {
+      column.markAsPartOfUniqueIndex();
+    }
+    column.setDefaultValue(readString());
+    readRemarksAndAttributes(column);
+
+    final int privilegesCount = readVarInt();
+    for (int i = 0; i < privilegesCount; i++)
+    {
+      final MutablePrivilege<Column> privilege =
+        new MutablePrivilege<>(new ColumnReference(column), readString());
+      readPrivilege(privilege);
+      column.addPrivilege(privilege);
+    }
+    return column;
+  }
+
+  private MutableColumnDataType readColumnDataTypeId()
+    throws IOException
+  {
+    final int columnDataTypeId = readVarInt();
+    if (columnDataTypeId == 0)
+    {
+      return null;
+    }
+    return columnDataTypes.get(columnDataTypeId - 1);
+  }
+
+  private void readColumnDataTypes()
+    throws IOException
+  {
+    final int count = readVarInt();
+    final int[] baseTypeIds = new int[count];
+    for (int i = 0; i < count; i++)
+    {
+      final int flags = readVarInt();
+      final Schema schema = readSchema();
+      final MutableColumnDataType columnDataType =
+        new MutableColumnDataType(schema, readString());
+      columnDataType.setAutoIncrementable((flags & TYPE_AUTO_INCREMENTABLE)
+                                          != 0);
+      columnDataType.setCaseSensitive((flags & TYPE_CASE_SENSITIVE) != 0);
+      columnDataType.setFixedPrecisionScale(
+        (flags & TYPE_FIXED_PRECISION_SCALE) != 0);
+      columnDataType.setNullable((flags & TYPE_NULLABLE) != 0);
+      columnDataType.setUnsigned((flags & TYPE_UNSIGNED) != 0);
+      columnDataType.setUserDefined((flags & TYPE_USER_DEFINED) != 0);
+      columnDataType.setJavaSqlType(javaSqlTypes.valueOf(readSignedVarInt()));
+      columnDataType.setTypeMappedClass(readString());
+      columnDataType.setCreateParameters(readString());
+      columnDataType.setLiteralPrefix(readString());
+      columnDataType.setLiteralSuffix(readString());
+      columnDataType.setLocalTypeName(readString());
+      columnDataType.setMaximumScale(readSignedVarInt());
+      columnDataType.setMinimumScale(readSignedVarInt());
+      columnDataType.setNumPrecisionRadix(readSignedVarInt());
+      columnDataType.setPrecision(readVarLong());
+      columnDataType.setSearchable(readEnum(SearchableType.class));
+      final int enumValuesCount = readVarInt();
+      final List<String> enumValues = new ArrayList<>(enumValuesCount);
+      for (int j = 0; j < enumValuesCount; j++)
+      {
+        enumValues.add(readString());
+      }
+      columnDataType.setEnumValues(enumValues);
+      baseTypeIds[i] = readVarInt();
+      readRemarksAndAttributes(columnDataType);
+
+      columnDataTypes.add(columnDataType);
+      if ((flags & TYPE_IN_CATALOG) != 0)
+      {
+        catalog.addColumnDataType(columnDataType);
+      }
+    }
+
+    // Base types may be defined after the types that refer to them
+    for (int i = 0; i < count; i++)
+    {
+      if (baseTypeIds[i] > 0)
+      {
+        columnDataTypes
+          .get(i)
+          .setBaseType(columnDataTypes.get(baseTypeIds[i] - 1));
+      }
+    }
+  }
+
+  private MutableCrawlInfo readCrawlInfo()
+    throws IOException
+  {
+    final LocalDateTime crawlTimestamp = LocalDateTime.parse(readString());
+    final String runId = readString();
+    final ProductVersion schemaCrawlerVersion = readProductVersion();
+    final ProductVersion operatingSystemVersion = readProductVersion();
+    final ProductVersion jvmVersion = readProductVersion();
+    final ProductVersion databaseVersion = readProductVersion();
+    final ProductVersion jdbcDriverVersion = readProductVersion();
+    final int count = readVarInt();
+    final Map<String, Long> metadataRowCounts = new TreeMap<>();
+    for (int i = 0; i < count; i++)
+    {
+      final String key = readString();
+      metadataRowCounts.put(key, readVarLong());
+    }
+    return new MutableCrawlInfo(crawlTimestamp,
+                                runId,
+                                schemaCrawlerVersion,
+                                operatingSystemVersion,
+                                jvmVersion,
+                                databaseVersion,
+                                jdbcDriverVersion,
+                                metadataRowCounts);
+  }
+
+  private void readDatabaseInfo(final MutableDatabaseInfo databaseInfo)
+    throws IOException
+  {
+    databaseInfo.setProductName(readString());
+    databaseInfo.setProductVersion(readString());
+    databaseInfo.setUserName(readString());
+    final int propertiesCount = readVarInt();
+    final List<ImmutableDatabaseProperty> properties =
+      new ArrayList<>(propertiesCount);
+    for (int i = 0; i < propertiesCount; i++)
+    {
+      final String name = readString();
+      properties.add(new ImmutableDatabaseProperty(name, readValue()));
+    }
+    databaseInfo.addAll(properties);
+    final int serverInfoCount = readVarInt();
+    for (int i = 0; i < serverInfoCount; i++)
+    {
+      final String name = readString();
+      final String value = readString();
+      final String description = readString();
+      databaseInfo.addServerInfo(new ImmutableServerInfoProperty(name,
+                                                                 value,
+                                                                 description));
+    }
+  }
+
+  private <E extends Enum<E>> E readEnum(final Class<E> enumClass)
+    throws IOException
+  {
+    final String name = readString();
+    if (name == null)
+    {
+      return null;
+    }
+    return Enum.valueOf(enumClass, name);
+  }
+
+  private void readIndex(final MutableTable table)
+    throws IOException
+  {
+    final MutableIndex index = new MutableIndex(table, readString());
+    index.setUnique(body.readBoolean());
+    index.setIndexType(readEnum(IndexType.class));
+    index.setCardinality(readSignedVarInt());
+    index.setPages(readSignedVarInt());
+    index.appendDefinition(readString());
+    readRemarksAndAttributes(index);
+    final int columnsCount = readVarInt();
+    for (int i = 0; i < columnsCount; i++)
+    {
+      final MutableIndexColumn indexColumn =
+        new MutableIndexColumn(index, readColumnReference());
+      readKeyColumn(indexColumn);
+      indexColumn.setSortSequence(readEnum(IndexColumnSortSequence.class));
+      index.addColumn(indexColumn);
+    }
+    table.addIndex(index);
+  }
+
+  private void readJdbcDriverInfo(final MutableJdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    jdbcDriverInfo.setDriverName(readString());
+    jdbcDriverInfo.setDriverVersion(readString());
+    jdbcDriverInfo.setJdbcDriverClassName(readString());
+    jdbcDriverInfo.setConnectionUrl(readString());
+    jdbcDriverInfo.setJdbcCompliant(body.readBoolean());
+    final int count = readVarInt();
+    for (int i = 0; i < count; i++)
+    {
+      final String name = readString();
+      final String value = readString();
+      final DriverPropertyInfo driverPropertyInfo =
+        new DriverPropertyInfo(name, value);
+      driverPropertyInfo.description = readString();
+      driverPropertyInfo.required = body.readBoolean();
+      final String[] choices = new String[readVarInt()];
+      for (int j = 0; j < choices.length; j++)
+      {
+        choices[j] = readString();
+      }
+      driverPropertyInfo.choices = choices;
+      jdbcDriverInfo.addJdbcDriverProperty(new ImmutableJdbcDriverProperty(
+        driverPropertyInfo));
+    }
+  }
+
+  private void readKeyColumn(final MutableKeyColumn keyColumn)
+    throws IOException
+  {
+    keyColumn.setKeyOrdinalPosition(readSignedVarInt());
+    keyColumn.appendDefinition(readString());
+    readAttributes(keyColumn);
+  }
+
+  private void readPrivilege(final MutablePrivilege<?> privilege)
+    throws IOException
+  {
+    final int grantsCount = readVarInt();
+    for (int i = 0; i < grantsCount; i++)
+    {
+      final String grantor = readString();
+      final String grantee = readString();
+      privilege.addGrant(grantor, grantee, body.readBoolean());
+    }
+    readRemarksAndAttributes(privilege);
+  }
+
+  private ProductVersion readProductVersion()
+    throws IOException
+  {
+    final String productName = readString();
+    final String productVersion = readString();
+    if (productName == null)
+    {
+      return null;
+    }
+    return new BaseProductVersion(productName,
+                                  productVersion == null? "": productVersion);
+  }
+
+  private void readRemarksAndAttributes(final AbstractNamedObjectWithAttributes namedObject)
+    throws IOException
+  {
+    namedObject.setRemarks(readString());
+    readAttributes(namedObject);
+  }
+
+  private void readTableConstraint(final MutableTableConstraint tableConstraint)
+    throws IOException
+  {
+    tableConstraint.setTableConstraintType(readEnum(TableConstraintType.class));
+    tableConstraint.setDeferrable(body.readBoolean());
+    tableConstraint.setInitiallyDeferred(body.readBoolean());
+    tableConstraint.appendDefinition(readString());
+    readRemarksAndAttributes(tableConstraint);
+    final int columnsCount = readVarInt();
+    for (int i = 0; i < columnsCount; i++)
+    {
+      final MutableTableConstraintColumn constraintColumn =
+        new MutableTableConstraintColumn(tableConstraint,
+                                         (MutableColumn) readColumnReference());
+      readKeyColumn(constraintColumn);
+      tableConstraint.addColumn(constraintColumn);
+    }
+  }
+
+  private Object readValue()
+    throws IOException
+  {
+    final int tag = readVarInt();
+    switch (tag)
+    {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return readString();
+      case VALUE_BOOLEAN:
+        return body.readBoolean();
+      case VALUE_INTEGER:
+        return readSignedVarInt();
+      case VALUE_LONG:
+        return readVarLong();
+      case VALUE_SHORT:
+        return (short) readSignedVarInt();
+      case VALUE_BYTE:
+        return body.readByte();
+      case VALUE_DOUBLE:
+        return body.readDouble();
+      case VALUE_FLOAT:
+        return body.readFloat();
+      case VALUE_BIG_DECIMAL:
+        return new BigDecimal(readString());
+      case VALUE_BIG_INTEGER:
+        return new BigInteger(readString());
+      case VALUE_LIST:
+        final int size = readVarInt();
+        final List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+          list.add(readValue());
+        }
+        return list;
+      case VALUE_SERIALIZED:
+        final byte[] bytes = new byte[readVarInt()];
+        body.readFully(bytes);
+        try (
+          final ObjectInputStream objIn =
+            new ObjectInputStream(new ByteArrayInputStream(bytes))
+        )
+        {
+          return objIn.readObject();
+        }
+        catch (final ClassNotFoundException e)
+        {
+          throw new IOException("Could not deserialize value", e);
+        }
+      default:
+        throw new IOException(String.format("Unknown value tag %d", tag));
+    }
+  }
+
+  private int readSignedVarInt()
+    throws IOException
+  {
+    final int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private long readVarLong()
+    throws IOException
+  {
+    long value = 0;
+    for (int shift = 0; shift < 70; shift = shift + 7)
+    {
+      final int b = body.readUnsignedByte();
+      value = value | (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        return (value >>> 1) ^ -(value & 1);
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+
+}
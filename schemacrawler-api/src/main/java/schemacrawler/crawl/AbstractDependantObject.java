@@ -92,6 +92,25 @@ abstract class AbstractDependantObject<D extends DatabaseObject>
     return lookupKey;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The key is derived from the lookup key of the parent, which is shared
+   * by all dependents of the parent, so no names are interned.
+   */
+  @Override
+  final NamedObjectKey createLookupKey()
+  {
+    final D parentObject = parent.get();
+    if (parentObject instanceof AbstractNamedObject)
+    {
+      return ((AbstractNamedObject) parentObject)
+        .getLookupKey()
+        .with(getName());
+    }
+    return super.createLookupKey();
+  }
+
   @Override
   public final int hashCode()
   {
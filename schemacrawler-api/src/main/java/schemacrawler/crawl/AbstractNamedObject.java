@@ -49,6 +49,7 @@ abstract class AbstractNamedObject
   private static final long serialVersionUID = -1486322887991472729L;
 
   private final String name;
+  private transient volatile NamedObjectKey lookupKey;
 
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private
@@ -100,6 +101,46 @@ abstract class AbstractNamedObject
     return new ArrayList<>(Arrays.asList(name));
   }
 
+  /**
+   * Gets the lookup key of this object, which is created once and kept, so
+   * that the keys of dependent objects can be derived from it.
+   *
+   * @return Lookup key
+   */
+  final NamedObjectKey getLookupKey()
+  {
+    NamedObjectKey key = lookupKey;
+    if (key == null)
+    {
+      key = createLookupKey();
+      lookupKey = key;
+    }
+    return key;
+  }
+
+  /**
+   * Creates the lookup key of this object. The names of parents, such as
+   * catalog and schema names, are interned, since they are repeated in the
+   * keys of a great number of objects.
+   *
+   * @return Lookup key
+   */
+  NamedObjectKey createLookupKey()
+  {
+    return NamedObjectKey
+      .fromLookupKey(toUniqueLookupKey())
+      .internParents();
+  }
+
+  /**
+   * Discards the lookup key, for objects whose lookup key changes when a
+   * property is set.
+   */
+  final void resetLookupKey()
+  {
+    lookupKey = null;
+  }
+
   @Override
   public int hashCode()
   {
@@ -31,8 +31,9 @@ package schemacrawler.crawl;
 
 import static sf.util.Utility.isBlank;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -50,7 +51,10 @@ abstract class AbstractNamedObjectWithAttributes
 {
 
   private static final long serialVersionUID = -1486322887991472729L;
-  private final Map<String, Object> attributeMap;
+  // Allocated as a compact map when the first attribute is set, since most
+  // objects have none - declared as a map, so that serialized catalogs that
+  // have hash maps can still be read
+  private Map<String, Object> attributeMap;
   private String remarks;
 
   /**
@@ -63,7 +67,6 @@ abstract class AbstractNamedObjectWithAttributes
   AbstractNamedObjectWithAttributes(final String name)
   {
     super(name);
-    attributeMap = new HashMap<>();
   }
 
   /**
@@ -82,6 +85,10 @@ abstract class AbstractNamedObjectWithAttributes
   public final <T> T getAttribute(final String name, final T defaultValue)
     throws ClassCastException
   {
+    if (attributeMap == null)
+    {
+      return defaultValue;
+    }
     final Object attributeValue = attributeMap.get(name);
     if (attributeValue == null)
     {
@@ -99,6 +106,10 @@ abstract class AbstractNamedObjectWithAttributes
   @Override
   public final Map<String, Object> getAttributes()
   {
+    if (attributeMap == null)
+    {
+      return Collections.emptyMap();
+    }
     return Collections.unmodifiableMap(attributeMap);
   }
 
@@ -108,7 +119,7 @@ abstract class AbstractNamedObjectWithAttributes
   @Override
   public final boolean hasAttribute(final String name)
   {
-    return attributeMap.containsKey(name);
+    return attributeMap != null && attributeMap.containsKey(name);
   }
 
   /**
@@ -126,7 +137,7 @@ abstract class AbstractNamedObjectWithAttributes
   @Override
   public final void removeAttribute(final String name)
   {
-    if (!isBlank(name))
+    if (!isBlank(name) && attributeMap != null)
     {
       attributeMap.remove(name);
     }
@@ -142,10 +153,14 @@ abstract class AbstractNamedObjectWithAttributes
     {
       if (value == null)
       {
-        attributeMap.remove(name);
+        removeAttribute(name);
       }
       else
       {
+        if (attributeMap == null)
+        {
+          attributeMap = new CompactAttributeMap();
+        }
         attributeMap.put(name, value);
       }
     }
@@ -183,10 +198,39 @@ abstract class AbstractNamedObjectWithAttributes
 
   protected final void addAttributes(final Map<String, Object> values)
   {
-    if (values != null)
+    if (values == null || values.isEmpty())
+    {
+      return;
+    }
+    if (attributeMap == null && values instanceof CompactAttributeMap)
+    {
+      // Share attribute names with other objects from the same result set
+      attributeMap = new CompactAttributeMap((CompactAttributeMap) values);
+    }
+    else
     {
+      if (attributeMap == null)
+      {
+        attributeMap = new CompactAttributeMap();
+      }
       attributeMap.putAll(values);
     }
   }
 
+  /**
+   * Reads attributes from serialized catalogs, which may have them in hash
+   * maps, into compact maps.
+   */
+  private void readObject(final ObjectInputStream in)
+    throws IOException, ClassNotFoundException
+  {
+    in.defaultReadObject();
+    if (attributeMap != null && !(attributeMap instanceof CompactAttributeMap))
+    {
+      final Map<String, Object> values = attributeMap;
+      attributeMap = null;
+      addAttributes(values);
+    }
+  }
+
 }
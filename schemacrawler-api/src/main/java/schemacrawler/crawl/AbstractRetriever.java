@@ -35,8 +35,10 @@ import static sf.util.Utility.isBlank;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 
@@ -126,6 +128,24 @@ abstract class AbstractRetriever
     return catalog.getAllSchemas();
   }
 
+  /**
+   * Gets the schemas that the provided tables belong to, for metadata that is
+   * retrieved for all tables in a schema together.
+   *
+   * @param tables
+   *   Tables to get schemas for
+   * @return Schemas of the tables, in the order of the tables
+   */
+  final Collection<Schema> getTableSchemas(final NamedObjectList<MutableTable> tables)
+  {
+    final Set<Schema> schemas = new LinkedHashSet<>();
+    for (final MutableTable table : tables)
+    {
+      schemas.add(table.getSchema());
+    }
+    return schemas;
+  }
+
   final Connection getDatabaseConnection()
   {
     return retrieverConnection.getConnection();
@@ -210,42 +230,47 @@ abstract class AbstractRetriever
                                                            final String databaseSpecificTypeName,
                                                            final String mappedClassName)
   {
-    MutableColumnDataType columnDataType = catalog
-      .lookupColumnDataType(schema, databaseSpecificTypeName)
-      .orElse(catalog
-                .lookupSystemColumnDataType(databaseSpecificTypeName)
-                .orElse(null));
-    // Create new data type, if needed
-    if (columnDataType == null)
+    // Look up and create the data type atomically, since tables and
+    // routines may be crawled in parallel
+    synchronized (catalog)
     {
-      columnDataType =
-        new MutableColumnDataType(schema, databaseSpecificTypeName);
-      final JavaSqlType javaSqlType = retrieverConnection
-        .getJavaSqlTypes()
-        .valueOf(javaSqlTypeInt);
-      columnDataType.setJavaSqlType(javaSqlType);
-      if (isBlank(mappedClassName))
+      MutableColumnDataType columnDataType = catalog
+        .lookupColumnDataType(schema, databaseSpecificTypeName)
+        .orElse(catalog
+                  .lookupSystemColumnDataType(databaseSpecificTypeName)
+                  .orElse(null));
+      // Create new data type, if needed
+      if (columnDataType == null)
       {
-        final TypeMap typeMap = retrieverConnection.getTypeMap();
-        final Class<?> mappedClass;
-        if (typeMap.containsKey(databaseSpecificTypeName))
+        columnDataType =
+          new MutableColumnDataType(schema, databaseSpecificTypeName);
+        final JavaSqlType javaSqlType = retrieverConnection
+          .getJavaSqlTypes()
+          .valueOf(javaSqlTypeInt);
+        columnDataType.setJavaSqlType(javaSqlType);
+        if (isBlank(mappedClassName))
         {
-          mappedClass = typeMap.get(databaseSpecificTypeName);
+          final TypeMap typeMap = retrieverConnection.getTypeMap();
+          final Class<?> mappedClass;
+          if (typeMap.containsKey(databaseSpecificTypeName))
+          {
+            mappedClass = typeMap.get(databaseSpecificTypeName);
+          }
+          else
+          {
+            mappedClass = typeMap.get(javaSqlType.getName());
+          }
+          columnDataType.setTypeMappedClass(mappedClass);
         }
         else
         {
-          mappedClass = typeMap.get(javaSqlType.getName());
+          columnDataType.setTypeMappedClass(mappedClassName);
         }
-        columnDataType.setTypeMappedClass(mappedClass);
-      }
-      else
-      {
-        columnDataType.setTypeMappedClass(mappedClassName);
-      }
 
-      catalog.addColumnDataType(columnDataType);
+        catalog.addColumnDataType(columnDataType);
+      }
+      return columnDataType;
     }
-    return columnDataType;
   }
 
   final Optional<MutableRoutine> lookupRoutine(final String catalogName,
@@ -253,19 +278,19 @@ abstract class AbstractRetriever
                                                final String routineName,
                                                final String specificName)
   {
-    return catalog.lookupRoutine(Arrays.asList(catalogName,
-                                               schemaName,
-                                               routineName,
-                                               specificName));
+    return catalog.lookupRoutine(new NamedObjectKey(catalogName,
+                                                    schemaName,
+                                                    routineName,
+                                                    specificName));
   }
 
   final Optional<MutableTable> lookupTable(final String catalogName,
                                            final String schemaName,
                                            final String tableName)
   {
-    return catalog.lookupTable(Arrays.asList(catalogName,
-                                             schemaName,
-                                             tableName));
+    return catalog.lookupTable(new NamedObjectKey(catalogName,
+                                                  schemaName,
+                                                  tableName));
   }
 
   final String normalizeCatalogName(final String name)
@@ -0,0 +1,298 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A small map of attributes, stored in parallel arrays of names and values,
+ * and searched linearly. Attributes read from the same metadata result set
+ * share a single array of names, which is only copied when an attribute is
+ * added to or removed from one of the maps.
+ *
+ * @author Sualeh Fatehi
+ */
+final class CompactAttributeMap
+  extends AbstractMap<String, Object>
+  implements Serializable
+{
+
+  private static final long serialVersionUID = 2590370727471432093L;
+
+  private static final String[] NO_NAMES = new String[0];
+  private static final Object[] NO_VALUES = new Object[0];
+
+  private String[] names;
+  private Object[] values;
+  private int size;
+  private boolean sharedNames;
+
+  CompactAttributeMap()
+  {
+    names = NO_NAMES;
+    values = NO_VALUES;
+    size = 0;
+    sharedNames = true;
+  }
+
+  /**
+   * Creates a map that shares the names of another map, and has its own copy
+   * of the values.
+   *
+   * @param map
+   *   Map to copy
+   */
+  CompactAttributeMap(final CompactAttributeMap map)
+  {
+    names = map.names;
+    values = Arrays.copyOf(map.values, map.size);
+    size = map.size;
+    sharedNames = true;
+    // The other map can no longer change names in place either
+    map.sharedNames = true;
+  }
+
+  /**
+   * Creates a map with shared names. The names array must not be changed after
+   * it is passed in, and the values array is owned by the map.
+   *
+   * @param names
+   *   Shared attribute names
+   * @param values
+   *   Attribute values, in the same order as the names
+   */
+  CompactAttributeMap(final String[] names, final Object[] values)
+  {
+    if (names.length != values.length)
+    {
+      throw new IllegalArgumentException(
+        "Attribute names and values do not match");
+    }
+    this.names = names;
+    this.values = values;
+    size = names.length;
+    sharedNames = true;
+  }
+
+  @Override
+  public void clear()
+  {
+    names = NO_NAMES;
+    values = NO_VALUES;
+    size = 0;
+    sharedNames = true;
+  }
+
+  @Override
+  public boolean containsKey(final Object key)
+  {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet()
+  {
+    return new EntrySet();
+  }
+
+  @Override
+  public Object get(final Object key)
+  {
+    final int index = indexOf(key);
+    if (index < 0)
+    {
+      return null;
+    }
+    return values[index];
+  }
+
+  @Override
+  public Object put(final String key, final Object value)
+  {
+    final int index = indexOf(key);
+    if (index >= 0)
+    {
+      final Object oldValue = values[index];
+      values[index] = value;
+      return oldValue;
+    }
+
+    ensureOwnNames(size + 1);
+    names[size] = key;
+    values[size] = value;
+    size = size + 1;
+    return null;
+  }
+
+  @Override
+  public void putAll(final Map<? extends String, ?> map)
+  {
+    for (final Entry<? extends String, ?> entry : map.entrySet())
+    {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public Object remove(final Object key)
+  {
+    final int index = indexOf(key);
+    if (index < 0)
+    {
+      return null;
+    }
+    return removeAt(index);
+  }
+
+  @Override
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Makes sure that the names array is owned by this map, and can hold the
+   * required number of attributes.
+   */
+  private void ensureOwnNames(final int capacity)
+  {
+    if (sharedNames || names.length < capacity)
+    {
+      final int newCapacity = Math.max(capacity, size + (size >> 1));
+      names = Arrays.copyOf(names, newCapacity);
+      sharedNames = false;
+    }
+    if (values.length < names.length)
+    {
+      values = Arrays.copyOf(values, names.length);
+    }
+  }
+
+  private int indexOf(final Object key)
+  {
+    if (key == null)
+    {
+      return -1;
+    }
+    // Names from the same result set are usually the same instances
+    for (int i = 0; i < size; i++)
+    {
+      if (names[i] == key)
+      {
+        return i;
+      }
+    }
+    for (int i = 0; i < size; i++)
+    {
+      if (names[i].equals(key))
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Object removeAt(final int index)
+  {
+    ensureOwnNames(size);
+    final Object oldValue = values[index];
+    final int moved = size - index - 1;
+    if (moved > 0)
+    {
+      System.arraycopy(names, index + 1, names, index, moved);
+      System.arraycopy(values, index + 1, values, index, moved);
+    }
+    size = size - 1;
+    names[size] = null;
+    values[size] = null;
+    return oldValue;
+  }
+
+  private final class EntrySet
+    extends AbstractSet<Entry<String, Object>>
+  {
+
+    @Override
+    public Iterator<Entry<String, Object>> iterator()
+    {
+      return new Iterator<Entry<String, Object>>()
+      {
+
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext()
+        {
+          return next < size;
+        }
+
+        @Override
+        public Entry<String, Object> next()
+        {
+          if (!hasNext())
+          {
+            throw new NoSuchElementException();
+          }
+          last = next;
+          next = next + 1;
+          return new SimpleImmutableEntry<>(names[last], values[last]);
+        }
+
+        @Override
+        public void remove()
+        {
+          if (last < 0)
+          {
+            throw new IllegalStateException();
+          }
+          removeAt(last);
+          next = last;
+          last = -1;
+        }
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return size;
+    }
+
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+/**
+ * Constants for the compact binary catalog snapshot format. A snapshot starts
+ * with a magic number, a format version and a flags byte. The rest of the
+ * snapshot, which may be compressed, holds a string table followed by the
+ * catalog. Names and other strings are written as indexes into the string
+ * table, and tables, columns and data types are referenced by integer ids.
+ * <p>
+ * Indexed snapshots, with format version 2, are never compressed, so that they
+ * can be memory-mapped. The header is followed by the absolute file offsets of
+ * the directory and of the string table. The directory holds the file offsets
+ * of every table, foreign key, weak association, routine, sequence and synonym
+ * record, and lists the ids of the objects in each schema, so that a reader
+ * only needs to decode the schemas and tables that it is asked for. Each table
+ * has separate records for its header, columns, details and relationships. The
+ * string table holds fixed width offsets to each string, so that strings are
+ * also decoded on demand. Columns are referenced by table id, and the position
+ * of the column in the table.
+ *
+ * @author Sualeh Fatehi
+ */
+final class CompactCatalogFormat
+{
+
+  static final int MAGIC = 0x53434342; // "SCCB"
+  static final int VERSION = 1;
+  static final int INDEXED_VERSION = 2;
+  static final int INDEXED_HEADER_SIZE = 22;
+
+  static final int FLAG_COMPRESSED = 0x01;
+
+  // Value tags for attributes and property values
+  static final int VALUE_NULL = 0;
+  static final int VALUE_STRING = 1;
+  static final int VALUE_BOOLEAN = 2;
+  static final int VALUE_INTEGER = 3;
+  static final int VALUE_LONG = 4;
+  static final int VALUE_SHORT = 5;
+  static final int VALUE_BYTE = 6;
+  static final int VALUE_DOUBLE = 7;
+  static final int VALUE_FLOAT = 8;
+  static final int VALUE_BIG_DECIMAL = 9;
+  static final int VALUE_BIG_INTEGER = 10;
+  static final int VALUE_LIST = 11;
+  static final int VALUE_SERIALIZED = 12;
+
+  // Kinds of column references
+  static final int COLUMN_NONE = 0;
+  static final int COLUMN_CATALOG = 1;
+  static final int COLUMN_PARTIAL = 2;
+
+  // Kinds of tables and routines
+  static final int TABLE = 0;
+  static final int VIEW = 1;
+  static final int PROCEDURE = 0;
+  static final int FUNCTION = 1;
+
+  // Kinds of synonym references
+  static final int SYNONYM_TABLE = 0;
+  static final int SYNONYM_ROUTINE = 1;
+  static final int SYNONYM_OTHER = 2;
+
+  // Column flags
+  static final int COLUMN_NULLABLE = 0x01;
+  static final int COLUMN_AUTO_INCREMENTED = 0x02;
+  static final int COLUMN_GENERATED = 0x04;
+  static final int COLUMN_HIDDEN = 0x08;
+  static final int COLUMN_PART_OF_PRIMARY_KEY = 0x10;
+  static final int COLUMN_PART_OF_INDEX = 0x20;
+  static final int COLUMN_PART_OF_UNIQUE_INDEX = 0x40;
+
+  // Column data type flags
+  static final int TYPE_IN_CATALOG = 0x01;
+  static final int TYPE_AUTO_INCREMENTABLE = 0x02;
+  static final int TYPE_CASE_SENSITIVE = 0x04;
+  static final int TYPE_FIXED_PRECISION_SCALE = 0x08;
+  static final int TYPE_NULLABLE = 0x10;
+  static final int TYPE_UNSIGNED = 0x20;
+  static final int TYPE_USER_DEFINED = 0x40;
+
+  private CompactCatalogFormat()
+  {
+    // Prevent instantiation
+  }
+
+}
@@ -0,0 +1,365 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CompactCatalogFormat.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Reads a catalog from a compact binary snapshot, written by
+ * {@link CompactCatalogWriter}. Indexed snapshots are read fully into memory;
+ * use {@link MappedCatalogReader} to load them lazily from a file instead.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class CompactCatalogReader
+  extends AbstractCompactCatalogReader
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(CompactCatalogReader.class.getName());
+
+  /**
+   * Checks whether the input stream starts with a compact catalog snapshot,
+   * without consuming any bytes from the stream.
+   *
+   * @param in
+   *   Input stream, which must support mark and reset
+   * @return True if the stream holds a compact catalog snapshot
+   * @throws IOException
+   *   On an exception reading the stream
+   */
+  public static boolean isCompactCatalog(final InputStream in)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    if (!in.markSupported())
+    {
+      throw new IOException("Input stream does not support mark");
+    }
+    in.mark(4);
+    try
+    {
+      int magic = 0;
+      for (int i = 0; i < 4; i++)
+      {
+        final int read = in.read();
+        if (read == -1)
+        {
+          return false;
+        }
+        magic = magic << 8 | read;
+      }
+      return magic == MAGIC;
+    }
+    finally
+    {
+      in.reset();
+    }
+  }
+
+  private final InputStream in;
+  private final List<MutableTable> tables;
+  private final List<MutableColumn> columns;
+  private final List<MutableRoutine> routines;
+  private String[] strings;
+
+  public CompactCatalogReader(final InputStream in)
+  {
+    this.in = requireNonNull(in, "No input stream provided");
+    tables = new ArrayList<>();
+    columns = new ArrayList<>();
+    routines = new ArrayList<>();
+  }
+
+  /**
+   * Reads the catalog snapshot from the input stream. The input stream is
+   * not closed.
+   *
+   * @return Catalog
+   * @throws SchemaCrawlerException
+   *   On an exception reading the snapshot
+   */
+  public Catalog read()
+    throws SchemaCrawlerException
+  {
+    if (catalog != null)
+    {
+      return catalog;
+    }
+
+    final Inflater inflater = new Inflater();
+    try
+    {
+      final DataInputStream header = new DataInputStream(in);
+      if (header.readInt() != MAGIC)
+      {
+        throw new SchemaCrawlerException("Not a compact catalog snapshot");
+      }
+      final int version = header.readUnsignedByte();
+      if (version > INDEXED_VERSION)
+      {
+        throw new SchemaCrawlerException(String.format(
+          "Cannot read compact catalog snapshot version %d, only versions up to %d are supported",
+          version,
+          INDEXED_VERSION));
+      }
+      final int flags = header.readUnsignedByte();
+      if (version == INDEXED_VERSION)
+      {
+        catalog = readIndexed(flags);
+        return catalog;
+      }
+
+      final InputStream blockIn;
+      if ((flags & FLAG_COMPRESSED) != 0)
+      {
+        blockIn = new InflaterInputStream(in, inflater, 64 * 1024);
+      }
+      else
+      {
+        blockIn = in;
+      }
+      body = new DataInputStream(new BufferedInputStream(blockIn, 64 * 1024));
+
+      strings = new String[readVarInt()];
+      for (int i = 0; i < strings.length; i++)
+      {
+        final byte[] bytes = new byte[readVarInt()];
+        body.readFully(bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      readCatalog();
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat(
+                   "Read compact catalog snapshot with %d strings, %d tables, and %d columns",
+                   strings.length,
+                   tables.size(),
+                   columns.size()));
+      return catalog;
+    }
+    catch (final IOException | RuntimeException e)
+    {
+      throw new SchemaCrawlerException("Could not read compact catalog snapshot",
+                                       e);
+    }
+    finally
+    {
+      inflater.end();
+    }
+  }
+
+  @Override
+  String lookupString(final int stringId)
+  {
+    return strings[stringId - 1];
+  }
+
+  @Override
+  Column readColumnReference()
+    throws IOException
+  {
+    final int kind = readVarInt();
+    switch (kind)
+    {
+      case COLUMN_NONE:
+        return null;
+      case COLUMN_CATALOG:
+        return columns.get(readVarInt());
+      case COLUMN_PARTIAL:
+        return readPartialColumnReference();
+      default:
+        throw new IOException(String.format("Unknown column reference kind %d",
+                                            kind));
+    }
+  }
+
+  @Override
+  DatabaseObject readSynonymReference()
+    throws IOException
+  {
+    final int kind = readVarInt();
+    switch (kind)
+    {
+      case SYNONYM_TABLE:
+        return tables.get(readVarInt());
+      case SYNONYM_ROUTINE:
+        return routines.get(readVarInt());
+      case SYNONYM_OTHER:
+        return readOtherSynonymReference();
+      default:
+        throw new IOException(String.format("Unknown synonym reference kind %d",
+                                            kind));
+    }
+  }
+
+  static void linkForeignKey(final MutableForeignKey foreignKey)
+  {
+    for (final ForeignKeyColumnReference columnReference : foreignKey)
+    {
+      final Column pkColumn = columnReference.getPrimaryKeyColumn();
+      final Column fkColumn = columnReference.getForeignKeyColumn();
+
+      if (fkColumn instanceof MutableColumn)
+      {
+        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+        ((MutableTable) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      else if (fkColumn instanceof ColumnPartial)
+      {
+        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+        ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+
+      if (pkColumn instanceof MutableColumn)
+      {
+        ((MutableTable) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      else if (pkColumn instanceof ColumnPartial)
+      {
+        ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+    }
+  }
+
+  static void linkWeakAssociation(final WeakAssociation weakAssociation)
+  {
+    for (final WeakAssociationColumnReference columnReference : weakAssociation)
+    {
+      final Column pkColumn = columnReference.getPrimaryKeyColumn();
+      final Column fkColumn = columnReference.getForeignKeyColumn();
+      if (fkColumn instanceof MutableColumn)
+      {
+        ((MutableTable) fkColumn.getParent()).addWeakAssociation(
+          weakAssociation);
+      }
+      if (pkColumn instanceof MutableColumn)
+      {
+        ((MutableTable) pkColumn.getParent()).addWeakAssociation(
+          weakAssociation);
+      }
+    }
+  }
+
+  private void readCatalog()
+    throws IOException
+  {
+    readCatalogHeader();
+
+    final int tablesCount = readVarInt();
+    for (int i = 0; i < tablesCount; i++)
+    {
+      final MutableTable table = readTable();
+      columns.addAll(readTableColumns(table));
+      tables.add(table);
+      catalog.addTable(table);
+    }
+    for (final MutableTable table : tables)
+    {
+      readTableDetails(table);
+    }
+
+    final int foreignKeysCount = readVarInt();
+    for (int i = 0; i < foreignKeysCount; i++)
+    {
+      linkForeignKey(readForeignKey());
+    }
+
+    final int weakAssociationsCount = readVarInt();
+    for (int i = 0; i < weakAssociationsCount; i++)
+    {
+      linkWeakAssociation(readWeakAssociation());
+    }
+
+    final int routinesCount = readVarInt();
+    for (int i = 0; i < routinesCount; i++)
+    {
+      final MutableRoutine routine = readRoutine();
+      routines.add(routine);
+      catalog.addRoutine(routine);
+    }
+
+    final int sequencesCount = readVarInt();
+    for (int i = 0; i < sequencesCount; i++)
+    {
+      catalog.addSequence(readSequence());
+    }
+
+    final int synonymsCount = readVarInt();
+    for (int i = 0; i < synonymsCount; i++)
+    {
+      catalog.addSynonym(readSynonym());
+    }
+  }
+
+  private MutableCatalog readIndexed(final int flags)
+    throws IOException
+  {
+    // Indexed snapshots need random access, so the rest of the stream is
+    // buffered in memory behind the header that was already read
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+    final DataOutputStream header = new DataOutputStream(bytes);
+    header.writeInt(MAGIC);
+    header.writeByte(INDEXED_VERSION);
+    header.writeByte(flags);
+    header.flush();
+    final byte[] buffer = new byte[64 * 1024];
+    int read;
+    while ((read = in.read(buffer)) != -1)
+    {
+      bytes.write(buffer, 0, read);
+    }
+    return new MappedCatalogReader(bytes.toByteArray()).readCatalog();
+  }
+
+}
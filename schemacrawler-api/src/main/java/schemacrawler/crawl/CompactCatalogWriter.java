@@ -0,0 +1,1369 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CompactCatalogFormat.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.BaseColumn;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DefinedObject;
+import schemacrawler.schema.DescribedObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Writes a catalog as a compact binary snapshot, which can be read back with
+ * {@link CompactCatalogReader}. Names are written once to a string table, and
+ * tables, columns, column data types and routines are referenced by integer
+ * ids. The snapshot can optionally be compressed. Snapshots can also be written
+ * with an index, so that they can be loaded lazily with a
+ * {@link MappedCatalogReader}.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class CompactCatalogWriter
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(CompactCatalogWriter.class.getName());
+
+  private final Catalog catalog;
+  private final Map<String, Integer> stringIds;
+  private final List<String> strings;
+  private final Map<ColumnDataType, Integer> columnDataTypeIds;
+  private final List<ColumnDataType> columnDataTypes;
+  private final Map<Table, Integer> tableIds;
+  private final Map<Column, Integer> columnIds;
+  private final Map<Routine, Integer> routineIds;
+  private DataOutputStream body;
+  private boolean indexed;
+  private int tableColumnsCount;
+
+  public CompactCatalogWriter(final Catalog catalog)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    stringIds = new HashMap<>();
+    strings = new ArrayList<>();
+    columnDataTypeIds = new IdentityHashMap<>();
+    columnDataTypes = new ArrayList<>();
+    tableIds = new IdentityHashMap<>();
+    columnIds = new IdentityHashMap<>();
+    routineIds = new IdentityHashMap<>();
+  }
+
+  /**
+   * Writes the catalog snapshot to the output stream. The output stream is
+   * not closed.
+   *
+   * @param out
+   *   Output stream
+   * @param compress
+   *   Whether to compress the body of the snapshot
+   * @throws SchemaCrawlerException
+   *   On an exception writing the snapshot
+   */
+  public void write(final OutputStream out, final boolean compress)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(out, "No output stream provided");
+    try
+    {
+      // Encode the catalog first, so that the string table is complete
+      final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+      body = new DataOutputStream(bodyBytes);
+      writeCatalog();
+      body.flush();
+
+      final DataOutputStream header = new DataOutputStream(out);
+      header.writeInt(MAGIC);
+      header.writeByte(VERSION);
+      header.writeByte(compress? FLAG_COMPRESSED: 0);
+      header.flush();
+
+      final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try
+      {
+        final OutputStream blockOut;
+        if (compress)
+        {
+          blockOut = new DeflaterOutputStream(out, deflater, 64 * 1024);
+        }
+        else
+        {
+          blockOut = out;
+        }
+        final DataOutputStream stringTable = new DataOutputStream(blockOut);
+        writeVarInt(stringTable, strings.size());
+        for (final String string : strings)
+        {
+          final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+          writeVarInt(stringTable, bytes.length);
+          stringTable.write(bytes);
+        }
+        stringTable.flush();
+        bodyBytes.writeTo(blockOut);
+        if (blockOut instanceof DeflaterOutputStream)
+        {
+          ((DeflaterOutputStream) blockOut).finish();
+        }
+        blockOut.flush();
+      }
+      finally
+      {
+        deflater.end();
+      }
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat(
+                   "Wrote compact catalog snapshot with %d strings, %d tables, and %d columns",
+                   strings.size(),
+                   tableIds.size(),
+                   columnIds.size()));
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write compact catalog snapshot",
+                                       e);
+    }
+  }
+
+  /**
+   * Writes an indexed catalog snapshot to the output stream, which can be
+   * memory-mapped and loaded lazily by a {@link MappedCatalogReader}. Indexed
+   * snapshots are not compressed. The output stream is not closed.
+   *
+   * @param out
+   *   Output stream
+   * @throws SchemaCrawlerException
+   *   On an exception writing the snapshot
+   */
+  public void writeIndexed(final OutputStream out)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(out, "No output stream provided");
+    try
+    {
+      indexed = true;
+
+      final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+      body = new DataOutputStream(bodyBytes);
+      final long directoryOffset = writeIndexedCatalog();
+      body.flush();
+      final long stringTableOffset = offset();
+
+      final DataOutputStream header = new DataOutputStream(out);
+      header.writeInt(MAGIC);
+      header.writeByte(INDEXED_VERSION);
+      header.writeByte(0);
+      header.writeLong(directoryOffset);
+      header.writeLong(stringTableOffset);
+      header.flush();
+      bodyBytes.writeTo(out);
+
+      // Strings are written with fixed width offsets, so that any string can
+      // be decoded without reading the ones before it
+      final DataOutputStream stringTable = new DataOutputStream(out);
+      writeVarInt(stringTable, strings.size());
+      final List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+      int stringOffset = 0;
+      for (final String string : strings)
+      {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        encodedStrings.add(bytes);
+        stringTable.writeInt(stringOffset);
+        stringOffset = stringOffset + varIntSize(bytes.length) + bytes.length;
+      }
+      for (final byte[] bytes : encodedStrings)
+      {
+        writeVarInt(stringTable, bytes.length);
+        stringTable.write(bytes);
+      }
+      stringTable.flush();
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat(
+                   "Wrote indexed compact catalog snapshot with %d strings, %d tables, and %d columns",
+                   strings.size(),
+                   tableIds.size(),
+                   columnIds.size()));
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write compact catalog snapshot",
+                                       e);
+    }
+  }
+
+  private void writeCatalog()
+    throws IOException
+  {
+    writeCatalogHeader();
+
+    final Collection<Table> tables = catalog.getTables();
+    writeVarInt(tables.size());
+    for (final Table table : tables)
+    {
+      writeTable(table);
+      writeTableColumns(table);
+    }
+    for (final Table table : tables)
+    {
+      writeTableDetails(table);
+    }
+
+    final Collection<ForeignKey> foreignKeys = collectForeignKeys(tables);
+    writeVarInt(foreignKeys.size());
+    for (final ForeignKey foreignKey : foreignKeys)
+    {
+      writeForeignKey(foreignKey);
+    }
+    final Collection<WeakAssociation> weakAssociations =
+      collectWeakAssociations(tables);
+    writeVarInt(weakAssociations.size());
+    for (final WeakAssociation weakAssociation : weakAssociations)
+    {
+      writeWeakAssociation(weakAssociation);
+    }
+
+    final Collection<Routine> routines = catalog.getRoutines();
+    writeVarInt(routines.size());
+    for (final Routine routine : routines)
+    {
+      routineIds.put(routine, routineIds.size());
+      writeRoutine(routine);
+    }
+
+    final Collection<Sequence> sequences = catalog.getSequences();
+    writeVarInt(sequences.size());
+    for (final Sequence sequence : sequences)
+    {
+      writeSequence(sequence);
+    }
+
+    final Collection<Synonym> synonyms = catalog.getSynonyms();
+    writeVarInt(synonyms.size());
+    for (final Synonym synonym : synonyms)
+    {
+      writeSynonym(synonym);
+    }
+  }
+
+  private void writeCatalogHeader()
+    throws IOException
+  {
+    writeString(catalog.getName());
+    writeCrawlInfo(catalog.getCrawlInfo());
+    writeRemarksAndAttributes(catalog, catalog);
+    writeDatabaseInfo(catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(catalog.getJdbcDriverInfo());
+
+    final Collection<Schema> schemas = catalog.getSchemas();
+    writeVarInt(schemas.size());
+    for (final Schema schema : schemas)
+    {
+      writeSchema(schema);
+      writeAttributes(schema);
+    }
+
+    collectColumnDataTypes(catalog.getTables(), catalog.getRoutines());
+    writeColumnDataTypes();
+  }
+
+  /**
+   * Writes the catalog with an index. Offsets are absolute positions in the
+   * snapshot file, including the header.
+   *
+   * @return Offset of the directory
+   */
+  private long writeIndexedCatalog()
+    throws IOException
+  {
+    writeCatalogHeader();
+
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    for (final Table table : tables)
+    {
+      tableIds.put(table, tableIds.size());
+    }
+    final List<ForeignKey> foreignKeys = collectForeignKeys(tables);
+    final Map<ForeignKey, Integer> foreignKeyIds = idsByIdentity(foreignKeys);
+    final List<WeakAssociation> weakAssociations =
+      collectWeakAssociations(tables);
+    final Map<WeakAssociation, Integer> weakAssociationIds =
+      idsByIdentity(weakAssociations);
+
+    final long[] tableOffsets = new long[tables.size() * 4];
+    for (int i = 0; i < tables.size(); i++)
+    {
+      final Table table = tables.get(i);
+      tableOffsets[i * 4] = offset();
+      writeTable(table);
+      tableOffsets[i * 4 + 1] = offset();
+      writeTableColumns(table);
+      tableOffsets[i * 4 + 2] = offset();
+      writeTableDetails(table);
+      tableOffsets[i * 4 + 3] = offset();
+      final Collection<ForeignKey> tableForeignKeys =
+        collectForeignKeys(Collections.singleton(table));
+      writeVarInt(tableForeignKeys.size());
+      for (final ForeignKey foreignKey : tableForeignKeys)
+      {
+        writeVarInt(foreignKeyIds.get(foreignKey));
+      }
+      final Collection<WeakAssociation> tableWeakAssociations =
+        collectWeakAssociations(Collections.singleton(table));
+      writeVarInt(tableWeakAssociations.size());
+      for (final WeakAssociation weakAssociation : tableWeakAssociations)
+      {
+        writeVarInt(weakAssociationIds.get(weakAssociation));
+      }
+    }
+
+    final long[] foreignKeyOffsets = new long[foreignKeys.size()];
+    for (int i = 0; i < foreignKeys.size(); i++)
+    {
+      foreignKeyOffsets[i] = offset();
+      writeForeignKey(foreignKeys.get(i));
+    }
+    final long[] weakAssociationOffsets = new long[weakAssociations.size()];
+    for (int i = 0; i < weakAssociations.size(); i++)
+    {
+      weakAssociationOffsets[i] = offset();
+      writeWeakAssociation(weakAssociations.get(i));
+    }
+
+    final List<Routine> routines = new ArrayList<>(catalog.getRoutines());
+    final long[] routineOffsets = new long[routines.size()];
+    for (int i = 0; i < routines.size(); i++)
+    {
+      final Routine routine = routines.get(i);
+      routineIds.put(routine, i);
+      routineOffsets[i] = offset();
+      writeRoutine(routine);
+    }
+    final List<Sequence> sequences = new ArrayList<>(catalog.getSequences());
+    final long[] sequenceOffsets = new long[sequences.size()];
+    for (int i = 0; i < sequences.size(); i++)
+    {
+      sequenceOffsets[i] = offset();
+      writeSequence(sequences.get(i));
+    }
+    final List<Synonym> synonyms = new ArrayList<>(catalog.getSynonyms());
+    final long[] synonymOffsets = new long[synonyms.size()];
+    for (int i = 0; i < synonyms.size(); i++)
+    {
+      synonymOffsets[i] = offset();
+      writeSynonym(synonyms.get(i));
+    }
+
+    // List the ids of the objects in each schema, so that readers can skip
+    // the schemas that they do not need
+    final Map<Schema, List<List<Integer>>> schemaObjectIds =
+      new LinkedHashMap<>();
+    addSchemaObjectIds(schemaObjectIds, tables, 0);
+    addSchemaObjectIds(schemaObjectIds, routines, 1);
+    addSchemaObjectIds(schemaObjectIds, sequences, 2);
+    addSchemaObjectIds(schemaObjectIds, synonyms, 3);
+    final Map<Schema, Long> schemaOffsets = new LinkedHashMap<>();
+    for (final Map.Entry<Schema, List<List<Integer>>> entry : schemaObjectIds.entrySet())
+    {
+      schemaOffsets.put(entry.getKey(), offset());
+      for (final List<Integer> objectIds : entry.getValue())
+      {
+        writeVarInt(objectIds.size());
+        for (final int objectId : objectIds)
+        {
+          writeVarInt(objectId);
+        }
+      }
+    }
+
+    final long directoryOffset = offset();
+    writeVarInt(tables.size());
+    writeOffsets(tableOffsets);
+    writeVarInt(foreignKeys.size());
+    writeOffsets(foreignKeyOffsets);
+    writeVarInt(weakAssociations.size());
+    writeOffsets(weakAssociationOffsets);
+    writeVarInt(routines.size());
+    writeOffsets(routineOffsets);
+    writeVarInt(sequences.size());
+    writeOffsets(sequenceOffsets);
+    writeVarInt(synonyms.size());
+    writeOffsets(synonymOffsets);
+    writeVarInt(schemaOffsets.size());
+    for (final Map.Entry<Schema, Long> entry : schemaOffsets.entrySet())
+    {
+      writeSchema(entry.getKey());
+      body.writeLong(entry.getValue());
+    }
+    return directoryOffset;
+  }
+
+  private void addSchemaObjectIds(final Map<Schema, List<List<Integer>>> schemaObjectIds,
+                                  final List<? extends DatabaseObject> databaseObjects,
+                                  final int kind)
+  {
+    for (int i = 0; i < databaseObjects.size(); i++)
+    {
+      final List<List<Integer>> objectIds = schemaObjectIds.computeIfAbsent(
+        databaseObjects
+          .get(i)
+          .getSchema(),
+        schema -> Arrays.asList(new ArrayList<>(),
+                                new ArrayList<>(),
+                                new ArrayList<>(),
+                                new ArrayList<>()));
+      objectIds
+        .get(kind)
+        .add(i);
+    }
+  }
+
+  private List<ForeignKey> collectForeignKeys(final Collection<? extends Table> tables)
+  {
+    final Set<ForeignKey> foreignKeys = new LinkedHashSet<>();
+    for (final Table table : tables)
+    {
+      addAllByIdentity(foreignKeys, table.getForeignKeys());
+    }
+    return new ArrayList<>(foreignKeys);
+  }
+
+  private List<WeakAssociation> collectWeakAssociations(final Collection<? extends Table> tables)
+  {
+    final Set<WeakAssociation> weakAssociations = new LinkedHashSet<>();
+    for (final Table table : tables)
+    {
+      addAllByIdentity(weakAssociations, table.getWeakAssociations());
+    }
+    return new ArrayList<>(weakAssociations);
+  }
+
+  private void collectColumnDataType(final ColumnDataType columnDataType)
+  {
+    ColumnDataType currentColumnDataType = columnDataType;
+    while (currentColumnDataType != null
+           && !columnDataTypeIds.containsKey(currentColumnDataType))
+    {
+      columnDataTypeIds.put(currentColumnDataType, columnDataTypes.size());
+      columnDataTypes.add(currentColumnDataType);
+      currentColumnDataType = currentColumnDataType.getBaseType();
+    }
+  }
+
+  private void collectColumnDataTypes(final Collection<Table> tables,
+                                      final Collection<Routine> routines)
+  {
+    for (final ColumnDataType columnDataType : catalog.getColumnDataTypes())
+    {
+      collectColumnDataType(columnDataType);
+    }
+    final int catalogColumnDataTypesCount = columnDataTypes.size();
+    for (final Table table : tables)
+    {
+      for (final Column column : table.getColumns())
+      {
+        collectColumnDataType(column.getColumnDataType());
+      }
+      for (final Column column : table.getHiddenColumns())
+      {
+        collectColumnDataType(column.getColumnDataType());
+      }
+    }
+    for (final Routine routine : routines)
+    {
+      for (final RoutineParameter<?> parameter : routine.getParameters())
+      {
+        collectColumnDataType(parameter.getColumnDataType());
+      }
+    }
+    LOGGER.log(Level.FINE,
+               new StringFormat(
+                 "Found %d column data types, of which %d are not in the catalog",
+                 columnDataTypes.size(),
+                 columnDataTypes.size() - catalogColumnDataTypesCount));
+  }
+
+  private void writeAttributes(final AttributedObject attributedObject)
+    throws IOException
+  {
+    final Map<String, Object> attributes = attributedObject.getAttributes();
+    writeVarInt(attributes.size());
+    for (final Map.Entry<String, Object> attribute : attributes.entrySet())
+    {
+      writeString(attribute.getKey());
+      writeValue(attribute.getValue());
+    }
+  }
+
+  private void writeBigInteger(final BigInteger value)
+    throws IOException
+  {
+    writeString(value == null? null: value.toString());
+  }
+
+  private void writeColumn(final Column column)
+    throws IOException
+  {
+    if (indexed)
+    {
+      // Columns are referenced by their position in the table
+      columnIds.put(column, tableColumnsCount);
+      tableColumnsCount++;
+    }
+    else
+    {
+      columnIds.put(column, columnIds.size());
+    }
+
+    writeString(column.getName());
+    writeBaseColumn(column);
+    int flags = 0;
+    if (column.isNullable())
+    {
+      flags = flags | COLUMN_NULLABLE;
+    }
+    if (column.isAutoIncremented())
+    {
+      flags = flags | COLUMN_AUTO_INCREMENTED;
+    }
+    if (column.isGenerated())
+    {
+      flags = flags | COLUMN_GENERATED;
+    }
+    if (column.isHidden())
+    {
+      flags = flags | COLUMN_HIDDEN;
+    }
+    if (column.isPartOfPrimaryKey())
+    {
+      flags = flags | COLUMN_PART_OF_PRIMARY_KEY;
+    }
+    if (column.isPartOfIndex())
+    {
+      flags = flags | COLUMN_PART_OF_INDEX;
+    }
+    if (column.isPartOfUniqueIndex())
+    {
+      flags = flags | COLUMN_PART_OF_UNIQUE_INDEX;
+    }
+    writeVarInt(flags);
+    writeString(column.getDefaultValue());
+    writeRemarksAndAttributes(column, column);
+    writePrivileges(column.getPrivileges());
+  }
+
+  private void writeBaseColumn(final BaseColumn<?> column)
+    throws IOException
+  {
+    writeSignedVarInt(column.getOrdinalPosition());
+    writeColumnDataTypeId(column.getColumnDataType());
+    writeSignedVarInt(column.getSize());
+    writeSignedVarInt(column.getDecimalDigits());
+  }
+
+  private void writeColumnDataTypeId(final ColumnDataType columnDataType)
+    throws IOException
+  {
+    if (columnDataType == null)
+    {
+      writeVarInt(0);
+    }
+    else
+    {
+      writeVarInt(columnDataTypeIds.get(columnDataType) + 1);
+    }
+  }
+
+  private void writeColumnDataTypes()
+    throws IOException
+  {
+    final Set<ColumnDataType> catalogColumnDataTypes =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+    catalogColumnDataTypes.addAll(catalog.getColumnDataTypes());
+
+    writeVarInt(columnDataTypes.size());
+    for (final ColumnDataType columnDataType : columnDataTypes)
+    {
+      int flags = 0;
+      if (catalogColumnDataTypes.contains(columnDataType))
+      {
+        flags = flags | TYPE_IN_CATALOG;
+      }
+      if (columnDataType.isAutoIncrementable())
+      {
+        flags = flags | TYPE_AUTO_INCREMENTABLE;
+      }
+      if (columnDataType.isCaseSensitive())
+      {
+        flags = flags | TYPE_CASE_SENSITIVE;
+      }
+      if (columnDataType.isFixedPrecisionScale())
+      {
+        flags = flags | TYPE_FIXED_PRECISION_SCALE;
+      }
+      if (columnDataType.isNullable())
+      {
+        flags = flags | TYPE_NULLABLE;
+      }
+      if (columnDataType.isUnsigned())
+      {
+        flags = flags | TYPE_UNSIGNED;
+      }
+      if (columnDataType.isUserDefined())
+      {
+        flags = flags | TYPE_USER_DEFINED;
+      }
+      writeVarInt(flags);
+      writeSchema(columnDataType.getSchema());
+      writeString(columnDataType.getName());
+      writeSignedVarInt(columnDataType
+                          .getJavaSqlType()
+                          .getVendorTypeNumber());
+      writeString(columnDataType
+                    .getTypeMappedClass()
+                    .getName());
+      writeString(columnDataType.getCreateParameters());
+      writeString(columnDataType.getLiteralPrefix());
+      writeString(columnDataType.getLiteralSuffix());
+      writeString(columnDataType.getLocalTypeName());
+      writeSignedVarInt(columnDataType.getMaximumScale());
+      writeSignedVarInt(columnDataType.getMinimumScale());
+      writeSignedVarInt(columnDataType.getNumPrecisionRadix());
+      writeVarLong(columnDataType.getPrecision());
+      writeEnum(columnDataType.getSearchable());
+      final List<String> enumValues = columnDataType.getEnumValues();
+      writeVarInt(enumValues.size());
+      for (final String enumValue : enumValues)
+      {
+        writeString(enumValue);
+      }
+      writeColumnDataTypeId(columnDataType.getBaseType());
+      writeRemarksAndAttributes(columnDataType, columnDataType);
+    }
+  }
+
+  private void writeColumnReference(final Column column)
+    throws IOException
+  {
+    if (column == null)
+    {
+      writeVarInt(COLUMN_NONE);
+    }
+    else if (columnIds.containsKey(column))
+    {
+      writeVarInt(COLUMN_CATALOG);
+      if (indexed)
+      {
+        writeVarInt(tableIds.get(column.getParent()));
+      }
+      writeVarInt(columnIds.get(column));
+    }
+    else
+    {
+      // Column of a table that was not crawled
+      final Table table = column.getParent();
+      writeVarInt(COLUMN_PARTIAL);
+      writeSchema(table.getSchema());
+      writeString(table.getName());
+      writeString(column.getName());
+    }
+  }
+
+  private void writeCrawlInfo(final CrawlInfo crawlInfo)
+    throws IOException
+  {
+    writeString(crawlInfo
+                  .getCrawlTimestamp()
+                  .toString());
+    writeString(crawlInfo.getRunId());
+    writeProductVersion(crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion(crawlInfo.getOperatingSystemVersion());
+    writeProductVersion(crawlInfo.getJvmVersion());
+    writeProductVersion(crawlInfo.getDatabaseVersion());
+    writeProductVersion(crawlInfo.getJdbcDriverVersion());
+    final Map<String, Long> metadataRowCounts =
+      crawlInfo.getMetadataRowCounts();
+    writeVarInt(metadataRowCounts.size());
+    for (final Map.Entry<String, Long> metadataRowCount : metadataRowCounts.entrySet())
+    {
+      writeString(metadataRowCount.getKey());
+      writeVarLong(metadataRowCount.getValue());
+    }
+  }
+
+  private void writeDatabaseInfo(final DatabaseInfo databaseInfo)
+    throws IOException
+  {
+    writeString(databaseInfo.getProductName());
+    writeString(databaseInfo.getProductVersion());
+    writeString(databaseInfo.getUserName());
+    final Collection<DatabaseProperty> properties =
+      databaseInfo.getProperties();
+    writeVarInt(properties.size());
+    for (final DatabaseProperty property : properties)
+    {
+      writeString(property.getName());
+      writeValue(property.getValue());
+    }
+    final Collection<Property> serverInfo = databaseInfo.getServerInfo();
+    writeVarInt(serverInfo.size());
+    for (final Property property : serverInfo)
+    {
+      writeString(property.getName());
+      final Object value = property.getValue();
+      writeString(value == null? null: String.valueOf(value));
+      writeString(property.getDescription());
+    }
+  }
+
+  private void writeDefinition(final Object object)
+    throws IOException
+  {
+    if (object instanceof DefinedObject)
+    {
+      writeString(((DefinedObject) object).getDefinition());
+    }
+    else
+    {
+      writeString(null);
+    }
+  }
+
+  private void writeEnum(final Enum<?> value)
+    throws IOException
+  {
+    writeString(value == null? null: value.name());
+  }
+
+  private void writeForeignKey(final ForeignKey foreignKey)
+    throws IOException
+  {
+    writeString(foreignKey.getName());
+    writeString(foreignKey.getSpecificName());
+    writeEnum(foreignKey.getUpdateRule());
+    writeEnum(foreignKey.getDeleteRule());
+    writeEnum(foreignKey.getDeferrability());
+    writeDefinition(foreignKey);
+    writeRemarksAndAttributes(foreignKey, foreignKey);
+    final List<ForeignKeyColumnReference> columnReferences =
+      foreignKey.getColumnReferences();
+    writeVarInt(columnReferences.size());
+    for (final ForeignKeyColumnReference columnReference : columnReferences)
+    {
+      writeSignedVarInt(columnReference.getKeySequence());
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+      writeColumnReference(columnReference.getForeignKeyColumn());
+    }
+  }
+
+  private void writeIndex(final Index index)
+    throws IOException
+  {
+    writeString(index.getName());
+    body.writeBoolean(index.isUnique());
+    writeEnum(index.getIndexType());
+    writeSignedVarInt(index.getCardinality());
+    writeSignedVarInt(index.getPages());
+    writeDefinition(index);
+    writeRemarksAndAttributes(index, index);
+    final List<IndexColumn> columns = index.getColumns();
+    writeVarInt(columns.size());
+    for (final IndexColumn indexColumn : columns)
+    {
+      writeKeyColumn(indexColumn, indexColumn.getIndexOrdinalPosition());
+      writeEnum(indexColumn.getSortSequence());
+    }
+  }
+
+  private void writeJdbcDriverInfo(final JdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    writeString(jdbcDriverInfo.getProductName());
+    writeString(jdbcDriverInfo.getProductVersion());
+    writeString(jdbcDriverInfo.getDriverClassName());
+    writeString(jdbcDriverInfo.getConnectionUrl());
+    body.writeBoolean(jdbcDriverInfo.isJdbcCompliant());
+    final Collection<JdbcDriverProperty> driverProperties =
+      jdbcDriverInfo.getDriverProperties();
+    writeVarInt(driverProperties.size());
+    for (final JdbcDriverProperty driverProperty : driverProperties)
+    {
+      writeString(driverProperty.getName());
+      writeString(driverProperty.getValue());
+      writeString(driverProperty.getDescription());
+      body.writeBoolean(driverProperty.isRequired());
+      final Collection<String> choices = driverProperty.getChoices();
+      writeVarInt(choices.size());
+      for (final String choice : choices)
+      {
+        writeString(choice);
+      }
+    }
+  }
+
+  private void writeKeyColumn(final Column keyColumn,
+                              final int keyOrdinalPosition)
+    throws IOException
+  {
+    // Key columns are written as a reference to the table column
+    final Column column;
+    if (keyColumn instanceof MutableKeyColumn)
+    {
+      column = ((MutableKeyColumn) keyColumn).getColumn();
+    }
+    else
+    {
+      column = keyColumn;
+    }
+    writeColumnReference(column);
+    writeSignedVarInt(keyOrdinalPosition);
+    writeDefinition(keyColumn);
+    writeAttributes(keyColumn);
+  }
+
+  private void writePrivileges(final Collection<? extends Privilege<?>> privileges)
+    throws IOException
+  {
+    writeVarInt(privileges.size());
+    for (final Privilege<?> privilege : privileges)
+    {
+      writeString(privilege.getName());
+      final Collection<? extends Grant<?>> grants = privilege.getGrants();
+      writeVarInt(grants.size());
+      for (final Grant<?> grant : grants)
+      {
+        writeString(grant.getGrantor());
+        writeString(grant.getGrantee());
+        body.writeBoolean(grant.isGrantable());
+      }
+      writeRemarksAndAttributes(privilege, privilege);
+    }
+  }
+
+  private void writeProductVersion(final ProductVersion productVersion)
+    throws IOException
+  {
+    if (productVersion == null)
+    {
+      writeString(null);
+      writeString(null);
+    }
+    else
+    {
+      writeString(productVersion.getProductName());
+      writeString(productVersion.getProductVersion());
+    }
+  }
+
+  private void writeRemarksAndAttributes(final DescribedObject describedObject,
+                                         final AttributedObject attributedObject)
+    throws IOException
+  {
+    writeString(describedObject.getRemarks());
+    writeAttributes(attributedObject);
+  }
+
+  private void writeRoutine(final Routine routine)
+    throws IOException
+  {
+    writeVarInt(routine instanceof Function? FUNCTION: PROCEDURE);
+    writeSchema(routine.getSchema());
+    writeString(routine.getName());
+    writeString(routine.getSpecificName());
+    final Object returnType = routine.getReturnType();
+    writeEnum(returnType instanceof Enum? (Enum<?>) returnType: null);
+    writeEnum(routine.getRoutineBodyType());
+    writeDefinition(routine);
+    writeRemarksAndAttributes(routine, routine);
+
+    final List<? extends RoutineParameter<?>> parameters =
+      routine.getParameters();
+    writeVarInt(parameters.size());
+    for (final RoutineParameter<?> parameter : parameters)
+    {
+      writeString(parameter.getName());
+      writeBaseColumn(parameter);
+      body.writeBoolean(parameter.isNullable());
+      writeSignedVarInt(parameter.getPrecision());
+      writeEnum(parameter.getParameterMode());
+      writeRemarksAndAttributes(parameter, parameter);
+    }
+  }
+
+  private void writeSchema(final Schema schema)
+    throws IOException
+  {
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+  }
+
+  private void writeSequence(final Sequence sequence)
+    throws IOException
+  {
+    writeSchema(sequence.getSchema());
+    writeString(sequence.getName());
+    writeVarLong(sequence.getIncrement());
+    writeBigInteger(sequence.getMinimumValue());
+    writeBigInteger(sequence.getMaximumValue());
+    body.writeBoolean(sequence.isCycle());
+    writeRemarksAndAttributes(sequence, sequence);
+  }
+
+  private void writeSynonym(final Synonym synonym)
+    throws IOException
+  {
+    writeSchema(synonym.getSchema());
+    writeString(synonym.getName());
+    writeSynonymReference(synonym.getReferencedObject());
+    writeRemarksAndAttributes(synonym, synonym);
+  }
+
+  private void writeSynonymReference(final DatabaseObject referencedObject)
+    throws IOException
+  {
+    if (referencedObject instanceof Table
+        && tableIds.containsKey(referencedObject))
+    {
+      writeVarInt(SYNONYM_TABLE);
+      writeVarInt(tableIds.get(referencedObject));
+    }
+    else if (referencedObject instanceof Routine
+             && routineIds.containsKey(referencedObject))
+    {
+      writeVarInt(SYNONYM_ROUTINE);
+      writeVarInt(routineIds.get(referencedObject));
+    }
+    else
+    {
+      writeVarInt(SYNONYM_OTHER);
+      writeSchema(referencedObject.getSchema());
+      writeString(referencedObject.getName());
+    }
+  }
+
+  private void writeTable(final Table table)
+    throws IOException
+  {
+    if (!tableIds.containsKey(table))
+    {
+      tableIds.put(table, tableIds.size());
+    }
+
+    final boolean isView = table instanceof View;
+    writeVarInt(isView? VIEW: TABLE);
+    writeSchema(table.getSchema());
+    writeString(table.getName());
+    writeString(table
+                  .getTableType()
+                  .getTableType());
+    writeDefinition(table);
+    if (table instanceof MutableTable)
+    {
+      writeSignedVarInt(((MutableTable) table).getSortIndex());
+    }
+    else
+    {
+      writeSignedVarInt(0);
+    }
+    if (isView)
+    {
+      final View view = (View) table;
+      writeEnum(view.getCheckOption());
+      body.writeBoolean(view.isUpdatable());
+    }
+    writeRemarksAndAttributes(table, table);
+  }
+
+  private void writeTableColumns(final Table table)
+    throws IOException
+  {
+    tableColumnsCount = 0;
+    final List<Column> columns = table.getColumns();
+    writeVarInt(columns.size());
+    for (final Column column : columns)
+    {
+      writeColumn(column);
+    }
+    final Collection<Column> hiddenColumns = table.getHiddenColumns();
+    writeVarInt(hiddenColumns.size());
+    for (final Column column : hiddenColumns)
+    {
+      writeColumn(column);
+    }
+  }
+
+  private void writeTableConstraint(final TableConstraint tableConstraint)
+    throws IOException
+  {
+    writeString(tableConstraint.getName());
+    writeEnum(tableConstraint.getConstraintType());
+    body.writeBoolean(tableConstraint.isDeferrable());
+    body.writeBoolean(tableConstraint.isInitiallyDeferred());
+    writeDefinition(tableConstraint);
+    writeRemarksAndAttributes(tableConstraint, tableConstraint);
+    final List<TableConstraintColumn> columns = tableConstraint.getColumns();
+    writeVarInt(columns.size());
+    for (final TableConstraintColumn constraintColumn : columns)
+    {
+      writeKeyColumn(constraintColumn,
+                     constraintColumn.getTableConstraintOrdinalPosition());
+    }
+  }
+
+  private void writeTableDetails(final Table table)
+    throws IOException
+  {
+    final TableConstraint primaryKey = table.getPrimaryKey();
+    body.writeBoolean(primaryKey != null);
+    if (primaryKey != null)
+    {
+      writeTableConstraint(primaryKey);
+    }
+
+    final Collection<Index> indexes = table.getIndexes();
+    writeVarInt(indexes.size());
+    for (final Index index : indexes)
+    {
+      writeIndex(index);
+    }
+
+    final Collection<TableConstraint> tableConstraints =
+      table.getTableConstraints();
+    writeVarInt(tableConstraints.size());
+    for (final TableConstraint tableConstraint : tableConstraints)
+    {
+      writeTableConstraint(tableConstraint);
+    }
+
+    final Collection<Trigger> triggers = table.getTriggers();
+    writeVarInt(triggers.size());
+    for (final Trigger trigger : triggers)
+    {
+      writeString(trigger.getName());
+      writeEnum(trigger.getEventManipulationType());
+      writeSignedVarInt(trigger.getActionOrder());
+      writeEnum(trigger.getActionOrientation());
+      writeEnum(trigger.getConditionTiming());
+      writeString(trigger.getActionCondition());
+      writeString(trigger.getActionStatement());
+      writeRemarksAndAttributes(trigger, trigger);
+    }
+
+    writePrivileges(table.getPrivileges());
+  }
+
+  private void writeValue(final Object value)
+    throws IOException
+  {
+    if (value == null)
+    {
+      writeVarInt(VALUE_NULL);
+    }
+    else if (value instanceof String)
+    {
+      writeVarInt(VALUE_STRING);
+      writeString((String) value);
+    }
+    else if (value instanceof Boolean)
+    {
+      writeVarInt(VALUE_BOOLEAN);
+      body.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer)
+    {
+      writeVarInt(VALUE_INTEGER);
+      writeSignedVarInt((Integer) value);
+    }
+    else if (value instanceof Long)
+    {
+      writeVarInt(VALUE_LONG);
+      writeVarLong((Long) value);
+    }
+    else if (value instanceof Short)
+    {
+      writeVarInt(VALUE_SHORT);
+      writeSignedVarInt((Short) value);
+    }
+    else if (value instanceof Byte)
+    {
+      writeVarInt(VALUE_BYTE);
+      body.writeByte((Byte) value);
+    }
+    else if (value instanceof Double)
+    {
+      writeVarInt(VALUE_DOUBLE);
+      body.writeDouble((Double) value);
+    }
+    else if (value instanceof Float)
+    {
+      writeVarInt(VALUE_FLOAT);
+      body.writeFloat((Float) value);
+    }
+    else if (value instanceof BigDecimal)
+    {
+      writeVarInt(VALUE_BIG_DECIMAL);
+      writeString(value.toString());
+    }
+    else if (value instanceof BigInteger)
+    {
+      writeVarInt(VALUE_BIG_INTEGER);
+      writeString(value.toString());
+    }
+    else if (value instanceof List)
+    {
+      final List<?> list = (List<?>) value;
+      writeVarInt(VALUE_LIST);
+      writeVarInt(list.size());
+      for (final Object item : list)
+      {
+        writeValue(item);
+      }
+    }
+    else if (value instanceof Object[])
+    {
+      writeValue(Arrays.asList((Object[]) value));
+    }
+    else
+    {
+      final byte[] serialized = serialize(value);
+      if (serialized != null)
+      {
+        writeVarInt(VALUE_SERIALIZED);
+        writeVarInt(serialized.length);
+        body.write(serialized);
+      }
+      else
+      {
+        writeVarInt(VALUE_STRING);
+        writeString(value.toString());
+      }
+    }
+  }
+
+  private void writeWeakAssociation(final WeakAssociation weakAssociation)
+    throws IOException
+  {
+    writeString(weakAssociation.getName());
+    final List<WeakAssociationColumnReference> columnReferences =
+      weakAssociation.getColumnReferences();
+    writeVarInt(columnReferences.size());
+    for (final ColumnReference columnReference : columnReferences)
+    {
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+      writeColumnReference(columnReference.getForeignKeyColumn());
+    }
+  }
+
+  private <T> void addAllByIdentity(final Set<T> set,
+                                    final Collection<? extends T> values)
+  {
+    // Foreign keys are shared between the two tables that they relate, but
+    // may compare equal to other foreign keys with the same columns
+    final Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    seen.addAll(set);
+    for (final T value : values)
+    {
+      if (!seen.contains(value))
+      {
+        set.add(value);
+        seen.add(value);
+      }
+    }
+  }
+
+  private <T> Map<T, Integer> idsByIdentity(final List<T> values)
+  {
+    final Map<T, Integer> ids = new IdentityHashMap<>();
+    for (int i = 0; i < values.size(); i++)
+    {
+      ids.put(values.get(i), i);
+    }
+    return ids;
+  }
+
+  private long offset()
+  {
+    return INDEXED_HEADER_SIZE + (long) body.size();
+  }
+
+  private byte[] serialize(final Object value)
+  {
+    if (!(value instanceof Serializable))
+    {
+      return null;
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream objOut = new ObjectOutputStream(bytes))
+    {
+      objOut.writeObject(value);
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.FINE,
+                 new StringFormat("Could not serialize value <%s>", value),
+                 e);
+      return null;
+    }
+    return bytes.toByteArray();
+  }
+
+  private void writeSignedVarInt(final int value)
+    throws IOException
+  {
+    writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  private void writeString(final String string)
+    throws IOException
+  {
+    if (string == null)
+    {
+      writeVarInt(0);
+      return;
+    }
+    Integer stringId = stringIds.get(string);
+    if (stringId == null)
+    {
+      strings.add(string);
+      stringId = strings.size();
+      stringIds.put(string, stringId);
+    }
+    writeVarInt(stringId);
+  }
+
+  private void writeVarInt(final int value)
+    throws IOException
+  {
+    writeVarInt(body, value);
+  }
+
+  private static void writeVarInt(final DataOutputStream out, final int value)
+    throws IOException
+  {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0)
+    {
+      out.writeByte((remaining & 0x7F) | 0x80);
+      remaining = remaining >>> 7;
+    }
+    out.writeByte(remaining);
+  }
+
+  private void writeOffsets(final long[] offsets)
+    throws IOException
+  {
+    for (final long offset : offsets)
+    {
+      body.writeLong(offset);
+    }
+  }
+
+  private static int varIntSize(final int value)
+  {
+    int size = 1;
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0)
+    {
+      size++;
+      remaining = remaining >>> 7;
+    }
+    return size;
+  }
+
+  private void writeVarLong(final long value)
+    throws IOException
+  {
+    long remaining = (value << 1) ^ (value >> 63);
+    while ((remaining & ~0x7FL) != 0)
+    {
+      body.writeByte((int) ((remaining & 0x7F) | 0x80));
+      remaining = remaining >>> 7;
+    }
+    body.writeByte((int) remaining);
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Receives tables from SchemaCrawler while the database is still being
+ * crawled, so that they can be written out before the crawl is complete.
+ * Each table is handed over as soon as its columns, primary key and indexes
+ * have been retrieved. Foreign keys need the tables at both ends, so they
+ * are handed over in a final pass, once all tables have been handed over.
+ * Other table details, such as definitions, triggers and privileges, as
+ * well as the sort order of tables, are only complete once the crawl is
+ * complete.
+ * <p>
+ * The listener is called from one crawl thread at a time, which need not
+ * be the thread that started the crawl.
+ */
+public interface CrawlListener
+{
+
+  /**
+   * Provides a foreign key, once all tables have been handed over.
+   *
+   * @param foreignKey
+   *   Foreign key metadata
+   */
+  void handle(final ForeignKey foreignKey)
+    throws SchemaCrawlerException;
+
+  /**
+   * Provides a table, once its columns, primary key and indexes have been
+   * retrieved.
+   *
+   * @param table
+   *   Table metadata
+   */
+  void handle(final Table table)
+    throws SchemaCrawlerException;
+
+}
@@ -0,0 +1,82 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+import sf.util.StopWatch;
+
+/**
+ * Records the metrics for each timed step of a crawl phase in the catalog.
+ * Metadata calls and rows are counted on the retriever connection of the
+ * phase, and each step is charged with the difference between the counts
+ * when it starts and when it stops. Steps of a phase run one after the other,
+ * and parallel phases use their own retriever connections.
+ */
+final class CrawlMetricsRecorder
+  implements StopWatch.TaskListener
+{
+
+  private final MutableCatalog catalog;
+  private final RetrieverConnection retrieverConnection;
+  private long startMetadataCallCount;
+  private long startMetadataRowCount;
+
+  CrawlMetricsRecorder(final MutableCatalog catalog,
+                       final RetrieverConnection retrieverConnection)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    this.retrieverConnection =
+      requireNonNull(retrieverConnection, "No retriever connection provided");
+  }
+
+  @Override
+  public void taskStarted(final String id, final String taskName)
+  {
+    startMetadataCallCount = retrieverConnection.getMetadataCallCount();
+    startMetadataRowCount = retrieverConnection.getMetadataRowCount();
+  }
+
+  @Override
+  public void taskStopped(final String id,
+                          final String taskName,
+                          final Duration duration)
+  {
+    catalog.addCrawlMetric(new ImmutableCrawlMetric(id,
+                                                    taskName,
+                                                    duration,
+                                                    retrieverConnection.getMetadataCallCount()
+                                                    - startMetadataCallCount,
+                                                    retrieverConnection.getMetadataRowCount()
+                                                    - startMetadataRowCount));
+  }
+
+}
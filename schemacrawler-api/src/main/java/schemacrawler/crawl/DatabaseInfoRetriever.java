@@ -42,7 +42,6 @@ import java.sql.DriverPropertyInfo;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -361,12 +360,10 @@ final class DatabaseInfoRetriever
     final Query serverInfoSql =
       informationSchemaViews.getQuery(InformationSchemaKey.SERVER_INFORMATION);
 
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(serverInfoSql,
-                                                              statement,
-                                                              new IncludeAll())
+                                                              new IncludeAll(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveServerInfo");
@@ -414,7 +411,6 @@ final class DatabaseInfoRetriever
   {
     final Schema systemSchema = new SchemaReference();
 
-    final Statement statement;
     final MetadataResultSet results;
 
     final InformationSchemaViews informationSchemaViews =
@@ -423,15 +419,13 @@ final class DatabaseInfoRetriever
     {
       final Query typeInfoSql =
         informationSchemaViews.getQuery(InformationSchemaKey.OVERRIDE_TYPE_INFO);
-      final Connection connection = getDatabaseConnection();
-      statement = connection.createStatement();
       results =
-        new MetadataResultSet(typeInfoSql, statement, getSchemaInclusionRule());
+        new MetadataResultSet(typeInfoSql, getSchemaInclusionRule(),
+        getRetrieverConnection());
     }
     else
     {
-      statement = null;
-      results = new MetadataResultSet(getMetaData().getTypeInfo());
+      results = new MetadataResultSet(getMetaData().getTypeInfo(), getRetrieverConnection());
     }
 
     try
@@ -490,10 +484,6 @@ final class DatabaseInfoRetriever
     finally
     {
       results.close();
-      if (statement != null)
-      {
-        statement.close();
-      }
     }
   }
 
@@ -525,7 +515,8 @@ final class DatabaseInfoRetriever
         catalogName,
         schemaName,
         null,
-        null))
+        null),
+        getRetrieverConnection())
     )
     {
       while (results.next())
@@ -30,23 +30,27 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.ShardedMetadataRetriever.TABLES_PER_SHARD;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.foreignKeysRetrievalStrategy;
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
+import schemacrawler.inclusionrule.IncludeAll;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
 import schemacrawler.schema.ForeignKeyDeferrability;
 import schemacrawler.schema.ForeignKeyUpdateRule;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
+import schemacrawler.schema.TableType;
 import schemacrawler.schema.View;
 import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
@@ -55,6 +59,7 @@ import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
 import schemacrawler.schemacrawler.SchemaReference;
 import schemacrawler.utility.MetaDataUtility;
+import schemacrawler.utility.TableTypes;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
 
@@ -71,11 +76,63 @@ final class ForeignKeyRetriever
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(ForeignKeyRetriever.class.getName());
 
+  private final boolean crawlsAllTables;
+  private final AtomicInteger metadataCalls;
+
   ForeignKeyRetriever(final RetrieverConnection retrieverConnection,
                       final MutableCatalog catalog,
                       final SchemaCrawlerOptions options)
   {
     super(retrieverConnection, catalog, options);
+    crawlsAllTables = crawlsAllTables(retrieverConnection, options);
+    metadataCalls = new AtomicInteger();
+  }
+
+  /**
+   * Checks whether the options include every table in the database that can
+   * have foreign keys, so that every foreign key is imported by one of the
+   * crawled tables.
+   */
+  private static boolean crawlsAllTables(final RetrieverConnection retrieverConnection,
+                                         final SchemaCrawlerOptions options)
+  {
+    if (!(options.getSchemaInclusionRule() instanceof IncludeAll)
+        || !(options.getTableInclusionRule() instanceof IncludeAll)
+        || !isBlank(options.getTableNamePattern()))
+    {
+      return false;
+    }
+
+    final Collection<String> tableTypes = options.getTableTypes();
+    if (tableTypes == null)
+    {
+      return true;
+    }
+    final TableTypes includedTableTypes = new TableTypes(tableTypes);
+    final Collection<String> supportedTableTypes = retrieverConnection
+      .getTableTypes()
+      .getAllTableTypes();
+    if (supportedTableTypes.isEmpty())
+    {
+      return false;
+    }
+    for (final String supportedTableType : supportedTableTypes)
+    {
+      // Views cannot have foreign keys, and system tables do not
+      // reference user tables
+      final TableType tableType = new TableType(supportedTableType);
+      final boolean canReferenceTables = !tableType.isView() && !tableType
+        .getTableType()
+        .toUpperCase()
+        .contains("SYSTEM");
+      if (canReferenceTables && !includedTableTypes
+        .lookupTableType(supportedTableType)
+        .isPresent())
+      {
+        return false;
+      }
+    }
+    return true;
   }
 
   void retrieveForeignKeyDefinitions(final NamedObjectList<MutableTable> allTables)
@@ -85,7 +142,6 @@ final class ForeignKeyRetriever
     final InformationSchemaViews informationSchemaViews =
       getRetrieverConnection().getInformationSchemaViews();
 
-    final Connection connection = getDatabaseConnection();
 
     if (!informationSchemaViews.hasQuery(InformationSchemaKey.EXT_FOREIGN_KEYS))
     {
@@ -107,10 +163,9 @@ final class ForeignKeyRetriever
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_FOREIGN_KEYS);
 
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(extForeignKeysSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       while (results.next())
@@ -123,7 +178,7 @@ final class ForeignKeyRetriever
         final String definition = results.getString("FOREIGN_KEY_DEFINITION");
 
         final Optional<MutableForeignKey> optionalFk =
-          allFks.lookup(Arrays.asList(fkName, fkName));
+          allFks.lookup(new NamedObjectKey(fkName, fkName));
         if (optionalFk.isPresent())
         {
           final MutableForeignKey fkConstraint = optionalFk.get();
@@ -147,6 +202,23 @@ final class ForeignKeyRetriever
 
   void retrieveForeignKeys(final NamedObjectList<MutableTable> allTables)
     throws SQLException
+  {
+    retrieveForeignKeys(allTables, crawlsAllTables);
+  }
+
+  /**
+   * Retrieves foreign keys for the provided tables.
+   *
+   * @param allTables
+   *   Tables to retrieve foreign keys for
+   * @param allTablesIncluded
+   *   Whether the tables include every table that can reference them, in which
+   *   case every foreign key is imported by one of the tables, and exported
+   *   keys are not retrieved from metadata
+   */
+  void retrieveForeignKeys(final NamedObjectList<MutableTable> allTables,
+                           final boolean allTablesIncluded)
+    throws SQLException
   {
     requireNonNull(allTables, "No tables provided");
 
@@ -159,8 +231,27 @@ final class ForeignKeyRetriever
         break;
 
       case metadata:
-        LOGGER.log(Level.INFO, "Retrieving foreign keys");
-        retrieveForeignKeysFromMetadata(allTables);
+        if (getRetrieverConnection().isShardedMetadataRetrieval())
+        {
+          LOGGER.log(Level.INFO,
+                     "Retrieving foreign keys, using sharded metadata retrieval");
+          retrieveForeignKeysFromShardedMetadata(allTables,
+                                                 !allTablesIncluded);
+        }
+        else
+        {
+          LOGGER.log(Level.INFO, "Retrieving foreign keys");
+          retrieveForeignKeysFromMetadata(allTables, !allTablesIncluded);
+        }
+        logMetadataCalls(allTables, allTablesIncluded);
+        break;
+
+      case metadata_over_schemas:
+        LOGGER.log(Level.INFO,
+                   "Retrieving foreign keys, using metadata over schemas");
+        retrieveForeignKeysFromMetadataOverSchemas(allTables,
+                                                   !allTablesIncluded);
+        logMetadataCalls(allTables, allTablesIncluded);
         break;
 
       default:
@@ -169,6 +260,19 @@ final class ForeignKeyRetriever
 
   }
 
+  private void logMetadataCalls(final NamedObjectList<MutableTable> allTables,
+                                final boolean allTablesIncluded)
+  {
+    LOGGER.log(Level.INFO,
+               new StringFormat(
+                 "Retrieved foreign keys for <%d> tables with <%d> metadata calls%s",
+                 allTables.size(),
+                 metadataCalls.get(),
+                 allTablesIncluded?
+                 ", without exported keys since all tables are included":
+                 ""));
+  }
+
   private void createForeignKeys(final MetadataResultSet results,
                                  final NamedObjectList<MutableForeignKey> foreignKeys)
     throws SQLException
@@ -231,7 +335,7 @@ final class ForeignKeyRetriever
       }
 
       final Optional<MutableForeignKey> foreignKeyOptional =
-        foreignKeys.lookup(Arrays.asList(foreignKeyName, specificName));
+        foreignKeys.lookup(new NamedObjectKey(foreignKeyName, specificName));
       final MutableForeignKey foreignKey;
       if (foreignKeyOptional.isPresent())
       {
@@ -251,25 +355,42 @@ final class ForeignKeyRetriever
       foreignKey.setDeleteRule(deleteRule);
       foreignKey.setDeferrability(deferrability);
       foreignKey.addAttributes(results.getAttributes());
+    }
+  }
 
-      if (fkColumn instanceof MutableColumn)
-      {
-        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
-        ((MutableTable) fkColumn.getParent()).addForeignKey(foreignKey);
-      }
-      else if (isFkColumnPartial)
+  /**
+   * Adds foreign keys to the tables that they reference, and links referencing
+   * columns to referenced columns. This is done after all foreign keys are
+   * created, so that foreign keys can be created without changing tables.
+   */
+  private void addForeignKeysToTables(final NamedObjectList<MutableForeignKey> foreignKeys)
+  {
+    for (final MutableForeignKey foreignKey : foreignKeys)
+    {
+      for (final ForeignKeyColumnReference columnReference : foreignKey)
       {
-        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
-        ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
-      }
+        final Column pkColumn = columnReference.getPrimaryKeyColumn();
+        final Column fkColumn = columnReference.getForeignKeyColumn();
 
-      if (pkColumn instanceof MutableColumn)
-      {
-        ((MutableTable) pkColumn.getParent()).addForeignKey(foreignKey);
-      }
-      else if (isPkColumnPartial)
-      {
-        ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+        if (fkColumn instanceof MutableColumn)
+        {
+          ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+          ((MutableTable) fkColumn.getParent()).addForeignKey(foreignKey);
+        }
+        else if (fkColumn instanceof ColumnPartial)
+        {
+          ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+          ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+        }
+
+        if (pkColumn instanceof MutableColumn)
+        {
+          ((MutableTable) pkColumn.getParent()).addForeignKey(foreignKey);
+        }
+        else if (pkColumn instanceof ColumnPartial)
+        {
+          ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+        }
       }
     }
   }
@@ -287,7 +408,7 @@ final class ForeignKeyRetriever
     Column column = null;
 
     final Optional<MutableTable> tableOptional =
-      catalog.lookupTable(Arrays.asList(catalogName, schemaName, tableName));
+      catalog.lookupTable(new NamedObjectKey(catalogName, schemaName, tableName));
     if (tableOptional.isPresent())
     {
       final Table table = tableOptional.get();
@@ -332,16 +453,15 @@ final class ForeignKeyRetriever
       new NamedObjectList<>();
     final Query fkSql =
       informationSchemaViews.getQuery(InformationSchemaKey.FOREIGN_KEYS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(fkSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveForeignKeysUsingSql");
       createForeignKeys(results, foreignKeys);
+      addForeignKeysToTables(foreignKeys);
     }
     catch (final SQLException e)
     {
@@ -351,30 +471,111 @@ final class ForeignKeyRetriever
     }
   }
 
-  private void retrieveForeignKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
+  private void retrieveForeignKeysFromMetadata(final NamedObjectList<MutableTable> allTables,
+                                               final boolean retrieveExportedKeys)
     throws SchemaCrawlerSQLException
   {
     final NamedObjectList<MutableForeignKey> foreignKeys =
       new NamedObjectList<>();
     for (final MutableTable table : allTables)
     {
-      if (table instanceof View)
-      {
-        continue;
-      }
+      retrieveForeignKeysFromMetadata(getMetaData(),
+                                      table,
+                                      retrieveExportedKeys,
+                                      foreignKeys);
+    }
+    addForeignKeysToTables(foreignKeys);
+  }
+
+  private void retrieveForeignKeysFromMetadata(final DatabaseMetaData metaData,
+                                               final MutableTable table,
+                                               final boolean retrieveExportedKeys,
+                                               final NamedObjectList<MutableForeignKey> foreignKeys)
+    throws SchemaCrawlerSQLException
+  {
+    if (table instanceof View)
+    {
+      return;
+    }
 
-      final DatabaseMetaData metaData = getMetaData();
+    // Get imported foreign keys
+    metadataCalls.incrementAndGet();
+    try (
+      final MetadataResultSet results = new MetadataResultSet(metaData.getImportedKeys(
+        table
+          .getSchema()
+          .getCatalogName(),
+        table
+          .getSchema()
+          .getName(),
+        table.getName()),
+        getRetrieverConnection())
+    )
+    {
+      createForeignKeys(results, foreignKeys);
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException(
+        "Could not retrieve foreign keys for table " + table,
+        e);
+    }
+
+    // We need to get exported keys as well, since if only a single
+    // table is selected, we have not retrieved it's keys that are
+    // imported by other tables. If all tables are included, every
+    // exported key has already been retrieved as an imported key
+    // of another table.
+    if (!retrieveExportedKeys)
+    {
+      return;
+    }
+    metadataCalls.incrementAndGet();
+    try (
+      final MetadataResultSet results = new MetadataResultSet(metaData.getExportedKeys(
+        table
+          .getSchema()
+          .getCatalogName(),
+        table
+          .getSchema()
+          .getName(),
+        table.getName()),
+        getRetrieverConnection())
+    )
+    {
+      createForeignKeys(results, foreignKeys);
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException(
+        "Could not retrieve foreign keys for table " + table,
+        e);
+    }
+  }
 
-      // Get imported foreign keys
+  /**
+   * Retrieves foreign keys for all tables in each schema with a single metadata
+   * call. Imported keys of a schema include those of tables that are not
+   * crawled, which reference crawled tables, so exported keys are only needed
+   * for tables in schemas that are not crawled.
+   */
+  private void retrieveForeignKeysFromMetadataOverSchemas(final NamedObjectList<MutableTable> allTables,
+                                                          final boolean retrieveExportedKeys)
+    throws SchemaCrawlerSQLException
+  {
+    final DatabaseMetaData metaData = getMetaData();
+    final NamedObjectList<MutableForeignKey> foreignKeys =
+      new NamedObjectList<>();
+    for (final Schema schema : getTableSchemas(allTables))
+    {
+      final String catalogName = schema.getCatalogName();
+      final String schemaName = schema.getName();
+      metadataCalls.incrementAndGet();
       try (
         final MetadataResultSet results = new MetadataResultSet(metaData.getImportedKeys(
-          table
-            .getSchema()
-            .getCatalogName(),
-          table
-            .getSchema()
-            .getName(),
-          table.getName()))
+          catalogName,
+          schemaName,
+          null), getRetrieverConnection())
       )
       {
         createForeignKeys(results, foreignKeys);
@@ -382,22 +583,20 @@ final class ForeignKeyRetriever
       catch (final SQLException e)
       {
         throw new SchemaCrawlerSQLException(
-          "Could not retrieve foreign keys for table " + table,
+          "Could not retrieve foreign keys for schema " + schema,
           e);
       }
 
-      // We need to get exported keys as well, since if only a single
-      // table is selected, we have not retrieved it's keys that are
-      // imported by other tables.
+      if (!retrieveExportedKeys)
+      {
+        continue;
+      }
+      metadataCalls.incrementAndGet();
       try (
         final MetadataResultSet results = new MetadataResultSet(metaData.getExportedKeys(
-          table
-            .getSchema()
-            .getCatalogName(),
-          table
-            .getSchema()
-            .getName(),
-          table.getName()))
+          catalogName,
+          schemaName,
+          null), getRetrieverConnection())
       )
       {
         createForeignKeys(results, foreignKeys);
@@ -405,10 +604,57 @@ final class ForeignKeyRetriever
       catch (final SQLException e)
       {
         throw new SchemaCrawlerSQLException(
-          "Could not retrieve foreign keys for table " + table,
+          "Could not retrieve foreign keys for schema " + schema,
           e);
       }
     }
+    addForeignKeysToTables(foreignKeys);
+  }
+
+  /**
+   * Retrieves foreign keys for shards of tables on worker connections, into
+   * partial lists of foreign keys. A foreign key between tables in different
+   * shards is created by both workers, so only the first one is kept when the
+   * partial lists are merged.
+   */
+  private void retrieveForeignKeysFromShardedMetadata(final NamedObjectList<MutableTable> allTables,
+                                                      final boolean retrieveExportedKeys)
+    throws SQLException
+  {
+    final ShardedMetadataRetriever shardedRetriever =
+      new ShardedMetadataRetriever(getRetrieverConnection(), "foreign keys");
+    final List<NamedObjectList<MutableForeignKey>> partialForeignKeys =
+      shardedRetriever.retrieve(allTables.values(),
+                                TABLES_PER_SHARD,
+                                (metaData, shard) -> {
+                                  final NamedObjectList<MutableForeignKey>
+                                    foreignKeys = new NamedObjectList<>();
+                                  for (final MutableTable table : shard)
+                                  {
+                                    retrieveForeignKeysFromMetadata(metaData,
+                                                                    table,
+                                                                    retrieveExportedKeys,
+                                                                    foreignKeys);
+                                  }
+                                  return foreignKeys;
+                                });
+
+    final NamedObjectList<MutableForeignKey> foreignKeys =
+      new NamedObjectList<>();
+    for (final NamedObjectList<MutableForeignKey> partial : partialForeignKeys)
+    {
+      for (final MutableForeignKey foreignKey : partial)
+      {
+        if (!foreignKeys
+          .lookup(new NamedObjectKey(foreignKey.getName(),
+                                     foreignKey.getSpecificName()))
+          .isPresent())
+        {
+          foreignKeys.add(foreignKey);
+        }
+      }
+    }
+    addForeignKeysToTables(foreignKeys);
   }
 
 }
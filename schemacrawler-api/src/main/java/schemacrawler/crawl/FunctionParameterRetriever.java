@@ -33,12 +33,9 @@ import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.functionParametersRetrievalStrategy;
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
-import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -99,6 +96,7 @@ final class FunctionParameterRetriever
                                                      parameterFilter);
         break;
 
+      case metadata_over_schemas:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving function parameters");
         retrieveFunctionParametersFromMetadata(allRoutines, parameterFilter);
@@ -143,10 +141,10 @@ final class FunctionParameterRetriever
     }
 
     final Optional<MutableRoutine> optionalRoutine =
-      allRoutines.lookup(Arrays.asList(columnCatalogName,
-                                       schemaName,
-                                       functionName,
-                                       specificName));
+      allRoutines.lookup(new NamedObjectKey(columnCatalogName,
+                                            schemaName,
+                                            functionName,
+                                            specificName));
     if (!optionalRoutine.isPresent())
     {
       return;
@@ -235,12 +233,10 @@ final class FunctionParameterRetriever
     }
     final Query functionColumnsSql =
       informationSchemaViews.getQuery(InformationSchemaKey.FUNCTION_COLUMNS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(functionColumnsSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveFunctionColumnsFromDataDictionary");
@@ -272,7 +268,8 @@ final class FunctionParameterRetriever
             .getSchema()
             .getName(),
           function.getName(),
-          null))
+          null),
+          getRetrieverConnection())
       )
       {
         while (results.next())
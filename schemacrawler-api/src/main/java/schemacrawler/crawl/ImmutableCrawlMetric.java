@@ -0,0 +1,124 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+import schemacrawler.schema.CrawlMetric;
+
+/**
+ * Measurements for one step of a crawl.
+ */
+final class ImmutableCrawlMetric
+  implements CrawlMetric
+{
+
+  private static final long serialVersionUID = -2766410735340180362L;
+
+  private final String phase;
+  private final String step;
+  private final Duration duration;
+  private final long metadataCallCount;
+  private final long metadataRowCount;
+
+  ImmutableCrawlMetric(final String phase,
+                       final String step,
+                       final Duration duration,
+                       final long metadataCallCount,
+                       final long metadataRowCount)
+  {
+    this.phase = requireNonNull(phase, "No crawl phase provided");
+    this.step = requireNonNull(step, "No crawl step provided");
+    this.duration = requireNonNull(duration, "No duration provided");
+    this.metadataCallCount = metadataCallCount;
+    this.metadataRowCount = metadataRowCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Duration getDuration()
+  {
+    return duration;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMetadataCallCount()
+  {
+    return metadataCallCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMetadataRowCount()
+  {
+    return metadataRowCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getPhase()
+  {
+    return phase;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getStep()
+  {
+    return step;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString()
+  {
+    return String.format("%s.%s - %d ms, %d metadata calls, %d rows",
+                         phase,
+                         step,
+                         duration.toMillis(),
+                         metadataCallCount,
+                         metadataRowCount);
+  }
+
+}
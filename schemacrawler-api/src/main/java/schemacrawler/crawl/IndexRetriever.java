@@ -30,12 +30,12 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.ShardedMetadataRetriever.TABLES_PER_SHARD;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.indexesRetrievalStrategy;
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -85,8 +85,23 @@ final class IndexRetriever
         break;
 
       case metadata:
-        LOGGER.log(Level.INFO, "Retrieving indexes");
-        retrieveIndexesFromMetadata(allTables);
+        if (getRetrieverConnection().isShardedMetadataRetrieval())
+        {
+          LOGGER.log(Level.INFO,
+                     "Retrieving indexes, using sharded metadata retrieval");
+          retrieveIndexesFromShardedMetadata(allTables);
+        }
+        else
+        {
+          LOGGER.log(Level.INFO, "Retrieving indexes");
+          retrieveIndexesFromMetadata(allTables);
+        }
+        break;
+
+      case metadata_over_schemas:
+        LOGGER.log(Level.INFO,
+                   "Retrieving indexes, using metadata over schemas");
+        retrieveIndexesFromMetadataOverSchemas(allTables);
         break;
 
       default:
@@ -105,6 +120,32 @@ final class IndexRetriever
     }
   }
 
+  /**
+   * Creates indexes from results that can have rows for any table, by looking
+   * up the table for each row. Rows for tables that are not in the catalog are
+   * skipped.
+   */
+  private void createIndexes(final MetadataResultSet results)
+    throws SQLException
+  {
+    while (results.next())
+    {
+      final String catalogName =
+        normalizeCatalogName(results.getString("TABLE_CAT"));
+      final String schemaName =
+        normalizeSchemaName(results.getString("TABLE_SCHEM"));
+      final String tableName = results.getString("TABLE_NAME");
+
+      final Optional<MutableTable> optionalTable = lookupTable(catalogName, schemaName, tableName);
+      if (!optionalTable.isPresent())
+      {
+        continue;
+      }
+      final MutableTable table = optionalTable.get();
+      createIndexForTable(table, results);
+    }
+  }
+
   private void createIndexForTable(final MutableTable table,
                                    final MetadataResultSet results)
   {
@@ -208,31 +249,14 @@ final class IndexRetriever
 
     final Query indexesSql =
       informationSchemaViews.getQuery(InformationSchemaKey.INDEXES);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(indexesSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveIndexesFromDataDictionary");
-      while (results.next())
-      {
-        final String catalogName =
-          normalizeCatalogName(results.getString("TABLE_CAT"));
-        final String schemaName =
-          normalizeSchemaName(results.getString("TABLE_SCHEM"));
-        final String tableName = results.getString("TABLE_NAME");
-
-        final Optional<MutableTable> optionalTable = lookupTable(catalogName, schemaName, tableName);
-        if (!optionalTable.isPresent())
-        {
-          continue;
-        }
-        final MutableTable table = optionalTable.get();
-        createIndexForTable(table, results);
-      }
+      createIndexes(results);
     }
     catch (final SQLException e)
     {
@@ -242,18 +266,21 @@ final class IndexRetriever
     }
   }
 
-  private void retrieveTableIndexesFromMetadata(final MutableTable table, final boolean unique)
+  private void retrieveTableIndexesFromMetadata(final DatabaseMetaData metaData,
+                                                final MutableTable table,
+                                                final boolean unique)
     throws SQLException
   {
 
     final Schema tableSchema = table.getSchema();
     try (
-      final MetadataResultSet results = new MetadataResultSet(getMetaData().getIndexInfo(
+      final MetadataResultSet results = new MetadataResultSet(metaData.getIndexInfo(
         tableSchema.getCatalogName(),
         tableSchema.getName(),
         table.getName(),
         unique,
-        true/* approximate */))
+        true/* approximate */),
+        getRetrieverConnection())
     )
     {
       createIndexes(table, results);
@@ -271,9 +298,68 @@ final class IndexRetriever
   {
     for (final MutableTable table : allTables)
     {
-      retrieveTableIndexesFromMetadata(table, false);
-      retrieveTableIndexesFromMetadata(table, true);
+      retrieveTableIndexesFromMetadata(getMetaData(), table, false);
+      retrieveTableIndexesFromMetadata(getMetaData(), table, true);
     }
   }
 
+  private void retrieveIndexesFromMetadataOverSchemas(final NamedObjectList<MutableTable> allTables)
+    throws SQLException
+  {
+    for (final Schema schema : getTableSchemas(allTables))
+    {
+      retrieveSchemaIndexesFromMetadata(schema, false);
+      retrieveSchemaIndexesFromMetadata(schema, true);
+    }
+  }
+
+  private void retrieveSchemaIndexesFromMetadata(final Schema schema,
+                                                 final boolean unique)
+    throws SQLException
+  {
+    try (
+      final MetadataResultSet results = new MetadataResultSet(getMetaData().getIndexInfo(
+        schema.getCatalogName(),
+        schema.getName(),
+        null,
+        unique,
+        true/* approximate */),
+        getRetrieverConnection())
+    )
+    {
+      createIndexes(results);
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException(
+        "Could not retrieve indexes for schema " + schema,
+        e);
+    }
+  }
+
+  /**
+   * Retrieves indexes for shards of tables on worker connections. Indexes only
+   * change the table that they belong to, so workers can add them directly.
+   */
+  private void retrieveIndexesFromShardedMetadata(final NamedObjectList<MutableTable> allTables)
+    throws SQLException
+  {
+    final ShardedMetadataRetriever shardedRetriever =
+      new ShardedMetadataRetriever(getRetrieverConnection(), "indexes");
+    shardedRetriever.retrieve(allTables.values(),
+                              TABLES_PER_SHARD,
+                              (metaData, shard) -> {
+                                for (final MutableTable table : shard)
+                                {
+                                  retrieveTableIndexesFromMetadata(metaData,
+                                                                   table,
+                                                                   false);
+                                  retrieveTableIndexesFromMetadata(metaData,
+                                                                   table,
+                                                                   true);
+                                }
+                                return null;
+                              });
+  }
+
 }
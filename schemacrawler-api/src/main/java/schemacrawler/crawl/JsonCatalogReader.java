@@ -0,0 +1,1706 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+import static sf.util.Utility.isBlank;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.sql.DriverPropertyInfo;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import schemacrawler.BaseProductVersion;
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.BaseForeignKey;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.ParameterModeType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Reads a catalog from the JSON serialization format, one token at a time,
+ * so that large files can be read without building a document tree. Objects
+ * are referenced by their full names. References to objects that were read
+ * earlier are resolved right away. Foreign keys and weak associations that
+ * refer to tables further on in the file are held back, and patched once all
+ * the tables have been read. Columns of tables that are not in the file are
+ * resolved to partial columns.
+ * <p>
+ * The identity of each object, that is, its schema and name, and for tables,
+ * the table type, and for routines, the routine type, must come before any
+ * other fields of the object. Unknown fields are skipped.
+ * <p>
+ * Jackson is a provided dependency of the API, so it needs to be on the
+ * classpath of code that reads JSON catalogs.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class JsonCatalogReader
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(JsonCatalogReader.class.getName());
+
+  /**
+   * Foreign key or weak association, with the column references that are
+   * still to be resolved.
+   */
+  private static final class ForeignKeyReferences
+  {
+
+    private final BaseForeignKey<?> foreignKey;
+    private final List<Integer> keySequences = new ArrayList<>();
+    private final List<String> pkColumnReferences = new ArrayList<>();
+    private final List<String> fkColumnReferences = new ArrayList<>();
+
+    ForeignKeyReferences(final BaseForeignKey<?> foreignKey)
+    {
+      this.foreignKey = foreignKey;
+    }
+
+  }
+
+  /**
+   * Splits a full name into its parts, at the dots that are not quoted. The
+   * parts are left quoted.
+   */
+  private static List<String> splitFullName(final String fullName)
+  {
+    final List<String> parts = new ArrayList<>();
+    boolean quoted = false;
+    int start = 0;
+    for (int i = 0; i < fullName.length(); i++)
+    {
+      final char ch = fullName.charAt(i);
+      if (ch == '"')
+      {
+        quoted = !quoted;
+      }
+      else if (ch == '.' && !quoted)
+      {
+        parts.add(fullName.substring(start, i));
+        start = i + 1;
+      }
+    }
+    parts.add(fullName.substring(start));
+    return parts;
+  }
+
+  private static String unquote(final String name)
+  {
+    if (name.length() > 1 && name.startsWith("\"") && name.endsWith("\""))
+    {
+      return name
+        .substring(1, name.length() - 1)
+        .replace("\"\"", "\"");
+    }
+    return name;
+  }
+
+  private final JsonParser parser;
+  private final JavaSqlTypes javaSqlTypes;
+  private final Map<String, SchemaReference> schemas;
+  private final Map<String, MutableColumnDataType> columnDataTypes;
+  private final Map<String, MutableTable> tables;
+  private final Map<String, MutableRoutine> routines;
+  private final Map<NamedObjectKey, TablePartial> partialTables;
+  private final List<ForeignKeyReferences> forwardReferences;
+  private MutableCatalog catalog;
+  private int columnsCount;
+
+  public JsonCatalogReader(final JsonParser parser)
+  {
+    this.parser = requireNonNull(parser, "No JSON parser provided");
+    javaSqlTypes = new JavaSqlTypes();
+    schemas = new HashMap<>();
+    columnDataTypes = new HashMap<>();
+    tables = new HashMap<>();
+    routines = new HashMap<>();
+    partialTables = new HashMap<>();
+    forwardReferences = new ArrayList<>();
+  }
+
+  /**
+   * Reads the catalog from the parser. The parser is not closed.
+   *
+   * @return Catalog
+   * @throws SchemaCrawlerException
+   *   On an exception reading the catalog
+   */
+  public Catalog read()
+    throws SchemaCrawlerException
+  {
+    if (catalog != null)
+    {
+      return catalog;
+    }
+
+    try
+    {
+      if (parser.nextToken() != JsonToken.START_OBJECT)
+      {
+        throw new IOException("Not a JSON catalog");
+      }
+      readCatalog();
+
+      // Patch references to tables that came later in the file
+      for (final ForeignKeyReferences foreignKeyReferences : forwardReferences)
+      {
+        linkForeignKey(foreignKeyReferences, true);
+      }
+
+      // Sort tables the same way as a crawl does, since the sort order is
+      // not part of the serialization format
+      final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+      new TablesGraph(allTables, TableRelationshipIndex.attach(allTables))
+        .setTablesSortIndexes();
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat(
+                   "Read JSON catalog with %d tables, and %d columns, and patched %d forward references",
+                   tables.size(),
+                   columnsCount,
+                   forwardReferences.size()));
+      return catalog;
+    }
+    catch (final IOException | RuntimeException e)
+    {
+      throw new SchemaCrawlerException("Could not read JSON catalog", e);
+    }
+  }
+
+  private <T> T checkCreated(final T object, final String fieldName)
+    throws IOException
+  {
+    if (object == null)
+    {
+      throw new IOException(String.format(
+        "Cannot read <%s> before the name of the object, at %s",
+        fieldName,
+        parser.getCurrentLocation()));
+    }
+    return object;
+  }
+
+  private Schema lookupSchema(final String fullName)
+  {
+    if (isBlank(fullName))
+    {
+      return schemas.computeIfAbsent("", key -> new SchemaReference());
+    }
+    return schemas.computeIfAbsent(fullName, key -> {
+      final List<String> parts = splitFullName(fullName);
+      if (parts.size() == 1)
+      {
+        return new SchemaReference(null, unquote(parts.get(0)));
+      }
+      return new SchemaReference(unquote(parts.get(0)), unquote(parts.get(1)));
+    });
+  }
+
+  private MutableColumnDataType lookupColumnDataType(final String fullName)
+  {
+    if (fullName == null)
+    {
+      return null;
+    }
+    return columnDataTypes.computeIfAbsent(fullName, key -> {
+      // Column data type that was not listed with the catalog
+      final List<String> parts = splitFullName(fullName);
+      final String name = unquote(parts.remove(parts.size() - 1));
+      return new MutableColumnDataType(lookupSchema(String.join(".", parts)),
+                                       name);
+    });
+  }
+
+  /**
+   * Looks up a column of a table that has already been read.
+   *
+   * @return Column, or null if the table has not been read yet
+   */
+  private Column lookupColumn(final String fullName)
+  {
+    // Quoted names can have dots in them, so try each table name prefix
+    for (int i = fullName.lastIndexOf('.'); i > 0; i = fullName.lastIndexOf('.', i - 1))
+    {
+      final MutableTable table = tables.get(fullName.substring(0, i));
+      if (table != null)
+      {
+        return table
+          .lookupColumn(unquote(fullName.substring(i + 1)))
+          .orElse(null);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Looks up a column of a table that is not in the catalog, and creates a
+   * partial column for it.
+   */
+  private Column lookupPartialColumn(final String fullName)
+  {
+    final List<String> parts = splitFullName(fullName);
+    if (parts.size() < 2)
+    {
+      return null;
+    }
+    final String columnName = unquote(parts.remove(parts.size() - 1));
+    final String tableName = unquote(parts.remove(parts.size() - 1));
+    final Schema schema = lookupSchema(String.join(".", parts));
+    final TablePartial table = partialTables.computeIfAbsent(
+      new NamedObjectKey(schema.getCatalogName(), schema.getName(), tableName),
+      key -> new TablePartial(schema, tableName));
+    final Column column = table
+      .lookupColumn(columnName)
+      .orElse(null);
+    if (column != null)
+    {
+      return column;
+    }
+    final ColumnPartial columnPartial = new ColumnPartial(table, columnName);
+    table.addColumn(columnPartial);
+    return columnPartial;
+  }
+
+  private DatabaseObject lookupSynonymReference(final String fullName)
+  {
+    final MutableTable table = tables.get(fullName);
+    if (table != null)
+    {
+      return table;
+    }
+    final MutableRoutine routine = routines.get(fullName);
+    if (routine != null)
+    {
+      return routine;
+    }
+    final List<String> parts = splitFullName(fullName);
+    final String name = unquote(parts.remove(parts.size() - 1));
+    return new AbstractDatabaseObject(lookupSchema(String.join(".", parts)),
+                                      name)
+    {
+
+      private static final long serialVersionUID = -6384102313867553532L;
+    };
+  }
+
+  /**
+   * Resolves the column references of a foreign key or weak association,
+   * and links it to its tables.
+   *
+   * @param foreignKeyReferences
+   *   Foreign key with unresolved column references
+   * @param createPartialColumns
+   *   Whether columns that cannot be found belong to tables that are not in
+   *   the catalog
+   * @return False if a column reference could not be resolved yet
+   */
+  private boolean linkForeignKey(final ForeignKeyReferences foreignKeyReferences,
+                                 final boolean createPartialColumns)
+  {
+    final int size = foreignKeyReferences.pkColumnReferences.size();
+    final Column[] pkColumns = new Column[size];
+    final Column[] fkColumns = new Column[size];
+    for (int i = 0; i < size; i++)
+    {
+      pkColumns[i] =
+        resolveColumn(foreignKeyReferences.pkColumnReferences.get(i),
+                      createPartialColumns);
+      fkColumns[i] =
+        resolveColumn(foreignKeyReferences.fkColumnReferences.get(i),
+                      createPartialColumns);
+      if (pkColumns[i] == null || fkColumns[i] == null)
+      {
+        if (createPartialColumns)
+        {
+          LOGGER.log(Level.WARNING,
+                     new StringFormat("Could not resolve columns of <%s>",
+                                      foreignKeyReferences.foreignKey.getName()));
+        }
+        return false;
+      }
+    }
+
+    final BaseForeignKey<?> foreignKey = foreignKeyReferences.foreignKey;
+    if (foreignKey instanceof MutableForeignKey)
+    {
+      final MutableForeignKey mutableForeignKey =
+        (MutableForeignKey) foreignKey;
+      for (int i = 0; i < size; i++)
+      {
+        mutableForeignKey.addColumnReference(foreignKeyReferences.keySequences.get(i),
+                                             pkColumns[i],
+                                             fkColumns[i]);
+      }
+      CompactCatalogReader.linkForeignKey(mutableForeignKey);
+    }
+    else
+    {
+      final WeakAssociation weakAssociation = (WeakAssociation) foreignKey;
+      for (int i = 0; i < size; i++)
+      {
+        weakAssociation.addColumnReference(pkColumns[i], fkColumns[i]);
+      }
+      CompactCatalogReader.linkWeakAssociation(weakAssociation);
+    }
+    return true;
+  }
+
+  /**
+   * Moves to the next field of the current object.
+   *
+   * @return Field name, or null at the end of the object
+   */
+  private String nextField()
+    throws IOException
+  {
+    final JsonToken token = parser.nextToken();
+    if (token == JsonToken.END_OBJECT)
+    {
+      return null;
+    }
+    if (token != JsonToken.FIELD_NAME)
+    {
+      throw new IOException(String.format("Expected a field name, but found %s, at %s",
+                                          token,
+                                          parser.getCurrentLocation()));
+    }
+    final String fieldName = parser.getCurrentName();
+    parser.nextToken();
+    return fieldName;
+  }
+
+  /**
+   * Moves to the next element of the current array.
+   *
+   * @return False at the end of the array
+   */
+  private boolean nextElement()
+    throws IOException
+  {
+    final JsonToken token = parser.nextToken();
+    if (token == null)
+    {
+      throw new IOException("Unexpected end of JSON catalog");
+    }
+    return token != JsonToken.END_ARRAY;
+  }
+
+  private void readAttributes(final AbstractNamedObjectWithAttributes namedObject)
+    throws IOException
+  {
+    final Map<String, Object> attributes = new HashMap<>();
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      attributes.put(fieldName, readValue());
+    }
+    namedObject.addAttributes(attributes);
+  }
+
+  private BigInteger readBigInteger()
+    throws IOException
+  {
+    if (parser.currentToken() == JsonToken.VALUE_NULL)
+    {
+      return null;
+    }
+    return parser.getBigIntegerValue();
+  }
+
+  private boolean readBaseColumnField(final AbstractColumn<?> column,
+                                      final String fieldName)
+    throws IOException
+  {
+    switch (fieldName)
+    {
+      case "ordinal-position":
+        column.setOrdinalPosition(parser.getIntValue());
+        return true;
+      case "column-data-type":
+        column.setColumnDataType(lookupColumnDataType(readString()));
+        return true;
+      case "size":
+        column.setSize(parser.getIntValue());
+        return true;
+      case "decimal-digits":
+        column.setDecimalDigits(parser.getIntValue());
+        return true;
+      default:
+        return readRemarksOrAttributes(column, fieldName);
+    }
+  }
+
+  private void readCatalog()
+    throws IOException
+  {
+    String name = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          name = readString();
+          break;
+        case "crawl-info":
+          catalog = new MutableCatalog(name, readCrawlInfo());
+          break;
+        case "database-info":
+          readDatabaseInfo(checkCreated(catalog, fieldName).getDatabaseInfo());
+          break;
+        case "jdbc-driver-info":
+          readJdbcDriverInfo(checkCreated(catalog, fieldName).getJdbcDriverInfo());
+          break;
+        case "schemas":
+          checkCreated(catalog, fieldName);
+          while (nextElement())
+          {
+            catalog.addSchema(readSchema());
+          }
+          break;
+        case "column-data-types":
+          checkCreated(catalog, fieldName);
+          readColumnDataTypes();
+          break;
+        case "tables":
+          checkCreated(catalog, fieldName);
+          while (nextElement())
+          {
+            catalog.addTable(readTable());
+          }
+          break;
+        case "routines":
+          checkCreated(catalog, fieldName);
+          while (nextElement())
+          {
+            final MutableRoutine routine = readRoutine();
+            routines.put(routine.getFullName(), routine);
+            catalog.addRoutine(routine);
+          }
+          break;
+        case "sequences":
+          checkCreated(catalog, fieldName);
+          while (nextElement())
+          {
+            catalog.addSequence(readSequence());
+          }
+          break;
+        case "synonyms":
+          checkCreated(catalog, fieldName);
+          while (nextElement())
+          {
+            catalog.addSynonym(readSynonym());
+          }
+          break;
+        default:
+          if (!readRemarksOrAttributes(checkCreated(catalog, fieldName),
+                                       fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    checkCreated(catalog, "crawl-info");
+  }
+
+  private MutableColumn readColumn(final MutableTable table)
+    throws IOException
+  {
+    MutableColumn column = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          column = new MutableColumn(table, readString());
+          break;
+        case "nullable":
+          checkCreated(column, fieldName).setNullable(parser.getBooleanValue());
+          break;
+        case "auto-incremented":
+          checkCreated(column, fieldName).setAutoIncremented(parser.getBooleanValue());
+          break;
+        case "generated":
+          checkCreated(column, fieldName).setGenerated(parser.getBooleanValue());
+          break;
+        case "hidden":
+          checkCreated(column, fieldName).setHidden(parser.getBooleanValue());
+          break;
+        case "default-value":
+          checkCreated(column, fieldName).setDefaultValue(readString());
+          break;
+        case "privileges":
+          while (nextElement())
+          {
+            column.addPrivilege(readPrivilege(new ColumnReference(checkCreated(
+              column,
+              fieldName))));
+          }
+          break;
+        default:
+          if (column == null || !readBaseColumnField(column, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    columnsCount++;
+    return checkCreated(column, "column");
+  }
+
+  private void readColumnDataTypes()
+    throws IOException
+  {
+    // Base types may be defined after the types that refer to them
+    final Map<MutableColumnDataType, String> baseTypes = new HashMap<>();
+    while (nextElement())
+    {
+      Schema schema = null;
+      MutableColumnDataType columnDataType = null;
+      String fieldName;
+      while ((fieldName = nextField()) != null)
+      {
+        switch (fieldName)
+        {
+          case "schema":
+            schema = lookupSchema(readString());
+            break;
+          case "name":
+            columnDataType = new MutableColumnDataType(schema == null?
+                                                         lookupSchema(null):
+                                                         schema,
+                                                       readString());
+            break;
+          case "java-sql-type":
+            checkCreated(columnDataType, fieldName).setJavaSqlType(javaSqlTypes.valueOf(parser.getIntValue()));
+            break;
+          case "type-mapped-class":
+            checkCreated(columnDataType, fieldName).setTypeMappedClass(readString());
+            break;
+          case "create-parameters":
+            checkCreated(columnDataType, fieldName).setCreateParameters(readString());
+            break;
+          case "literal-prefix":
+            checkCreated(columnDataType, fieldName).setLiteralPrefix(readString());
+            break;
+          case "literal-suffix":
+            checkCreated(columnDataType, fieldName).setLiteralSuffix(readString());
+            break;
+          case "local-type-name":
+            checkCreated(columnDataType, fieldName).setLocalTypeName(readString());
+            break;
+          case "maximum-scale":
+            checkCreated(columnDataType, fieldName).setMaximumScale(parser.getIntValue());
+            break;
+          case "minimum-scale":
+            checkCreated(columnDataType, fieldName).setMinimumScale(parser.getIntValue());
+            break;
+          case "num-precision-radix":
+            checkCreated(columnDataType, fieldName).setNumPrecisionRadix(parser.getIntValue());
+            break;
+          case "precision":
+            checkCreated(columnDataType, fieldName).setPrecision(parser.getLongValue());
+            break;
+          case "searchable":
+            checkCreated(columnDataType, fieldName).setSearchable(readEnum(SearchableType.class));
+            break;
+          case "auto-incrementable":
+            checkCreated(columnDataType, fieldName).setAutoIncrementable(parser.getBooleanValue());
+            break;
+          case "case-sensitive":
+            checkCreated(columnDataType, fieldName).setCaseSensitive(parser.getBooleanValue());
+            break;
+          case "fixed-precision-scale":
+            checkCreated(columnDataType, fieldName).setFixedPrecisionScale(parser.getBooleanValue());
+            break;
+          case "nullable":
+            checkCreated(columnDataType, fieldName).setNullable(parser.getBooleanValue());
+            break;
+          case "unsigned":
+            checkCreated(columnDataType, fieldName).setUnsigned(parser.getBooleanValue());
+            break;
+          case "user-defined":
+            checkCreated(columnDataType, fieldName).setUserDefined(parser.getBooleanValue());
+            break;
+          case "enum-values":
+            checkCreated(columnDataType, fieldName).setEnumValues(readStrings());
+            break;
+          case "base-type":
+            baseTypes.put(checkCreated(columnDataType, fieldName), readString());
+            break;
+          default:
+            if (columnDataType == null
+                || !readRemarksOrAttributes(columnDataType, fieldName))
+            {
+              parser.skipChildren();
+            }
+            break;
+        }
+      }
+      checkCreated(columnDataType, "column data type");
+      columnDataTypes.put(columnDataType.getFullName(), columnDataType);
+      catalog.addColumnDataType(columnDataType);
+    }
+
+    for (final Map.Entry<MutableColumnDataType, String> baseType : baseTypes.entrySet())
+    {
+      baseType
+        .getKey()
+        .setBaseType(lookupColumnDataType(baseType.getValue()));
+    }
+  }
+
+  private ForeignKeyReferences readColumnReferences(final ForeignKeyReferences foreignKeyReferences)
+    throws IOException
+  {
+    while (nextElement())
+    {
+      int keySequence = 0;
+      String pkColumnReference = null;
+      String fkColumnReference = null;
+      String fieldName;
+      while ((fieldName = nextField()) != null)
+      {
+        switch (fieldName)
+        {
+          case "key-sequence":
+            keySequence = parser.getIntValue();
+            break;
+          case "primary-key-column":
+            pkColumnReference = readString();
+            break;
+          case "foreign-key-column":
+            fkColumnReference = readString();
+            break;
+          default:
+            parser.skipChildren();
+            break;
+        }
+      }
+      foreignKeyReferences.keySequences.add(keySequence);
+      foreignKeyReferences.pkColumnReferences.add(pkColumnReference);
+      foreignKeyReferences.fkColumnReferences.add(fkColumnReference);
+    }
+    return foreignKeyReferences;
+  }
+
+  private MutableCrawlInfo readCrawlInfo()
+    throws IOException
+  {
+    LocalDateTime crawlTimestamp = null;
+    String runId = null;
+    ProductVersion schemaCrawlerVersion = null;
+    ProductVersion operatingSystemVersion = null;
+    ProductVersion jvmVersion = null;
+    ProductVersion databaseVersion = null;
+    ProductVersion jdbcDriverVersion = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "crawl-timestamp":
+          crawlTimestamp = LocalDateTime.parse(readString());
+          break;
+        case "run-id":
+          runId = readString();
+          break;
+        case "schema-crawler-version":
+          schemaCrawlerVersion = readProductVersion();
+          break;
+        case "operating-system-version":
+          operatingSystemVersion = readProductVersion();
+          break;
+        case "jvm-version":
+          jvmVersion = readProductVersion();
+          break;
+        case "database-version":
+          databaseVersion = readProductVersion();
+          break;
+        case "jdbc-driver-version":
+          jdbcDriverVersion = readProductVersion();
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+    return new MutableCrawlInfo(crawlTimestamp,
+                                runId,
+                                schemaCrawlerVersion,
+                                operatingSystemVersion,
+                                jvmVersion,
+                                databaseVersion,
+                                jdbcDriverVersion,
+                                new TreeMap<>());
+  }
+
+  private void readDatabaseInfo(final MutableDatabaseInfo databaseInfo)
+    throws IOException
+  {
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "product-name":
+          databaseInfo.setProductName(readString());
+          break;
+        case "product-version":
+          databaseInfo.setProductVersion(readString());
+          break;
+        case "user-name":
+          databaseInfo.setUserName(readString());
+          break;
+        case "properties":
+          final List<ImmutableDatabaseProperty> properties = new ArrayList<>();
+          while (nextElement())
+          {
+            final Map<String, Object> property = readProperty();
+            properties.add(new ImmutableDatabaseProperty((String) property.get(
+              "name"), property.get("value")));
+          }
+          databaseInfo.addAll(properties);
+          break;
+        case "server-info":
+          while (nextElement())
+          {
+            final Map<String, Object> property = readProperty();
+            databaseInfo.addServerInfo(new ImmutableServerInfoProperty((String) property.get(
+              "name"),
+                                                                       (String) property.get(
+                                                                         "value"),
+                                                                       (String) property.get(
+                                                                         "description")));
+          }
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+  }
+
+  private String readDefinition(final String fieldName)
+    throws IOException
+  {
+    return "definition".equals(fieldName)? readString(): null;
+  }
+
+  private <E extends Enum<E>> E readEnum(final Class<E> enumClass)
+    throws IOException
+  {
+    final String name = readString();
+    if (name == null)
+    {
+      return null;
+    }
+    return Enum.valueOf(enumClass, name);
+  }
+
+  private ForeignKeyReferences readForeignKey()
+    throws IOException
+  {
+    MutableForeignKey foreignKey = null;
+    ForeignKeyReferences foreignKeyReferences = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          foreignKey = new MutableForeignKey(readString());
+          foreignKeyReferences = new ForeignKeyReferences(foreignKey);
+          break;
+        case "specific-name":
+          checkCreated(foreignKey, fieldName).setSpecificName(readString());
+          break;
+        case "update-rule":
+          checkCreated(foreignKey, fieldName).setUpdateRule(readEnum(ForeignKeyUpdateRule.class));
+          break;
+        case "delete-rule":
+          checkCreated(foreignKey, fieldName).setDeleteRule(readEnum(ForeignKeyUpdateRule.class));
+          break;
+        case "deferrability":
+          checkCreated(foreignKey, fieldName).setDeferrability(readEnum(ForeignKeyDeferrability.class));
+          break;
+        case "definition":
+          checkCreated(foreignKey, fieldName).appendDefinition(readString());
+          break;
+        case "column-references":
+          readColumnReferences(checkCreated(foreignKeyReferences, fieldName));
+          break;
+        default:
+          if (foreignKey == null
+              || !readRemarksOrAttributes(foreignKey, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(foreignKeyReferences, "foreign key");
+  }
+
+  private void readIndex(final MutableTable table)
+    throws IOException
+  {
+    MutableIndex index = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          index = new MutableIndex(table, readString());
+          break;
+        case "unique":
+          checkCreated(index, fieldName).setUnique(parser.getBooleanValue());
+          break;
+        case "index-type":
+          checkCreated(index, fieldName).setIndexType(readEnum(IndexType.class));
+          break;
+        case "cardinality":
+          checkCreated(index, fieldName).setCardinality(parser.getIntValue());
+          break;
+        case "pages":
+          checkCreated(index, fieldName).setPages(parser.getIntValue());
+          break;
+        case "definition":
+          checkCreated(index, fieldName).appendDefinition(readString());
+          break;
+        case "columns":
+          checkCreated(index, fieldName);
+          while (nextElement())
+          {
+            MutableIndexColumn indexColumn = null;
+            String columnFieldName;
+            while ((columnFieldName = nextField()) != null)
+            {
+              switch (columnFieldName)
+              {
+                case "column":
+                  final MutableColumn tableColumn = readTableColumn(table);
+                  tableColumn.markAsPartOfIndex();
+                  if (index.isUnique())
+                  {
+                    tableColumn.markAsPartOfUniqueIndex();
+                  }
+                  indexColumn = new MutableIndexColumn(index, tableColumn);
+                  break;
+                case "ordinal-position":
+                  checkCreated(indexColumn, columnFieldName).setKeyOrdinalPosition(parser.getIntValue());
+                  break;
+                case "sort-sequence":
+                  checkCreated(indexColumn, columnFieldName).setSortSequence(readEnum(IndexColumnSortSequence.class));
+                  break;
+                case "definition":
+                  checkCreated(indexColumn, columnFieldName).appendDefinition(readString());
+                  break;
+                default:
+                  parser.skipChildren();
+                  break;
+              }
+            }
+            index.addColumn(checkCreated(indexColumn, "index column"));
+          }
+          break;
+        default:
+          if (index == null || !readRemarksOrAttributes(index, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    table.addIndex(checkCreated(index, "index"));
+  }
+
+  private void readJdbcDriverInfo(final MutableJdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "product-name":
+          jdbcDriverInfo.setDriverName(readString());
+          break;
+        case "product-version":
+          jdbcDriverInfo.setDriverVersion(readString());
+          break;
+        case "driver-class-name":
+          jdbcDriverInfo.setJdbcDriverClassName(readString());
+          break;
+        case "connection-url":
+          jdbcDriverInfo.setConnectionUrl(readString());
+          break;
+        case "jdbc-compliant":
+          jdbcDriverInfo.setJdbcCompliant(parser.getBooleanValue());
+          break;
+        case "driver-properties":
+          while (nextElement())
+          {
+            final Map<String, Object> property = readProperty();
+            final DriverPropertyInfo driverPropertyInfo =
+              new DriverPropertyInfo((String) property.get("name"),
+                                     (String) property.get("value"));
+            driverPropertyInfo.description =
+              (String) property.get("description");
+            driverPropertyInfo.required =
+              Boolean.TRUE.equals(property.get("required"));
+            final List<?> choices = (List<?>) property.get("choices");
+            if (choices != null)
+            {
+              driverPropertyInfo.choices =
+                choices.toArray(new String[choices.size()]);
+            }
+            jdbcDriverInfo.addJdbcDriverProperty(new ImmutableJdbcDriverProperty(
+              driverPropertyInfo));
+          }
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+  }
+
+  private <D extends DatabaseObject> MutablePrivilege<D> readPrivilege(final DatabaseObjectReference<D> parent)
+    throws IOException
+  {
+    MutablePrivilege<D> privilege = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          privilege = new MutablePrivilege<>(parent, readString());
+          break;
+        case "grants":
+          checkCreated(privilege, fieldName);
+          while (nextElement())
+          {
+            final Map<String, Object> grant = readProperty();
+            privilege.addGrant((String) grant.get("grantor"),
+                               (String) grant.get("grantee"),
+                               Boolean.TRUE.equals(grant.get("grantable")));
+          }
+          break;
+        default:
+          if (privilege == null
+              || !readRemarksOrAttributes(privilege, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(privilege, "privilege");
+  }
+
+  private ProductVersion readProductVersion()
+    throws IOException
+  {
+    final Map<String, Object> productVersion = readProperty();
+    final String productName = (String) productVersion.get("product-name");
+    if (productName == null)
+    {
+      return null;
+    }
+    final String version = (String) productVersion.get("product-version");
+    return new BaseProductVersion(productName, version == null? "": version);
+  }
+
+  /**
+   * Reads a small object of scalar values, such as a property, into a map.
+   */
+  private Map<String, Object> readProperty()
+    throws IOException
+  {
+    final Map<String, Object> property = new HashMap<>();
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      property.put(fieldName, readValue());
+    }
+    return property;
+  }
+
+  private boolean readRemarksOrAttributes(final AbstractNamedObjectWithAttributes namedObject,
+                                          final String fieldName)
+    throws IOException
+  {
+    switch (fieldName)
+    {
+      case "remarks":
+        namedObject.setRemarks(readString());
+        return true;
+      case "attributes":
+        readAttributes(namedObject);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private MutableRoutine readRoutine()
+    throws IOException
+  {
+    Schema schema = null;
+    String name = null;
+    MutableRoutine routine = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "schema":
+          schema = lookupSchema(readString());
+          break;
+        case "name":
+          name = readString();
+          break;
+        case "routine-type":
+          if ("function".equals(readString()))
+          {
+            routine = new MutableFunction(schema, name);
+          }
+          else
+          {
+            routine = new MutableProcedure(schema, name);
+          }
+          break;
+        case "specific-name":
+          checkCreated(routine, fieldName).setSpecificName(readString());
+          break;
+        case "return-type":
+          if (checkCreated(routine, fieldName) instanceof MutableFunction)
+          {
+            ((MutableFunction) routine).setReturnType(readEnum(
+              FunctionReturnType.class));
+          }
+          else
+          {
+            ((MutableProcedure) routine).setReturnType(readEnum(
+              ProcedureReturnType.class));
+          }
+          break;
+        case "routine-body-type":
+          checkCreated(routine, fieldName).setRoutineBodyType(readEnum(
+            RoutineBodyType.class));
+          break;
+        case "definition":
+          checkCreated(routine, fieldName).appendDefinition(readString());
+          break;
+        case "parameters":
+          checkCreated(routine, fieldName);
+          while (nextElement())
+          {
+            readRoutineParameter(routine);
+          }
+          break;
+        default:
+          if (routine == null || !readRemarksOrAttributes(routine, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(routine, "routine");
+  }
+
+  private void readRoutineParameter(final MutableRoutine routine)
+    throws IOException
+  {
+    MutableRoutineParameter<?> parameter = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          if (routine instanceof MutableFunction)
+          {
+            parameter = new MutableFunctionParameter((MutableFunction) routine,
+                                                     readString());
+          }
+          else
+          {
+            parameter = new MutableProcedureParameter((MutableProcedure) routine,
+                                                      readString());
+          }
+          break;
+        case "nullable":
+          checkCreated(parameter, fieldName).setNullable(parser.getBooleanValue());
+          break;
+        case "precision":
+          checkCreated(parameter, fieldName).setPrecision(parser.getIntValue());
+          break;
+        case "parameter-mode":
+          checkCreated(parameter, fieldName).setParameterMode(readEnum(
+            ParameterModeType.class));
+          break;
+        default:
+          if (parameter == null || !readBaseColumnField(parameter, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    checkCreated(parameter, "parameter");
+    if (routine instanceof MutableFunction)
+    {
+      ((MutableFunction) routine).addParameter((MutableFunctionParameter) parameter);
+    }
+    else
+    {
+      ((MutableProcedure) routine).addParameter((MutableProcedureParameter) parameter);
+    }
+  }
+
+  private SchemaReference readSchema()
+    throws IOException
+  {
+    String catalogName = null;
+    String schemaName = null;
+    String fullName = null;
+    Map<String, Object> attributes = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "full-name":
+          fullName = readString();
+          break;
+        case "catalog-name":
+          catalogName = readString();
+          break;
+        case "name":
+          schemaName = readString();
+          break;
+        case "attributes":
+          attributes = readProperty();
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+
+    final SchemaReference schema = new SchemaReference(catalogName, schemaName);
+    if (attributes != null)
+    {
+      for (final Map.Entry<String, Object> attribute : attributes.entrySet())
+      {
+        schema.setAttribute(attribute.getKey(), attribute.getValue());
+      }
+    }
+    schemas.put(fullName == null? schema.getFullName(): fullName, schema);
+    return schema;
+  }
+
+  private MutableSequence readSequence()
+    throws IOException
+  {
+    Schema schema = null;
+    MutableSequence sequence = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "schema":
+          schema = lookupSchema(readString());
+          break;
+        case "name":
+          sequence = new MutableSequence(schema, readString());
+          break;
+        case "increment":
+          checkCreated(sequence, fieldName).setIncrement(parser.getLongValue());
+          break;
+        case "minimum-value":
+          checkCreated(sequence, fieldName).setMinimumValue(readBigInteger());
+          break;
+        case "maximum-value":
+          checkCreated(sequence, fieldName).setMaximumValue(readBigInteger());
+          break;
+        case "cycle":
+          checkCreated(sequence, fieldName).setCycle(parser.getBooleanValue());
+          break;
+        default:
+          if (sequence == null
+              || !readRemarksOrAttributes(sequence, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(sequence, "sequence");
+  }
+
+  private String readString()
+    throws IOException
+  {
+    if (parser.currentToken() == JsonToken.VALUE_NULL)
+    {
+      return null;
+    }
+    return parser.getValueAsString();
+  }
+
+  private List<String> readStrings()
+    throws IOException
+  {
+    final List<String> values = new ArrayList<>();
+    while (nextElement())
+    {
+      values.add(readString());
+    }
+    return values;
+  }
+
+  private MutableSynonym readSynonym()
+    throws IOException
+  {
+    Schema schema = null;
+    MutableSynonym synonym = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "schema":
+          schema = lookupSchema(readString());
+          break;
+        case "name":
+          synonym = new MutableSynonym(schema, readString());
+          break;
+        case "referenced-object":
+          checkCreated(synonym, fieldName).setReferencedObject(
+            lookupSynonymReference(readString()));
+          break;
+        default:
+          if (synonym == null || !readRemarksOrAttributes(synonym, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(synonym, "synonym");
+  }
+
+  private MutableTable readTable()
+    throws IOException
+  {
+    Schema schema = null;
+    String name = null;
+    MutableTable table = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "schema":
+          schema = lookupSchema(readString());
+          break;
+        case "name":
+          name = readString();
+          break;
+        case "table-type":
+          final TableType tableType = new TableType(readString());
+          if (tableType.isView())
+          {
+            table = new MutableView(schema, name);
+          }
+          else
+          {
+            table = new MutableTable(schema, name);
+          }
+          table.setTableType(tableType);
+          // Register the table right away, so that its own foreign keys
+          // can be resolved
+          tables.put(table.getFullName(), table);
+          break;
+        case "check-option":
+          ((MutableView) checkCreated(table, fieldName)).setCheckOption(readEnum(
+            CheckOptionType.class));
+          break;
+        case "updatable":
+          ((MutableView) checkCreated(table, fieldName)).setUpdatable(parser.getBooleanValue());
+          break;
+        case "definition":
+          checkCreated(table, fieldName).appendDefinition(readString());
+          break;
+        case "columns":
+          checkCreated(table, fieldName);
+          while (nextElement())
+          {
+            final MutableColumn column = readColumn(table);
+            if (column.isHidden())
+            {
+              table.addHiddenColumn(column);
+            }
+            else
+            {
+              table.addColumn(column);
+            }
+          }
+          break;
+        case "primary-key":
+          final MutableTable pkTable = checkCreated(table, fieldName);
+          final MutablePrimaryKey primaryKey =
+            readTableConstraint(pkTable,
+                                constraintName -> new MutablePrimaryKey(pkTable,
+                                                                        constraintName));
+          for (final TableConstraintColumn pkColumn : primaryKey.getColumns())
+          {
+            pkTable
+              .lookupColumn(pkColumn.getName())
+              .ifPresent(MutableColumn::markAsPartOfPrimaryKey);
+          }
+          table.setPrimaryKey(primaryKey);
+          break;
+        case "indexes":
+          checkCreated(table, fieldName);
+          while (nextElement())
+          {
+            readIndex(table);
+          }
+          break;
+        case "foreign-keys":
+        case "weak-associations":
+          checkCreated(table, fieldName);
+          while (nextElement())
+          {
+            final ForeignKeyReferences foreignKeyReferences;
+            if ("foreign-keys".equals(fieldName))
+            {
+              foreignKeyReferences = readForeignKey();
+            }
+            else
+            {
+              foreignKeyReferences = readWeakAssociation();
+            }
+            if (!linkForeignKey(foreignKeyReferences, false))
+            {
+              forwardReferences.add(foreignKeyReferences);
+            }
+          }
+          break;
+        case "table-constraints":
+          final MutableTable constrainedTable = checkCreated(table, fieldName);
+          while (nextElement())
+          {
+            constrainedTable.addTableConstraint(readTableConstraint(
+              constrainedTable,
+              constraintName -> new MutableTableConstraint(constrainedTable,
+                                                           constraintName)));
+          }
+          break;
+        case "triggers":
+          checkCreated(table, fieldName);
+          while (nextElement())
+          {
+            table.addTrigger(readTrigger(table));
+          }
+          break;
+        case "privileges":
+          checkCreated(table, fieldName);
+          while (nextElement())
+          {
+            table.addPrivilege(readPrivilege(new TableReference(table)));
+          }
+          break;
+        default:
+          if (table == null || !readRemarksOrAttributes(table, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(table, "table");
+  }
+
+  private MutableColumn readTableColumn(final MutableTable table)
+    throws IOException
+  {
+    final String fullName = readString();
+    final String tableFullName = table.getFullName();
+    if (fullName != null && fullName.startsWith(tableFullName + "."))
+    {
+      final Optional<MutableColumn> column = table.lookupColumn(unquote(
+        fullName.substring(tableFullName.length() + 1)));
+      if (column.isPresent())
+      {
+        return column.get();
+      }
+    }
+    throw new IOException(String.format("Column <%s> not found in table <%s>",
+                                        fullName,
+                                        tableFullName));
+  }
+
+  private <C extends MutableTableConstraint> C readTableConstraint(final MutableTable table,
+                                                                    final Function<String, C> newTableConstraint)
+    throws IOException
+  {
+    C tableConstraint = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          tableConstraint = newTableConstraint.apply(readString());
+          break;
+        case "constraint-type":
+          checkCreated(tableConstraint, fieldName).setTableConstraintType(
+            readEnum(TableConstraintType.class));
+          break;
+        case "deferrable":
+          checkCreated(tableConstraint, fieldName).setDeferrable(parser.getBooleanValue());
+          break;
+        case "initially-deferred":
+          checkCreated(tableConstraint, fieldName).setInitiallyDeferred(parser.getBooleanValue());
+          break;
+        case "definition":
+          checkCreated(tableConstraint, fieldName).appendDefinition(readString());
+          break;
+        case "columns":
+          checkCreated(tableConstraint, fieldName);
+          while (nextElement())
+          {
+            MutableTableConstraintColumn constraintColumn = null;
+            String columnFieldName;
+            while ((columnFieldName = nextField()) != null)
+            {
+              switch (columnFieldName)
+              {
+                case "column":
+                  constraintColumn =
+                    new MutableTableConstraintColumn(tableConstraint,
+                                                     readTableColumn(table));
+                  break;
+                case "ordinal-position":
+                  checkCreated(constraintColumn, columnFieldName).setKeyOrdinalPosition(parser.getIntValue());
+                  break;
+                case "definition":
+                  checkCreated(constraintColumn, columnFieldName).appendDefinition(readString());
+                  break;
+                default:
+                  parser.skipChildren();
+                  break;
+              }
+            }
+            tableConstraint.addColumn(checkCreated(constraintColumn,
+                                                   "table constraint column"));
+          }
+          break;
+        default:
+          if (tableConstraint == null
+              || !readRemarksOrAttributes(tableConstraint, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(tableConstraint, "table constraint");
+  }
+
+  private MutableTrigger readTrigger(final MutableTable table)
+    throws IOException
+  {
+    MutableTrigger trigger = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          trigger = new MutableTrigger(table, readString());
+          break;
+        case "event-manipulation-type":
+          checkCreated(trigger, fieldName).setEventManipulationType(readEnum(
+            EventManipulationType.class));
+          break;
+        case "action-order":
+          checkCreated(trigger, fieldName).setActionOrder(parser.getIntValue());
+          break;
+        case "action-orientation":
+          checkCreated(trigger, fieldName).setActionOrientation(readEnum(
+            ActionOrientationType.class));
+          break;
+        case "condition-timing":
+          checkCreated(trigger, fieldName).setConditionTiming(readEnum(
+            ConditionTimingType.class));
+          break;
+        case "action-condition":
+          checkCreated(trigger, fieldName).appendActionCondition(readString());
+          break;
+        case "action-statement":
+          checkCreated(trigger, fieldName).appendActionStatement(readString());
+          break;
+        default:
+          if (trigger == null || !readRemarksOrAttributes(trigger, fieldName))
+          {
+            parser.skipChildren();
+          }
+          break;
+      }
+    }
+    return checkCreated(trigger, "trigger");
+  }
+
+  private Object readValue()
+    throws IOException
+  {
+    final JsonToken token = parser.currentToken();
+    if (token == null)
+    {
+      throw new IOException("Unexpected end of JSON catalog");
+    }
+    switch (token)
+    {
+      case VALUE_NULL:
+        return null;
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case START_ARRAY:
+        final List<Object> list = new ArrayList<>();
+        while (nextElement())
+        {
+          list.add(readValue());
+        }
+        return list;
+      case START_OBJECT:
+        final Map<String, Object> map = new LinkedHashMap<>();
+        String fieldName;
+        while ((fieldName = nextField()) != null)
+        {
+          map.put(fieldName, readValue());
+        }
+        return map;
+      default:
+        return parser.getValueAsString();
+    }
+  }
+
+  private ForeignKeyReferences readWeakAssociation()
+    throws IOException
+  {
+    ForeignKeyReferences foreignKeyReferences = null;
+    String fieldName;
+    while ((fieldName = nextField()) != null)
+    {
+      switch (fieldName)
+      {
+        case "name":
+          foreignKeyReferences =
+            new ForeignKeyReferences(new WeakAssociation(readString()));
+          break;
+        case "column-references":
+          readColumnReferences(checkCreated(foreignKeyReferences, fieldName));
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+    return checkCreated(foreignKeyReferences, "weak association");
+  }
+
+  private Column resolveColumn(final String fullName,
+                               final boolean createPartialColumns)
+  {
+    if (fullName == null)
+    {
+      return null;
+    }
+    final Column column = lookupColumn(fullName);
+    if (column == null && createPartialColumns)
+    {
+      return lookupPartialColumn(fullName);
+    }
+    return column;
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+/**
+ * Loads parts of a table on first access, for tables that are materialized
+ * lazily from an offline catalog snapshot.
+ *
+ * @author Sualeh Fatehi
+ */
+interface LazyTableLoader
+{
+
+  enum TablePart
+  {
+
+    columns,
+    details,
+    relationships
+  }
+
+  /**
+   * Loads a part of a table, if it has not been loaded already. Columns are
+   * always loaded before the other parts of the table.
+   *
+   * @param table
+   *   Table to load
+   * @param tablePart
+   *   Part of the table to load
+   */
+  void load(MutableTable table, TablePart tablePart);
+
+}
@@ -0,0 +1,836 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.newInputStream;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CompactCatalogFormat.*;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import schemacrawler.crawl.LazyTableLoader.TablePart;
+import schemacrawler.filter.InclusionRuleFilter;
+import schemacrawler.filter.TableTypesFilter;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Reads a catalog from an indexed compact binary snapshot, written by
+ * {@link CompactCatalogWriter#writeIndexed(java.io.OutputStream)}. The
+ * snapshot file is memory-mapped, and only the schemas, tables, routines,
+ * sequences and synonyms that pass the inclusion rules are decoded. Columns,
+ * indexes, foreign keys and other details of a table are decoded when they
+ * are first accessed. Tables outside the inclusion rules are only decoded if
+ * they are referenced, for example by a foreign key, and are not added to the
+ * catalog.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class MappedCatalogReader
+  extends AbstractCompactCatalogReader
+{
+
+
+  /**
+   * Loads the columns and details of a table from the snapshot, on first
+   * access.
+   */
+  private final class LazyTable
+    implements LazyTableLoader
+  {
+
+    private final MutableTable table;
+    private final long columnsOffset;
+    private final long detailsOffset;
+    private final long relationshipsOffset;
+    private final Set<TablePart> loadedTableParts;
+    private List<MutableColumn> columns;
+
+    private LazyTable(final MutableTable table,
+                      final long columnsOffset,
+                      final long detailsOffset,
+                      final long relationshipsOffset)
+    {
+      this.table = table;
+      this.columnsOffset = columnsOffset;
+      this.detailsOffset = detailsOffset;
+      this.relationshipsOffset = relationshipsOffset;
+      loadedTableParts = EnumSet.noneOf(TablePart.class);
+    }
+
+    @Override
+    public void load(final MutableTable table, final TablePart tablePart)
+    {
+      synchronized (MappedCatalogReader.this)
+      {
+        if (loadedTableParts.contains(tablePart))
+        {
+          return;
+        }
+        if (tablePart != TablePart.columns)
+        {
+          load(table, TablePart.columns);
+        }
+        // Mark the part as loaded first, since decoding foreign keys can
+        // come back to this table
+        loadedTableParts.add(tablePart);
+
+        final DataInputStream previousBody = body;
+        try
+        {
+          switch (tablePart)
+          {
+            case columns:
+              seek(columnsOffset);
+              columns = readTableColumns(table);
+              break;
+            case details:
+              seek(detailsOffset);
+              readTableDetails(table);
+              break;
+            case relationships:
+              seek(relationshipsOffset);
+              final int[] foreignKeyIds = readIds();
+              final int[] weakAssociationIds = readIds();
+              for (final int foreignKeyId : foreignKeyIds)
+              {
+                table.addForeignKey(lookupForeignKey(foreignKeyId));
+              }
+              for (final int weakAssociationId : weakAssociationIds)
+              {
+                table.addWeakAssociation(lookupWeakAssociation(
+                  weakAssociationId));
+              }
+              break;
+            default:
+              break;
+          }
+          if (loadedTableParts.size() == TablePart.values().length)
+          {
+            table.setLazyLoader(null);
+          }
+        }
+        catch (final IOException e)
+        {
+          throw new UncheckedIOException(String.format(
+            "Could not load %s of table <%s> from compact catalog snapshot",
+            tablePart,
+            table), e);
+        }
+        finally
+        {
+          body = previousBody;
+        }
+      }
+    }
+
+    private MutableColumn getColumn(final int columnIndex)
+    {
+      load(table, TablePart.columns);
+      return columns.get(columnIndex);
+    }
+
+  }
+
+
+  /**
+   * Reads the snapshot sequentially from a given position.
+   */
+  private final class SnapshotInputStream
+    extends InputStream
+  {
+
+    private long position;
+
+    private SnapshotInputStream(final long position)
+    {
+      this.position = position;
+    }
+
+    @Override
+    public int read()
+    {
+      if (position >= size)
+      {
+        return -1;
+      }
+      final int read = getByte(position) & 0xFF;
+      position++;
+      return read;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length)
+    {
+      if (length == 0)
+      {
+        return 0;
+      }
+      if (position >= size)
+      {
+        return -1;
+      }
+      final int count = (int) Math.min(length, size - position);
+      for (int i = 0; i < count; i++)
+      {
+        bytes[offset + i] = getByte(position);
+        position++;
+      }
+      return count;
+    }
+
+    private long getPosition()
+    {
+      return position;
+    }
+
+  }
+
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(MappedCatalogReader.class.getName());
+
+  // Files are mapped in segments, since a single mapping is limited to 2 GB
+  private static final int SEGMENT_SHIFT = 30;
+  private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+  /**
+   * Checks whether a file holds an indexed compact catalog snapshot, which can
+   * be read by this reader.
+   *
+   * @param file
+   *   Snapshot file
+   * @return True if the file holds an indexed compact catalog snapshot
+   * @throws IOException
+   *   On an exception reading the file
+   */
+  public static boolean isIndexedCatalog(final Path file)
+    throws IOException
+  {
+    requireNonNull(file, "No file provided");
+    if (!isRegularFile(file))
+    {
+      return false;
+    }
+    try (
+      final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(newInputStream(file)))
+    )
+    {
+      final int magic = in.readInt();
+      final int version = in.readUnsignedByte();
+      return magic == MAGIC && version == INDEXED_VERSION;
+    }
+    catch (final IOException e)
+    {
+      // File is too short to have a header
+      return false;
+    }
+  }
+
+  private final Path file;
+  private final SchemaCrawlerOptions options;
+  private final Map<Integer, String> strings;
+  private final Map<Integer, LazyTable> tables;
+  private final Map<Integer, MutableForeignKey> foreignKeys;
+  private final Map<Integer, WeakAssociation> weakAssociations;
+  private final Map<Integer, MutableRoutine> routines;
+  private ByteBuffer[] segments;
+  private long size;
+  private long stringOffsetsStart;
+  private long stringDataStart;
+  private long tableOffsetsStart;
+  private long foreignKeyOffsetsStart;
+  private long weakAssociationOffsetsStart;
+  private long routineOffsetsStart;
+  private long sequenceOffsetsStart;
+  private long synonymOffsetsStart;
+  private SnapshotInputStream snapshotIn;
+
+  /**
+   * Reads an indexed compact catalog snapshot from a file, keeping only the
+   * database objects that pass the inclusion rules of the SchemaCrawler
+   * options. Further filtering, such as grep, or inclusion of related tables,
+   * is not done by this reader.
+   *
+   * @param file
+   *   Snapshot file
+   * @param options
+   *   SchemaCrawler options, with inclusion rules
+   */
+  public MappedCatalogReader(final Path file,
+                             final SchemaCrawlerOptions options)
+  {
+    this.file = requireNonNull(file, "No file provided");
+    this.options =
+      requireNonNull(options, "No SchemaCrawler options provided");
+    strings = new HashMap<>();
+    tables = new HashMap<>();
+    foreignKeys = new HashMap<>();
+    weakAssociations = new HashMap<>();
+    routines = new HashMap<>();
+  }
+
+  /**
+   * Reads an indexed compact catalog snapshot that is held in memory, keeping
+   * all database objects.
+   *
+   * @param bytes
+   *   Snapshot, including the header
+   */
+  MappedCatalogReader(final byte[] bytes)
+  {
+    file = null;
+    options = null;
+    strings = new HashMap<>();
+    tables = new HashMap<>();
+    foreignKeys = new HashMap<>();
+    weakAssociations = new HashMap<>();
+    routines = new HashMap<>();
+
+    size = bytes.length;
+    segments = new ByteBuffer[segmentsCount(size)];
+    for (int i = 0; i < segments.length; i++)
+    {
+      final int offset = i << SEGMENT_SHIFT;
+      segments[i] = ByteBuffer
+        .wrap(bytes, offset, Math.min(SEGMENT_SIZE, bytes.length - offset))
+        .slice();
+    }
+  }
+
+  /**
+   * Reads the catalog from the snapshot. Database objects that are not
+   * decoded now are decoded when they are first accessed, so the snapshot
+   * file should not be modified while the catalog is in use.
+   *
+   * @return Catalog
+   * @throws SchemaCrawlerException
+   *   On an exception reading the snapshot
+   */
+  public synchronized Catalog read()
+    throws SchemaCrawlerException
+  {
+    try
+    {
+      return readCatalog();
+    }
+    catch (final IOException | RuntimeException e)
+    {
+      throw new SchemaCrawlerException("Could not read compact catalog snapshot",
+                                       e);
+    }
+  }
+
+  @Override
+  String lookupString(final int stringId)
+  {
+    // Strings are decoded directly, without moving the body stream
+    final String cachedString = strings.get(stringId);
+    if (cachedString != null)
+    {
+      return cachedString;
+    }
+
+    long position =
+      stringDataStart + getInt(stringOffsetsStart + 4L * (stringId - 1));
+    int length = 0;
+    for (int shift = 0; ; shift = shift + 7)
+    {
+      final int b = getByte(position) & 0xFF;
+      position++;
+      length = length | (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        break;
+      }
+    }
+    final byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++)
+    {
+      bytes[i] = getByte(position + i);
+    }
+    final String string = new String(bytes, StandardCharsets.UTF_8);
+    strings.put(stringId, string);
+    return string;
+  }
+
+  @Override
+  Column readColumnReference()
+    throws IOException
+  {
+    final int kind = readVarInt();
+    switch (kind)
+    {
+      case COLUMN_NONE:
+        return null;
+      case COLUMN_CATALOG:
+        final int tableId = readVarInt();
+        final int columnIndex = readVarInt();
+        return lookupTable(tableId).getColumn(columnIndex);
+      case COLUMN_PARTIAL:
+        return readPartialColumnReference();
+      default:
+        throw new IOException(String.format("Unknown column reference kind %d",
+                                            kind));
+    }
+  }
+
+  @Override
+  DatabaseObject readSynonymReference()
+    throws IOException
+  {
+    final int kind = readVarInt();
+    switch (kind)
+    {
+      case SYNONYM_TABLE:
+        return lookupTable(readVarInt()).table;
+      case SYNONYM_ROUTINE:
+        return lookupRoutine(readVarInt());
+      case SYNONYM_OTHER:
+        return readOtherSynonymReference();
+      default:
+        throw new IOException(String.format("Unknown synonym reference kind %d",
+                                            kind));
+    }
+  }
+
+  /**
+   * Reads the catalog, without throwing exceptions, so that the catalog can
+   * also be read by other compact catalog readers.
+   *
+   * @return Catalog
+   * @throws IOException
+   *   On an exception reading the snapshot
+   */
+  synchronized MutableCatalog readCatalog()
+    throws IOException
+  {
+    if (catalog != null)
+    {
+      return catalog;
+    }
+
+    if (segments == null)
+    {
+      map();
+    }
+
+    seek(0);
+    if (body.readInt() != MAGIC)
+    {
+      throw new IOException("Not a compact catalog snapshot");
+    }
+    final int version = body.readUnsignedByte();
+    if (version != INDEXED_VERSION)
+    {
+      throw new IOException(String.format(
+        "Compact catalog snapshot version %d is not indexed",
+        version));
+    }
+    body.readUnsignedByte(); // Flags
+    final long directoryOffset = body.readLong();
+    final long stringTableOffset = body.readLong();
+
+    seek(stringTableOffset);
+    final int stringsCount = readVarInt();
+    stringOffsetsStart = snapshotIn.getPosition();
+    stringDataStart = stringOffsetsStart + 4L * stringsCount;
+
+    seek(INDEXED_HEADER_SIZE);
+    readCatalogHeader();
+
+    seek(directoryOffset);
+    final int tablesCount = readVarInt();
+    tableOffsetsStart = snapshotIn.getPosition();
+    seek(tableOffsetsStart + 32L * tablesCount);
+    foreignKeyOffsetsStart = readOffsetsStart();
+    weakAssociationOffsetsStart = readOffsetsStart();
+    routineOffsetsStart = readOffsetsStart();
+    sequenceOffsetsStart = readOffsetsStart();
+    synonymOffsetsStart = readOffsetsStart();
+
+    final int schemasCount = readVarInt();
+    final List<Schema> schemas = new ArrayList<>(schemasCount);
+    final long[] schemaOffsets = new long[schemasCount];
+    for (int i = 0; i < schemasCount; i++)
+    {
+      schemas.add(readSchema());
+      schemaOffsets[i] = body.readLong();
+    }
+
+    for (int i = 0; i < schemasCount; i++)
+    {
+      readSchemaObjects(schemas.get(i), schemaOffsets[i]);
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat(
+                 "Read indexed compact catalog snapshot, with %d of %d tables in %d schemas",
+                 tables.size(),
+                 tablesCount,
+                 schemasCount));
+    return catalog;
+  }
+
+  private byte getByte(final long position)
+  {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position
+                                                                   & (SEGMENT_SIZE
+                                                                      - 1)));
+  }
+
+  private int getInt(final long position)
+  {
+    int value = 0;
+    for (int i = 0; i < 4; i++)
+    {
+      value = value << 8 | getByte(position + i) & 0xFF;
+    }
+    return value;
+  }
+
+  private long getLong(final long position)
+  {
+    long value = 0;
+    for (int i = 0; i < 8; i++)
+    {
+      value = value << 8 | getByte(position + i) & 0xFF;
+    }
+    return value;
+  }
+
+  private MutableForeignKey lookupForeignKey(final int foreignKeyId)
+    throws IOException
+  {
+    final MutableForeignKey cachedForeignKey = foreignKeys.get(foreignKeyId);
+    if (cachedForeignKey != null)
+    {
+      return cachedForeignKey;
+    }
+
+    final DataInputStream previousBody = body;
+    final MutableForeignKey foreignKey;
+    try
+    {
+      seek(getLong(foreignKeyOffsetsStart + 8L * foreignKeyId));
+      foreignKey = readForeignKey();
+    }
+    finally
+    {
+      body = previousBody;
+    }
+    foreignKeys.put(foreignKeyId, foreignKey);
+
+    // Tables add foreign keys when their relationships are loaded, but
+    // referenced columns and partial tables are linked right away
+    for (final ForeignKeyColumnReference columnReference : foreignKey)
+    {
+      final Column pkColumn = columnReference.getPrimaryKeyColumn();
+      final Column fkColumn = columnReference.getForeignKeyColumn();
+      if (fkColumn instanceof MutableColumn)
+      {
+        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+      }
+      else if (fkColumn instanceof ColumnPartial)
+      {
+        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+        ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      if (pkColumn instanceof ColumnPartial)
+      {
+        ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+    }
+    return foreignKey;
+  }
+
+  private MutableRoutine lookupRoutine(final int routineId)
+    throws IOException
+  {
+    final MutableRoutine cachedRoutine = routines.get(routineId);
+    if (cachedRoutine != null)
+    {
+      return cachedRoutine;
+    }
+
+    final DataInputStream previousBody = body;
+    final MutableRoutine routine;
+    try
+    {
+      seek(getLong(routineOffsetsStart + 8L * routineId));
+      routine = readRoutine();
+    }
+    finally
+    {
+      body = previousBody;
+    }
+    routines.put(routineId, routine);
+    return routine;
+  }
+
+  private LazyTable lookupTable(final int tableId)
+    throws IOException
+  {
+    final LazyTable cachedTable = tables.get(tableId);
+    if (cachedTable != null)
+    {
+      return cachedTable;
+    }
+
+    final long tableOffset = tableOffsetsStart + 32L * tableId;
+    final DataInputStream previousBody = body;
+    final MutableTable table;
+    try
+    {
+      seek(getLong(tableOffset));
+      table = readTable();
+    }
+    finally
+    {
+      body = previousBody;
+    }
+    final LazyTable lazyTable = new LazyTable(table,
+                                              getLong(tableOffset + 8),
+                                              getLong(tableOffset + 16),
+                                              getLong(tableOffset + 24));
+    table.setLazyLoader(lazyTable);
+    tables.put(tableId, lazyTable);
+    return lazyTable;
+  }
+
+  private WeakAssociation lookupWeakAssociation(final int weakAssociationId)
+    throws IOException
+  {
+    final WeakAssociation cachedWeakAssociation =
+      weakAssociations.get(weakAssociationId);
+    if (cachedWeakAssociation != null)
+    {
+      return cachedWeakAssociation;
+    }
+
+    final DataInputStream previousBody = body;
+    final WeakAssociation weakAssociation;
+    try
+    {
+      seek(getLong(weakAssociationOffsetsStart + 8L * weakAssociationId));
+      weakAssociation = readWeakAssociation();
+    }
+    finally
+    {
+      body = previousBody;
+    }
+    weakAssociations.put(weakAssociationId, weakAssociation);
+    return weakAssociation;
+  }
+
+  private void map()
+    throws IOException
+  {
+    try (
+      final FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.READ)
+    )
+    {
+      size = channel.size();
+      segments = new ByteBuffer[segmentsCount(size)];
+      for (int i = 0; i < segments.length; i++)
+      {
+        final long offset = (long) i << SEGMENT_SHIFT;
+        segments[i] = channel.map(MapMode.READ_ONLY,
+                                  offset,
+                                  Math.min(SEGMENT_SIZE, size - offset));
+      }
+    }
+    LOGGER.log(Level.CONFIG,
+               new StringFormat("Mapped %d bytes of compact catalog snapshot <%s>",
+                                size,
+                                file));
+  }
+
+  private int[] readIds()
+    throws IOException
+  {
+    final int[] ids = new int[readVarInt()];
+    for (int i = 0; i < ids.length; i++)
+    {
+      ids[i] = readVarInt();
+    }
+    return ids;
+  }
+
+  private long readOffsetsStart()
+    throws IOException
+  {
+    final int count = readVarInt();
+    final long offsetsStart = snapshotIn.getPosition();
+    seek(offsetsStart + 8L * count);
+    return offsetsStart;
+  }
+
+  private void readSchemaObjects(final Schema schema, final long schemaOffset)
+    throws IOException
+  {
+    seek(schemaOffset);
+    final int[] tableIds = readIds();
+    final int[] routineIds = readIds();
+    final int[] sequenceIds = readIds();
+    final int[] synonymIds = readIds();
+
+    final boolean includeSchema = options == null
+                                  || new InclusionRuleFilter<Schema>(options.getSchemaInclusionRule(),
+                                                                     true).test(
+      schema);
+
+    // Related tables may come from other schemas, so tables can only be
+    // filtered when related tables are not requested
+    if (includeSchema || !isFilterTables())
+    {
+      final Predicate<Table> tableFilter = tableFilter();
+      for (final int tableId : tableIds)
+      {
+        final MutableTable table = lookupTable(tableId).table;
+        if (tableFilter.test(table))
+        {
+          catalog.addTable(table);
+        }
+      }
+    }
+    if (!includeSchema)
+    {
+      return;
+    }
+
+    final Predicate<Routine> routineFilter = databaseObjectFilter(
+      options == null? null: options.getRoutineInclusionRule());
+    for (final int routineId : routineIds)
+    {
+      final MutableRoutine routine = lookupRoutine(routineId);
+      if (routineFilter.test(routine))
+      {
+        catalog.addRoutine(routine);
+      }
+    }
+
+    final Predicate<Sequence> sequenceFilter = databaseObjectFilter(
+      options == null? null: options.getSequenceInclusionRule());
+    for (final int sequenceId : sequenceIds)
+    {
+      seek(getLong(sequenceOffsetsStart + 8L * sequenceId));
+      final MutableSequence sequence = readSequence();
+      if (sequenceFilter.test(sequence))
+      {
+        catalog.addSequence(sequence);
+      }
+    }
+
+    final Predicate<Synonym> synonymFilter = databaseObjectFilter(
+      options == null? null: options.getSynonymInclusionRule());
+    for (final int synonymId : synonymIds)
+    {
+      seek(getLong(synonymOffsetsStart + 8L * synonymId));
+      final MutableSynonym synonym = readSynonym();
+      if (synonymFilter.test(synonym))
+      {
+        catalog.addSynonym(synonym);
+      }
+    }
+  }
+
+  private <D extends DatabaseObject> Predicate<D> databaseObjectFilter(final InclusionRule inclusionRule)
+  {
+    if (options == null)
+    {
+      return databaseObject -> true;
+    }
+    return new InclusionRuleFilter<>(inclusionRule, true);
+  }
+
+  private boolean isFilterTables()
+  {
+    return options != null
+           && options.getChildTableFilterDepth() <= 0
+           && options.getParentTableFilterDepth() <= 0;
+  }
+
+  private Predicate<Table> tableFilter()
+  {
+    if (!isFilterTables())
+    {
+      return table -> true;
+    }
+    return new TableTypesFilter(options).and(new InclusionRuleFilter<Table>(
+      options.getTableInclusionRule(),
+      true));
+  }
+
+  private void seek(final long position)
+  {
+    snapshotIn = new SnapshotInputStream(position);
+    body = new DataInputStream(snapshotIn);
+  }
+
+  private static int segmentsCount(final long size)
+  {
+    return (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+  }
+
+}
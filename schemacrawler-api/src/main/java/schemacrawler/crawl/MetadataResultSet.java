@@ -30,7 +30,6 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
-import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
 import static sf.util.DatabaseUtility.logSQLWarnings;
 import static sf.util.Utility.enumValue;
 import static sf.util.Utility.enumValueFromId;
@@ -42,14 +41,15 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.logging.Level;
 
 import schemacrawler.inclusionrule.InclusionRule;
@@ -69,37 +69,62 @@ final class MetadataResultSet
   implements AutoCloseable
 {
 
-  private static final int FETCHSIZE = 20;
+  private static final int MAX_ADAPTIVE_FETCHSIZE = 5000;
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(MetadataResultSet.class.getName());
+
   private final List<String> resultSetColumns;
+  private final Map<String, Integer> columnIndexes;
   private final ResultSet results;
+  private final RetrieverConnection retrieverConnection;
+  private final boolean adaptiveFetchSize;
   private String description;
-  private Set<String> readColumns;
+  private Statement statement;
+  private final BitSet readColumns;
+  private BitSet unreadColumnsReadColumns;
+  private int[] unreadColumnIndexes;
+  private String[] unreadColumnNames;
+  private int fetchSize;
+  private int nextFetchSizeIncrease;
 
   private int rowCount;
 
+  /**
+   * Runs a data dictionary query on the retriever connection. Queries with
+   * bind variables are run with prepared statements that are reused for the
+   * whole crawl. The statement is released when the results are closed.
+   */
   MetadataResultSet(final Query query,
-                    final Statement statement,
-                    final InclusionRule schemaInclusionRule)
+                    final InclusionRule schemaInclusionRule,
+                    final RetrieverConnection retrieverConnection)
     throws SQLException
   {
-    this(executeAgainstSchema(query, statement, schemaInclusionRule));
+    this(retrieverConnection.executeQuery(query, schemaInclusionRule),
+         retrieverConnection,
+         retrieverConnection.getFetchSize(query));
     description = query.getName();
+    statement = results.getStatement();
+  }
+
+  MetadataResultSet(final ResultSet resultSet,
+                    final RetrieverConnection retrieverConnection)
+    throws SQLException
+  {
+    this(resultSet, retrieverConnection, retrieverConnection.getFetchSize());
   }
 
-  MetadataResultSet(final ResultSet resultSet)
+  private MetadataResultSet(final ResultSet resultSet,
+                            final RetrieverConnection retrieverConnection,
+                            final int fetchSize)
     throws SQLException
   {
     results = requireNonNull(resultSet, "Cannot use null results");
-    try
-    {
-      results.setFetchSize(FETCHSIZE);
-    }
-    catch (final NullPointerException | SQLException e)
-    {
-      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
-    }
+    this.retrieverConnection = requireNonNull(retrieverConnection,
+                                              "No retriever connection provided");
+    retrieverConnection.addMetadataCall();
+    adaptiveFetchSize = retrieverConnection.isAdaptiveFetchSize();
+    setFetchSize(fetchSize);
+    nextFetchSizeIncrease = fetchSize;
 
     final List<String> resultSetColumns = new ArrayList<>();
     try
@@ -122,7 +147,16 @@ final class MetadataResultSet
     }
     this.resultSetColumns = Collections.unmodifiableList(resultSetColumns);
 
-    readColumns = new HashSet<>();
+    // Resolve column names to indexes once, so that values are not looked up
+    // by name for every row - if there are duplicate column names, the first
+    // one is used, which is what JDBC drivers do for lookups by name
+    columnIndexes = new HashMap<>();
+    for (int i = 0; i < resultSetColumns.size(); i++)
+    {
+      columnIndexes.putIfAbsent(resultSetColumns.get(i), i + 1);
+    }
+
+    readColumns = new BitSet(resultSetColumns.size() + 1);
   }
 
   /**
@@ -138,6 +172,9 @@ final class MetadataResultSet
     throws SQLException
   {
     results.close();
+    retrieverConnection.releaseStatement(statement);
+
+    retrieverConnection.addMetadataRowCount(description, rowCount);
 
     if (LOGGER.isLoggable(Level.INFO) && !isBlank(description))
     {
@@ -156,30 +193,46 @@ final class MetadataResultSet
    */
   Map<String, Object> getAttributes()
   {
-    final Map<String, Object> attributes = new HashMap<>();
-    for (final String columnName : resultSetColumns)
+    final int[] unreadIndexes = getUnreadColumnIndexes();
+    final Object[] values = new Object[unreadIndexes.length];
+    List<String> unreadableColumns = null;
+    for (int i = 0; i < unreadIndexes.length; i++)
     {
-      if (!readColumns.contains(columnName))
+      final int columnIndex = unreadIndexes[i];
+      try
       {
-        try
-        {
-          final Object value = results.getObject(columnName);
-          attributes.put(columnName, value);
-        }
-        catch (final SQLException | ArrayIndexOutOfBoundsException e)
+        values[i] = results.getObject(columnIndex);
+      }
+      catch (final SQLException | ArrayIndexOutOfBoundsException e)
+      {
+        /*
+         * MySQL connector is broken and can cause
+         * ArrayIndexOutOfBoundsExceptions for no good reason (tested
+         * with connector 5.1.26 and server version 5.0.95). Ignoring
+         * the exception, we can still get some useful data out of the
+         * database.
+         */
+        final String columnName = unreadColumnNames[i];
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Could not read value for column <%s>",
+                                    columnName),
+                   e);
+        if (unreadableColumns == null)
         {
-          /*
-           * MySQL connector is broken and can cause
-           * ArrayIndexOutOfBoundsExceptions for no good reason (tested
-           * with connector 5.1.26 and server version 5.0.95). Ignoring
-           * the exception, we can still get some useful data out of the
-           * database.
-           */
-          LOGGER.log(Level.WARNING,
-                     new StringFormat("Could not read value for column <%s>",
-                                      columnName),
-                     e);
+          unreadableColumns = new ArrayList<>();
         }
+        unreadableColumns.add(columnName);
+      }
+    }
+
+    // Attribute names are shared by all rows that read the same columns
+    final CompactAttributeMap attributes =
+      new CompactAttributeMap(unreadColumnNames, values);
+    if (unreadableColumns != null)
+    {
+      for (final String columnName : unreadableColumns)
+      {
+        attributes.remove(columnName);
       }
     }
     return attributes;
@@ -215,11 +268,12 @@ final class MetadataResultSet
    */
   boolean getBoolean(final String columnName)
   {
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        final Object booleanValue = results.getObject(columnName);
+        final Object booleanValue = results.getObject(columnIndex);
         final String stringBooleanValue;
         if (results.wasNull() || booleanValue == null)
         {
@@ -322,11 +376,12 @@ final class MetadataResultSet
   int getInt(final String columnName, final int defaultValue)
   {
     int value = defaultValue;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getInt(columnName);
+        value = results.getInt(columnIndex);
         if (results.wasNull())
         {
           LOGGER.log(Level.FINER,
@@ -362,11 +417,12 @@ final class MetadataResultSet
   long getLong(final String columnName, final long defaultValue)
   {
     long value = defaultValue;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getLong(columnName);
+        value = results.getLong(columnIndex);
         if (results.wasNull())
         {
           LOGGER.log(Level.FINER,
@@ -401,11 +457,12 @@ final class MetadataResultSet
   short getShort(final String columnName, final short defaultValue)
   {
     short value = defaultValue;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getShort(columnName);
+        value = results.getShort(columnIndex);
         if (results.wasNull())
         {
           LOGGER.log(Level.FINER,
@@ -437,11 +494,12 @@ final class MetadataResultSet
   String getString(final String columnName)
   {
     String value = null;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getString(columnName);
+        value = results.getString(columnIndex);
         if (results.wasNull())
         {
           value = null;
@@ -464,6 +522,39 @@ final class MetadataResultSet
     return value;
   }
 
+  /**
+   * Reads the value of a column from the result set as a timestamp.
+   *
+   * @param columnName
+   *   Column name
+   * @return Timestamp value of the column, or null if not available
+   */
+  Timestamp getTimestamp(final String columnName)
+  {
+    Timestamp value = null;
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
+    {
+      try
+      {
+        value = results.getTimestamp(columnIndex);
+        if (results.wasNull())
+        {
+          value = null;
+        }
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat(
+                     "Could not read timestamp value for column <%s>",
+                     columnName),
+                   e);
+      }
+    }
+    return value;
+  }
+
   /**
    * Moves the cursor down one row from its current position. A
    * <code>ResultSet</code> cursor is initially positioned before the
@@ -479,13 +570,17 @@ final class MetadataResultSet
   boolean next()
     throws SQLException
   {
-    readColumns = new HashSet<>();
+    readColumns.clear();
 
     final boolean next = results.next();
     logSQLWarnings(results);
     if (next)
     {
       rowCount = rowCount + 1;
+      if (adaptiveFetchSize && rowCount >= nextFetchSizeIncrease)
+      {
+        growFetchSize();
+      }
     }
     return next;
   }
@@ -495,15 +590,90 @@ final class MetadataResultSet
     this.description = description;
   }
 
-  private boolean useColumn(final String columnName)
+  /**
+   * Doubles the fetch size once all the rows of the previous fetch have been
+   * read, since that means that more rows are likely to arrive.
+   */
+  private void growFetchSize()
+  {
+    if (fetchSize < MAX_ADAPTIVE_FETCHSIZE)
+    {
+      setFetchSize(Math.min(fetchSize * 2, MAX_ADAPTIVE_FETCHSIZE));
+      LOGGER.log(Level.FINER,
+                 new StringFormat("Increased fetch size to %d for <%s>",
+                                  fetchSize,
+                                  description));
+    }
+    nextFetchSizeIncrease = rowCount + fetchSize;
+  }
+
+  private void setFetchSize(final int fetchSize)
+  {
+    this.fetchSize = fetchSize;
+    try
+    {
+      results.setFetchSize(fetchSize);
+    }
+    catch (final NullPointerException | SQLException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+  }
+
+  /**
+   * Gets the indexes of columns that have not been read in the current row.
+   * Rows are usually read in the same way, so the indexes, and the matching
+   * column names, are only computed again if a different set of columns was
+   * read.
+   */
+  private int[] getUnreadColumnIndexes()
+  {
+    if (unreadColumnIndexes == null
+        || !readColumns.equals(unreadColumnsReadColumns))
+    {
+      final int[] indexes = new int[columnIndexes.size()];
+      int count = 0;
+      for (int i = 0; i < resultSetColumns.size(); i++)
+      {
+        final int columnIndex = i + 1;
+        if (columnIndexes.get(resultSetColumns.get(i)) == columnIndex
+            && !readColumns.get(columnIndex))
+        {
+          indexes[count] = columnIndex;
+          count = count + 1;
+        }
+      }
+      unreadColumnIndexes = Arrays.copyOf(indexes, count);
+      unreadColumnNames = new String[count];
+      for (int i = 0; i < count; i++)
+      {
+        unreadColumnNames[i] = resultSetColumns.get(unreadColumnIndexes[i] - 1);
+      }
+      unreadColumnsReadColumns = (BitSet) readColumns.clone();
+    }
+    return unreadColumnIndexes;
+  }
+
+  /**
+   * Marks a column as read in the current row.
+   *
+   * @param columnName
+   *   Column name
+   * @return Index of the column, or 0 if the result set does not have it
+   */
+  private int useColumn(final String columnName)
   {
-    final boolean useColumn =
-      columnName != null && resultSetColumns.contains(columnName);
-    if (useColumn)
+    if (columnName == null)
+    {
+      return 0;
+    }
+    final Integer columnIndex = columnIndexes.get(columnName);
+    if (columnIndex == null)
     {
-      readColumns.add(columnName);
+      return 0;
     }
-    return useColumn;
+    readColumns.set(columnIndex);
+    return columnIndex;
   }
 
 }
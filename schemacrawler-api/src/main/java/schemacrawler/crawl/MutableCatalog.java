@@ -34,12 +34,14 @@ import static java.util.Objects.requireNonNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.ColumnDataType;
 import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlMetric;
 import schemacrawler.schema.DatabaseObject;
 import schemacrawler.schema.NamedObject;
 import schemacrawler.schema.Reducer;
@@ -110,13 +112,21 @@ final class MutableCatalog
     crawlInfo = new MutableCrawlInfo();
   }
 
+  MutableCatalog(final String name, final MutableCrawlInfo crawlInfo)
+  {
+    super(name);
+    databaseInfo = new MutableDatabaseInfo();
+    jdbcDriverInfo = new MutableJdbcDriverInfo();
+    this.crawlInfo = requireNonNull(crawlInfo, "No crawl information provided");
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public Collection<ColumnDataType> getColumnDataTypes()
   {
-    return new ArrayList<>(columnDataTypes.values());
+    return NamedObjectList.valuesOf(columnDataTypes);
   }
 
   /**
@@ -164,7 +174,7 @@ final class MutableCatalog
   @Override
   public Collection<Routine> getRoutines()
   {
-    return new ArrayList<>(routines.values());
+    return NamedObjectList.valuesOf(routines);
   }
 
   /**
@@ -191,7 +201,7 @@ final class MutableCatalog
   @Override
   public Collection<Schema> getSchemas()
   {
-    return new ArrayList<>(schemas.values());
+    return NamedObjectList.valuesOf(schemas);
   }
 
   /**
@@ -200,7 +210,7 @@ final class MutableCatalog
   @Override
   public Collection<Sequence> getSequences()
   {
-    return new ArrayList<>(sequences.values());
+    return NamedObjectList.valuesOf(sequences);
   }
 
   /**
@@ -227,7 +237,7 @@ final class MutableCatalog
   @Override
   public Collection<Synonym> getSynonyms()
   {
-    return new ArrayList<>(synonyms.values());
+    return NamedObjectList.valuesOf(synonyms);
   }
 
   /**
@@ -263,7 +273,7 @@ final class MutableCatalog
   @Override
   public Collection<Table> getTables()
   {
-    return new ArrayList<>(tables.values());
+    return NamedObjectList.valuesOf(tables);
   }
 
   /**
@@ -370,6 +380,11 @@ final class MutableCatalog
     return tables.lookup(tableLookupKey);
   }
 
+  Optional<MutableTable> lookupTable(final NamedObjectKey tableLookupKey)
+  {
+    return tables.lookup(tableLookupKey);
+  }
+
   @Override
   public <N extends NamedObject> void reduce(final Class<N> clazz,
                                              final Reducer<N> reducer)
@@ -437,11 +452,45 @@ final class MutableCatalog
     synonyms.add(synonym);
   }
 
+  void addCrawlMetric(final CrawlMetric crawlMetric)
+  {
+    crawlInfo.addCrawlMetric(crawlMetric);
+  }
+
+  void addMetadataRowCounts(final Map<String, Long> metadataRowCounts)
+  {
+    crawlInfo.addMetadataRowCounts(metadataRowCounts);
+  }
+
   void addTable(final MutableTable table)
   {
     tables.add(table);
   }
 
+  /**
+   * Freezes the catalog after it has been crawled. Collections in the catalog
+   * are sorted once into shared, unmodifiable snapshots, so that traversing
+   * the catalog does not copy them, and many threads can read the catalog at
+   * once. The catalog can still be reduced, and the snapshots are rebuilt.
+   */
+  void freeze()
+  {
+    columnDataTypes.freeze();
+    schemas.freeze();
+    sequences.freeze();
+    synonyms.freeze();
+    routines.freeze();
+    for (final MutableRoutine routine : routines)
+    {
+      routine.freeze();
+    }
+    tables.freeze();
+    for (final MutableTable table : tables)
+    {
+      table.freeze();
+    }
+  }
+
   NamedObjectList<MutableRoutine> getAllRoutines()
   {
     return routines;
@@ -492,6 +541,11 @@ final class MutableCatalog
     return routines.lookup(routineLookupKey);
   }
 
+  Optional<MutableRoutine> lookupRoutine(final NamedObjectKey routineLookupKey)
+  {
+    return routines.lookup(routineLookupKey);
+  }
+
   void setCrawlInfo()
   {
     crawlInfo.setDatabaseInfo(jdbcDriverInfo, databaseInfo);
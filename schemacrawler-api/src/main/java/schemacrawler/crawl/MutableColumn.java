@@ -29,10 +29,10 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 
+import schemacrawler.crawl.LazyTableLoader.TablePart;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.Privilege;
 import schemacrawler.schema.Table;
@@ -85,7 +85,7 @@ final class MutableColumn
   @Override
   public Collection<Privilege<Column>> getPrivileges()
   {
-    return new ArrayList<>(privileges.values());
+    return NamedObjectList.valuesOf(privileges);
   }
 
   /**
@@ -94,6 +94,7 @@ final class MutableColumn
   @Override
   public Column getReferencedColumn()
   {
+    loadForeignKeys();
     return referencedColumn;
   }
 
@@ -150,6 +151,7 @@ final class MutableColumn
   @Override
   public boolean isPartOfForeignKey()
   {
+    loadForeignKeys();
     return referencedColumn != null;
   }
 
@@ -194,6 +196,11 @@ final class MutableColumn
     privileges.add(privilege);
   }
 
+  void freeze()
+  {
+    privileges.freeze();
+  }
+
   void markAsPartOfIndex()
   {
     isPartOfIndex = true;
@@ -209,4 +216,15 @@ final class MutableColumn
     isPartOfUniqueIndex = true;
   }
 
+  private void loadForeignKeys()
+  {
+    // Referenced columns are set when the foreign keys of a lazily
+    // materialized table are loaded
+    final Table parent = getParent();
+    if (parent instanceof MutableTable)
+    {
+      ((MutableTable) parent).load(TablePart.relationships);
+    }
+  }
+
 }
@@ -33,6 +33,11 @@ import static java.util.Objects.requireNonNull;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import schemacrawler.BaseProductVersion;
@@ -41,6 +46,7 @@ import schemacrawler.OperatingSystemInfo;
 import schemacrawler.ProductVersion;
 import schemacrawler.SchemaCrawlerInfo;
 import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlMetric;
 import schemacrawler.schema.DatabaseInfo;
 import schemacrawler.schema.JdbcDriverInfo;
 
@@ -62,6 +68,8 @@ final class MutableCrawlInfo
   private final ProductVersion schemaCrawlerVersion;
   private ProductVersion databaseVersion;
   private ProductVersion jdbcDriverVersion;
+  private Map<String, Long> metadataRowCounts;
+  private List<CrawlMetric> crawlMetrics;
 
   MutableCrawlInfo()
   {
@@ -71,6 +79,33 @@ final class MutableCrawlInfo
 
     crawlTimestamp = LocalDateTime.now();
     runId = UUID.randomUUID();
+    metadataRowCounts = new TreeMap<>();
+    crawlMetrics = new ArrayList<>();
+  }
+
+  /**
+   * Restores crawl information that was previously saved, for example with
+   * an offline catalog snapshot.
+   */
+  MutableCrawlInfo(final LocalDateTime crawlTimestamp,
+                   final String runId,
+                   final ProductVersion schemaCrawlerVersion,
+                   final ProductVersion operatingSystemVersion,
+                   final ProductVersion jvmVersion,
+                   final ProductVersion databaseVersion,
+                   final ProductVersion jdbcDriverVersion,
+                   final Map<String, Long> metadataRowCounts)
+  {
+    this.crawlTimestamp =
+      requireNonNull(crawlTimestamp, "No crawl timestamp provided");
+    this.runId = UUID.fromString(requireNonNull(runId, "No run id provided"));
+    this.schemaCrawlerVersion = schemaCrawlerVersion;
+    this.operatingSystemVersion = operatingSystemVersion;
+    this.jvmVersion = jvmVersion;
+    this.databaseVersion = databaseVersion;
+    this.jdbcDriverVersion = jdbcDriverVersion;
+    this.metadataRowCounts = new TreeMap<>(metadataRowCounts);
+    crawlMetrics = new ArrayList<>();
   }
 
   @Override
@@ -79,6 +114,19 @@ final class MutableCrawlInfo
     return crawlTimestamp;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized List<CrawlMetric> getCrawlMetrics()
+  {
+    if (crawlMetrics == null)
+    {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(new ArrayList<>(crawlMetrics));
+  }
+
   @Deprecated
   @Override
   public String getDatabaseInfo()
@@ -161,6 +209,19 @@ final class MutableCrawlInfo
     return schemaCrawlerVersion;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Long> getMetadataRowCounts()
+  {
+    if (metadataRowCounts == null)
+    {
+      return Collections.emptyMap();
+    }
+    return Collections.unmodifiableMap(metadataRowCounts);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -198,6 +259,29 @@ final class MutableCrawlInfo
     return info.toString();
   }
 
+  synchronized void addCrawlMetric(final CrawlMetric crawlMetric)
+  {
+    requireNonNull(crawlMetric, "No crawl metric provided");
+    if (crawlMetrics == null)
+    {
+      crawlMetrics = new ArrayList<>();
+    }
+    crawlMetrics.add(crawlMetric);
+  }
+
+  synchronized void addMetadataRowCounts(final Map<String, Long> metadataRowCounts)
+  {
+    requireNonNull(metadataRowCounts, "No metadata row counts provided");
+    if (this.metadataRowCounts == null)
+    {
+      this.metadataRowCounts = new TreeMap<>();
+    }
+    for (final Map.Entry<String, Long> rowCount : metadataRowCounts.entrySet())
+    {
+      this.metadataRowCounts.merge(rowCount.getKey(), rowCount.getValue(), Long::sum);
+    }
+  }
+
   void setDatabaseInfo(final JdbcDriverInfo jdbcDriverInfo, final DatabaseInfo databaseInfo)
   {
     requireNonNull(jdbcDriverInfo, "No JDBC driver information provided");
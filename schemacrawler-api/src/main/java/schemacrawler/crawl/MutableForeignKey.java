@@ -181,6 +181,7 @@ final class MutableForeignKey
   void setSpecificName(final String specificName)
   {
     this.specificName = specificName;
+    resetLookupKey();
   }
 
   /**
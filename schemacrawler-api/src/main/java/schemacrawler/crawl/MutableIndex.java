@@ -31,7 +31,6 @@ package schemacrawler.crawl;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -142,7 +141,7 @@ class MutableIndex
   @Override
   public final List<IndexColumn> getColumns()
   {
-    return new ArrayList<>(columns.values());
+    return NamedObjectList.valuesOf(columns);
   }
 
   /**
@@ -233,6 +232,11 @@ class MutableIndex
     columns.add(column);
   }
 
+  final void freeze()
+  {
+    columns.freeze();
+  }
+
   final void appendDefinition(final String definition)
   {
     if (definition != null)
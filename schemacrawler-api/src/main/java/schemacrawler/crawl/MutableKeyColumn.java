@@ -257,6 +257,11 @@ class MutableKeyColumn
     return definition.length() > 0;
   }
 
+  Column getColumn()
+  {
+    return column;
+  }
+
   int getKeyOrdinalPosition()
   {
     return keyOrdinalPosition;
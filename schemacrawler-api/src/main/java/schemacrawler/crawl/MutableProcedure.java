@@ -31,7 +31,6 @@ package schemacrawler.crawl;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,7 +69,7 @@ final class MutableProcedure
   @Override
   public List<ProcedureParameter> getParameters()
   {
-    return new ArrayList<>(columns.values());
+    return NamedObjectList.valuesOf(columns);
   }
 
   /**
@@ -107,4 +106,10 @@ final class MutableProcedure
     columns.add(column);
   }
 
+  @Override
+  void freeze()
+  {
+    columns.freeze();
+  }
+
 }
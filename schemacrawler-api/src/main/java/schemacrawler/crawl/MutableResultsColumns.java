@@ -29,7 +29,6 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -63,7 +62,7 @@ final class MutableResultsColumns
   @Override
   public List<ResultsColumn> getColumns()
   {
-    return new ArrayList<>(columns.values());
+    return NamedObjectList.valuesOf(columns);
   }
 
   /**
@@ -163,6 +163,7 @@ abstract class MutableRoutine
   final void setSpecificName(final String specificName)
   {
     this.specificName = specificName;
+    resetLookupKey();
   }
 
   /**
@@ -182,4 +183,10 @@ abstract class MutableRoutine
     }
   }
 
+  /**
+   * Freezes the routine parameters, so that they are returned from a shared,
+   * sorted snapshot.
+   */
+  abstract void freeze();
+
 }
@@ -29,14 +29,16 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import schemacrawler.crawl.LazyTableLoader.TablePart;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.ForeignKeyColumnReference;
@@ -92,6 +94,9 @@ class MutableTable
   private MutablePrimaryKey primaryKey;
   private int sortIndex;
   private TableType tableType = TableType.UNKNOWN; // Default value
+  private transient volatile LazyTableLoader lazyLoader;
+  private transient volatile TableRelationshipIndex relationshipIndex;
+  private transient int relationshipIndexId;
 
   MutableTable(final Schema schema, final String name)
   {
@@ -130,7 +135,8 @@ class MutableTable
   @Override
   public List<Column> getColumns()
   {
-    return new ArrayList<>(columns.values());
+    load(TablePart.columns);
+    return NamedObjectList.valuesOf(columns);
   }
 
   /**
@@ -157,7 +163,8 @@ class MutableTable
   @Override
   public Collection<WeakAssociation> getWeakAssociations()
   {
-    return new ArrayList<>(weakAssociations.values());
+    load(TablePart.relationships);
+    return NamedObjectList.valuesOf(weakAssociations);
   }
 
   /**
@@ -166,6 +173,7 @@ class MutableTable
   @Override
   public Collection<Column> getHiddenColumns()
   {
+    load(TablePart.columns);
     return new HashSet<>(hiddenColumns.values());
   }
 
@@ -181,7 +189,8 @@ class MutableTable
   @Override
   public Collection<Index> getIndexes()
   {
-    return new ArrayList<>(indexes.values());
+    load(TablePart.details);
+    return NamedObjectList.valuesOf(indexes);
   }
 
   /**
@@ -190,6 +199,7 @@ class MutableTable
   @Override
   public MutablePrimaryKey getPrimaryKey()
   {
+    load(TablePart.details);
     return primaryKey;
   }
 
@@ -199,7 +209,8 @@ class MutableTable
   @Override
   public Collection<Privilege<Table>> getPrivileges()
   {
-    return new ArrayList<>(privileges.values());
+    load(TablePart.details);
+    return NamedObjectList.valuesOf(privileges);
   }
 
   /**
@@ -208,13 +219,19 @@ class MutableTable
   @Override
   public Collection<Table> getRelatedTables(final TableRelationshipType tableRelationshipType)
   {
+    load(TablePart.relationships);
+    final TableRelationshipIndex relationshipIndex = getRelationshipIndex();
+    if (relationshipIndex != null)
+    {
+      return relationshipIndex.getRelatedTables(relationshipIndexId,
+                                                tableRelationshipType);
+    }
+
     final Set<Table> relatedTables = new HashSet<>();
     if (tableRelationshipType != null
         && tableRelationshipType != TableRelationshipType.none)
     {
-      final List<MutableForeignKey> foreignKeysList =
-        new ArrayList<>(foreignKeys.values());
-      for (final ForeignKey foreignKey : foreignKeysList)
+      for (final ForeignKey foreignKey : foreignKeys)
       {
         for (final ForeignKeyColumnReference columnReference : foreignKey)
         {
@@ -256,7 +273,8 @@ class MutableTable
   @Override
   public Collection<TableConstraint> getTableConstraints()
   {
-    return new ArrayList<>(constraints.values());
+    load(TablePart.details);
+    return NamedObjectList.valuesOf(constraints);
   }
 
   /**
@@ -286,7 +304,8 @@ class MutableTable
   @Override
   public Collection<Trigger> getTriggers()
   {
-    return new ArrayList<>(triggers.values());
+    load(TablePart.details);
+    return NamedObjectList.valuesOf(triggers);
   }
 
   /**
@@ -304,6 +323,7 @@ class MutableTable
   @Override
   public Optional<MutableColumn> lookupColumn(final String name)
   {
+    load(TablePart.columns);
     Optional<MutableColumn> optionalColumn = columns.lookup(this, name);
     if (!optionalColumn.isPresent())
     {
@@ -318,6 +338,7 @@ class MutableTable
   @Override
   public Optional<MutableTableConstraint> lookupTableConstraint(final String name)
   {
+    load(TablePart.details);
     return constraints.lookup(this, name);
   }
 
@@ -327,6 +348,7 @@ class MutableTable
   @Override
   public Optional<MutableForeignKey> lookupForeignKey(final String name)
   {
+    load(TablePart.relationships);
     return foreignKeys.lookup(this, name);
   }
 
@@ -336,6 +358,7 @@ class MutableTable
   @Override
   public Optional<MutableIndex> lookupIndex(final String name)
   {
+    load(TablePart.details);
     return indexes.lookup(this, name);
   }
 
@@ -345,6 +368,7 @@ class MutableTable
   @Override
   public Optional<MutablePrivilege<Table>> lookupPrivilege(final String name)
   {
+    load(TablePart.details);
     return privileges.lookup(this, name);
   }
 
@@ -358,6 +382,7 @@ class MutableTable
   @Override
   public Optional<MutableTrigger> lookupTrigger(final String triggerName)
   {
+    load(TablePart.details);
     return triggers.lookup(this, triggerName);
   }
 
@@ -393,6 +418,7 @@ class MutableTable
   final void addForeignKey(final MutableForeignKey foreignKey)
   {
     foreignKeys.add(foreignKey);
+    invalidateRelationshipIndex();
   }
 
   final void addWeakAssociation(final WeakAssociation weakAssociation)
@@ -433,6 +459,54 @@ class MutableTable
     }
   }
 
+  /**
+   * Freezes the table and its parts, so that they are returned from shared,
+   * sorted snapshots. A lazily loaded table is not loaded, and parts that are
+   * loaded later are added to the frozen lists.
+   */
+  final void freeze()
+  {
+    columns.freeze();
+    hiddenColumns.freeze();
+    for (final MutableColumn column : columns)
+    {
+      column.freeze();
+    }
+    for (final MutableColumn column : hiddenColumns)
+    {
+      column.freeze();
+    }
+    constraints.freeze();
+    for (final MutableTableConstraint constraint : constraints)
+    {
+      constraint.freeze();
+    }
+    if (primaryKey != null)
+    {
+      primaryKey.freeze();
+    }
+    indexes.freeze();
+    for (final MutableIndex index : indexes)
+    {
+      index.freeze();
+    }
+    foreignKeys.freeze();
+    weakAssociations.freeze();
+    privileges.freeze();
+    triggers.freeze();
+  }
+
+  final void removeForeignKey(final MutableForeignKey foreignKey)
+  {
+    foreignKeys.remove(foreignKey);
+    invalidateRelationshipIndex();
+  }
+
+  final void removeWeakAssociation(final WeakAssociation weakAssociation)
+  {
+    weakAssociations.remove(weakAssociation);
+  }
+
   final void setPrimaryKey(final MutablePrimaryKey primaryKey)
   {
     if (primaryKey == null)
@@ -445,6 +519,11 @@ class MutableTable
     }
   }
 
+  final int getSortIndex()
+  {
+    return sortIndex;
+  }
+
   final void setSortIndex(final int sortIndex)
   {
     this.sortIndex = sortIndex;
@@ -452,51 +531,51 @@ class MutableTable
 
   private Collection<ForeignKey> getForeignKeys(final TableAssociationType tableAssociationType)
   {
-    final List<ForeignKey> foreignKeysList =
-      new ArrayList<>(foreignKeys.values());
-    if (tableAssociationType != null
-        && tableAssociationType != TableAssociationType.all)
+    load(TablePart.relationships);
+    if (tableAssociationType == null
+        || tableAssociationType == TableAssociationType.all)
     {
-      for (final Iterator<ForeignKey> iterator =
-           foreignKeysList.iterator(); iterator.hasNext(); )
+      return NamedObjectList.valuesOf(foreignKeys);
+    }
+
+    final List<ForeignKey> foreignKeysList = new ArrayList<>();
+    for (final ForeignKey mutableForeignKey : foreignKeys)
+    {
+      boolean isExportedKey = false;
+      boolean isImportedKey = false;
+      for (final ForeignKeyColumnReference columnReference : mutableForeignKey)
       {
-        final ForeignKey mutableForeignKey = iterator.next();
-        boolean isExportedKey = false;
-        boolean isImportedKey = false;
-        for (final ForeignKeyColumnReference columnReference : mutableForeignKey)
+        if (columnReference
+          .getPrimaryKeyColumn()
+          .getParent()
+          .equals(this))
         {
-          if (columnReference
-            .getPrimaryKeyColumn()
-            .getParent()
-            .equals(this))
+          isExportedKey = true;
+        }
+        if (columnReference
+          .getForeignKeyColumn()
+          .getParent()
+          .equals(this))
+        {
+          isImportedKey = true;
+        }
+      }
+      switch (tableAssociationType)
+      {
+        case exported:
+          if (isExportedKey)
           {
-            isExportedKey = true;
+            foreignKeysList.add(mutableForeignKey);
           }
-          if (columnReference
-            .getForeignKeyColumn()
-            .getParent()
-            .equals(this))
+          break;
+        case imported:
+          if (isImportedKey)
           {
-            isImportedKey = true;
+            foreignKeysList.add(mutableForeignKey);
           }
-        }
-        switch (tableAssociationType)
-        {
-          case exported:
-            if (!isExportedKey)
-            {
-              iterator.remove();
-            }
-            break;
-          case imported:
-            if (!isImportedKey)
-            {
-              iterator.remove();
-            }
-            break;
-          default:
-            break;
-        }
+          break;
+        default:
+          break;
       }
     }
     return foreignKeysList;
@@ -504,7 +583,71 @@ class MutableTable
 
   NamedObjectList<MutableColumn> getAllColumns()
   {
+    load(TablePart.columns);
     return columns;
   }
 
+  /**
+   * Loads a part of the table, if the table is being materialized lazily.
+   *
+   * @param tablePart
+   *   Part of the table to load
+   */
+  final void load(final TablePart tablePart)
+  {
+    final LazyTableLoader lazyLoader = this.lazyLoader;
+    if (lazyLoader != null)
+    {
+      lazyLoader.load(this, tablePart);
+    }
+  }
+
+  /**
+   * Gets the relationship index shared by the tables in the catalog, if it is
+   * still valid.
+   *
+   * @return Relationship index, or null if there is none
+   */
+  final TableRelationshipIndex getRelationshipIndex()
+  {
+    final TableRelationshipIndex relationshipIndex = this.relationshipIndex;
+    if (relationshipIndex == null || !relationshipIndex.isValid())
+    {
+      return null;
+    }
+    return relationshipIndex;
+  }
+
+  final void setRelationshipIndex(final TableRelationshipIndex relationshipIndex,
+                                  final int relationshipIndexId)
+  {
+    this.relationshipIndexId = relationshipIndexId;
+    this.relationshipIndex = relationshipIndex;
+  }
+
+  final void setLazyLoader(final LazyTableLoader lazyLoader)
+  {
+    this.lazyLoader = lazyLoader;
+  }
+
+  private void invalidateRelationshipIndex()
+  {
+    final TableRelationshipIndex relationshipIndex = this.relationshipIndex;
+    if (relationshipIndex != null)
+    {
+      relationshipIndex.invalidate();
+    }
+  }
+
+  private void writeObject(final ObjectOutputStream out)
+    throws IOException
+  {
+    // Lazily materialized tables are loaded in full before serialization
+    for (final TablePart tablePart : TablePart.values())
+    {
+      load(tablePart);
+    }
+    out.defaultWriteObject();
+  }
+
 }
@@ -29,7 +29,6 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
-import java.util.ArrayList;
 import java.util.List;
 
 import schemacrawler.schema.Table;
@@ -66,7 +65,7 @@ class MutableTableConstraint
   @Override
   public List<TableConstraintColumn> getColumns()
   {
-    return new ArrayList<>(columns.values());
+    return NamedObjectList.valuesOf(columns);
   }
 
   /**
@@ -137,6 +136,11 @@ class MutableTableConstraint
     columns.add(column);
   }
 
+  void freeze()
+  {
+    columns.freeze();
+  }
+
   void appendDefinition(final String definition)
   {
     if (definition != null)
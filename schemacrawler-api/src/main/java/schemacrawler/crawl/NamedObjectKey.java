@@ -0,0 +1,157 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable lookup key for named objects, made up of the names of the object
+ * and its parents. The hash code is computed once, so that keys can be used
+ * for lookups in hot retrieval loops without creating lists of names.
+ */
+final class NamedObjectKey
+  implements Serializable
+{
+
+  private static final long serialVersionUID = -6474413851591318837L;
+
+  /**
+   * Creates a key from the unique lookup key of a named object.
+   *
+   * @param lookupKey
+   *   Unique lookup key of a named object
+   * @return Lookup key, or null if none was provided
+   */
+  static NamedObjectKey fromLookupKey(final List<String> lookupKey)
+  {
+    if (lookupKey == null)
+    {
+      return null;
+    }
+    return new NamedObjectKey(lookupKey.toArray(new String[lookupKey.size()]));
+  }
+
+  private final String[] key;
+  private final int hashCode;
+
+  private NamedObjectKey(final String[] key, final int hashCode)
+  {
+    this.key = key;
+    this.hashCode = hashCode;
+  }
+
+  /**
+   * Creates a lookup key from names. The names array is not copied, so it
+   * should not be changed by the caller.
+   *
+   * @param key
+   *   Names of the object and its parents, which may include nulls
+   */
+  NamedObjectKey(final String... key)
+  {
+    if (key == null)
+    {
+      this.key = new String[0];
+    }
+    else
+    {
+      this.key = key;
+    }
+    hashCode = Arrays.hashCode(this.key);
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj)
+    {
+      return true;
+    }
+    if (!(obj instanceof NamedObjectKey))
+    {
+      return false;
+    }
+    final NamedObjectKey other = (NamedObjectKey) obj;
+    return hashCode == other.hashCode && Arrays.equals(key, other.key);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return hashCode;
+  }
+
+  /**
+   * Creates a key with interned names for all but the last name, which is
+   * the name of the object itself. The same catalog and schema names are
+   * repeated in the keys of a great number of objects, and interned names are
+   * compared by reference.
+   *
+   * @return Lookup key with interned parent names
+   */
+  NamedObjectKey internParents()
+  {
+    final String[] internedKey = Arrays.copyOf(key, key.length);
+    for (int i = 0; i < key.length - 1; i++)
+    {
+      if (key[i] != null)
+      {
+        internedKey[i] = key[i].intern();
+      }
+    }
+    return new NamedObjectKey(internedKey, hashCode);
+  }
+
+  @Override
+  public String toString()
+  {
+    return Arrays.toString(key);
+  }
+
+  /**
+   * Creates a key for a dependent object, such as a column of a table.
+   *
+   * @param name
+   *   Name of the dependent object
+   * @return Lookup key for the dependent object
+   */
+  NamedObjectKey with(final String name)
+  {
+    final String[] dependentKey = Arrays.copyOf(key, key.length + 1);
+    dependentKey[key.length] = name;
+    // Same as Arrays.hashCode for the longer array, without hashing the
+    // names of the parent again
+    final int dependentHashCode =
+      31 * hashCode + (name == null? 0: name.hashCode());
+    return new NamedObjectKey(dependentKey, dependentHashCode);
+  }
+
+}
@@ -32,15 +32,20 @@ package schemacrawler.crawl;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import schemacrawler.schema.NamedObject;
@@ -52,7 +57,12 @@ import sf.util.ObjectToString;
  * NamedObjectList has the ability to look up by dependent object which is not
  * created yet. That is, by NamedObject + String. Returns values sorted in
  * natural sort order, and is iterable. The iterator does not allow
- * modifications to the underlying data structure.
+ * modifications to the underlying data structure. Named objects can be added
+ * from multiple threads, so that crawl phases can run in parallel.
+ * <p>
+ * Once a list is frozen, its values are sorted once into an unmodifiable
+ * snapshot, which is shared by every caller until the list is modified again.
+ * Frozen lists can be read from many threads without copying.
  */
 final class NamedObjectList<N extends NamedObject>
   implements Serializable, ReducibleCollection<N>
@@ -60,32 +70,56 @@ final class NamedObjectList<N extends NamedObject>
 
   private static final long serialVersionUID = 3257847666804142128L;
 
-  private static List<String> makeLookupKey(final NamedObject namedObject)
+  private static NamedObjectKey makeLookupKey(final NamedObject namedObject)
   {
-    final List<String> key;
+    final NamedObjectKey key;
     if (namedObject == null)
     {
       key = null;
     }
+    else if (namedObject instanceof AbstractNamedObject)
+    {
+      // Keys are kept by the objects themselves
+      key = ((AbstractNamedObject) namedObject).getLookupKey();
+    }
     else
     {
-      key = namedObject.toUniqueLookupKey();
+      key = NamedObjectKey.fromLookupKey(namedObject.toUniqueLookupKey());
     }
     return key;
   }
 
-  private static List<String> makeLookupKey(final NamedObject namedObject,
-                                            final String name)
+  private static NamedObjectKey makeLookupKey(final NamedObject namedObject,
+                                              final String name)
   {
-    final List<String> key = makeLookupKey(namedObject);
-    if (key != null)
+    final NamedObjectKey key = makeLookupKey(namedObject);
+    if (key == null)
     {
-      key.add(name);
+      return null;
     }
-    return key;
+    return key.with(name);
+  }
+
+  /**
+   * Gets all named objects in the list, in sorted order, typed as one of
+   * their interfaces. A frozen list returns its shared, unmodifiable
+   * snapshot. Otherwise, a new list is returned, which the caller can modify.
+   *
+   * @param namedObjects
+   *   List of named objects
+   * @return All named objects
+   */
+  @SuppressWarnings("unchecked")
+  static <T> List<T> valuesOf(final NamedObjectList<? extends T> namedObjects)
+  {
+    // The snapshot cannot be modified, and the copy is owned by the caller,
+    // so neither can have an object of another type added to it
+    return (List<T>) namedObjects.values();
   }
 
-  private final Map<List<String>, N> objects = new HashMap<>();
+  private Map<NamedObjectKey, N> objects = new ConcurrentHashMap<>();
+  private volatile boolean frozen;
+  private transient volatile List<N> frozenValues;
 
   @Override
   public void filter(final Predicate<? super N> predicate)
@@ -95,16 +129,17 @@ final class NamedObjectList<N extends NamedObject>
       return;
     }
 
-    final Set<Entry<List<String>, N>> entrySet = objects.entrySet();
-    for (final Iterator<Entry<List<String>, N>> iterator =
+    final Set<Entry<NamedObjectKey, N>> entrySet = objects.entrySet();
+    for (final Iterator<Entry<NamedObjectKey, N>> iterator =
          entrySet.iterator(); iterator.hasNext(); )
     {
-      final Entry<List<String>, N> entry = iterator.next();
+      final Entry<NamedObjectKey, N> entry = iterator.next();
       if (!predicate.test(entry.getValue()))
       {
         iterator.remove();
       }
     }
+    invalidateFrozenValues();
   }
 
   @Override
@@ -170,14 +205,27 @@ final class NamedObjectList<N extends NamedObject>
   boolean add(final N namedObject)
   {
     requireNonNull(namedObject, "Cannot add a null object to the list");
-    final List<String> key = makeLookupKey(namedObject);
+    final NamedObjectKey key = makeLookupKey(namedObject);
     objects.put(key, namedObject);
+    invalidateFrozenValues();
     return true;
   }
 
   boolean contains(final NamedObject namedObject)
   {
-    return objects.containsKey(makeLookupKey(namedObject));
+    final NamedObjectKey key = makeLookupKey(namedObject);
+    return key != null && objects.containsKey(key);
+  }
+
+  /**
+   * Freezes the list, so that values are returned from a shared, sorted
+   * snapshot. Objects can still be added to a frozen list, for example by a
+   * lazily loaded table, and the snapshot is rebuilt on the next read.
+   */
+  void freeze()
+  {
+    frozen = true;
+    invalidateFrozenValues();
   }
 
   boolean isEmpty()
@@ -193,19 +241,38 @@ final class NamedObjectList<N extends NamedObject>
    * @return Named object
    */
   Optional<N> lookup(final List<String> lookupKey)
+  {
+    return internalGet(NamedObjectKey.fromLookupKey(lookupKey));
+  }
+
+  /**
+   * Looks up a named object by lookup key, without creating a list of names.
+   *
+   * @param lookupKey
+   *   Internal lookup key
+   * @return Named object
+   */
+  Optional<N> lookup(final NamedObjectKey lookupKey)
   {
     return internalGet(lookupKey);
   }
 
   Optional<N> lookup(final NamedObject namedObject, final String name)
   {
-    final List<String> key = makeLookupKey(namedObject, name);
+    final NamedObjectKey key = makeLookupKey(namedObject, name);
     return internalGet(key);
   }
 
   N remove(final N namedObject)
   {
-    return objects.remove(makeLookupKey(namedObject));
+    final NamedObjectKey key = makeLookupKey(namedObject);
+    if (key == null)
+    {
+      return null;
+    }
+    final N removed = objects.remove(key);
+    invalidateFrozenValues();
+    return removed;
   }
 
   /**
@@ -219,19 +286,100 @@ final class NamedObjectList<N extends NamedObject>
   }
 
   /**
-   * Gets all named objects in the list, in sorted order.
+   * Gets all named objects in the list, in sorted order. A frozen list
+   * returns its shared, unmodifiable snapshot, and other lists return a new
+   * copy.
    *
    * @return All named objects
    */
   List<N> values()
   {
-    final List<N> all = new ArrayList<>(objects.values());
-    all.sort(naturalOrder());
-    return all;
+    if (!frozen)
+    {
+      final List<N> all = new ArrayList<>(objects.values());
+      all.sort(naturalOrder());
+      return all;
+    }
+
+    final List<N> values = frozenValues;
+    if (values != null)
+    {
+      return values;
+    }
+    synchronized (this)
+    {
+      if (frozenValues == null)
+      {
+        @SuppressWarnings("unchecked")
+        final N[] all = (N[]) objects
+          .values()
+          .toArray(new NamedObject[0]);
+        Arrays.sort(all);
+        frozenValues = Collections.unmodifiableList(Arrays.asList(all));
+      }
+      return frozenValues;
+    }
+  }
+
+  /**
+   * Discards the snapshot of a frozen list after a modification. The snapshot
+   * is built under the same lock, so that a snapshot that misses the
+   * modification is never kept.
+   */
+  private void invalidateFrozenValues()
+  {
+    if (frozen)
+    {
+      synchronized (this)
+      {
+        frozenValues = null;
+      }
+    }
   }
 
-  private Optional<N> internalGet(final List<String> key)
+  /**
+   * Reads lists from serialized catalogs, which may have objects in hash maps
+   * keyed by lists of names, into concurrent maps keyed by lookup keys.
+   */
+  private void readObject(final ObjectInputStream in)
+    throws IOException, ClassNotFoundException
   {
+    in.defaultReadObject();
+    if (objects instanceof ConcurrentHashMap)
+    {
+      return;
+    }
+
+    final Map<?, N> serializedObjects = objects;
+    objects = new ConcurrentHashMap<>();
+    for (final Entry<?, N> entry : serializedObjects.entrySet())
+    {
+      final Object key = entry.getKey();
+      final NamedObjectKey lookupKey;
+      if (key instanceof NamedObjectKey)
+      {
+        lookupKey = (NamedObjectKey) key;
+      }
+      else if (key instanceof List)
+      {
+        @SuppressWarnings("unchecked")
+        final List<String> names = (List<String>) key;
+        lookupKey = NamedObjectKey.fromLookupKey(names);
+      }
+      else
+      {
+        throw new InvalidObjectException("Unknown lookup key, " + key);
+      }
+      objects.put(lookupKey, entry.getValue());
+    }
+  }
+
+  private Optional<N> internalGet(final NamedObjectKey key)
+  {
+    if (key == null)
+    {
+      return Optional.empty();
+    }
     return Optional.ofNullable(objects.get(key));
   }
 
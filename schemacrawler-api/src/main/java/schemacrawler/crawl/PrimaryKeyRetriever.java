@@ -32,9 +32,7 @@ package schemacrawler.crawl;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.primaryKeysRetrievalStrategy;
 
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -87,6 +85,12 @@ final class PrimaryKeyRetriever
         retrievePrimaryKeysFromMetadata(allTables);
         break;
 
+      case metadata_over_schemas:
+        LOGGER.log(Level.INFO,
+                   "Retrieving primary keys, using metadata over schemas");
+        retrievePrimaryKeysFromMetadataOverSchemas(allTables);
+        break;
+
       default:
         break;
     }
@@ -129,6 +133,32 @@ final class PrimaryKeyRetriever
     }
   }
 
+  /**
+   * Creates primary keys from results that can have rows for any table, by looking
+   * up the table for each row. Rows for tables that are not in the catalog are
+   * skipped.
+   */
+  private void createPrimaryKeys(final MetadataResultSet results)
+    throws SQLException
+  {
+    while (results.next())
+    {
+      final String catalogName =
+        normalizeCatalogName(results.getString("TABLE_CAT"));
+      final String schemaName =
+        normalizeSchemaName(results.getString("TABLE_SCHEM"));
+      final String tableName = results.getString("TABLE_NAME");
+
+      final Optional<MutableTable> optionalTable = lookupTable(catalogName, schemaName, tableName);
+      if (!optionalTable.isPresent())
+      {
+        continue;
+      }
+      final MutableTable table = optionalTable.get();
+      createPrimaryKeyForTable(table, results);
+    }
+  }
+
   private void retrievePrimaryKeysFromDataDictionary(final NamedObjectList<MutableTable> allTables)
     throws SchemaCrawlerSQLException
   {
@@ -144,31 +174,14 @@ final class PrimaryKeyRetriever
 
     final Query pkSql =
       informationSchemaViews.getQuery(InformationSchemaKey.PRIMARY_KEYS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(pkSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrievePrimaryKeysFromDataDictionary");
-      while (results.next())
-      {
-        final String catalogName =
-          normalizeCatalogName(results.getString("TABLE_CAT"));
-        final String schemaName =
-          normalizeSchemaName(results.getString("TABLE_SCHEM"));
-        final String tableName = results.getString("TABLE_NAME");
-
-        final Optional<MutableTable> optionalTable = lookupTable(catalogName, schemaName, tableName);
-        if (!optionalTable.isPresent())
-        {
-          continue;
-        }
-        final MutableTable table = optionalTable.get();
-        createPrimaryKeyForTable(table, results);
-      }
+      createPrimaryKeys(results);
     }
     catch (final SQLException e)
     {
@@ -192,7 +205,8 @@ final class PrimaryKeyRetriever
         final MetadataResultSet results = new MetadataResultSet(getMetaData().getPrimaryKeys(
           tableSchema.getCatalogName(),
           tableSchema.getName(),
-          table.getName()))
+          table.getName()),
+          getRetrieverConnection())
       )
       {
         while (results.next())
@@ -209,4 +223,28 @@ final class PrimaryKeyRetriever
     }
   }
 
+  private void retrievePrimaryKeysFromMetadataOverSchemas(final NamedObjectList<MutableTable> allTables)
+    throws SQLException
+  {
+    for (final Schema schema : getTableSchemas(allTables))
+    {
+      try (
+        final MetadataResultSet results = new MetadataResultSet(getMetaData().getPrimaryKeys(
+          schema.getCatalogName(),
+          schema.getName(),
+          null),
+          getRetrieverConnection())
+      )
+      {
+        createPrimaryKeys(results);
+      }
+      catch (final SQLException e)
+      {
+        throw new SchemaCrawlerSQLException(
+          "Could not retrieve primary keys for schema " + schema,
+          e);
+      }
+    }
+  }
+
 }
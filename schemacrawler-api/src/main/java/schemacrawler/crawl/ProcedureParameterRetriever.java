@@ -33,11 +33,8 @@ import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.procedureParametersRetrievalStrategy;
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -98,6 +95,7 @@ final class ProcedureParameterRetriever
                                                       parameterFilter);
         break;
 
+      case metadata_over_schemas:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving procedure parameters");
         retrieveProcedureParametersFromMetadata(allRoutines, parameterFilter);
@@ -143,10 +141,10 @@ final class ProcedureParameterRetriever
     }
 
     final Optional<MutableRoutine> optionalRoutine =
-      allRoutines.lookup(Arrays.asList(columnCatalogName,
-                                       schemaName,
-                                       procedureName,
-                                       specificName));
+      allRoutines.lookup(new NamedObjectKey(columnCatalogName,
+                                            schemaName,
+                                            procedureName,
+                                            specificName));
     if (!optionalRoutine.isPresent())
     {
       return;
@@ -235,13 +233,11 @@ final class ProcedureParameterRetriever
     }
     final Query procedureColumnsSql =
       informationSchemaViews.getQuery(InformationSchemaKey.PROCEDURE_COLUMNS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         procedureColumnsSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
       results.setDescription("retrieveProcedureParametersFromDataDictionary");
@@ -275,7 +271,8 @@ final class ProcedureParameterRetriever
             .getSchema()
             .getName(),
           procedure.getName(),
-          null))
+          null),
+          getRetrieverConnection())
       )
       {
         while (results.next())
@@ -29,17 +29,36 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
+import static java.util.Collections.synchronizedMap;
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
+import static schemacrawler.schemacrawler.QueryUtility.getBindValues;
+import static schemacrawler.schemacrawler.QueryUtility.getPreparedStatementQuery;
 import static sf.util.DatabaseUtility.checkConnection;
+import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
+import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.plugin.EnumDataTypeHelper;
+import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.MetadataRetrievalStrategy;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
 import schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.utility.JavaSqlTypes;
@@ -60,17 +79,43 @@ final class RetrieverConnection
     SchemaCrawlerLogger.getLogger(RetrieverConnection.class.getName());
 
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
   private final JavaSqlTypes javaSqlTypes;
   private final DatabaseMetaData metaData;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private final TableTypes tableTypes;
+  private final Map<String, Long> metadataRowCounts;
+  private final AtomicLong metadataCallCount;
+  private final AtomicLong metadataRowCount;
+  private final Map<String, PreparedStatement> preparedStatements;
+  private final Map<Statement, String> preparedStatementsInUse;
 
   RetrieverConnection(final Connection connection,
                       final SchemaRetrievalOptions schemaRetrievalOptions)
     throws SQLException
   {
+    this(connection, null, schemaRetrievalOptions);
+  }
+
+  /**
+   * Wraps a live database connection, along with a supplier of additional
+   * connections for sharded metadata retrieval.
+   *
+   * @param connection
+   *   Live database connection
+   * @param connectionSupplier
+   *   Supplier of additional connections, or null if none are available
+   * @param schemaRetrievalOptions
+   *   Database-specific schema retrieval overrides
+   */
+  RetrieverConnection(final Connection connection,
+                      final Supplier<Connection> connectionSupplier,
+                      final SchemaRetrievalOptions schemaRetrievalOptions)
+    throws SQLException
+  {
 
     this.connection = checkConnection(connection);
+    this.connectionSupplier = connectionSupplier;
     metaData = connection.getMetaData();
     this.schemaRetrievalOptions = requireNonNull(schemaRetrievalOptions,
                                                  "No database specific overrides provided");
@@ -80,6 +125,140 @@ final class RetrieverConnection
                new StringFormat("Supported table types are <%s>", tableTypes));
 
     javaSqlTypes = new JavaSqlTypes();
+
+    metadataRowCounts = new ConcurrentHashMap<>();
+    metadataCallCount = new AtomicLong();
+    metadataRowCount = new AtomicLong();
+    preparedStatements = new ConcurrentHashMap<>();
+    preparedStatementsInUse = synchronizedMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * Counts a database metadata call or data dictionary query. Calls may be
+   * made on worker connections, so they can be counted from multiple
+   * threads.
+   */
+  void addMetadataCall()
+  {
+    metadataCallCount.incrementAndGet();
+  }
+
+  /**
+   * Adds to the number of rows read from metadata result sets. Rows may be
+   * read on worker connections, so counts can be added from multiple threads.
+   * Rows are counted by name only for named metadata retrievals.
+   *
+   * @param description
+   *   Name of the metadata retrieval, or null if it has no name
+   * @param rowCount
+   *   Number of rows read
+   */
+  void addMetadataRowCount(final String description, final int rowCount)
+  {
+    metadataRowCount.addAndGet(rowCount);
+    if (!isBlank(description))
+    {
+      metadataRowCounts.merge(description, (long) rowCount, Long::sum);
+    }
+  }
+
+  /**
+   * Closes the prepared statements that are kept for reuse. Statements that
+   * are still in use are closed when they are released.
+   */
+  void closeStatements()
+  {
+    for (final PreparedStatement statement : preparedStatements.values())
+    {
+      try
+      {
+        statement.close();
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.FINE, "Could not close prepared statement", e);
+      }
+    }
+    preparedStatements.clear();
+  }
+
+  /**
+   * Runs a data dictionary query. A query with bind variables is run with a
+   * prepared statement, which is kept for reuse for the rest of the crawl, so
+   * that the database does not parse the query again. If the statement cannot
+   * be prepared, the query is run with the bind values as literals. Other
+   * queries are run with a new statement. The statement should be released
+   * once the results are closed.
+   *
+   * @param query
+   *   Data dictionary query
+   * @param schemaInclusionRule
+   *   Schema inclusion rule
+   * @return Query results
+   */
+  ResultSet executeQuery(final Query query,
+                         final InclusionRule schemaInclusionRule)
+    throws SQLException
+  {
+    requireNonNull(query, "No query provided");
+    final int fetchSize = getFetchSize(query);
+
+    if (query.isParameterized())
+    {
+      final String sql = getPreparedStatementQuery(query, schemaInclusionRule);
+      final PreparedStatement statement = acquirePreparedStatement(sql);
+      if (statement != null)
+      {
+        try
+        {
+          setFetchSize(statement, fetchSize);
+          final List<String> bindValues = getBindValues(query, schemaInclusionRule);
+          for (int i = 0; i < bindValues.size(); i++)
+          {
+            statement.setString(i + 1, bindValues.get(i));
+          }
+          LOGGER.log(Level.FINE,
+                     new StringFormat("Executing %s with bind values %s: %n%s",
+                                      query.getName(),
+                                      bindValues,
+                                      sql));
+          return statement.executeQuery();
+        }
+        catch (final SQLException e)
+        {
+          releaseStatement(statement);
+          throw e;
+        }
+      }
+    }
+
+    final Statement statement = connection.createStatement();
+    try
+    {
+      setFetchSize(statement, fetchSize);
+      final ResultSet results =
+        executeAgainstSchema(query, statement, schemaInclusionRule);
+      if (results == null)
+      {
+        statement.close();
+      }
+      return results;
+    }
+    catch (final SQLException e)
+    {
+      statement.close();
+      throw e;
+    }
+  }
+
+  long getMetadataCallCount()
+  {
+    return metadataCallCount.get();
+  }
+
+  long getMetadataRowCount()
+  {
+    return metadataRowCount.get();
   }
 
   Connection getConnection()
@@ -101,6 +280,76 @@ final class RetrieverConnection
     return schemaRetrievalOptions.getEnumDataTypeHelper();
   }
 
+  int getTableChangesSafetyMargin()
+  {
+    return schemaRetrievalOptions.getTableChangesSafetyMargin();
+  }
+
+  boolean isTableChangesTimestamp()
+  {
+    return schemaRetrievalOptions.isTableChangesTimestamp();
+  }
+
+  int getFetchSize()
+  {
+    return schemaRetrievalOptions.getFetchSize();
+  }
+
+  /**
+   * Gets the fetch size for a data dictionary query, which is configured by
+   * the information schema key that the query was loaded from.
+   *
+   * @param query
+   *   Data dictionary query
+   * @return Fetch size for the query
+   */
+  int getFetchSize(final Query query)
+  {
+    requireNonNull(query, "No query provided");
+    for (final InformationSchemaKey key : InformationSchemaKey.values())
+    {
+      if (key
+        .name()
+        .equals(query.getName()))
+      {
+        return schemaRetrievalOptions.getFetchSize(key);
+      }
+    }
+    return getFetchSize();
+  }
+
+  /**
+   * Gets the number of rows read from metadata result sets, by the name of
+   * the metadata retrieval.
+   *
+   * @return Row counts, sorted by name
+   */
+  Map<String, Long> getMetadataRowCounts()
+  {
+    return new TreeMap<>(metadataRowCounts);
+  }
+
+  int getMetadataRetrievalParallelism()
+  {
+    return schemaRetrievalOptions.getMetadataRetrievalParallelism();
+  }
+
+  /**
+   * Gets a new connection for a metadata retrieval worker. The caller is
+   * responsible for closing the connection.
+   *
+   * @return New database connection
+   */
+  Connection newConnection()
+    throws SQLException
+  {
+    if (connectionSupplier == null)
+    {
+      throw new SchemaCrawlerSQLException("No connection supplier provided", null);
+    }
+    return checkConnection(connectionSupplier.get());
+  }
+
   JavaSqlTypes getJavaSqlTypes()
   {
     return javaSqlTypes;
@@ -121,6 +370,55 @@ final class RetrieverConnection
     return schemaRetrievalOptions.getTypeMap();
   }
 
+  /**
+   * Releases the statement for a data dictionary query, once its results are
+   * closed. Prepared statements are kept for reuse, and other statements are
+   * closed.
+   *
+   * @param statement
+   *   Statement to release
+   */
+  void releaseStatement(final Statement statement)
+  {
+    if (statement == null)
+    {
+      return;
+    }
+    final String sql = preparedStatementsInUse.remove(statement);
+    try
+    {
+      if (sql != null && !statement.isClosed())
+      {
+        final PreparedStatement preparedStatement = (PreparedStatement) statement;
+        preparedStatement.clearParameters();
+        if (preparedStatements.putIfAbsent(sql, preparedStatement) == null)
+        {
+          return;
+        }
+      }
+      statement.close();
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.FINE, "Could not release statement", e);
+    }
+  }
+
+  boolean isAdaptiveFetchSize()
+  {
+    return schemaRetrievalOptions.isAdaptiveFetchSize();
+  }
+
+  /**
+   * Whether metadata retrieval can be spread across a number of connections.
+   *
+   * @return True if sharded metadata retrieval is possible
+   */
+  boolean isShardedMetadataRetrieval()
+  {
+    return connectionSupplier != null && getMetadataRetrievalParallelism() > 1;
+  }
+
   boolean isSupportsCatalogs()
   {
     return schemaRetrievalOptions.isSupportsCatalogs();
@@ -136,4 +434,44 @@ final class RetrieverConnection
     return schemaRetrievalOptions.get(schemaInfoMetadataRetrievalStrategy);
   }
 
+  /**
+   * Gets a prepared statement for the SQL, reusing an idle one if there is
+   * one. Each statement is used by one query at a time.
+   *
+   * @return Prepared statement, or null if the statement cannot be prepared
+   */
+  private PreparedStatement acquirePreparedStatement(final String sql)
+  {
+    PreparedStatement statement = preparedStatements.remove(sql);
+    try
+    {
+      if (statement == null || statement.isClosed())
+      {
+        statement = connection.prepareStatement(sql);
+      }
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not prepare statement, so running with literal values: %n%s",
+                                  sql),
+                 e);
+      return null;
+    }
+    preparedStatementsInUse.put(statement, sql);
+    return statement;
+  }
+
+  private void setFetchSize(final Statement statement, final int fetchSize)
+  {
+    try
+    {
+      statement.setFetchSize(fetchSize);
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+  }
+
 }
@@ -29,9 +29,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -88,13 +86,11 @@ final class RoutineExtRetriever
 
     final Query routineDefinitionsSql =
       informationSchemaViews.getQuery(InformationSchemaKey.ROUTINES);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         routineDefinitionsSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
       while (results.next())
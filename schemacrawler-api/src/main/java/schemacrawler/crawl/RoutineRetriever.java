@@ -34,11 +34,8 @@ import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.fu
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.proceduresRetrievalStrategy;
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
-import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -102,6 +99,8 @@ final class RoutineRetriever
         retrieveFunctionsFromDataDictionary(schemas, functionFilter);
         break;
 
+      case metadata_over_schemas:
+        // Metadata is already retrieved for each schema
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving functions");
         retrieveFunctionsFromMetadata(schemas, functionFilter);
@@ -136,6 +135,8 @@ final class RoutineRetriever
         retrieveProceduresFromDataDictionary(schemas, procedureFilter);
         break;
 
+      case metadata_over_schemas:
+        // Metadata is already retrieved for each schema
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving procedures");
         retrieveProceduresFromMetadata(schemas, procedureFilter);
@@ -173,7 +174,7 @@ final class RoutineRetriever
     final String specificName = results.getString("SPECIFIC_NAME");
 
     final Optional<SchemaReference> optionalSchema =
-      schemas.lookup(Arrays.asList(catalogName, schemaName));
+      schemas.lookup(new NamedObjectKey(catalogName, schemaName));
     if (!optionalSchema.isPresent())
     {
       return;
@@ -216,7 +217,7 @@ final class RoutineRetriever
     final String specificName = results.getString("SPECIFIC_NAME");
 
     final Optional<SchemaReference> optionalSchema =
-      schemas.lookup(Arrays.asList(catalogName, schemaName));
+      schemas.lookup(new NamedObjectKey(catalogName, schemaName));
     if (!optionalSchema.isPresent())
     {
       return;
@@ -248,12 +249,10 @@ final class RoutineRetriever
     }
     final Query functionsSql =
       informationSchemaViews.getQuery(InformationSchemaKey.FUNCTIONS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(functionsSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveFunctionsFromDataDictionary");
@@ -284,7 +283,8 @@ final class RoutineRetriever
         final MetadataResultSet results = new MetadataResultSet(getMetaData().getFunctions(
           catalogName,
           schemaName,
-          null))
+          null),
+          getRetrieverConnection())
       )
       {
         results.setDescription("retrieveFunctionsFromMetadata");
@@ -322,12 +322,10 @@ final class RoutineRetriever
     }
     final Query proceduresSql =
       informationSchemaViews.getQuery(InformationSchemaKey.PROCEDURES);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(proceduresSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveProceduresFromDataDictionary");
@@ -359,7 +357,8 @@ final class RoutineRetriever
         final MetadataResultSet results = new MetadataResultSet(getMetaData().getProcedures(
           catalogName,
           schemaName,
-          null))
+          null),
+          getRetrieverConnection())
       )
       {
         results.setDescription("retrieveProceduresFromMetadata");
@@ -30,31 +30,49 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.ShardedMetadataRetriever.TABLES_PER_SHARD;
 import static schemacrawler.filter.ReducerFactory.getRoutineReducer;
 import static schemacrawler.filter.ReducerFactory.getSchemaReducer;
 import static schemacrawler.filter.ReducerFactory.getSequenceReducer;
 import static schemacrawler.filter.ReducerFactory.getSynonymReducer;
 import static schemacrawler.filter.ReducerFactory.getTableReducer;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.indexesRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.primaryKeysRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.analysis.counts.TableRowCountsFilter;
 import schemacrawler.analysis.counts.TableRowCountsRetriever;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.Routine;
 import schemacrawler.schema.RoutineType;
 import schemacrawler.schema.Schema;
-import schemacrawler.schemacrawler.SchemaReference;
 import schemacrawler.schema.Sequence;
 import schemacrawler.schema.Synonym;
 import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.MetadataRetrievalStrategy;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
 import schemacrawler.schemacrawler.SchemaInfoLevel;
+import schemacrawler.schemacrawler.SchemaReference;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StopWatch;
@@ -70,11 +88,22 @@ public final class SchemaCrawler
 
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger.getLogger(SchemaCrawler.class.getName());
 
+  @FunctionalInterface
+  private interface CrawlPhase
+  {
+
+    void crawl(RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException;
+
+  }
+
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
   private final SchemaCrawlerOptions options;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private MutableCatalog catalog;
-  private RetrieverConnection retrieverConnection;
+  private CrawlListener crawlListener;
+  private MutableCatalog previousCatalog;
 
   /**
    * Constructs a SchemaCrawler object, from a connection.
@@ -91,13 +120,42 @@ public final class SchemaCrawler
                        final SchemaCrawlerOptions options)
   {
     this.connection = requireNonNull(connection, "No connection specified");
+    connectionSupplier = null;
+    this.schemaRetrievalOptions =
+      requireNonNull(schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Constructs a SchemaCrawler object that crawls independent parts of the
+   * schema, such as tables, routines and sequences, in parallel. Each crawl
+   * phase obtains a connection of its own from the supplier, and closes it
+   * once the phase is complete. Additional connections are obtained for
+   * sharded metadata retrieval, if it is enabled in the schema retrieval
+   * options.
+   *
+   * @param connectionSupplier
+   *   Supplier of database connections, one for each crawl phase
+   * @param schemaRetrievalOptions
+   *   Database-specific schema retrieval overrides
+   * @param options
+   *   SchemaCrawler options
+   */
+  public SchemaCrawler(final Supplier<Connection> connectionSupplier,
+                       final SchemaRetrievalOptions schemaRetrievalOptions,
+                       final SchemaCrawlerOptions options)
+  {
+    connection = null;
+    this.connectionSupplier = requireNonNull(connectionSupplier, "No connection supplier specified");
     this.schemaRetrievalOptions =
       requireNonNull(schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
     this.options = requireNonNull(options, "No SchemaCrawler options provided");
   }
 
   /**
-   * Crawls the database, to obtain database metadata.
+   * Crawls the database, to obtain database metadata. If requested in the
+   * SchemaCrawler options, the catalog is frozen, so that its collections are
+   * shared, sorted and unmodifiable.
    *
    * @return Database metadata
    * @throws SchemaCrawlerException
@@ -107,36 +165,111 @@ public final class SchemaCrawler
     throws SchemaCrawlerException
   {
     catalog = new MutableCatalog("catalog");
-    try
+    if (connectionSupplier == null)
     {
-      retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+      crawlSerially();
+    }
+    else
+    {
+      crawlInParallel();
+    }
+    if (crawlListener != null && !isStreamTables())
+    {
+      LOGGER.log(Level.INFO,
+                 "Handing over tables to the crawl listener once the crawl is complete, since tables are filtered after they are crawled");
+      handleTables(catalog.getTables());
+      handleForeignKeys(catalog.getTables());
+    }
+    if (options.isFreezeCatalog())
+    {
+      LOGGER.log(Level.INFO, "Freezing catalog");
+      catalog.freeze();
+    }
+    return catalog;
+  }
 
-      crawlDatabaseInfo();
-      LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
+  /**
+   * Crawls the database incrementally, starting from the catalog of a previous
+   * crawl with the same options. Tables that have not changed since the
+   * previous crawl, going by the table modification times from the database
+   * plugin, are carried over from the previous catalog, and only new and
+   * changed tables are crawled. Everything else is crawled as usual. Row
+   * counts are retrieved again for all tables, if requested.
+   * <p>
+   * All tables are crawled if the database plugin does not provide table
+   * modification times, or if tables are filtered by their relationships
+   * with other tables.
+   * <p>
+   * The previous catalog is consumed by the crawl. Unchanged tables are moved
+   * to the new catalog, and linked with the tables that were crawled again,
+   * so all tables are removed from the previous catalog, whether or not the
+   * crawl succeeds. Tables from the previous catalog should not be used
+   * afterwards, other than through the new catalog.
+   *
+   * @param previousCatalog
+   *   Catalog from a previous crawl, which is consumed
+   * @return Database metadata
+   * @throws SchemaCrawlerException
+   *   On an exception
+   */
+  public Catalog crawl(final Catalog previousCatalog)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(previousCatalog, "No previous catalog provided");
+    if (!(previousCatalog instanceof MutableCatalog))
+    {
+      LOGGER.log(Level.INFO, "Crawling all tables, since the previous catalog was not crawled by SchemaCrawler");
+      return crawl();
+    }
 
-      crawlSchemas();
-      crawlColumnDataTypes();
-      crawlTables();
-      crawlRoutines();
-      crawlSynonyms();
-      crawlSequences();
-      crawlAnalysis();
+    final MutableCatalog consumedCatalog = (MutableCatalog) previousCatalog;
+    try
+    {
+      if (options.getChildTableFilterDepth() > 0 || options.getParentTableFilterDepth() > 0)
+      {
+        LOGGER.log(Level.INFO, "Crawling all tables, since tables are filtered by their relationships");
+        return crawl();
+      }
 
-      return catalog;
+      this.previousCatalog = consumedCatalog;
+      return crawl();
     }
-    catch (final SQLException e)
+    finally
     {
-      throw new SchemaCrawlerException("Database access exception", e);
+      this.previousCatalog = null;
+      consumedCatalog
+        .getAllTables()
+        .filter(table -> false);
     }
   }
 
-  private void crawlAnalysis()
+  /**
+   * Sets a listener that receives each table as soon as its columns, primary
+   * key and indexes are retrieved, and then all foreign keys, while the rest
+   * of the database is still being crawled. Tables are retrieved a batch at a
+   * time for this, unless data dictionary queries retrieve them all at once.
+   * Tables are still kept in the catalog.
+   * <p>
+   * If tables are filtered by their relationships, their details or their
+   * row counts, or if the crawl is incremental, tables and foreign keys are
+   * only handed over once the crawl is complete, since tables may be
+   * filtered out after they are crawled.
+   *
+   * @param crawlListener
+   *   Listener for crawled tables and foreign keys, or null for none
+   */
+  public void setCrawlListener(final CrawlListener crawlListener)
+  {
+    this.crawlListener = crawlListener;
+  }
+
+  private void crawlAnalysis(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
 
     final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
 
-    final StopWatch stopWatch = new StopWatch("crawlAnalysis");
+    final StopWatch stopWatch = newStopWatch("crawlAnalysis", retrieverConnection);
 
     LOGGER.log(Level.INFO, "Crawling schema analysis");
     try
@@ -167,11 +300,17 @@ public final class SchemaCrawler
     try
     {
       final TableRowCountsRetriever rowCountsRetriever =
-        new TableRowCountsRetriever(retrieverConnection.getConnection(), catalog);
+        new TableRowCountsRetriever(retrieverConnection.getConnection(),
+                                    connectionSupplier,
+                                    catalog,
+                                    schemaRetrievalOptions);
       stopWatch.time("retrieveTableRowCounts", () -> {
         final boolean loadRowCounts = options.isLoadRowCounts();
         if (loadRowCounts)
         {
+          // Unchanged tables from a previous crawl are counted again too,
+          // since rows may have been inserted or deleted without any change
+          // to the table definition
           rowCountsRetriever.retrieveTableRowCounts();
         }
         else
@@ -194,14 +333,14 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlColumnDataTypes()
+  private void crawlColumnDataTypes(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
     try
     {
       LOGGER.log(Level.INFO, "Crawling column data types");
 
-      final StopWatch stopWatch = new StopWatch("crawlColumnDataTypes");
+      final StopWatch stopWatch = newStopWatch("crawlColumnDataTypes", retrieverConnection);
 
       final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
       final DatabaseInfoRetriever retriever = new DatabaseInfoRetriever(retrieverConnection, catalog, options);
@@ -251,7 +390,7 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlDatabaseInfo()
+  private void crawlDatabaseInfo(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
     try
@@ -264,7 +403,7 @@ public final class SchemaCrawler
         return;
       }
 
-      final StopWatch stopWatch = new StopWatch("crawlDatabaseInfo");
+      final StopWatch stopWatch = newStopWatch("crawlDatabaseInfo", retrieverConnection);
 
       final DatabaseInfoRetriever retriever = new DatabaseInfoRetriever(retrieverConnection, catalog, options);
 
@@ -339,7 +478,134 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlRoutines()
+  private void crawlInParallel()
+    throws SchemaCrawlerException
+  {
+    LOGGER.log(Level.INFO, "Crawling in parallel");
+
+    final ExecutorService executorService = Executors.newCachedThreadPool();
+    final List<CompletableFuture<Void>> phases = new ArrayList<>();
+    try
+    {
+      // Each crawl phase waits only for the phases that it depends on,
+      // so that independent phases run at the same time
+      final CompletableFuture<Void> databaseInfo = crawlPhase(executorService, retrieverConnection -> {
+        crawlDatabaseInfo(retrieverConnection);
+        LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
+      });
+      final CompletableFuture<Void> schemas = crawlPhase(executorService, this::crawlSchemas);
+      final CompletableFuture<Void> columnDataTypes = crawlPhase(executorService, this::crawlColumnDataTypes, schemas);
+      final CompletableFuture<Void> tables = crawlPhase(executorService, this::crawlTables, columnDataTypes);
+      final CompletableFuture<Void> routines = crawlPhase(executorService, this::crawlRoutines, columnDataTypes);
+      final CompletableFuture<Void> sequences = crawlPhase(executorService, this::crawlSequences, schemas);
+      // Synonyms refer to tables and routines, and row counts may filter
+      // out tables, so these phases need to run last
+      final CompletableFuture<Void> synonyms = crawlPhase(executorService, this::crawlSynonyms, tables, routines);
+      final CompletableFuture<Void> analysis = crawlPhase(executorService, this::crawlAnalysis, tables, synonyms);
+      phases.addAll(Arrays.asList(databaseInfo,
+                                  schemas,
+                                  columnDataTypes,
+                                  tables,
+                                  routines,
+                                  sequences,
+                                  synonyms,
+                                  analysis));
+
+      // Stop at the first phase that fails, rather than after all
+      // independent phases are complete
+      final CompletableFuture<Void> failure = new CompletableFuture<>();
+      for (final CompletableFuture<Void> phase : phases)
+      {
+        phase.whenComplete((result, throwable) -> {
+          if (throwable != null)
+          {
+            failure.completeExceptionally(throwable);
+          }
+        });
+      }
+      CompletableFuture
+        .anyOf(CompletableFuture.allOf(phases.toArray(new CompletableFuture<?>[0])), failure)
+        .join();
+    }
+    catch (final CompletionException e)
+    {
+      // Phases that have not started will not run
+      for (final CompletableFuture<Void> phase : phases)
+      {
+        phase.cancel(false);
+      }
+
+      final Throwable cause = e.getCause();
+      if (cause instanceof SchemaCrawlerException)
+      {
+        throw (SchemaCrawlerException) cause;
+      }
+      else if (cause instanceof SQLException)
+      {
+        throw new SchemaCrawlerException("Database access exception", cause);
+      }
+      else
+      {
+        throw new SchemaCrawlerException("Exception crawling in parallel", cause);
+      }
+    }
+    finally
+    {
+      // Wait for phases that are running, so that the catalog is not
+      // modified, and no connections are held, once the crawl returns
+      executorService.shutdown();
+      awaitTermination(executorService);
+    }
+  }
+
+  private void awaitTermination(final ExecutorService executorService)
+  {
+    try
+    {
+      while (!executorService.awaitTermination(1, TimeUnit.MINUTES))
+      {
+        LOGGER.log(Level.INFO, "Waiting for running crawl phases to complete");
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      LOGGER.log(Level.WARNING, "Interrupted while waiting for running crawl phases to complete");
+      executorService.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private CompletableFuture<Void> crawlPhase(final ExecutorService executorService,
+                                             final CrawlPhase crawlPhase,
+                                             final CompletableFuture<?>... dependencies)
+  {
+    return CompletableFuture
+      .allOf(dependencies)
+      .thenRunAsync(() -> {
+        try (final Connection phaseConnection = connectionSupplier.get())
+        {
+          final RetrieverConnection retrieverConnection =
+            new RetrieverConnection(phaseConnection,
+                                    connectionSupplier,
+                                    schemaRetrievalOptions);
+          try
+          {
+            crawlPhase.crawl(retrieverConnection);
+          }
+          finally
+          {
+            retrieverConnection.closeStatements();
+          }
+          catalog.addMetadataRowCounts(retrieverConnection.getMetadataRowCounts());
+        }
+        catch (final SQLException | SchemaCrawlerException e)
+        {
+          throw new CompletionException(e);
+        }
+      }, executorService);
+  }
+
+  private void crawlRoutines(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
 
@@ -351,7 +617,7 @@ public final class SchemaCrawler
       return;
     }
 
-    final StopWatch stopWatch = new StopWatch("crawlRoutines");
+    final StopWatch stopWatch = newStopWatch("crawlRoutines", retrieverConnection);
 
     LOGGER.log(Level.INFO, "Crawling routines");
 
@@ -439,10 +705,10 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlSchemas()
+  private void crawlSchemas(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
-    final StopWatch stopWatch = new StopWatch("crawlSchemas");
+    final StopWatch stopWatch = newStopWatch("crawlSchemas", retrieverConnection);
 
     LOGGER.log(Level.INFO, "Crawling schemas");
 
@@ -483,7 +749,7 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlSequences()
+  private void crawlSequences(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
 
@@ -495,7 +761,7 @@ public final class SchemaCrawler
       return;
     }
 
-    final StopWatch stopWatch = new StopWatch("crawlSequences");
+    final StopWatch stopWatch = newStopWatch("crawlSequences", retrieverConnection);
 
     LOGGER.log(Level.INFO, "Crawling sequences");
 
@@ -530,7 +796,43 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlSynonyms()
+  private void crawlSerially()
+    throws SchemaCrawlerException
+  {
+    RetrieverConnection retrieverConnection = null;
+    try
+    {
+      retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+
+      crawlDatabaseInfo(retrieverConnection);
+      LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
+
+      crawlSchemas(retrieverConnection);
+      crawlColumnDataTypes(retrieverConnection);
+      crawlTables(retrieverConnection);
+      crawlRoutines(retrieverConnection);
+      crawlSynonyms(retrieverConnection);
+      crawlSequences(retrieverConnection);
+      crawlAnalysis(retrieverConnection);
+
+      catalog.addMetadataRowCounts(retrieverConnection.getMetadataRowCounts());
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Database access exception", e);
+    }
+    finally
+    {
+      // Prepared statements are kept open for the whole crawl, but the
+      // connection is not closed, since it belongs to the caller
+      if (retrieverConnection != null)
+      {
+        retrieverConnection.closeStatements();
+      }
+    }
+  }
+
+  private void crawlSynonyms(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
 
@@ -542,7 +844,7 @@ public final class SchemaCrawler
       return;
     }
 
-    final StopWatch stopWatch = new StopWatch("crawlSynonyms");
+    final StopWatch stopWatch = newStopWatch("crawlSynonyms", retrieverConnection);
 
     LOGGER.log(Level.INFO, "Crawling synonyms");
 
@@ -576,7 +878,7 @@ public final class SchemaCrawler
     }
   }
 
-  private void crawlTables()
+  private void crawlTables(final RetrieverConnection retrieverConnection)
     throws SchemaCrawlerException
   {
 
@@ -588,7 +890,7 @@ public final class SchemaCrawler
       return;
     }
 
-    final StopWatch stopWatch = new StopWatch("crawlTables");
+    final StopWatch stopWatch = newStopWatch("crawlTables", retrieverConnection);
 
     LOGGER.log(Level.INFO, "Crawling tables");
 
@@ -601,6 +903,21 @@ public final class SchemaCrawler
         new TableConstraintRetriever(retrieverConnection, catalog, options);
       final TableExtRetriever retrieverExtra = new TableExtRetriever(retrieverConnection, catalog, options);
 
+      final Set<List<String>> unchangedTableKeys = stopWatch.time("retrieveTableChanges", () -> {
+        // Record the database time before tables are crawled, for the next
+        // incremental crawl, only if the catalog is expected to be used for one
+        if (previousCatalog != null || retrieverConnection.isTableChangesTimestamp())
+        {
+          new TableChangesRetriever(retrieverConnection, catalog, options).retrieveDatabaseTimestamp();
+        }
+        if (previousCatalog == null)
+        {
+          return Collections.emptySet();
+        }
+        LOGGER.log(Level.INFO, "Retrieving table changes since the previous crawl");
+        return new TableChangesRetriever(retrieverConnection, previousCatalog, options).retrieveUnchangedTables();
+      });
+
       stopWatch.time("retrieveTables", () -> {
         LOGGER.log(Level.INFO, "Retrieving table names");
         final NamedObjectList<SchemaReference> schemas = retriever.getAllSchemas();
@@ -611,21 +928,42 @@ public final class SchemaCrawler
         return null;
       });
 
+      stopWatch.time("filterUnchangedTables", () -> {
+        if (!unchangedTableKeys.isEmpty())
+        {
+          catalog.reduce(Table.class,
+                         getTableReducer(table -> !unchangedTableKeys.contains(table.toUniqueLookupKey())));
+        }
+        return null;
+      });
+
       final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
       LOGGER.log(Level.INFO, new StringFormat("Retrieved %d tables", allTables.size()));
       if (allTables.isEmpty())
       {
+        mergeUnchangedTables(unchangedTableKeys);
         return;
       }
 
-      stopWatch.time("retrieveColumns", () -> {
-        LOGGER.log(Level.INFO, "Retrieving table columns");
-        if (infoLevel.isRetrieveTableColumns())
-        {
-          columnRetriever.retrieveTableColumns(allTables, options.getColumnInclusionRule());
-        }
-        return null;
-      });
+      final boolean streamTables = isStreamTables();
+      if (streamTables)
+      {
+        stopWatch.time("retrieveAndHandleTables", () -> {
+          retrieveAndHandleTables(retrieverConnection, allTables, columnRetriever, retrieverExtra);
+          return null;
+        });
+      }
+      else
+      {
+        stopWatch.time("retrieveColumns", () -> {
+          LOGGER.log(Level.INFO, "Retrieving table columns");
+          if (infoLevel.isRetrieveTableColumns())
+          {
+            columnRetriever.retrieveTableColumns(allTables, options.getColumnInclusionRule());
+          }
+          return null;
+        });
+      }
 
       stopWatch.time("retrieveForeignKeys", () -> {
         LOGGER.log(Level.INFO, "Retrieving foreign keys");
@@ -633,7 +971,16 @@ public final class SchemaCrawler
         {
           if (infoLevel.isRetrieveTableColumns())
           {
-            fkRetriever.retrieveForeignKeys(allTables);
+            if (unchangedTableKeys.isEmpty())
+            {
+              fkRetriever.retrieveForeignKeys(allTables);
+            }
+            else
+            {
+              // Unchanged tables are not crawled, but may reference crawled
+              // tables, so exported keys are needed
+              fkRetriever.retrieveForeignKeys(allTables, false);
+            }
             if (infoLevel.isRetrieveForeignKeyDefinitions())
             {
               fkRetriever.retrieveForeignKeyDefinitions(allTables);
@@ -649,43 +996,59 @@ public final class SchemaCrawler
       });
 
       stopWatch.time("filterAndSortTables", () -> {
+        // Index table relationships once foreign keys are known
+        final TableRelationshipIndex relationshipIndex =
+          TableRelationshipIndex.attach(allTables);
+
         // Filter the list of tables based on grep criteria, and
         // parent-child relationships
         catalog.reduce(Table.class, getTableReducer(options));
 
         // Sort the remaining tables
-        final TablesGraph tablesGraph = new TablesGraph(allTables);
+        final TablesGraph tablesGraph =
+          new TablesGraph(allTables, relationshipIndex);
         tablesGraph.setTablesSortIndexes();
 
         return null;
       });
 
-      stopWatch.time("retrievePrimaryKeys", () -> {
-        LOGGER.log(Level.INFO, "Retrieving primary keys");
-        if (infoLevel.isRetrieveTableColumns())
-        {
-          final PrimaryKeyRetriever primaryKeyRetriever = new PrimaryKeyRetriever(retrieverConnection, catalog, options);
-          primaryKeyRetriever.retrievePrimaryKeys(allTables);
-          if (infoLevel.isRetrievePrimaryKeyDefinitions())
+      if (streamTables)
+      {
+        // Primary keys and indexes were retrieved with the columns
+        stopWatch.time("handleForeignKeys", () -> {
+          handleForeignKeys(catalog.getTables());
+          return null;
+        });
+      }
+      else
+      {
+        stopWatch.time("retrievePrimaryKeys", () -> {
+          LOGGER.log(Level.INFO, "Retrieving primary keys");
+          if (infoLevel.isRetrieveTableColumns())
           {
-            retrieverExtra.retrievePrimaryKeyDefinitions(allTables);
+            final PrimaryKeyRetriever primaryKeyRetriever = new PrimaryKeyRetriever(retrieverConnection, catalog, options);
+            primaryKeyRetriever.retrievePrimaryKeys(allTables);
+            if (infoLevel.isRetrievePrimaryKeyDefinitions())
+            {
+              retrieverExtra.retrievePrimaryKeyDefinitions(allTables);
+            }
           }
-        }
-        return null;
-      });
+          return null;
+        });
 
-      stopWatch.time("retrieveIndexes", () -> {
-        LOGGER.log(Level.INFO, "Retrieving indexes");
-        if (infoLevel.isRetrieveTableColumns())
-        {
-          if (infoLevel.isRetrieveIndexes())
+        stopWatch.time("retrieveIndexes", () -> {
+          LOGGER.log(Level.INFO, "Retrieving indexes");
+          if (infoLevel.isRetrieveTableColumns())
           {
-            final IndexRetriever indexRetriever = new IndexRetriever(retrieverConnection, catalog, options);
-            indexRetriever.retrieveIndexes(allTables);
+            if (infoLevel.isRetrieveIndexes())
+            {
+              final IndexRetriever indexRetriever = new IndexRetriever(retrieverConnection, catalog, options);
+              indexRetriever.retrieveIndexes(allTables);
+            }
           }
-        }
-        return null;
-      });
+          return null;
+        });
+      }
 
       LOGGER.log(Level.INFO, "Retrieving additional table information");
       stopWatch.time("retrieveTableConstraintInformation", () -> {
@@ -772,6 +1135,11 @@ public final class SchemaCrawler
         return null;
       });
 
+      stopWatch.time("mergeUnchangedTables", () -> {
+        mergeUnchangedTables(unchangedTableKeys);
+        return null;
+      });
+
       LOGGER.log(Level.INFO, stopWatch.stringify());
     }
     catch (final SchemaCrawlerSQLException e)
@@ -788,4 +1156,154 @@ public final class SchemaCrawler
     }
   }
 
+  /**
+   * Hands over each table to the crawl listener.
+   */
+  private void handleTables(final Collection<? extends Table> tables)
+    throws SchemaCrawlerException
+  {
+    for (final Table table : tables)
+    {
+      crawlListener.handle(table);
+    }
+  }
+
+  /**
+   * Hands over each foreign key of the tables to the crawl listener once.
+   * Foreign keys between two of the tables belong to both of them.
+   */
+  private void handleForeignKeys(final Collection<? extends Table> tables)
+    throws SchemaCrawlerException
+  {
+    LOGGER.log(Level.INFO, "Handing over foreign keys to the crawl listener");
+    final Set<ForeignKey> foreignKeys = new LinkedHashSet<>();
+    for (final Table table : tables)
+    {
+      foreignKeys.addAll(table.getForeignKeys());
+    }
+    for (final ForeignKey foreignKey : foreignKeys)
+    {
+      crawlListener.handle(foreignKey);
+    }
+  }
+
+  /**
+   * Tables can be handed over before the foreign keys are retrieved, as long
+   * as tables are not filtered out after they are crawled. Tables are
+   * filtered by their foreign keys, by their columns and definitions when
+   * grepping, and by their row counts. Unchanged tables of an incremental
+   * crawl are merged in only once the table crawl is complete.
+   */
+  private boolean isStreamTables()
+  {
+    return crawlListener != null
+           && previousCatalog == null
+           && options.getChildTableFilterDepth() <= 0
+           && options.getParentTableFilterDepth() <= 0
+           && !options.isGrepColumns()
+           && !options.isGrepDefinitions()
+           && !options.isNoEmptyTables();
+  }
+
+  private void mergeUnchangedTables(final Set<List<String>> unchangedTableKeys)
+  {
+    if (unchangedTableKeys.isEmpty())
+    {
+      return;
+    }
+
+    new UnchangedTablesMerger(catalog).mergeUnchangedTables(previousCatalog, unchangedTableKeys);
+
+    // Filter and sort all tables again, since unchanged tables come from a
+    // crawl with options that may have been different
+    final TableRelationshipIndex relationshipIndex =
+      TableRelationshipIndex.attach(catalog.getAllTables());
+    catalog.reduce(Table.class, getTableReducer(options));
+    final TablesGraph tablesGraph =
+      new TablesGraph(catalog.getAllTables(), relationshipIndex);
+    tablesGraph.setTablesSortIndexes();
+  }
+
+  /**
+   * Retrieves columns, primary keys and indexes a batch of tables at a time,
+   * and hands over the tables of each batch to the crawl listener as soon as
+   * they are complete. Data dictionary queries and metadata over schemas
+   * retrieve all tables at once, so tables are retrieved in a single batch if
+   * they are used.
+   */
+  private void retrieveAndHandleTables(final RetrieverConnection retrieverConnection,
+                                       final NamedObjectList<MutableTable> allTables,
+                                       final TableColumnRetriever columnRetriever,
+                                       final TableExtRetriever retrieverExtra)
+    throws SQLException, SchemaCrawlerException
+  {
+    final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+    final PrimaryKeyRetriever primaryKeyRetriever = new PrimaryKeyRetriever(retrieverConnection, catalog, options);
+    final IndexRetriever indexRetriever = new IndexRetriever(retrieverConnection, catalog, options);
+
+    final List<MutableTable> tables = allTables.values();
+    final int tablesPerBatch = tablesPerBatch(retrieverConnection, tables.size());
+    LOGGER.log(Level.INFO,
+               new StringFormat("Handing over tables to the crawl listener, %d tables at a time",
+                                tablesPerBatch));
+    for (int start = 0; start < tables.size(); start = start + tablesPerBatch)
+    {
+      final List<MutableTable> batchTables =
+        tables.subList(start, Math.min(start + tablesPerBatch, tables.size()));
+      if (infoLevel.isRetrieveTableColumns())
+      {
+        final NamedObjectList<MutableTable> batch = new NamedObjectList<>();
+        for (final MutableTable table : batchTables)
+        {
+          batch.add(table);
+        }
+        columnRetriever.retrieveTableColumns(batch, options.getColumnInclusionRule());
+        primaryKeyRetriever.retrievePrimaryKeys(batch);
+        if (infoLevel.isRetrieveIndexes())
+        {
+          indexRetriever.retrieveIndexes(batch);
+        }
+      }
+      handleTables(batchTables);
+    }
+
+    // Definitions are retrieved for all primary keys at once, after the
+    // tables are handed over
+    if (infoLevel.isRetrieveTableColumns() && infoLevel.isRetrievePrimaryKeyDefinitions())
+    {
+      retrieverExtra.retrievePrimaryKeyDefinitions(allTables);
+    }
+  }
+
+  private int tablesPerBatch(final RetrieverConnection retrieverConnection,
+                             final int tableCount)
+  {
+    final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+    final boolean isRetrievedOneTableAtATime =
+      retrieverConnection.get(tableColumnsRetrievalStrategy) == MetadataRetrievalStrategy.metadata
+      && retrieverConnection.get(primaryKeysRetrievalStrategy) == MetadataRetrievalStrategy.metadata
+      && (!infoLevel.isRetrieveIndexes()
+          || retrieverConnection.get(indexesRetrievalStrategy) == MetadataRetrievalStrategy.metadata);
+    if (!isRetrievedOneTableAtATime)
+    {
+      return Math.max(tableCount, 1);
+    }
+    if (retrieverConnection.isShardedMetadataRetrieval())
+    {
+      // Keep each of the connections busy
+      return TABLES_PER_SHARD * retrieverConnection.getMetadataRetrievalParallelism();
+    }
+    return TABLES_PER_SHARD;
+  }
+
+  /**
+   * Creates a stop watch for a crawl phase, which also records the metrics
+   * for each step of the phase in the catalog.
+   */
+  private StopWatch newStopWatch(final String id,
+                                 final RetrieverConnection retrieverConnection)
+  {
+    return new StopWatch(id, new CrawlMetricsRecorder(catalog, retrieverConnection));
+  }
+
 }
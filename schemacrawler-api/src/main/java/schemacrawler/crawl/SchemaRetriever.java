@@ -29,9 +29,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -177,7 +175,8 @@ final class SchemaRetriever
     {
       int numSchemas = 0;
       try (
-        final MetadataResultSet results = new MetadataResultSet(getMetaData().getSchemas())
+        final MetadataResultSet results = new MetadataResultSet(getMetaData().getSchemas(),
+                                                                getRetrieverConnection())
       )
       {
         results.setDescription("retrieveAllSchemas");
@@ -245,13 +244,11 @@ final class SchemaRetriever
     final Query schemataSql =
       informationSchemaViews.getQuery(InformationSchemaKey.SCHEMATA);
 
-    final Connection connection = getDatabaseConnection();
 
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(schemataSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveAllSchemasFromInformationSchemaViews");
@@ -30,10 +30,7 @@ package schemacrawler.crawl;
 
 
 import java.math.BigInteger;
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -104,14 +101,12 @@ final class SequenceRetriever
 
     final Query sequencesDefinitionSql =
       informationSchemaViews.getQuery(InformationSchemaKey.SEQUENCES);
-    final Connection connection = getDatabaseConnection();
 
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         sequencesDefinitionSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
       while (results.next())
@@ -128,7 +123,7 @@ final class SequenceRetriever
         final boolean cycle = results.getBoolean("CYCLE_OPTION");
 
         final Optional<SchemaReference> optionalSchema =
-          schemas.lookup(Arrays.asList(catalogName, schemaName));
+          schemas.lookup(new NamedObjectKey(catalogName, schemaName));
         if (!optionalSchema.isPresent())
         {
           continue;
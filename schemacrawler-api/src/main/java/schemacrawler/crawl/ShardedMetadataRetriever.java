@@ -0,0 +1,198 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Spreads database metadata retrieval for schemas or tables across a bounded
+ * pool of worker connections. Items are split into shards, and each worker
+ * takes the next available shard, and retrieves metadata for it into partial
+ * results of its own. The partial results are returned in the original order
+ * of the shards, so that they can be merged on the calling thread.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ShardedMetadataRetriever
+{
+
+  @FunctionalInterface
+  interface ShardRetrieval<T, R>
+  {
+
+    R retrieve(DatabaseMetaData metaData, List<T> shard)
+      throws SQLException;
+
+  }
+
+  /**
+   * Number of tables in each shard, for metadata that is retrieved one table
+   * at a time.
+   */
+  static final int TABLES_PER_SHARD = 25;
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(ShardedMetadataRetriever.class.getName());
+
+  private final RetrieverConnection retrieverConnection;
+  private final String description;
+
+  ShardedMetadataRetriever(final RetrieverConnection retrieverConnection,
+                           final String description)
+  {
+    this.retrieverConnection =
+      requireNonNull(retrieverConnection, "No retriever connection provided");
+    this.description = requireNonNull(description, "No description provided");
+  }
+
+  /**
+   * Retrieves metadata for all items, one shard at a time, on worker
+   * connections.
+   *
+   * @param items
+   *   Schemas or tables to retrieve metadata for
+   * @param shardSize
+   *   Number of items in each shard
+   * @param shardRetrieval
+   *   Retrieves metadata for a shard, into partial results
+   * @return Partial results for each shard, in shard order
+   * @throws SQLException
+   *   On an exception retrieving metadata
+   */
+  <T, R> List<R> retrieve(final List<T> items,
+                          final int shardSize,
+                          final ShardRetrieval<T, R> shardRetrieval)
+    throws SQLException
+  {
+    requireNonNull(items, "No items provided");
+    requireNonNull(shardRetrieval, "No shard retrieval provided");
+
+    final List<List<T>> shards = new ArrayList<>();
+    for (int i = 0; i < items.size(); i = i + shardSize)
+    {
+      shards.add(items.subList(i, Math.min(i + shardSize, items.size())));
+    }
+    if (shards.isEmpty())
+    {
+      return new ArrayList<>();
+    }
+
+    final int parallelism =
+      Math.min(retrieverConnection.getMetadataRetrievalParallelism(),
+               shards.size());
+    LOGGER.log(Level.INFO,
+               new StringFormat("Retrieving %s in %d shards, over %d connections",
+                                description,
+                                shards.size(),
+                                parallelism));
+
+    final AtomicReferenceArray<R> shardResults =
+      new AtomicReferenceArray<>(shards.size());
+    final AtomicInteger nextShard = new AtomicInteger();
+    final ExecutorService executorService =
+      Executors.newFixedThreadPool(parallelism);
+    try
+    {
+      final List<Future<Void>> workers = new ArrayList<>();
+      for (int i = 0; i < parallelism; i++)
+      {
+        workers.add(executorService.submit(() -> {
+          try (final Connection connection = retrieverConnection.newConnection())
+          {
+            final DatabaseMetaData metaData = connection.getMetaData();
+            int shard;
+            while ((shard = nextShard.getAndIncrement()) < shards.size())
+            {
+              shardResults.set(shard,
+                               shardRetrieval.retrieve(metaData,
+                                                       shards.get(shard)));
+            }
+          }
+          catch (final SQLException e)
+          {
+            // Stop other workers from taking more shards
+            nextShard.set(shards.size());
+            throw e;
+          }
+          return null;
+        }));
+      }
+      for (final Future<Void> worker : workers)
+      {
+        worker.get();
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      Thread
+        .currentThread()
+        .interrupt();
+      throw new SchemaCrawlerSQLException("Interrupted retrieving " + description, e);
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SQLException)
+      {
+        throw (SQLException) cause;
+      }
+      throw new SchemaCrawlerSQLException("Could not retrieve " + description, e);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+
+    final List<R> results = new ArrayList<>(shards.size());
+    for (int shard = 0; shard < shards.size(); shard++)
+    {
+      results.add(shardResults.get(shard));
+    }
+    return results;
+  }
+
+}
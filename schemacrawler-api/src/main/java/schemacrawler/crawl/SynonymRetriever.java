@@ -31,9 +31,7 @@ package schemacrawler.crawl;
 
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -106,12 +104,10 @@ final class SynonymRetriever
 
     final Query synonymsDefinitionSql =
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_SYNONYMS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       MetadataResultSet results = new MetadataResultSet(synonymsDefinitionSql,
-                                                        statement,
-                                                        getSchemaInclusionRule())
+                                                        getSchemaInclusionRule(),
+                                                        getRetrieverConnection())
     )
     {
       while (results.next())
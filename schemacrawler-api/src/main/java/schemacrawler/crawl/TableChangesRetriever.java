@@ -0,0 +1,221 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * A retriever that finds the tables of a previous crawl that have not been
+ * changed since, using table modification times from the database data
+ * dictionary. Modification times are compared with the database time at the
+ * start of the previous crawl, so that differences between the database
+ * clock and the client clock do not matter.
+ *
+ * @author Sualeh Fatehi
+ */
+final class TableChangesRetriever
+  extends AbstractRetriever
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(TableChangesRetriever.class.getName());
+
+  static final String DATABASE_TIMESTAMP_KEY = "schemacrawler.crawl.database_timestamp";
+
+  TableChangesRetriever(final RetrieverConnection retrieverConnection,
+                        final MutableCatalog catalog,
+                        final SchemaCrawlerOptions options)
+  {
+    super(retrieverConnection, catalog, options);
+  }
+
+  /**
+   * Retrieves the current time from the database, and keeps it with the
+   * catalog, so that a later incremental crawl can compare table
+   * modification times with it. This needs to be done before any tables are
+   * crawled.
+   */
+  void retrieveDatabaseTimestamp()
+  {
+    final InformationSchemaViews informationSchemaViews =
+      getRetrieverConnection().getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(InformationSchemaKey.TABLE_MODIFICATIONS)
+        || !informationSchemaViews.hasQuery(InformationSchemaKey.DATABASE_TIMESTAMP))
+    {
+      LOGGER.log(Level.INFO,
+                 "Not retrieving database timestamp, since database timestamp SQL statement was not provided");
+      return;
+    }
+
+    final Query databaseTimestampSql =
+      informationSchemaViews.getQuery(InformationSchemaKey.DATABASE_TIMESTAMP);
+    try (
+      final MetadataResultSet results = new MetadataResultSet(databaseTimestampSql,
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
+    )
+    {
+      if (results.next())
+      {
+        final Timestamp databaseTimestamp = results.getTimestamp("DATABASE_TIMESTAMP");
+        if (databaseTimestamp != null)
+        {
+          catalog.setAttribute(DATABASE_TIMESTAMP_KEY, databaseTimestamp.toLocalDateTime());
+        }
+      }
+    }
+    catch (final Exception e)
+    {
+      LOGGER.log(Level.WARNING, "Could not retrieve database timestamp", e);
+    }
+  }
+
+  /**
+   * Retrieves the tables of the previous catalog that were last modified
+   * before it was crawled, less the safety margin. The database time at the
+   * start of the previous crawl is used if it is known, and otherwise the
+   * time the previous crawl was recorded. Tables without a modification time
+   * are taken to have changed. If the database plugin does not provide table
+   * modification times, no tables are unchanged.
+   *
+   * @return Lookup keys of unchanged tables
+   */
+  Set<List<String>> retrieveUnchangedTables()
+  {
+    final InformationSchemaViews informationSchemaViews =
+      getRetrieverConnection().getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(InformationSchemaKey.TABLE_MODIFICATIONS))
+    {
+      LOGGER.log(Level.INFO,
+                 "Crawling all tables, since table modifications SQL statement was not provided");
+      return Collections.emptySet();
+    }
+
+    final Timestamp previousCrawlTimestamp = Timestamp.valueOf(getPreviousCrawlTimestamp()
+                                                                 .minusSeconds(getRetrieverConnection()
+                                                                                 .getTableChangesSafetyMargin()));
+
+    final Set<List<String>> unchangedTables = new HashSet<>();
+    final Query tableModificationsSql =
+      informationSchemaViews.getQuery(InformationSchemaKey.TABLE_MODIFICATIONS);
+    try (
+      final MetadataResultSet results = new MetadataResultSet(tableModificationsSql,
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
+    )
+    {
+      while (results.next())
+      {
+        final String catalogName =
+          normalizeCatalogName(results.getString("TABLE_CATALOG"));
+        final String schemaName =
+          normalizeSchemaName(results.getString("TABLE_SCHEMA"));
+        final String tableName = results.getString("TABLE_NAME");
+        final Timestamp lastModified = results.getTimestamp("LAST_MODIFIED");
+        if (lastModified == null || !lastModified.before(previousCrawlTimestamp))
+        {
+          continue;
+        }
+
+        final Optional<MutableTable> optionalTable =
+          lookupTable(catalogName, schemaName, tableName);
+        if (optionalTable.isPresent())
+        {
+          unchangedTables.add(optionalTable
+                                .get()
+                                .toUniqueLookupKey());
+        }
+      }
+    }
+    catch (final Exception e)
+    {
+      LOGGER.log(Level.WARNING,
+                 "Crawling all tables, since table modifications could not be retrieved",
+                 e);
+      return Collections.emptySet();
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("%d of %d tables have not changed since <%s>",
+                                unchangedTables.size(),
+                                catalog
+                                  .getAllTables()
+                                  .size(),
+                                previousCrawlTimestamp));
+    return unchangedTables;
+  }
+
+  private LocalDateTime getPreviousCrawlTimestamp()
+  {
+    final Object databaseTimestamp = catalog
+      .lookupAttribute(DATABASE_TIMESTAMP_KEY)
+      .orElse(null);
+    if (databaseTimestamp instanceof LocalDateTime)
+    {
+      return (LocalDateTime) databaseTimestamp;
+    }
+    if (databaseTimestamp != null)
+    {
+      // Catalogs loaded from offline snapshots may have the timestamp as text
+      try
+      {
+        return LocalDateTime.parse(databaseTimestamp.toString());
+      }
+      catch (final DateTimeParseException e)
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Could not parse database timestamp <%s>", databaseTimestamp),
+                   e);
+      }
+    }
+
+    LOGGER.log(Level.INFO,
+               "Comparing table modifications with the client time of the previous crawl, since the database time is not known");
+    return catalog
+      .getCrawlInfo()
+      .getCrawlTimestamp();
+  }
+
+}
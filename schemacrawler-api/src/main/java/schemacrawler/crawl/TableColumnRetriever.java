@@ -30,13 +30,12 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.ShardedMetadataRetriever.TABLES_PER_SHARD;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
 import static sf.util.Utility.isBlank;
 
-import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -47,6 +46,7 @@ import java.util.logging.Level;
 import schemacrawler.filter.InclusionRuleFilter;
 import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.Column;
+import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.Query;
@@ -68,6 +68,10 @@ final class TableColumnRetriever
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(TableColumnRetriever.class.getName());
 
+  // Hidden columns are retrieved once, even if columns are retrieved for a
+  // few tables at a time
+  private Set<List<String>> hiddenColumns;
+
   TableColumnRetriever(final RetrieverConnection retrieverConnection,
                        final MutableCatalog catalog,
                        final SchemaCrawlerOptions options)
@@ -91,7 +95,10 @@ final class TableColumnRetriever
       return;
     }
 
-    final Set<List<String>> hiddenColumns = retrieveHiddenTableColumns();
+    if (hiddenColumns == null)
+    {
+      hiddenColumns = retrieveHiddenTableColumns();
+    }
 
     switch (getRetrieverConnection().get(tableColumnsRetrievalStrategy))
     {
@@ -104,10 +111,29 @@ final class TableColumnRetriever
         break;
 
       case metadata:
-        LOGGER.log(Level.INFO, "Retrieving table columns");
-        retrieveTableColumnsFromMetadata(allTables,
-                                         columnFilter,
-                                         hiddenColumns);
+        if (getRetrieverConnection().isShardedMetadataRetrieval())
+        {
+          LOGGER.log(Level.INFO,
+                     "Retrieving table columns, using sharded metadata retrieval");
+          retrieveTableColumnsFromShardedMetadata(allTables,
+                                                  columnFilter,
+                                                  hiddenColumns);
+        }
+        else
+        {
+          LOGGER.log(Level.INFO, "Retrieving table columns");
+          retrieveTableColumnsFromMetadata(allTables,
+                                           columnFilter,
+                                           hiddenColumns);
+        }
+        break;
+
+      case metadata_over_schemas:
+        LOGGER.log(Level.INFO,
+                   "Retrieving table columns, using metadata over schemas");
+        retrieveTableColumnsFromMetadataOverSchemas(allTables,
+                                                    columnFilter,
+                                                    hiddenColumns);
         break;
 
       default:
@@ -146,7 +172,7 @@ final class TableColumnRetriever
     }
 
     final Optional<MutableTable> optionalTable =
-      allTables.lookup(Arrays.asList(columnCatalogName, schemaName, tableName));
+      allTables.lookup(new NamedObjectKey(columnCatalogName, schemaName, tableName));
     if (!optionalTable.isPresent())
     {
       return;
@@ -244,12 +270,10 @@ final class TableColumnRetriever
     }
     final Query hiddenColumnsSql =
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_HIDDEN_TABLE_COLUMNS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(hiddenColumnsSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveHiddenColumns");
@@ -294,12 +318,10 @@ final class TableColumnRetriever
     }
     final Query tableColumnsSql =
       informationSchemaViews.getQuery(InformationSchemaKey.TABLE_COLUMNS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(tableColumnsSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveTableColumnsFromDataDictionary");
@@ -317,17 +339,68 @@ final class TableColumnRetriever
   {
     for (final MutableTable table : allTables)
     {
-      LOGGER.log(Level.FINE, "Retrieving table columns for " + table);
+      retrieveTableColumnsFromMetadata(getMetaData(),
+                                       table,
+                                       allTables,
+                                       columnFilter,
+                                       hiddenColumns);
+    }
+  }
+
+  private void retrieveTableColumnsFromMetadata(final DatabaseMetaData metaData,
+                                                final MutableTable table,
+                                                final NamedObjectList<MutableTable> allTables,
+                                                final InclusionRuleFilter<Column> columnFilter,
+                                                final Set<List<String>> hiddenColumns)
+    throws SchemaCrawlerSQLException
+  {
+    LOGGER.log(Level.FINE, "Retrieving table columns for " + table);
+    try (
+      final MetadataResultSet results = new MetadataResultSet(metaData.getColumns(
+        table
+          .getSchema()
+          .getCatalogName(),
+        table
+          .getSchema()
+          .getName(),
+        table.getName(),
+        null),
+        getRetrieverConnection())
+    )
+    {
+      while (results.next())
+      {
+        createTableColumn(results, allTables, columnFilter, hiddenColumns);
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException(String.format(
+        "Could not retrieve table columns for %s <%s>",
+        table.getTableType(),
+        table), e);
+    }
+  }
+
+  /**
+   * Retrieves table columns for all tables in each schema with a single
+   * metadata call. Columns of tables that are not in the catalog are skipped.
+   */
+  private void retrieveTableColumnsFromMetadataOverSchemas(final NamedObjectList<MutableTable> allTables,
+                                                           final InclusionRuleFilter<Column> columnFilter,
+                                                           final Set<List<String>> hiddenColumns)
+    throws SchemaCrawlerSQLException
+  {
+    for (final Schema schema : getTableSchemas(allTables))
+    {
+      LOGGER.log(Level.FINE, "Retrieving table columns for schema " + schema);
       try (
         final MetadataResultSet results = new MetadataResultSet(getMetaData().getColumns(
-          table
-            .getSchema()
-            .getCatalogName(),
-          table
-            .getSchema()
-            .getName(),
-          table.getName(),
-          null))
+          schema.getCatalogName(),
+          schema.getName(),
+          null,
+          null),
+          getRetrieverConnection())
       )
       {
         while (results.next())
@@ -338,11 +411,44 @@ final class TableColumnRetriever
       catch (final SQLException e)
       {
         throw new SchemaCrawlerSQLException(String.format(
-          "Could not retrieve table columns for %s <%s>",
-          table.getTableType(),
-          table), e);
+          "Could not retrieve table columns for schema <%s>",
+          schema), e);
       }
     }
   }
 
+  /**
+   * Retrieves table columns for shards of tables on worker connections. Each
+   * worker only looks up the tables in its own shard, so columns matched by
+   * name patterns for tables in other shards are skipped, and are added by the
+   * worker that owns those tables.
+   */
+  private void retrieveTableColumnsFromShardedMetadata(final NamedObjectList<MutableTable> allTables,
+                                                       final InclusionRuleFilter<Column> columnFilter,
+                                                       final Set<List<String>> hiddenColumns)
+    throws SQLException
+  {
+    final ShardedMetadataRetriever shardedRetriever =
+      new ShardedMetadataRetriever(getRetrieverConnection(), "table columns");
+    shardedRetriever.retrieve(allTables.values(),
+                              TABLES_PER_SHARD,
+                              (metaData, shard) -> {
+                                final NamedObjectList<MutableTable> shardTables =
+                                  new NamedObjectList<>();
+                                for (final MutableTable table : shard)
+                                {
+                                  shardTables.add(table);
+                                }
+                                for (final MutableTable table : shard)
+                                {
+                                  retrieveTableColumnsFromMetadata(metaData,
+                                                                   table,
+                                                                   shardTables,
+                                                                   columnFilter,
+                                                                   hiddenColumns);
+                                }
+                                return null;
+                              });
+  }
+
 }
@@ -31,7 +31,6 @@ package schemacrawler.crawl;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -83,7 +82,6 @@ final class TableConstraintRetriever
     final InformationSchemaViews informationSchemaViews =
       getRetrieverConnection().getInformationSchemaViews();
 
-    final Connection connection = getDatabaseConnection();
 
     if (!informationSchemaViews.hasQuery(InformationSchemaKey.EXT_TABLE_CONSTRAINTS))
     {
@@ -96,11 +94,10 @@ final class TableConstraintRetriever
 
     // Get check constraint definitions
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         extTableConstraintInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
       while (results.next())
@@ -179,11 +176,10 @@ final class TableConstraintRetriever
     final Query tableConstraintsInformationSql =
       informationSchemaViews.getQuery(InformationSchemaKey.TABLE_CONSTRAINTS);
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         tableConstraintsInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
 
@@ -260,11 +256,10 @@ final class TableConstraintRetriever
       informationSchemaViews.getQuery(InformationSchemaKey.CONSTRAINT_COLUMN_USAGE);
 
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         tableConstraintsColumnsInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
       while (results.next())
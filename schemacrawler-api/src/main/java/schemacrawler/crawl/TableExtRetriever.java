@@ -31,9 +31,7 @@ package schemacrawler.crawl;
 
 import static java.util.Objects.requireNonNull;
 
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -98,13 +96,11 @@ final class TableExtRetriever
     final Query columnAttributesSql =
       informationSchemaViews.getQuery(InformationSchemaKey.ADDITIONAL_COLUMN_ATTRIBUTES);
 
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         columnAttributesSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
 
@@ -167,6 +163,8 @@ final class TableExtRetriever
   {
     final EnumDataTypeHelper enumDataTypeHelper =
       getRetrieverConnection().getEnumDataTypeHelper();
+    enumDataTypeHelper.preloadEnumDataTypes(catalog.getSchemas(),
+                                            getDatabaseConnection());
 
     final NamedObjectList<MutableTable> tables = catalog.getAllTables();
     for (final MutableTable table : tables)
@@ -181,7 +179,7 @@ final class TableExtRetriever
         final EnumDataTypeInfo enumDataTypeInfo =
           enumDataTypeHelper.getEnumDataTypeInfo(column,
                                                  columnDataType,
-                                                 getRetrieverConnection().getConnection());
+                                                 getDatabaseConnection());
         if (enumDataTypeInfo.isColumnEnumerated())
         {
           // Create new column datatype with enumeration
@@ -224,12 +222,10 @@ final class TableExtRetriever
     final Query tableAttributesSql =
       informationSchemaViews.getQuery(InformationSchemaKey.ADDITIONAL_TABLE_ATTRIBUTES);
 
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(tableAttributesSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
 
@@ -294,13 +290,11 @@ final class TableExtRetriever
 
     final Query extIndexColumnsInformationSql =
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_INDEX_COLUMNS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         extIndexColumnsInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
 
@@ -406,13 +400,11 @@ final class TableExtRetriever
 
     final Query extIndexesInformationSql =
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_INDEXES);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         extIndexesInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
 
@@ -479,7 +471,6 @@ final class TableExtRetriever
     final InformationSchemaViews informationSchemaViews =
       getRetrieverConnection().getInformationSchemaViews();
 
-    final Connection connection = getDatabaseConnection();
 
     if (!informationSchemaViews.hasQuery(InformationSchemaKey.EXT_PRIMARY_KEYS))
     {
@@ -502,10 +493,9 @@ final class TableExtRetriever
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_PRIMARY_KEYS);
 
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(extPrimaryKeysSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       while (results.next())
@@ -556,7 +546,8 @@ final class TableExtRetriever
         null,
         null,
         null,
-        null))
+        null),
+        getRetrieverConnection())
     )
     {
       createPrivileges(results, true);
@@ -595,13 +586,11 @@ final class TableExtRetriever
 
     final Query tableDefinitionsInformationSql =
       informationSchemaViews.getQuery(InformationSchemaKey.EXT_TABLES);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         tableDefinitionsInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
 
@@ -651,7 +640,8 @@ final class TableExtRetriever
       final MetadataResultSet results = new MetadataResultSet(getMetaData().getTablePrivileges(
         null,
         null,
-        null))
+        null),
+        getRetrieverConnection())
     )
     {
       createPrivileges(results, false);
@@ -687,13 +677,11 @@ final class TableExtRetriever
 
     final Query triggerInformationSql =
       informationSchemaViews.getQuery(InformationSchemaKey.TRIGGERS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(
         triggerInformationSql,
-        statement,
-        getSchemaInclusionRule())
+        getSchemaInclusionRule(),
+        getRetrieverConnection())
     )
     {
 
@@ -787,12 +775,10 @@ final class TableExtRetriever
 
     final Query viewInformationSql =
       informationSchemaViews.getQuery(InformationSchemaKey.VIEWS);
-    final Connection connection = getDatabaseConnection();
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(viewInformationSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
 
@@ -160,7 +160,7 @@ final class TablePartial
   @Override
   public Optional<Column> lookupColumn(final String name)
   {
-    if (column
+    if (column != null && column
       .getName()
       .equals(name))
     {
@@ -0,0 +1,401 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.utility.NamedObjectSort;
+
+/**
+ * Index of parent and child relationships between tables, built once from
+ * the foreign keys. Tables are numbered, and the parents and children of each
+ * table are held in arrays of table numbers, sorted alphabetically by table
+ * name. Related tables can be found at any depth with a breadth-first search
+ * over table numbers, in time proportional to the number of relationships
+ * visited.
+ * <p>
+ * An index built during a crawl is shared by the tables in the catalog, and
+ * is discarded as soon as a foreign key is added to or removed from any of
+ * them.
+ */
+public final class TableRelationshipIndex
+{
+
+  private static final int[] NO_TABLES = new int[0];
+
+  /**
+   * Gets an index of the relationships between the provided tables. The index
+   * built during the crawl is reused if the tables are from a catalog, and
+   * their foreign keys have not changed since. Otherwise, a new index is built
+   * from the foreign keys of the tables.
+   *
+   * @param tables
+   *   Tables to index
+   * @return Index of table relationships
+   */
+  public static TableRelationshipIndex forTables(final Iterable<? extends Table> tables)
+  {
+    TableRelationshipIndex sharedIndex = null;
+    for (final Table table : tables)
+    {
+      final TableRelationshipIndex tableIndex;
+      if (table instanceof MutableTable)
+      {
+        tableIndex = ((MutableTable) table).getRelationshipIndex();
+      }
+      else
+      {
+        tableIndex = null;
+      }
+      if (tableIndex == null || sharedIndex != null && tableIndex != sharedIndex)
+      {
+        sharedIndex = null;
+        break;
+      }
+      sharedIndex = tableIndex;
+    }
+
+    if (sharedIndex != null)
+    {
+      return sharedIndex;
+    }
+    return new TableRelationshipIndex(tables);
+  }
+
+  /**
+   * Builds an index of the relationships between tables in a catalog, and
+   * makes the tables use it to look up their related tables.
+   *
+   * @param tables
+   *   Tables in the catalog
+   * @return Index of table relationships
+   */
+  static TableRelationshipIndex attach(final NamedObjectList<MutableTable> tables)
+  {
+    final TableRelationshipIndex relationshipIndex =
+      new TableRelationshipIndex(tables);
+    for (int id = 0; id < relationshipIndex.size(); id++)
+    {
+      final Table table = relationshipIndex.tables[id];
+      if (table instanceof MutableTable)
+      {
+        ((MutableTable) table).setRelationshipIndex(relationshipIndex, id);
+      }
+    }
+    return relationshipIndex;
+  }
+
+  private final Map<Table, Integer> ids;
+  private final Table[] tables;
+  private final boolean[] partial;
+  private final int[][] parents;
+  private final int[][] children;
+  private volatile boolean valid;
+
+  private TableRelationshipIndex(final Iterable<? extends Table> tablesToIndex)
+  {
+    final List<Table> tablesList = new ArrayList<>();
+    ids = new HashMap<>();
+    for (final Table table : tablesToIndex)
+    {
+      addTable(table, tablesList);
+    }
+
+    // Find unique parent to child edges, adding referenced tables that were
+    // not provided, such as partial tables
+    final Set<Long> edges = new HashSet<>();
+    final int indexedTablesCount = tablesList.size();
+    for (int id = 0; id < indexedTablesCount; id++)
+    {
+      for (final ForeignKey foreignKey : tablesList
+        .get(id)
+        .getForeignKeys())
+      {
+        for (final ForeignKeyColumnReference columnReference : foreignKey)
+        {
+          final int parentId = addTable(columnReference
+                                          .getPrimaryKeyColumn()
+                                          .getParent(), tablesList);
+          final int childId = addTable(columnReference
+                                         .getForeignKeyColumn()
+                                         .getParent(), tablesList);
+          edges.add((long) parentId << 32 | childId);
+        }
+      }
+    }
+
+    tables = tablesList.toArray(new Table[0]);
+    partial = new boolean[tables.length];
+    for (int id = 0; id < tables.length; id++)
+    {
+      partial[id] = tables[id] instanceof PartialDatabaseObject;
+    }
+
+    // Build edge arrays, sorted by the alphabetical rank of each table
+    final int[] parentsCount = new int[tables.length];
+    final int[] childrenCount = new int[tables.length];
+    for (final long edge : edges)
+    {
+      childrenCount[(int) (edge >>> 32)]++;
+      parentsCount[(int) edge]++;
+    }
+    parents = new int[tables.length][];
+    children = new int[tables.length][];
+    for (int id = 0; id < tables.length; id++)
+    {
+      parents[id] = parentsCount[id] == 0? NO_TABLES: new int[parentsCount[id]];
+      children[id] =
+        childrenCount[id] == 0? NO_TABLES: new int[childrenCount[id]];
+    }
+    Arrays.fill(parentsCount, 0);
+    Arrays.fill(childrenCount, 0);
+    for (final long edge : edges)
+    {
+      final int parentId = (int) (edge >>> 32);
+      final int childId = (int) edge;
+      children[parentId][childrenCount[parentId]++] = childId;
+      parents[childId][parentsCount[childId]++] = parentId;
+    }
+
+    final int[] ranks = alphabeticalRanks(tables);
+    for (int id = 0; id < tables.length; id++)
+    {
+      sortByRank(parents[id], ranks);
+      sortByRank(children[id], ranks);
+    }
+
+    valid = true;
+  }
+
+  /**
+   * Finds tables related to the provided tables, up to the given depth, not
+   * counting partial tables. The provided tables are included in the result.
+   *
+   * @param startTables
+   *   Tables to start from
+   * @param tableRelationshipType
+   *   Parent or child relationships to follow
+   * @param depth
+   *   Number of relationships to follow from the provided tables
+   * @return Provided tables, and related tables
+   */
+  public Set<Table> getRelatedTables(final Collection<? extends Table> startTables,
+                                     final TableRelationshipType tableRelationshipType,
+                                     final int depth)
+  {
+    final Set<Table> relatedTables = new HashSet<>(startTables);
+    final int[][] edges = getEdges(tableRelationshipType);
+    if (edges == null || depth <= 0)
+    {
+      return relatedTables;
+    }
+
+    final boolean[] visited = new boolean[tables.length];
+    int[] frontier = new int[tables.length];
+    int frontierSize = 0;
+    for (final Table table : startTables)
+    {
+      final Integer id = ids.get(table);
+      if (id != null && !visited[id])
+      {
+        visited[id] = true;
+        frontier[frontierSize++] = id;
+      }
+    }
+
+    int[] nextFrontier = new int[tables.length];
+    for (int level = 0; level < depth && frontierSize > 0; level++)
+    {
+      int nextFrontierSize = 0;
+      for (int i = 0; i < frontierSize; i++)
+      {
+        for (final int relatedId : edges[frontier[i]])
+        {
+          if (!visited[relatedId] && !partial[relatedId])
+          {
+            visited[relatedId] = true;
+            relatedTables.add(tables[relatedId]);
+            nextFrontier[nextFrontierSize++] = relatedId;
+          }
+        }
+      }
+      final int[] swap = frontier;
+      frontier = nextFrontier;
+      nextFrontier = swap;
+      frontierSize = nextFrontierSize;
+    }
+
+    return relatedTables;
+  }
+
+  /**
+   * Number of indexed tables, including referenced tables.
+   *
+   * @return Number of indexed tables
+   */
+  public int size()
+  {
+    return tables.length;
+  }
+
+  int[] getChildren(final int id)
+  {
+    return children[id];
+  }
+
+  int[] getParents(final int id)
+  {
+    return parents[id];
+  }
+
+  /**
+   * Gets the directly related tables of an indexed table, sorted
+   * alphabetically.
+   *
+   * @param id
+   *   Table number
+   * @param tableRelationshipType
+   *   Parent or child relationships
+   * @return Related tables
+   */
+  List<Table> getRelatedTables(final int id,
+                               final TableRelationshipType tableRelationshipType)
+  {
+    final int[][] edges = getEdges(tableRelationshipType);
+    if (edges == null)
+    {
+      return new ArrayList<>();
+    }
+    final int[] relatedIds = edges[id];
+    final List<Table> relatedTables = new ArrayList<>(relatedIds.length);
+    for (final int relatedId : relatedIds)
+    {
+      relatedTables.add(tables[relatedId]);
+    }
+    return relatedTables;
+  }
+
+  Table getTable(final int id)
+  {
+    return tables[id];
+  }
+
+  void invalidate()
+  {
+    valid = false;
+  }
+
+  boolean isValid()
+  {
+    return valid;
+  }
+
+  int lookupId(final Table table)
+  {
+    final Integer id = ids.get(table);
+    if (id == null)
+    {
+      return -1;
+    }
+    return id;
+  }
+
+  private int addTable(final Table table, final List<Table> tablesList)
+  {
+    final Integer id = ids.get(table);
+    if (id != null)
+    {
+      return id;
+    }
+    final int newId = tablesList.size();
+    tablesList.add(table);
+    ids.put(table, newId);
+    return newId;
+  }
+
+  private int[] alphabeticalRanks(final Table[] tables)
+  {
+    final Table[] sortedTables = tables.clone();
+    Arrays.sort(sortedTables, NamedObjectSort.alphabetical);
+    final int[] ranks = new int[tables.length];
+    for (int rank = 0; rank < sortedTables.length; rank++)
+    {
+      ranks[ids.get(sortedTables[rank])] = rank;
+    }
+    return ranks;
+  }
+
+  private int[][] getEdges(final TableRelationshipType tableRelationshipType)
+  {
+    if (tableRelationshipType == null)
+    {
+      return null;
+    }
+    switch (tableRelationshipType)
+    {
+      case parent:
+        return parents;
+      case child:
+        return children;
+      default:
+        return null;
+    }
+  }
+
+  private void sortByRank(final int[] relatedIds, final int[] ranks)
+  {
+    if (relatedIds.length < 2)
+    {
+      return;
+    }
+    final long[] rankedIds = new long[relatedIds.length];
+    for (int i = 0; i < relatedIds.length; i++)
+    {
+      rankedIds[i] = (long) ranks[relatedIds[i]] << 32 | relatedIds[i];
+    }
+    Arrays.sort(rankedIds);
+    for (int i = 0; i < relatedIds.length; i++)
+    {
+      relatedIds[i] = (int) rankedIds[i];
+    }
+  }
+
+}
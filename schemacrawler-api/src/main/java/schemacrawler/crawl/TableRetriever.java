@@ -32,11 +32,11 @@ package schemacrawler.crawl;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tablesRetrievalStrategy;
 
-import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -104,12 +104,26 @@ final class TableRetriever
                                          tableFilter);
         break;
 
+      case metadata_over_schemas:
+        // Metadata is already retrieved for each schema
       case metadata:
-        LOGGER.log(Level.INFO, "Retrieving tables");
-        retrieveTablesFromMetadata(schemas,
-                                   tableNamePattern,
-                                   tableTypes,
-                                   tableFilter);
+        if (getRetrieverConnection().isShardedMetadataRetrieval())
+        {
+          LOGGER.log(Level.INFO,
+                     "Retrieving tables, using sharded metadata retrieval");
+          retrieveTablesFromShardedMetadata(schemas,
+                                            tableNamePattern,
+                                            tableTypes,
+                                            tableFilter);
+        }
+        else
+        {
+          LOGGER.log(Level.INFO, "Retrieving tables");
+          retrieveTablesFromMetadata(schemas,
+                                     tableNamePattern,
+                                     tableTypes,
+                                     tableFilter);
+        }
         break;
 
       default:
@@ -120,7 +134,8 @@ final class TableRetriever
   private void createTable(final MetadataResultSet results,
                            final NamedObjectList<SchemaReference> schemas,
                            final InclusionRuleFilter<Table> tableFilter,
-                           final TableTypes supportedTableTypes)
+                           final TableTypes supportedTableTypes,
+                           final NamedObjectList<MutableTable> tables)
   {
     final String catalogName =
       normalizeCatalogName(results.getString("TABLE_CAT"));
@@ -136,7 +151,7 @@ final class TableRetriever
     final String remarks = results.getString("REMARKS");
 
     final Optional<SchemaReference> optionalSchema =
-      schemas.lookup(Arrays.asList(catalogName, schemaName));
+      schemas.lookup(new NamedObjectKey(catalogName, schemaName));
     if (!optionalSchema.isPresent())
     {
       return;
@@ -172,7 +187,7 @@ final class TableRetriever
       table.setTableType(tableType);
       table.setRemarks(remarks);
 
-      catalog.addTable(table);
+      tables.add(table);
     }
   }
 
@@ -190,13 +205,11 @@ final class TableRetriever
     }
     final Query tablesSql =
       informationSchemaViews.getQuery(InformationSchemaKey.TABLES);
-    final Connection connection = getDatabaseConnection();
     final TableTypes supportedTableTypes = new TableTypes(tableTypes);
     try (
-      final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(tablesSql,
-                                                              statement,
-                                                              getSchemaInclusionRule())
+                                                              getSchemaInclusionRule(),
+                                                              getRetrieverConnection())
     )
     {
       results.setDescription("retrieveTablesFromDataDictionary");
@@ -204,7 +217,11 @@ final class TableRetriever
       while (results.next())
       {
         numTables = numTables + 1;
-        createTable(results, schemas, tableFilter, supportedTableTypes);
+        createTable(results,
+                    schemas,
+                    tableFilter,
+                    supportedTableTypes,
+                    catalog.getAllTables());
       }
       LOGGER.log(Level.INFO,
                  new StringFormat("Processed %d tables", numTables));
@@ -219,38 +236,97 @@ final class TableRetriever
   {
     for (final Schema schema : schemas)
     {
-      LOGGER.log(Level.INFO,
-                 new StringFormat("Retrieving tables for schema <%s>", schema));
-
-      final TableTypes supportedTableTypes =
-        getRetrieverConnection().getTableTypes();
-      final String[] filteredTableTypes =
-        supportedTableTypes.filterUnknown(tableTypes);
-      LOGGER.log(Level.FINER,
-                 new StringFormat("Retrieving table types <%s>",
-                                  filteredTableTypes == null? "<<all>>":
-                                  Arrays.asList(filteredTableTypes)));
-
-      final String catalogName = schema.getCatalogName();
-      final String schemaName = schema.getName();
-
-      try (
-        final MetadataResultSet results = new MetadataResultSet(getMetaData().getTables(
-          catalogName,
-          schemaName,
-          tableNamePattern,
-          filteredTableTypes))
-      )
+      retrieveTablesFromMetadata(getMetaData(),
+                                 schema,
+                                 schemas,
+                                 tableNamePattern,
+                                 tableTypes,
+                                 tableFilter,
+                                 catalog.getAllTables());
+    }
+  }
+
+  private void retrieveTablesFromMetadata(final DatabaseMetaData metaData,
+                                          final Schema schema,
+                                          final NamedObjectList<SchemaReference> schemas,
+                                          final String tableNamePattern,
+                                          final Collection<String> tableTypes,
+                                          final InclusionRuleFilter<Table> tableFilter,
+                                          final NamedObjectList<MutableTable> tables)
+    throws SQLException
+  {
+    LOGGER.log(Level.INFO,
+               new StringFormat("Retrieving tables for schema <%s>", schema));
+
+    final TableTypes supportedTableTypes =
+      getRetrieverConnection().getTableTypes();
+    final String[] filteredTableTypes =
+      supportedTableTypes.filterUnknown(tableTypes);
+    LOGGER.log(Level.FINER,
+               new StringFormat("Retrieving table types <%s>",
+                                filteredTableTypes == null? "<<all>>":
+                                Arrays.asList(filteredTableTypes)));
+
+    final String catalogName = schema.getCatalogName();
+    final String schemaName = schema.getName();
+
+    try (
+      final MetadataResultSet results = new MetadataResultSet(metaData.getTables(
+        catalogName,
+        schemaName,
+        tableNamePattern,
+        filteredTableTypes),
+        getRetrieverConnection())
+    )
+    {
+      results.setDescription("retrieveTablesFromMetadata");
+      int numTables = 0;
+      while (results.next())
       {
-        results.setDescription("retrieveTablesFromMetadata");
-        int numTables = 0;
-        while (results.next())
+        numTables = numTables + 1;
+        createTable(results,
+                    schemas,
+                    tableFilter,
+                    supportedTableTypes,
+                    tables);
+      }
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Processed %d tables", numTables));
+    }
+  }
+
+  /**
+   * Retrieves tables for each schema on a worker connection, into partial
+   * lists of tables, which are then added to the catalog.
+   */
+  private void retrieveTablesFromShardedMetadata(final NamedObjectList<SchemaReference> schemas,
+                                                 final String tableNamePattern,
+                                                 final Collection<String> tableTypes,
+                                                 final InclusionRuleFilter<Table> tableFilter)
+    throws SQLException
+  {
+    final ShardedMetadataRetriever shardedRetriever =
+      new ShardedMetadataRetriever(getRetrieverConnection(), "tables");
+    final List<NamedObjectList<MutableTable>> partialTables =
+      shardedRetriever.retrieve(schemas.values(), 1, (metaData, shard) -> {
+        final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
+        for (final SchemaReference schema : shard)
         {
-          numTables = numTables + 1;
-          createTable(results, schemas, tableFilter, supportedTableTypes);
+          retrieveTablesFromMetadata(metaData,
+                                     schema,
+                                     schemas,
+                                     tableNamePattern,
+                                     tableTypes,
+                                     tableFilter,
+                                     tables);
         }
-        LOGGER.log(Level.INFO,
-                   new StringFormat("Processed %d tables", numTables));
+        return tables;
+      });
+    for (final NamedObjectList<MutableTable> tables : partialTables)
+    {
+      for (final MutableTable table : tables)
+      {
+        catalog.addTable(table);
       }
     }
   }
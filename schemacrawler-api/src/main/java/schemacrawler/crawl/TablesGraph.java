@@ -32,8 +32,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 
-import schemacrawler.schema.ForeignKey;
-import schemacrawler.schema.ForeignKeyColumnReference;
 import schemacrawler.schema.Table;
 import schemacrawler.schema.View;
 import sf.util.SchemaCrawlerLogger;
@@ -48,11 +46,12 @@ final class TablesGraph
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(TablesGraph.class.getName());
 
-  TablesGraph(final NamedObjectList<MutableTable> tables)
+  TablesGraph(final NamedObjectList<MutableTable> tables,
+              final TableRelationshipIndex relationshipIndex)
   {
     super("catalog");
 
-    if (tables == null)
+    if (tables == null || relationshipIndex == null)
     {
       return;
     }
@@ -60,17 +59,18 @@ final class TablesGraph
     for (final Table table : tables)
     {
       addVertex(table);
-      for (final ForeignKey foreignKey : table.getForeignKeys())
+      final int id = relationshipIndex.lookupId(table);
+      if (id < 0)
       {
-        for (final ForeignKeyColumnReference columnRef : foreignKey)
-        {
-          addEdge(columnRef
-                    .getPrimaryKeyColumn()
-                    .getParent(),
-                  columnRef
-                    .getForeignKeyColumn()
-                    .getParent());
-        }
+        continue;
+      }
+      for (final int parentId : relationshipIndex.getParents(id))
+      {
+        addEdge(relationshipIndex.getTable(parentId), table);
+      }
+      for (final int childId : relationshipIndex.getChildren(id))
+      {
+        addEdge(table, relationshipIndex.getTable(childId));
       }
     }
 
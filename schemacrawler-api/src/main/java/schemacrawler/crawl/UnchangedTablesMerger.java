@@ -0,0 +1,313 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Table;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Carries over tables that have not changed from a previous crawl into a new
+ * catalog, and links them with the tables that were crawled again. Unchanged
+ * tables are moved, not copied, so the previous catalog is consumed by the
+ * incremental crawl.
+ *
+ * @author Sualeh Fatehi
+ */
+final class UnchangedTablesMerger
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(UnchangedTablesMerger.class.getName());
+
+  private final MutableCatalog catalog;
+
+  UnchangedTablesMerger(final MutableCatalog catalog)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  /**
+   * Adds unchanged tables from the previous catalog to the catalog. Foreign
+   * keys and weak associations of unchanged tables with tables that were
+   * crawled again, or dropped, are removed, and foreign keys that were crawled
+   * again are linked to the unchanged tables that they reference.
+   *
+   * @param previousCatalog
+   *   Catalog from a previous crawl
+   * @param unchangedTableKeys
+   *   Lookup keys of tables that have not changed since the previous crawl
+   */
+  void mergeUnchangedTables(final MutableCatalog previousCatalog,
+                            final Set<List<String>> unchangedTableKeys)
+  {
+    requireNonNull(previousCatalog, "No previous catalog provided");
+    requireNonNull(unchangedTableKeys, "No unchanged tables provided");
+
+    final List<MutableTable> crawledTables =
+      new ArrayList<>(catalog.getAllTables().values());
+
+    final Map<List<String>, MutableTable> unchangedTables = new HashMap<>();
+    for (final MutableTable table : previousCatalog.getAllTables())
+    {
+      final List<String> tableKey = table.toUniqueLookupKey();
+      final boolean isCrawled = catalog
+        .lookupTable(tableKey)
+        .isPresent();
+      final boolean isInCrawledSchema = catalog
+        .getAllSchemas()
+        .contains(table.getSchema());
+      if (unchangedTableKeys.contains(tableKey) && !isCrawled && isInCrawledSchema)
+      {
+        unchangedTables.put(tableKey, table);
+      }
+    }
+    if (unchangedTables.isEmpty())
+    {
+      return;
+    }
+
+    for (final MutableTable table : unchangedTables.values())
+    {
+      detachChangedTables(table, unchangedTables);
+      useCatalogColumnDataTypes(table);
+      catalog.addTable(table);
+    }
+    relinkForeignKeys(crawledTables, unchangedTables);
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Carried over %d unchanged tables, and crawled %d tables",
+                                unchangedTables.size(),
+                                crawledTables.size()));
+  }
+
+  /**
+   * Removes foreign keys and weak associations of an unchanged table, with
+   * tables that are not unchanged. Crawled foreign keys take their place.
+   */
+  private void detachChangedTables(final MutableTable table,
+                                   final Map<List<String>, MutableTable> unchangedTables)
+  {
+    for (final ForeignKey foreignKey : table.getForeignKeys())
+    {
+      if (isBetweenUnchangedTables(foreignKey, unchangedTables))
+      {
+        continue;
+      }
+      table.removeForeignKey((MutableForeignKey) foreignKey);
+      for (final ForeignKeyColumnReference columnReference : foreignKey)
+      {
+        final Column fkColumn = columnReference.getForeignKeyColumn();
+        if (fkColumn instanceof MutableColumn && table.equals(fkColumn.getParent()))
+        {
+          ((MutableColumn) fkColumn).setReferencedColumn(null);
+        }
+      }
+    }
+
+    for (final WeakAssociation weakAssociation : table.getWeakAssociations())
+    {
+      if (!isBetweenUnchangedTables(weakAssociation, unchangedTables))
+      {
+        table.removeWeakAssociation(weakAssociation);
+      }
+    }
+  }
+
+  private boolean isBetweenUnchangedTables(final Iterable<? extends ColumnReference> columnReferences,
+                                           final Map<List<String>, MutableTable> unchangedTables)
+  {
+    for (final ColumnReference columnReference : columnReferences)
+    {
+      for (final Column column : new Column[] {
+        columnReference.getPrimaryKeyColumn(), columnReference.getForeignKeyColumn() })
+      {
+        final Table table = column.getParent();
+        final List<String> tableKey = table.toUniqueLookupKey();
+        final boolean isUnchanged = unchangedTables.containsKey(tableKey);
+        final boolean isCrawled = !isUnchanged && catalog
+          .lookupTable(tableKey)
+          .isPresent();
+        if (table instanceof MutableTable && !isUnchanged || isCrawled)
+        {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Replaces foreign keys of crawled tables that reference unchanged tables
+   * as partial tables, with foreign keys that reference the unchanged tables.
+   */
+  private void relinkForeignKeys(final Collection<MutableTable> crawledTables,
+                                 final Map<List<String>, MutableTable> unchangedTables)
+  {
+    final Set<MutableForeignKey> foreignKeys =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final MutableTable table : crawledTables)
+    {
+      for (final ForeignKey foreignKey : table.getForeignKeys())
+      {
+        for (final ForeignKeyColumnReference columnReference : foreignKey)
+        {
+          if (lookupUnchangedColumn(columnReference.getPrimaryKeyColumn(),
+                                    unchangedTables).isPresent()
+              || lookupUnchangedColumn(columnReference.getForeignKeyColumn(),
+                                       unchangedTables).isPresent())
+          {
+            foreignKeys.add((MutableForeignKey) foreignKey);
+          }
+        }
+      }
+    }
+
+    for (final MutableForeignKey foreignKey : foreignKeys)
+    {
+      final MutableForeignKey relinkedForeignKey =
+        new MutableForeignKey(foreignKey.getName());
+      relinkedForeignKey.setSpecificName(foreignKey.getSpecificName());
+      relinkedForeignKey.setUpdateRule(foreignKey.getUpdateRule());
+      relinkedForeignKey.setDeleteRule(foreignKey.getDeleteRule());
+      relinkedForeignKey.setDeferrability(foreignKey.getDeferrability());
+      relinkedForeignKey.appendDefinition(foreignKey.getDefinition());
+      relinkedForeignKey.addAttributes(foreignKey.getAttributes());
+      for (final ForeignKeyColumnReference columnReference : foreignKey)
+      {
+        final Column pkColumn = columnReference.getPrimaryKeyColumn();
+        final Column fkColumn = columnReference.getForeignKeyColumn();
+        final Column relinkedPkColumn =
+          lookupUnchangedColumn(pkColumn, unchangedTables).orElse(pkColumn);
+        final Column relinkedFkColumn =
+          lookupUnchangedColumn(fkColumn, unchangedTables).orElse(fkColumn);
+        relinkedForeignKey.addColumnReference(columnReference.getKeySequence(),
+                                              relinkedPkColumn,
+                                              relinkedFkColumn);
+      }
+
+      // Foreign keys have the same lookup key, so the relinked foreign
+      // key replaces the crawled one in each table
+      for (final ForeignKeyColumnReference columnReference : relinkedForeignKey)
+      {
+        final Column pkColumn = columnReference.getPrimaryKeyColumn();
+        final Column fkColumn = columnReference.getForeignKeyColumn();
+
+        if (fkColumn instanceof MutableColumn)
+        {
+          ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+          ((MutableTable) fkColumn.getParent()).addForeignKey(relinkedForeignKey);
+        }
+        else if (fkColumn instanceof ColumnPartial)
+        {
+          ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+          ((TablePartial) fkColumn.getParent()).addForeignKey(relinkedForeignKey);
+        }
+
+        if (pkColumn instanceof MutableColumn)
+        {
+          ((MutableTable) pkColumn.getParent()).addForeignKey(relinkedForeignKey);
+        }
+        else if (pkColumn instanceof ColumnPartial)
+        {
+          ((TablePartial) pkColumn.getParent()).addForeignKey(relinkedForeignKey);
+        }
+      }
+    }
+  }
+
+  private Optional<Column> lookupUnchangedColumn(final Column column,
+                                                 final Map<List<String>, MutableTable> unchangedTables)
+  {
+    if (!(column instanceof ColumnPartial))
+    {
+      return Optional.empty();
+    }
+    final MutableTable table = unchangedTables.get(column
+                                                     .getParent()
+                                                     .toUniqueLookupKey());
+    if (table == null)
+    {
+      return Optional.empty();
+    }
+    return table
+      .lookupColumn(column.getName())
+      .map(Column.class::cast);
+  }
+
+  /**
+   * Points columns of an unchanged table to the column data types of the
+   * catalog, so that the catalog does not hold on to the data types of the
+   * previous crawl.
+   */
+  private void useCatalogColumnDataTypes(final MutableTable table)
+  {
+    final List<Column> columns = new ArrayList<>(table.getColumns());
+    columns.addAll(table.getHiddenColumns());
+    for (final Column column : columns)
+    {
+      final ColumnDataType columnDataType = column.getColumnDataType();
+      if (!(column instanceof MutableColumn) || columnDataType == null)
+      {
+        continue;
+      }
+      final Optional<MutableColumnDataType> catalogColumnDataType =
+        catalog.lookupColumnDataType(columnDataType.getSchema(),
+                                     columnDataType.getName());
+      if (catalogColumnDataType.isPresent())
+      {
+        ((MutableColumn) column).setColumnDataType(catalogColumnDataType.get());
+      }
+      else if (columnDataType instanceof MutableColumnDataType)
+      {
+        catalog.addColumnDataType((MutableColumnDataType) columnDataType);
+      }
+    }
+  }
+
+}
@@ -30,11 +30,11 @@ package schemacrawler.filter;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import schemacrawler.crawl.TableRelationshipIndex;
 import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.ForeignKeyColumnReference;
 import schemacrawler.schema.PartialDatabaseObject;
@@ -82,22 +82,23 @@ final class TablesReducer
       }
     }
 
-    // Add in referenced tables
+    final Set<Table> keepTables = new HashSet<>(reducedTables);
+
+    // Add in referenced tables, with a breadth-first search over the
+    // table relationships
     final int childTableFilterDepth = options.getChildTableFilterDepth();
-    final Collection<Table> childTables = includeRelatedTables(
-      TableRelationshipType.child,
-      childTableFilterDepth,
-      reducedTables);
     final int parentTableFilterDepth = options.getParentTableFilterDepth();
-    final Collection<Table> parentTables = includeRelatedTables(
-      TableRelationshipType.parent,
-      parentTableFilterDepth,
-      reducedTables);
-
-    final Set<Table> keepTables = new HashSet<>();
-    keepTables.addAll(reducedTables);
-    keepTables.addAll(childTables);
-    keepTables.addAll(parentTables);
+    if (childTableFilterDepth > 0 || parentTableFilterDepth > 0)
+    {
+      final TableRelationshipIndex relationshipIndex =
+        TableRelationshipIndex.forTables(allTables);
+      keepTables.addAll(relationshipIndex.getRelatedTables(reducedTables,
+                                                           TableRelationshipType.child,
+                                                           childTableFilterDepth));
+      keepTables.addAll(relationshipIndex.getRelatedTables(reducedTables,
+                                                           TableRelationshipType.parent,
+                                                           parentTableFilterDepth));
+    }
 
     // Mark tables as being filtered out
     for (final Table table : allTables)
@@ -111,31 +112,6 @@ final class TablesReducer
     allTables.filter(table -> keepTables.contains(table));
   }
 
-  private Collection<Table> includeRelatedTables(final TableRelationshipType tableRelationshipType,
-                                                 final int depth,
-                                                 final Set<Table> greppedTables)
-  {
-    final Set<Table> includedTables = new HashSet<>();
-    includedTables.addAll(greppedTables);
-
-    for (int i = 0; i < depth; i++)
-    {
-      for (final Table table : new HashSet<>(includedTables))
-      {
-        for (final Table relatedTable : table.getRelatedTables(
-          tableRelationshipType))
-        {
-          if (!isTablePartial(relatedTable))
-          {
-            includedTables.add(relatedTable);
-          }
-        }
-      }
-    }
-
-    return includedTables;
-  }
-
   private boolean isTablePartial(final Table table)
   {
     return table instanceof PartialDatabaseObject;
@@ -32,9 +32,11 @@ package schemacrawler.plugin;
 import static schemacrawler.plugin.EnumDataTypeInfo.EMPTY_ENUM_DATA_TYPE_INFO;
 
 import java.sql.Connection;
+import java.util.Collection;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Schema;
 
 @FunctionalInterface
 public interface EnumDataTypeHelper
@@ -44,6 +46,23 @@ public interface EnumDataTypeHelper
                                        ColumnDataType columnDataType,
                                        Connection connection);
 
+  /**
+   * Loads enumerated values in bulk, before they are looked up for each column
+   * of the crawled tables. Helpers that query the database for enumerated
+   * values can load them all at once here, so that each look-up does not need
+   * a round trip to the database.
+   *
+   * @param schemas
+   *   Schemas that are crawled
+   * @param connection
+   *   Database connection
+   */
+  default void preloadEnumDataTypes(final Collection<Schema> schemas,
+                                    final Connection connection)
+  {
+    // By default, enumerated values are looked up for each column
+  }
+
   EnumDataTypeHelper NO_OP_ENUM_DATA_TYPE_HELPER =
     (column, columnDataType, connection) -> EMPTY_ENUM_DATA_TYPE_INFO;
 
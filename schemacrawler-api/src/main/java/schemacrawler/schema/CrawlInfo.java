@@ -30,6 +30,8 @@ package schemacrawler.schema;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import schemacrawler.ProductVersion;
 
@@ -44,6 +46,14 @@ public interface CrawlInfo
    */
   LocalDateTime getCrawlTimestamp();
 
+  /**
+   * Gets measurements for each step of the crawl, in the order that the steps
+   * finished. Steps of different crawl phases may run in parallel.
+   *
+   * @return Crawl step measurements
+   */
+  List<CrawlMetric> getCrawlMetrics();
+
   /**
    * @deprecated
    * Gets the name of the RDBMS vendor and product.
@@ -92,6 +102,15 @@ public interface CrawlInfo
    */
   ProductVersion getJvmVersion();
 
+  /**
+   * Gets the number of rows that were read for each named database metadata
+   * retrieval, such as a data dictionary query. This is useful for tuning
+   * fetch sizes.
+   *
+   * @return Row counts, by the name of the metadata retrieval
+   */
+  Map<String, Long> getMetadataRowCounts();
+
   /**
    * @deprecated
    * Get operating system information.
@@ -0,0 +1,80 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.schema;
+
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Measurements for one step of a crawl, such as retrieving the columns of
+ * tables.
+ */
+public interface CrawlMetric
+  extends Serializable
+{
+
+  /**
+   * Gets the time taken by the step.
+   *
+   * @return Duration of the step
+   */
+  Duration getDuration();
+
+  /**
+   * Gets the number of database metadata calls and data dictionary queries
+   * made during the step.
+   *
+   * @return Number of metadata calls
+   */
+  long getMetadataCallCount();
+
+  /**
+   * Gets the number of rows read from database metadata calls and data
+   * dictionary queries during the step.
+   *
+   * @return Number of rows read
+   */
+  long getMetadataRowCount();
+
+  /**
+   * Gets the name of the crawl phase that the step belongs to, such as
+   * "crawlTables".
+   *
+   * @return Name of the crawl phase
+   */
+  String getPhase();
+
+  /**
+   * Gets the name of the step, such as "retrieveColumns".
+   *
+   * @return Name of the step
+   */
+  String getStep();
+
+}
@@ -39,7 +39,9 @@ public enum InformationSchemaKey
   SERVER_INFORMATION(ADDITIONAL_INFO),
   ADDITIONAL_COLUMN_ATTRIBUTES(ADDITIONAL_INFO),
   ADDITIONAL_TABLE_ATTRIBUTES(ADDITIONAL_INFO),
+  CATALOG_FINGERPRINT(ADDITIONAL_INFO),
   CONSTRAINT_COLUMN_USAGE(INFORMATION_SCHEMA),
+  DATABASE_TIMESTAMP(ADDITIONAL_INFO),
   EXT_FOREIGN_KEYS(METADATA_EXTENSION),
   EXT_HIDDEN_TABLE_COLUMNS(METADATA_EXTENSION),
   EXT_INDEXES(METADATA_EXTENSION),
@@ -62,6 +64,8 @@ public enum InformationSchemaKey
   TABLES(DATABASE_METADATA),
   TABLE_COLUMNS(DATABASE_METADATA),
   TABLE_CONSTRAINTS(INFORMATION_SCHEMA),
+  TABLE_MODIFICATIONS(ADDITIONAL_INFO),
+  TABLE_ROW_COUNTS(ADDITIONAL_INFO),
   TRIGGERS(INFORMATION_SCHEMA),
   VIEWS(INFORMATION_SCHEMA),
   ;
@@ -34,6 +34,9 @@ public enum MetadataRetrievalStrategy
   // use JDBC metadata calls to retrieve information one database object at a time;
   // each JDBC driver decides how to honor these requests
   metadata,
+  // use JDBC metadata calls to retrieve information for all database objects
+  // in a schema together; the JDBC driver needs to accept a null table name
+  metadata_over_schemas,
   // use the INFORMATION_SCHEMA or database-specific data dictionary queries to
   // retrieve information for all database objects together
   data_dictionary_all
@@ -28,14 +28,18 @@ http://www.gnu.org/licenses/
 package schemacrawler.schemacrawler;
 
 
+import static sf.util.TemplatingUtility.extractBindVariables;
 import static sf.util.TemplatingUtility.extractTemplateVariables;
 import static sf.util.Utility.isBlank;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Set;
 
 /**
- * A SQL query. May be parameterized with ant-like variable references.
+ * A SQL query. May be parameterized with ant-like variable references, which
+ * are expanded into the SQL, and with bind variables in the form of
+ * ?{variable}, which are bound as parameters of a prepared statement.
  *
  * @author sfatehi
  */
@@ -70,6 +74,16 @@ public final class Query
     this.query = query;
   }
 
+  /**
+   * Gets the bind variables of the query, in the order in which they appear.
+   *
+   * @return Bind variables
+   */
+  public List<String> getBindVariables()
+  {
+    return extractBindVariables(query);
+  }
+
   /**
    * Gets the query name.
    *
@@ -90,6 +104,17 @@ public final class Query
     return query;
   }
 
+  /**
+   * Determines if this query has bind variables, so that it can be run with a
+   * prepared statement.
+   *
+   * @return If the query has bind variables
+   */
+  public boolean isParameterized()
+  {
+    return !getBindVariables().isEmpty();
+  }
+
   /**
    * Determines if this query has substitutable parameters, and whether it
    * should be run once for each table.
@@ -32,6 +32,7 @@ import static java.util.Objects.requireNonNull;
 import static sf.util.DatabaseUtility.executeSql;
 import static sf.util.DatabaseUtility.executeSqlForLong;
 import static sf.util.DatabaseUtility.executeSqlForScalar;
+import static sf.util.TemplatingUtility.expandBindVariables;
 import static sf.util.TemplatingUtility.expandTemplate;
 import static sf.util.Utility.isBlank;
 
@@ -105,6 +106,19 @@ public final class QueryUtility
     return executeSqlForLong(connection, sql);
   }
 
+  public static long executeForLong(final Query query,
+                                    final Statement statement,
+                                    final Table table,
+                                    final Identifiers identifiers)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(query, "No query provided");
+    final String sql = getQuery(query, table, true, identifiers);
+    LOGGER.log(Level.FINE,
+               new StringFormat("Executing %s: %n%s", query.getName(), sql));
+    return executeSqlForLong(statement, sql);
+  }
+
   public static Object executeForScalar(final Query query,
                                         final Connection connection)
     throws SchemaCrawlerException
@@ -129,6 +143,79 @@ public final class QueryUtility
     return executeSqlForScalar(connection, sql);
   }
 
+  /**
+   * Gets the values of the bind variables of a query, in the order in which
+   * they appear in the query.
+   *
+   * @param query
+   *   Query with bind variables
+   * @param schemaInclusionRule
+   *   Schema inclusion rule
+   * @return Bind values, which may be null
+   */
+  public static List<String> getBindValues(final Query query,
+                                           final InclusionRule schemaInclusionRule)
+  {
+    requireNonNull(query, "No query provided");
+    final Map<String, String> properties =
+      getSchemaProperties(schemaInclusionRule);
+    final List<String> bindValues = new ArrayList<>();
+    for (final String bindVariable : query.getBindVariables())
+    {
+      bindValues.add(getBindValue(properties, bindVariable));
+    }
+    return bindValues;
+  }
+
+  /**
+   * Gets the query SQL for a prepared statement, with bind variables
+   * replaced by parameter markers.
+   *
+   * @param query
+   *   Query with bind variables
+   * @param schemaInclusionRule
+   *   Schema inclusion rule
+   * @return Ready-to-prepare query
+   */
+  public static String getPreparedStatementQuery(final Query query,
+                                                 final InclusionRule schemaInclusionRule)
+  {
+    requireNonNull(query, "No query provided");
+    String sql = query.getQuery();
+    sql = expandTemplate(sql, getSchemaProperties(schemaInclusionRule));
+    sql = expandTemplate(sql);
+    sql = expandBindVariables(sql, bindVariable -> "?");
+    return sql;
+  }
+
+  /**
+   * Replaces bind variables with SQL string literals, for queries that are
+   * not run with a prepared statement.
+   */
+  private static String expandBindVariablesAsLiterals(final String sql,
+                                                      final Map<String, String> properties)
+  {
+    return expandBindVariables(sql, bindVariable -> {
+      final String value = getBindValue(properties, bindVariable);
+      if (value == null)
+      {
+        return "NULL";
+      }
+      return "'" + value.replace("'", "''") + "'";
+    });
+  }
+
+  private static String getBindValue(final Map<String, String> properties,
+                                     final String bindVariable)
+  {
+    final String value = properties.get(bindVariable);
+    if (value != null)
+    {
+      return value;
+    }
+    return System.getProperty(bindVariable);
+  }
+
   private static String getColumnsListAsString(final List<Column> columns,
                                                final boolean omitLargeObjectColumns,
                                                final Identifiers identifiers)
@@ -153,7 +240,8 @@ public final class QueryUtility
 
   private static String getQuery(final Query query)
   {
-    return expandTemplate(query.getQuery());
+    final String sql = expandTemplate(query.getQuery());
+    return expandBindVariablesAsLiterals(sql, new HashMap<>());
   }
 
   /**
@@ -166,25 +254,13 @@ public final class QueryUtility
   private static String getQuery(final Query query,
                                  final InclusionRule schemaInclusionRule)
   {
-    final Map<String, String> properties = new HashMap<>();
-
-    properties.put("schemas", ".*");
-    if (schemaInclusionRule != null
-        && schemaInclusionRule instanceof InclusionRuleWithRegularExpression)
-    {
-      final String schemaInclusionPattern =
-        ((InclusionRuleWithRegularExpression) schemaInclusionRule)
-          .getInclusionPattern()
-          .pattern();
-      if (!isBlank(schemaInclusionPattern))
-      {
-        properties.put("schemas", schemaInclusionPattern);
-      }
-    }
+    final Map<String, String> properties =
+      getSchemaProperties(schemaInclusionRule);
 
     String sql = query.getQuery();
     sql = expandTemplate(sql, properties);
     sql = expandTemplate(sql);
+    sql = expandBindVariablesAsLiterals(sql, properties);
 
     return sql;
   }
@@ -199,7 +275,7 @@ public final class QueryUtility
     {
       final NamedObjectSort columnsSort =
         NamedObjectSort.getNamedObjectSort(isAlphabeticalSortForTableColumns);
-      final List<Column> columns = table.getColumns();
+      final List<Column> columns = new ArrayList<>(table.getColumns());
       columns.sort(columnsSort);
 
       final Schema schema = table.getSchema();
@@ -223,10 +299,31 @@ public final class QueryUtility
     String sql = query.getQuery();
     sql = expandTemplate(sql, tableProperties);
     sql = expandTemplate(sql);
+    sql = expandBindVariablesAsLiterals(sql, tableProperties);
 
     return sql;
   }
 
+  private static Map<String, String> getSchemaProperties(final InclusionRule schemaInclusionRule)
+  {
+    final Map<String, String> properties = new HashMap<>();
+
+    properties.put("schemas", ".*");
+    if (schemaInclusionRule != null
+        && schemaInclusionRule instanceof InclusionRuleWithRegularExpression)
+    {
+      final String schemaInclusionPattern =
+        ((InclusionRuleWithRegularExpression) schemaInclusionRule)
+          .getInclusionPattern()
+          .pattern();
+      if (!isBlank(schemaInclusionPattern))
+      {
+        properties.put("schemas", schemaInclusionPattern);
+      }
+    }
+    return properties;
+  }
+
   private QueryUtility()
   {
     // Prevent instantiation
@@ -54,6 +54,7 @@ public final class SchemaCrawlerOptions
   private final InclusionRule grepRoutineParameterInclusionRule;
   private final boolean isNoEmptyTables;
   private final boolean isLoadRowCounts;
+  private final boolean isFreezeCatalog;
   private final int parentTableFilterDepth;
   private final InclusionRule routineInclusionRule;
   private final InclusionRule routineParameterInclusionRule;
@@ -84,6 +85,7 @@ public final class SchemaCrawlerOptions
                        final boolean grepOnlyMatching,
                        final boolean isNoEmptyTables,
                        final boolean isLoadRowCounts,
+                       final boolean isFreezeCatalog,
                        final int childTableFilterDepth,
                        final int parentTableFilterDepth)
   {
@@ -105,6 +107,7 @@ public final class SchemaCrawlerOptions
     this.grepOnlyMatching = grepOnlyMatching;
     this.isNoEmptyTables = isNoEmptyTables;
     this.isLoadRowCounts = isLoadRowCounts;
+    this.isFreezeCatalog = isFreezeCatalog;
     this.childTableFilterDepth = childTableFilterDepth;
     this.parentTableFilterDepth = parentTableFilterDepth;
   }
@@ -327,6 +330,18 @@ public final class SchemaCrawlerOptions
     return isLoadRowCounts;
   }
 
+  /**
+   * Whether the catalog is frozen once it has been crawled. A frozen catalog
+   * returns shared, sorted, unmodifiable collections, so that it can be
+   * traversed repeatedly, and from many threads, without copying.
+   *
+   * @return Whether to freeze the catalog after crawling
+   */
+  public boolean isFreezeCatalog()
+  {
+    return isFreezeCatalog;
+  }
+
   /**
    * {@inheritDoc}
    */
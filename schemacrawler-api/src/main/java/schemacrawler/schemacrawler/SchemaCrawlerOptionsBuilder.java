@@ -124,6 +124,7 @@ public final class SchemaCrawlerOptionsBuilder
   private Optional<InclusionRule> grepRoutineParameterInclusionRule;
   private boolean isNoEmptyTables;
   private boolean isLoadRowCounts;
+  private boolean isFreezeCatalog;
   private int parentTableFilterDepth;
   private InclusionRule routineInclusionRule;
 
@@ -268,6 +269,7 @@ public final class SchemaCrawlerOptionsBuilder
 
     isNoEmptyTables = options.isNoEmptyTables();
     isLoadRowCounts = options.isLoadRowCounts();
+    isFreezeCatalog = options.isFreezeCatalog();
 
     childTableFilterDepth = options.getChildTableFilterDepth();
     parentTableFilterDepth = options.getParentTableFilterDepth();
@@ -316,6 +318,7 @@ public final class SchemaCrawlerOptionsBuilder
                                     grepOnlyMatching,
                                     isNoEmptyTables,
                                     isLoadRowCounts,
+                                    isFreezeCatalog,
                                     childTableFilterDepth,
                                     parentTableFilterDepth);
   }
@@ -570,6 +573,25 @@ public final class SchemaCrawlerOptionsBuilder
     return this;
   }
 
+  /**
+   * Freezes the catalog once it has been crawled, so that its collections are
+   * shared, sorted and unmodifiable.
+   */
+  public final SchemaCrawlerOptionsBuilder freezeCatalog()
+  {
+    return freezeCatalog(true);
+  }
+
+  /**
+   * Freezes the catalog once it has been crawled, so that its collections are
+   * shared, sorted and unmodifiable.
+   */
+  public final SchemaCrawlerOptionsBuilder freezeCatalog(final boolean value)
+  {
+    isFreezeCatalog = value;
+    return this;
+  }
+
   public SchemaCrawlerOptionsBuilder parentTableFilterDepth(final int parentTableFilterDepth)
   {
     this.parentTableFilterDepth = Math.max(parentTableFilterDepth, 0);
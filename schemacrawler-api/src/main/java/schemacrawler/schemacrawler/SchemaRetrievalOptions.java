@@ -56,6 +56,15 @@ public final class SchemaRetrievalOptions
   private final boolean supportsSchemas;
   private final TypeMap typeMap;
   private final EnumDataTypeHelper enumDataTypeHelper;
+  private final int metadataRetrievalParallelism;
+  private final int fetchSize;
+  private final Map<InformationSchemaKey, Integer> fetchSizes;
+  private final boolean adaptiveFetchSize;
+  private final int tableRowCountsParallelism;
+  private final int tableRowCountsQueryTimeout;
+  private final boolean estimatedTableRowCounts;
+  private final int tableChangesSafetyMargin;
+  private final boolean tableChangesTimestamp;
   EnumMap<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy> metadataRetrievalStrategyMap;
 
   protected SchemaRetrievalOptions(final SchemaRetrievalOptionsBuilder builder)
@@ -70,6 +79,15 @@ public final class SchemaRetrievalOptions
     typeMap = bldr.overridesTypeMap.orElse(new TypeMap());
     enumDataTypeHelper = bldr.enumDataTypeHelper;
     metadataRetrievalStrategyMap = new EnumMap<>(bldr.metadataRetrievalStrategyMap);
+    metadataRetrievalParallelism = bldr.metadataRetrievalParallelism;
+    fetchSize = bldr.fetchSize;
+    fetchSizes = new EnumMap<>(bldr.fetchSizes);
+    adaptiveFetchSize = bldr.adaptiveFetchSize;
+    tableRowCountsParallelism = bldr.tableRowCountsParallelism;
+    tableRowCountsQueryTimeout = bldr.tableRowCountsQueryTimeout;
+    estimatedTableRowCounts = bldr.estimatedTableRowCounts;
+    tableChangesSafetyMargin = bldr.tableChangesSafetyMargin;
+    tableChangesTimestamp = bldr.tableChangesTimestamp;
   }
 
   public EnumDataTypeHelper getEnumDataTypeHelper()
@@ -88,6 +106,32 @@ public final class SchemaRetrievalOptions
     return metadataRetrievalStrategyMap.get(schemaInfoMetadataRetrievalStrategy);
   }
 
+  /**
+   * Number of rows that are fetched from the database at a time, for metadata
+   * result sets.
+   *
+   * @return Default fetch size
+   */
+  public int getFetchSize()
+  {
+    return fetchSize;
+  }
+
+  /**
+   * Number of rows that are fetched from the database at a time, for the
+   * result set of a data dictionary query. Falls back to the default fetch
+   * size, if none is set for the query.
+   *
+   * @param informationSchemaKey
+   *   Data dictionary query
+   * @return Fetch size for the query
+   */
+  public int getFetchSize(final InformationSchemaKey informationSchemaKey)
+  {
+    requireNonNull(informationSchemaKey, "No information schema key provided");
+    return fetchSizes.getOrDefault(informationSchemaKey, fetchSize);
+  }
+
   public String getIdentifierQuoteString()
   {
     if (!hasOverrideForIdentifierQuoteString())
@@ -107,6 +151,50 @@ public final class SchemaRetrievalOptions
     return informationSchemaViews;
   }
 
+  /**
+   * Number of connections that metadata retrieval can be spread across, when
+   * connections are available for each retrieval shard.
+   *
+   * @return Number of parallel metadata retrieval connections
+   */
+  public int getMetadataRetrievalParallelism()
+  {
+    return metadataRetrievalParallelism;
+  }
+
+  /**
+   * Number of connections that table row counts can be spread across, when
+   * connections are available.
+   *
+   * @return Number of parallel table row count connections
+   */
+  public int getTableRowCountsParallelism()
+  {
+    return tableRowCountsParallelism;
+  }
+
+  /**
+   * Number of seconds before the previous crawl, that tables need to have
+   * been last modified, to be taken to be unchanged on an incremental crawl.
+   *
+   * @return Safety margin in seconds, or 0 for none
+   */
+  public int getTableChangesSafetyMargin()
+  {
+    return tableChangesSafetyMargin;
+  }
+
+  /**
+   * Number of seconds that a single table row count query is allowed to run,
+   * before it is cancelled.
+   *
+   * @return Query timeout in seconds, or 0 for no timeout
+   */
+  public int getTableRowCountsQueryTimeout()
+  {
+    return tableRowCountsQueryTimeout;
+  }
+
   public TypeMap getTypeMap()
   {
     return typeMap;
@@ -122,6 +210,28 @@ public final class SchemaRetrievalOptions
     return typeMap != null;
   }
 
+  /**
+   * Whether the fetch size of metadata result sets grows geometrically, for as
+   * long as rows keep arriving.
+   *
+   * @return True if the fetch size is adaptive
+   */
+  public boolean isAdaptiveFetchSize()
+  {
+    return adaptiveFetchSize;
+  }
+
+  /**
+   * Whether table row counts are estimated from database statistics, where
+   * the database plugin provides a query for them.
+   *
+   * @return True if table row counts are estimated
+   */
+  public boolean isEstimatedTableRowCounts()
+  {
+    return estimatedTableRowCounts;
+  }
+
   public boolean isSupportsCatalogs()
   {
     return supportsCatalogs;
@@ -132,6 +242,18 @@ public final class SchemaRetrievalOptions
     return supportsSchemas;
   }
 
+  /**
+   * Whether the database time is recorded at the start of every crawl, and
+   * not only of incremental crawls, so that the catalog can be the previous
+   * catalog of an incremental crawl.
+   *
+   * @return True if the database time is recorded on every crawl
+   */
+  public boolean isTableChangesTimestamp()
+  {
+    return tableChangesTimestamp;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -141,6 +263,11 @@ public final class SchemaRetrievalOptions
     return ObjectToString.toString(this);
   }
 
+  Map<InformationSchemaKey, Integer> getFetchSizes()
+  {
+    return new EnumMap<>(fetchSizes);
+  }
+
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy> getMetadataRetrievalStrategyMap()
   {
     return new EnumMap<>(metadataRetrievalStrategyMap);
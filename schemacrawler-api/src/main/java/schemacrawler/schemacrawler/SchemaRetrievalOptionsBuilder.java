@@ -55,6 +55,17 @@ public final class SchemaRetrievalOptionsBuilder
   implements OptionsBuilder<SchemaRetrievalOptionsBuilder, SchemaRetrievalOptions>
 {
 
+  private static final String METADATA_RETRIEVAL_PARALLELISM = "schemacrawler.schema.retrieval.parallelism";
+  private static final String FETCH_SIZE = "schemacrawler.schema.retrieval.fetch_size";
+  private static final String ADAPTIVE_FETCH_SIZE = "schemacrawler.schema.retrieval.fetch_size.adaptive";
+  private static final String FETCH_SIZE_SUFFIX = ".fetch_size";
+  private static final int DEFAULT_FETCH_SIZE = 20;
+  private static final String TABLE_ROW_COUNTS_PARALLELISM = "schemacrawler.table.row_counts.parallelism";
+  private static final String TABLE_ROW_COUNTS_QUERY_TIMEOUT = "schemacrawler.table.row_counts.query_timeout";
+  private static final String ESTIMATED_TABLE_ROW_COUNTS = "schemacrawler.table.row_counts.estimated";
+  private static final String TABLE_CHANGES_SAFETY_MARGIN = "schemacrawler.table.changes.safety_margin";
+  private static final String TABLE_CHANGES_TIMESTAMP = "schemacrawler.table.changes.timestamp";
+
   public static SchemaRetrievalOptionsBuilder builder()
   {
     return new SchemaRetrievalOptionsBuilder();
@@ -88,6 +99,15 @@ public final class SchemaRetrievalOptionsBuilder
   boolean supportsSchemas;
   EnumDataTypeHelper enumDataTypeHelper;
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy> metadataRetrievalStrategyMap;
+  int metadataRetrievalParallelism;
+  int fetchSize;
+  Map<InformationSchemaKey, Integer> fetchSizes;
+  boolean adaptiveFetchSize;
+  int tableRowCountsParallelism;
+  int tableRowCountsQueryTimeout;
+  boolean estimatedTableRowCounts;
+  int tableChangesSafetyMargin;
+  boolean tableChangesTimestamp;
 
   private SchemaRetrievalOptionsBuilder()
   {
@@ -107,6 +127,15 @@ public final class SchemaRetrievalOptionsBuilder
     {
       metadataRetrievalStrategyMap.put(key, metadata);
     }
+    metadataRetrievalParallelism = 1;
+    fetchSize = DEFAULT_FETCH_SIZE;
+    fetchSizes = new EnumMap<>(InformationSchemaKey.class);
+    adaptiveFetchSize = false;
+    tableRowCountsParallelism = 1;
+    tableRowCountsQueryTimeout = 0;
+    estimatedTableRowCounts = false;
+    tableChangesSafetyMargin = 0;
+    tableChangesTimestamp = false;
   }
 
   @Override
@@ -134,6 +163,29 @@ public final class SchemaRetrievalOptionsBuilder
       metadataRetrievalStrategyMap.put(key, configValue);
     }
 
+    withMetadataRetrievalParallelism(configProperties.getIntegerValue(METADATA_RETRIEVAL_PARALLELISM,
+                                                                      metadataRetrievalParallelism));
+
+    withFetchSize(configProperties.getIntegerValue(FETCH_SIZE, fetchSize));
+    for (final InformationSchemaKey key : InformationSchemaKey.values())
+    {
+      final String fetchSizeKey = key.getLookupKey() + FETCH_SIZE_SUFFIX;
+      if (configProperties.hasValue(fetchSizeKey))
+      {
+        withFetchSize(key, configProperties.getIntegerValue(fetchSizeKey, fetchSize));
+      }
+    }
+    adaptiveFetchSize = configProperties.getBooleanValue(ADAPTIVE_FETCH_SIZE, adaptiveFetchSize);
+
+    withTableRowCountsParallelism(configProperties.getIntegerValue(TABLE_ROW_COUNTS_PARALLELISM,
+                                                                   tableRowCountsParallelism));
+    withTableRowCountsQueryTimeout(configProperties.getIntegerValue(TABLE_ROW_COUNTS_QUERY_TIMEOUT,
+                                                                    tableRowCountsQueryTimeout));
+    estimatedTableRowCounts = configProperties.getBooleanValue(ESTIMATED_TABLE_ROW_COUNTS, estimatedTableRowCounts);
+    withTableChangesSafetyMargin(configProperties.getIntegerValue(TABLE_CHANGES_SAFETY_MARGIN,
+                                                                  tableChangesSafetyMargin));
+    tableChangesTimestamp = configProperties.getBooleanValue(TABLE_CHANGES_TIMESTAMP, tableChangesTimestamp);
+
     return this;
   }
 
@@ -155,6 +207,15 @@ public final class SchemaRetrievalOptionsBuilder
     identifiers = options.getIdentifiers();
     overridesTypeMap = Optional.empty();
     metadataRetrievalStrategyMap = options.getMetadataRetrievalStrategyMap();
+    metadataRetrievalParallelism = options.getMetadataRetrievalParallelism();
+    fetchSize = options.getFetchSize();
+    fetchSizes = options.getFetchSizes();
+    adaptiveFetchSize = options.isAdaptiveFetchSize();
+    tableRowCountsParallelism = options.getTableRowCountsParallelism();
+    tableRowCountsQueryTimeout = options.getTableRowCountsQueryTimeout();
+    estimatedTableRowCounts = options.isEstimatedTableRowCounts();
+    tableChangesSafetyMargin = options.getTableChangesSafetyMargin();
+    tableChangesTimestamp = options.isTableChangesTimestamp();
 
     return this;
   }
@@ -278,6 +339,70 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Sets the number of rows that are fetched from the database at a time, for
+   * all metadata result sets.
+   *
+   * @param fetchSize
+   *   Number of rows, which is ignored if it is not positive
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(final int fetchSize)
+  {
+    if (fetchSize > 0)
+    {
+      this.fetchSize = fetchSize;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the number of rows that are fetched from the database at a time, for
+   * the result set of a data dictionary query. Large queries, such as table
+   * columns, benefit from a much larger fetch size than the default.
+   *
+   * @param informationSchemaKey
+   *   Data dictionary query
+   * @param fetchSize
+   *   Number of rows, which is ignored if it is not positive
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(final InformationSchemaKey informationSchemaKey,
+                                                     final int fetchSize)
+  {
+    if (informationSchemaKey != null && fetchSize > 0)
+    {
+      fetchSizes.put(informationSchemaKey, fetchSize);
+    }
+    return this;
+  }
+
+  /**
+   * Grows the fetch size of metadata result sets geometrically, for as long as
+   * rows keep arriving, starting from the configured fetch size.
+   *
+   * @param adaptiveFetchSize
+   *   Whether the fetch size should grow
+   */
+  public SchemaRetrievalOptionsBuilder withAdaptiveFetchSize(final boolean adaptiveFetchSize)
+  {
+    this.adaptiveFetchSize = adaptiveFetchSize;
+    return this;
+  }
+
+  /**
+   * Estimates table row counts from database statistics, such as the number of
+   * rows recorded when the table was last analyzed, rather than by counting
+   * rows. Tables without statistics are still counted. The database plugin
+   * needs to provide a table row counts query.
+   *
+   * @param estimatedTableRowCounts
+   *   Whether table row counts are estimated
+   */
+  public SchemaRetrievalOptionsBuilder withEstimatedTableRowCounts(final boolean estimatedTableRowCounts)
+  {
+    this.estimatedTableRowCounts = estimatedTableRowCounts;
+    return this;
+  }
+
   /**
    * Overrides the JDBC driver provided information about the identifier quote string.
    *
@@ -325,6 +450,110 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Spreads metadata retrieval for tables, columns, indexes and foreign keys
+   * across a number of connections, one shard of schemas or tables at a time.
+   * Connections are only available when the crawl is given a connection
+   * supplier, otherwise metadata is retrieved on the crawl connection.
+   *
+   * @param metadataRetrievalParallelism
+   *   Number of connections to use, with 1 for serial retrieval
+   */
+  public SchemaRetrievalOptionsBuilder withMetadataRetrievalParallelism(final int metadataRetrievalParallelism)
+  {
+    if (metadataRetrievalParallelism < 1)
+    {
+      this.metadataRetrievalParallelism = 1;
+    }
+    else
+    {
+      this.metadataRetrievalParallelism = metadataRetrievalParallelism;
+    }
+    return this;
+  }
+
+  /**
+   * Spreads table row counts across a number of connections. Connections are
+   * only available when the crawl is given a connection supplier, otherwise
+   * rows are counted on the crawl connection.
+   *
+   * @param tableRowCountsParallelism
+   *   Number of connections to use, with 1 for serial counts
+   */
+  public SchemaRetrievalOptionsBuilder withTableRowCountsParallelism(final int tableRowCountsParallelism)
+  {
+    if (tableRowCountsParallelism < 1)
+    {
+      this.tableRowCountsParallelism = 1;
+    }
+    else
+    {
+      this.tableRowCountsParallelism = tableRowCountsParallelism;
+    }
+    return this;
+  }
+
+  /**
+   * Moves the time before which tables are taken to be unchanged back from
+   * the time of the previous crawl, for incremental crawls. This allows for
+   * differences between the database clock and the clock used to record the
+   * previous crawl, when the database plugin cannot provide the database
+   * time.
+   *
+   * @param tableChangesSafetyMargin
+   *   Safety margin in seconds, with 0 for none
+   */
+  public SchemaRetrievalOptionsBuilder withTableChangesSafetyMargin(final int tableChangesSafetyMargin)
+  {
+    if (tableChangesSafetyMargin < 0)
+    {
+      this.tableChangesSafetyMargin = 0;
+    }
+    else
+    {
+      this.tableChangesSafetyMargin = tableChangesSafetyMargin;
+    }
+    return this;
+  }
+
+  /**
+   * Records the database time at the start of a crawl, so that the catalog can
+   * be the previous catalog of an incremental crawl. Incremental crawls always
+   * record it. Without it, the next incremental crawl compares table
+   * modification times with the client time of the previous crawl, less the
+   * safety margin. The database plugin needs to provide a database timestamp
+   * query.
+   *
+   * @param tableChangesTimestamp
+   *   Whether the database time is recorded on every crawl
+   */
+  public SchemaRetrievalOptionsBuilder withTableChangesTimestamp(final boolean tableChangesTimestamp)
+  {
+    this.tableChangesTimestamp = tableChangesTimestamp;
+    return this;
+  }
+
+  /**
+   * Limits the time that a single table row count query is allowed to run, so
+   * that one very large table does not hold up the crawl. Tables that time out
+   * do not have a row count.
+   *
+   * @param tableRowCountsQueryTimeout
+   *   Query timeout in seconds, with 0 for no timeout
+   */
+  public SchemaRetrievalOptionsBuilder withTableRowCountsQueryTimeout(final int tableRowCountsQueryTimeout)
+  {
+    if (tableRowCountsQueryTimeout < 0)
+    {
+      this.tableRowCountsQueryTimeout = 0;
+    }
+    else
+    {
+      this.tableRowCountsQueryTimeout = tableRowCountsQueryTimeout;
+    }
+    return this;
+  }
+
   public SchemaRetrievalOptionsBuilder withoutIdentifierQuoteString()
   {
     identifierQuoteString = "";
@@ -0,0 +1,169 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.utility;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlMetric;
+import sf.util.UtilityMarker;
+
+/**
+ * Exports crawl metrics in a machine-readable form, so that crawls of
+ * different databases, or of the same database over time, can be compared.
+ */
+@UtilityMarker
+public final class CrawlMetricsUtility
+{
+
+  /**
+   * Gets the crawl metrics as a JSON document, with the run id and timestamp
+   * of the crawl, and a "crawl-metrics" array with one object per crawl step.
+   * Durations are in nanoseconds.
+   *
+   * @param crawlInfo
+   *   Crawl information
+   * @return JSON document
+   */
+  public static String toJson(final CrawlInfo crawlInfo)
+  {
+    final StringWriter writer = new StringWriter();
+    try
+    {
+      writeJson(crawlInfo, writer);
+    }
+    catch (final IOException e)
+    {
+      // Not thrown by a string writer
+      throw new IllegalStateException(e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Writes the crawl metrics as a JSON document.
+   *
+   * @param crawlInfo
+   *   Crawl information
+   * @param writer
+   *   Writer for the JSON document, which is not closed
+   * @throws IOException
+   *   On an exception writing the document
+   * @see #toJson(CrawlInfo)
+   */
+  public static void writeJson(final CrawlInfo crawlInfo, final Writer writer)
+    throws IOException
+  {
+    requireNonNull(crawlInfo, "No crawl information provided");
+    requireNonNull(writer, "No writer provided");
+
+    writer.write("{\n");
+    writer.write("  \"run-id\": ");
+    writeString(String.valueOf(crawlInfo.getRunId()), writer);
+    writer.write(",\n  \"crawl-timestamp\": ");
+    writeString(String.valueOf(crawlInfo.getCrawlTimestamp()), writer);
+    writer.write(",\n  \"crawl-metrics\": [");
+    final List<CrawlMetric> crawlMetrics = crawlInfo.getCrawlMetrics();
+    for (int i = 0; i < crawlMetrics.size(); i++)
+    {
+      final CrawlMetric crawlMetric = crawlMetrics.get(i);
+      if (i > 0)
+      {
+        writer.write(",");
+      }
+      writer.write("\n    {\"phase\": ");
+      writeString(crawlMetric.getPhase(), writer);
+      writer.write(", \"step\": ");
+      writeString(crawlMetric.getStep(), writer);
+      writer.write(", \"duration-nanos\": ");
+      writer.write(String.valueOf(crawlMetric
+                                    .getDuration()
+                                    .toNanos()));
+      writer.write(", \"metadata-call-count\": ");
+      writer.write(String.valueOf(crawlMetric.getMetadataCallCount()));
+      writer.write(", \"metadata-row-count\": ");
+      writer.write(String.valueOf(crawlMetric.getMetadataRowCount()));
+      writer.write("}");
+    }
+    if (!crawlMetrics.isEmpty())
+    {
+      writer.write("\n  ");
+    }
+    writer.write("]\n}\n");
+  }
+
+  private static void writeString(final String value, final Writer writer)
+    throws IOException
+  {
+    writer.write('"');
+    for (int i = 0; i < value.length(); i++)
+    {
+      final char ch = value.charAt(i);
+      switch (ch)
+      {
+        case '"':
+          writer.write("\\\"");
+          break;
+        case '\\':
+          writer.write("\\\\");
+          break;
+        case '\n':
+          writer.write("\\n");
+          break;
+        case '\r':
+          writer.write("\\r");
+          break;
+        case '\t':
+          writer.write("\\t");
+          break;
+        default:
+          if (ch < 0x20)
+          {
+            writer.write(String.format("\\u%04x", (int) ch));
+          }
+          else
+          {
+            writer.write(ch);
+          }
+      }
+    }
+    writer.write('"');
+  }
+
+  private CrawlMetricsUtility()
+  {
+    // Prevent instantiation
+  }
+
+}
@@ -185,24 +185,36 @@ public final class DatabaseUtility
     throws SchemaCrawlerException
   {
     final Object longValue = executeSqlForScalar(connection, sql);
-    // Error checking
-    if (longValue == null || !(longValue instanceof Number))
-    {
-      throw new SchemaCrawlerException(
-        "Cannot get an integer value result from SQL");
-    }
+    return toLong(longValue);
+  }
 
-    return ((Number) longValue).longValue();
+  public static long executeSqlForLong(final Statement statement,
+                                       final String sql)
+    throws SchemaCrawlerException
+  {
+    final Object longValue = executeSqlForScalar(statement, sql);
+    return toLong(longValue);
   }
 
   public static Object executeSqlForScalar(final Connection connection,
                                            final String sql)
     throws SchemaCrawlerException
   {
-    try (
-      final Statement statement = createStatement(connection);
-      final ResultSet resultSet = executeSql(statement, sql)
-    )
+    try (final Statement statement = createStatement(connection))
+    {
+      return executeSqlForScalar(statement, sql);
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException(sql, e);
+    }
+  }
+
+  public static Object executeSqlForScalar(final Statement statement,
+                                           final String sql)
+    throws SchemaCrawlerException
+  {
+    try (final ResultSet resultSet = executeSql(statement, sql))
     {
       if (resultSet == null)
       {
@@ -352,6 +364,19 @@ public final class DatabaseUtility
     return values;
   }
 
+  private static long toLong(final Object longValue)
+    throws SchemaCrawlerException
+  {
+    // Error checking
+    if (longValue == null || !(longValue instanceof Number))
+    {
+      throw new SchemaCrawlerException(
+        "Cannot get an integer value result from SQL");
+    }
+
+    return ((Number) longValue).longValue();
+  }
+
   private DatabaseUtility()
   { // Prevent instantiation
   }
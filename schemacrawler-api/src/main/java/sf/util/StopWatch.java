@@ -56,6 +56,20 @@ public final class StopWatch
     .toFormatter();
 
 
+  /**
+   * Notified when each task starts and stops, so that measurements can be
+   * taken around the task.
+   */
+  public interface TaskListener
+  {
+
+    void taskStarted(String id, String taskName);
+
+    void taskStopped(String id, String taskName, Duration duration);
+
+  }
+
+
   private static final class TaskInfo
   {
 
@@ -84,6 +98,7 @@ public final class StopWatch
 
 
   private final String id;
+  private final TaskListener taskListener;
   private final List<TaskInfo> tasks = new LinkedList<>();
   private String currentTaskName;
   private boolean running;
@@ -92,8 +107,14 @@ public final class StopWatch
   private Duration totalDuration;
 
   public StopWatch(final String id)
+  {
+    this(id, null);
+  }
+
+  public StopWatch(final String id, final TaskListener taskListener)
   {
     this.id = id;
+    this.taskListener = taskListener;
     totalDuration = Duration.ofNanos(0);
   }
 
@@ -160,6 +181,10 @@ public final class StopWatch
 
     running = true;
     currentTaskName = taskName;
+    if (taskListener != null)
+    {
+      taskListener.taskStarted(id, taskName);
+    }
     start = Instant.now();
   }
 
@@ -179,6 +204,10 @@ public final class StopWatch
 
     final TaskInfo lastTaskInfo = new TaskInfo(currentTaskName, runTime);
     tasks.add(lastTaskInfo);
+    if (taskListener != null)
+    {
+      taskListener.taskStopped(id, currentTaskName, runTime);
+    }
 
     running = false;
     currentTaskName = null;
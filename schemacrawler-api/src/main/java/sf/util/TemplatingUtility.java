@@ -31,12 +31,17 @@ package sf.util;
 
 import static sf.util.Utility.isBlank;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Configuration properties.
@@ -47,9 +52,40 @@ import java.util.Set;
 public final class TemplatingUtility
 {
 
+  private static final Pattern BIND_VARIABLE = Pattern.compile("\\?\\{([^{}]+)}");
   private static final String DELIMITER_END = "}";
   private static final String DELIMITER_START = "${";
 
+  /**
+   * Expands bind variables in a template, using the replacement for each
+   * variable. Bind variables in the template are in the form of ?{variable}.
+   *
+   * @param template
+   *   Template to expand.
+   * @param replacement
+   *   Replacement text for each variable name
+   * @return Expanded template
+   */
+  public static String expandBindVariables(final String template,
+                                           final Function<String, String> replacement)
+  {
+    if (isBlank(template) || replacement == null)
+    {
+      return template;
+    }
+
+    final Matcher matcher = BIND_VARIABLE.matcher(template);
+    final StringBuffer buffer = new StringBuffer(template.length());
+    while (matcher.find())
+    {
+      matcher.appendReplacement(buffer,
+                                Matcher.quoteReplacement(replacement.apply(
+                                  matcher.group(1))));
+    }
+    matcher.appendTail(buffer);
+    return buffer.toString();
+  }
+
   /**
    * Expands a template using system properties. Variables in the template are
    * in the form of ${variable}.
@@ -141,6 +177,31 @@ public final class TemplatingUtility
     }
   }
 
+  /**
+   * Extracts bind variables from the template, in the order in which they
+   * appear. Bind variables are in the form of ?{variable}, and may appear
+   * more than once.
+   *
+   * @param template
+   *   Template to extract bind variables from.
+   * @return Extracted bind variables
+   */
+  public static List<String> extractBindVariables(final String template)
+  {
+    if (isBlank(template))
+    {
+      return new ArrayList<>();
+    }
+
+    final List<String> bindVariables = new ArrayList<>();
+    final Matcher matcher = BIND_VARIABLE.matcher(template);
+    while (matcher.find())
+    {
+      bindVariables.add(matcher.group(1));
+    }
+    return bindVariables;
+  }
+
   /**
    * Extracts variables from the template. Variables are in the form of
    * ${variable}.
@@ -0,0 +1,110 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class CompactAttributeMapTest
+{
+
+  @Test
+  public void sharedNamesAreNotChanged()
+  {
+    final String[] names = { "A", "B", "C" };
+    final CompactAttributeMap first =
+      new CompactAttributeMap(names, new Object[] { 1, 2, 3 });
+    final CompactAttributeMap second =
+      new CompactAttributeMap(names, new Object[] { 4, 5, 6 });
+
+    first.remove("B");
+    first.put("D", 7);
+    second.put("A", 8);
+
+    assertThat(names, arrayContaining("A", "B", "C"));
+
+    final Map<String, Object> expectedFirst = new HashMap<>();
+    expectedFirst.put("A", 1);
+    expectedFirst.put("C", 3);
+    expectedFirst.put("D", 7);
+    assertThat(first, is(expectedFirst));
+
+    final Map<String, Object> expectedSecond = new HashMap<>();
+    expectedSecond.put("A", 8);
+    expectedSecond.put("B", 5);
+    expectedSecond.put("C", 6);
+    assertThat(second, is(expectedSecond));
+  }
+
+  @Test
+  public void copiesHaveTheirOwnValues()
+  {
+    final CompactAttributeMap map =
+      new CompactAttributeMap(new String[] { "A", "B" },
+                              new Object[] { 1, null });
+    final CompactAttributeMap copy = new CompactAttributeMap(map);
+
+    copy.put("A", 2);
+    copy.remove("B");
+    map.put("C", 3);
+
+    assertThat(map.size(), is(3));
+    assertThat(map, hasEntry("A", (Object) 1));
+    assertThat(map.containsKey("B"), is(true));
+    assertThat(map.get("B"), is(nullValue()));
+    assertThat(copy.size(), is(1));
+    assertThat(copy, hasEntry("A", (Object) 2));
+  }
+
+  @Test
+  public void attributesAreAllocatedWhenUsed()
+  {
+    final MutableColumnDataType dataType =
+      new MutableColumnDataType(new SchemaReference(), "type");
+    assertThat(dataType.getAttributes(), is(anEmptyMap()));
+    assertThat(dataType.hasAttribute("A"), is(false));
+    assertThat(dataType.getAttribute("A", "default"), is("default"));
+
+    dataType.setAttribute("A", "value");
+    assertThat(dataType.getAttributes(), hasEntry("A", (Object) "value"));
+
+    dataType.setAttribute("A", null);
+    assertThat(dataType.getAttributes(), is(anEmptyMap()));
+  }
+
+}
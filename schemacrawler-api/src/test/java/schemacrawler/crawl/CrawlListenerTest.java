@@ -0,0 +1,251 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CrawlListenerTest
+{
+
+  private static final class RecordingCrawlListener
+    implements CrawlListener
+  {
+
+    private final List<String> foreignKeys = new ArrayList<>();
+    private final Map<String, List<String>> tables = new HashMap<>();
+    private int tableForeignKeyCount;
+    private boolean tableAfterForeignKeys;
+
+    @Override
+    public void handle(final ForeignKey foreignKey)
+    {
+      foreignKeys.add(foreignKey.getFullName());
+    }
+
+    @Override
+    public void handle(final Table table)
+    {
+      if (!foreignKeys.isEmpty())
+      {
+        tableAfterForeignKeys = true;
+      }
+      tableForeignKeyCount = tableForeignKeyCount + table
+        .getForeignKeys()
+        .size();
+      tables.put(table.getFullName(), describe(table));
+    }
+
+  }
+
+  private static List<String> describe(final Table table)
+  {
+    final List<String> description = new ArrayList<>();
+    for (final Column column : table.getColumns())
+    {
+      description.add("column " + column.getFullName());
+    }
+    if (table.hasPrimaryKey())
+    {
+      description.add("primary key " + table
+        .getPrimaryKey()
+        .getFullName());
+    }
+    for (final Index index : table.getIndexes())
+    {
+      description.add("index " + index.getFullName());
+    }
+    return description;
+  }
+
+  private static List<String> foreignKeys(final Catalog catalog)
+  {
+    final Set<String> foreignKeys = new LinkedHashSet<>();
+    for (final Table table : catalog.getTables())
+    {
+      for (final ForeignKey foreignKey : table.getForeignKeys())
+      {
+        foreignKeys.add(foreignKey.getFullName());
+      }
+    }
+    final List<String> sortedForeignKeys = new ArrayList<>(foreignKeys);
+    Collections.sort(sortedForeignKeys);
+    return sortedForeignKeys;
+  }
+
+  private static SchemaCrawlerOptionsBuilder schemaCrawlerOptionsBuilder()
+  {
+    return SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeAllRoutines();
+  }
+
+  private static Map<String, List<String>> tables(final Catalog catalog)
+  {
+    final Map<String, List<String>> tables = new HashMap<>();
+    for (final Table table : catalog.getTables())
+    {
+      tables.put(table.getFullName(), describe(table));
+    }
+    return tables;
+  }
+
+  private static void assertStreamed(final RecordingCrawlListener crawlListener,
+                                     final Catalog catalog)
+  {
+    final List<String> foreignKeys = foreignKeys(catalog);
+    assertThat(foreignKeys, is(not(empty())));
+
+    assertThat(crawlListener.tables, is(equalTo(tables(catalog))));
+    // Tables are handed over before foreign keys are retrieved
+    assertThat(crawlListener.tableForeignKeyCount, is(0));
+    assertThat(crawlListener.tableAfterForeignKeys, is(false));
+
+    Collections.sort(crawlListener.foreignKeys);
+    assertThat(crawlListener.foreignKeys, is(equalTo(foreignKeys)));
+  }
+
+  @Test
+  public void crawlListenerReceivesTablesThenForeignKeys(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(loadHsqldbConfig());
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(connection,
+                                                          schemaRetrievalOptions,
+                                                          schemaCrawlerOptionsBuilder().toOptions());
+    final RecordingCrawlListener crawlListener = new RecordingCrawlListener();
+    schemaCrawler.setCrawlListener(crawlListener);
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(catalog.getTables(), is(not(empty())));
+    assertStreamed(crawlListener, catalog);
+  }
+
+  @Test
+  public void crawlListenerReceivesTablesFromMetadata(final Connection connection)
+    throws Exception
+  {
+    // Columns, primary keys and indexes are retrieved a batch of tables at
+    // a time
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(connection,
+                                                          SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+                                                          schemaCrawlerOptionsBuilder().toOptions());
+    final RecordingCrawlListener crawlListener = new RecordingCrawlListener();
+    schemaCrawler.setCrawlListener(crawlListener);
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(catalog.getTables(), is(not(empty())));
+    assertStreamed(crawlListener, catalog);
+  }
+
+  @Test
+  public void crawlListenerReceivesTablesInParallel(final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(loadHsqldbConfig());
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(() -> {
+      try
+      {
+        return DriverManager.getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+      }
+      catch (final SQLException e)
+      {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    }, schemaRetrievalOptions, schemaCrawlerOptionsBuilder().toOptions());
+    final RecordingCrawlListener crawlListener = new RecordingCrawlListener();
+    schemaCrawler.setCrawlListener(crawlListener);
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(catalog.getTables(), is(not(empty())));
+    assertStreamed(crawlListener, catalog);
+  }
+
+  @Test
+  public void crawlListenerReceivesFilteredTablesOnceCrawled(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(loadHsqldbConfig());
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(connection,
+                                                          schemaRetrievalOptions,
+                                                          schemaCrawlerOptionsBuilder()
+                                                            .loadRowCounts()
+                                                            .noEmptyTables()
+                                                            .toOptions());
+    final RecordingCrawlListener crawlListener = new RecordingCrawlListener();
+    schemaCrawler.setCrawlListener(crawlListener);
+    final Catalog catalog = schemaCrawler.crawl();
+
+    // Empty tables are filtered out once row counts are known, so tables
+    // are handed over, with their foreign keys, once the crawl is complete
+    assertThat(crawlListener.tables, is(equalTo(tables(catalog))));
+    assertThat(crawlListener.tableForeignKeyCount, is(not(0)));
+    assertThat(crawlListener.tableAfterForeignKeys, is(false));
+    Collections.sort(crawlListener.foreignKeys);
+    assertThat(crawlListener.foreignKeys, is(equalTo(foreignKeys(catalog))));
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CrawlMetric;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.utility.CrawlMetricsUtility;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CrawlMetricsTest
+{
+
+  private static CrawlMetric findCrawlMetric(final List<CrawlMetric> crawlMetrics,
+                                             final String phase,
+                                             final String step)
+  {
+    for (final CrawlMetric crawlMetric : crawlMetrics)
+    {
+      if (crawlMetric
+            .getPhase()
+            .equals(phase) && crawlMetric
+            .getStep()
+            .equals(step))
+      {
+        return crawlMetric;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void crawlMetrics(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .toOptions();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final List<CrawlMetric> crawlMetrics = catalog
+      .getCrawlInfo()
+      .getCrawlMetrics();
+    for (final CrawlMetric crawlMetric : crawlMetrics)
+    {
+      assertThat(crawlMetric.getDuration(),
+                 is(greaterThanOrEqualTo(Duration.ZERO)));
+      assertThat(crawlMetric.getMetadataCallCount(),
+                 is(greaterThanOrEqualTo(0L)));
+      assertThat(crawlMetric.getMetadataRowCount(),
+                 is(greaterThanOrEqualTo(0L)));
+    }
+
+    final CrawlMetric retrieveTables =
+      findCrawlMetric(crawlMetrics, "crawlTables", "retrieveTables");
+    assertThat(retrieveTables, is(not(nullValue())));
+    assertThat(retrieveTables.getMetadataCallCount(), is(greaterThan(0L)));
+    assertThat(retrieveTables.getMetadataRowCount(), is(greaterThan(0L)));
+
+    final CrawlMetric retrieveColumns =
+      findCrawlMetric(crawlMetrics, "crawlTables", "retrieveColumns");
+    assertThat(retrieveColumns, is(not(nullValue())));
+    assertThat(retrieveColumns.getMetadataRowCount(), is(greaterThan(0L)));
+
+    final String json = CrawlMetricsUtility.toJson(catalog.getCrawlInfo());
+    assertThat(json, containsString("\"run-id\": \"" + catalog
+      .getCrawlInfo()
+      .getRunId() + "\""));
+    assertThat(json,
+               containsString("{\"phase\": \"crawlTables\", \"step\": \"retrieveColumns\", "));
+  }
+
+}
@@ -35,6 +35,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata_over_schemas;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.foreignKeysRetrievalStrategy;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
@@ -47,7 +48,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
-import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -149,7 +150,42 @@ public class ForeignKeyRetrieverTest
     verifyRetrieveForeignKeys(catalog);
   }
 
-  @BeforeAll
+  @Test
+  @DisplayName("Retrieve foreign keys from metadata, using only imported keys")
+  public void fkFromImportedKeys(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+    final RetrieverConnection retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final ForeignKeyRetriever foreignKeyRetriever = new ForeignKeyRetriever(retrieverConnection, catalog, options);
+    foreignKeyRetriever.retrieveForeignKeys(catalog.getAllTables(), true);
+
+    verifyRetrieveForeignKeys(catalog);
+  }
+
+  @Test
+  @DisplayName("Retrieve foreign keys from metadata over schemas")
+  public void fkFromMetadataOverSchemas(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .with(foreignKeysRetrievalStrategy, metadata_over_schemas)
+      .toOptions();
+    final RetrieverConnection retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final ForeignKeyRetriever foreignKeyRetriever = new ForeignKeyRetriever(retrieverConnection, catalog, options);
+    foreignKeyRetriever.retrieveForeignKeys(catalog.getAllTables());
+
+    verifyRetrieveForeignKeys(catalog);
+  }
+
+  @BeforeEach
   public void loadBaseCatalog(final Connection connection)
     throws SchemaCrawlerException
   {
@@ -0,0 +1,183 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class FrozenCatalogTest
+{
+
+  private static List<String> describe(final Catalog catalog)
+  {
+    final List<String> description = new ArrayList<>();
+    for (final Schema schema : catalog.getSchemas())
+    {
+      description.add("schema " + schema.getFullName());
+    }
+    for (final Table table : catalog.getTables())
+    {
+      description.add("table " + table.getFullName());
+      for (final Column column : table.getColumns())
+      {
+        description.add("  column " + column.getFullName());
+      }
+      for (final ForeignKey foreignKey : table.getImportedForeignKeys())
+      {
+        description.add("  imported foreign key " + foreignKey.getFullName());
+      }
+      for (final ForeignKey foreignKey : table.getExportedForeignKeys())
+      {
+        description.add("  exported foreign key " + foreignKey.getFullName());
+      }
+      for (final Index index : table.getIndexes())
+      {
+        description.add("  index " + index.getFullName());
+      }
+    }
+    for (final Routine routine : catalog.getRoutines())
+    {
+      description.add("routine " + routine.getFullName() + " " + routine
+        .getParameters()
+        .size());
+    }
+    return description;
+  }
+
+  private static SchemaCrawlerOptionsBuilder schemaCrawlerOptionsBuilder()
+  {
+    return SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeAllRoutines();
+  }
+
+  @Test
+  public void frozenCatalogMatchesCatalog(final Connection connection)
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(connection,
+                                       schemaCrawlerOptionsBuilder().toOptions());
+    final Catalog frozenCatalog = getCatalog(connection,
+                                             schemaCrawlerOptionsBuilder()
+                                               .freezeCatalog()
+                                               .toOptions());
+
+    final List<String> description = describe(catalog);
+    assertThat(description, is(not(empty())));
+    assertThat(describe(frozenCatalog), is(equalTo(description)));
+  }
+
+  @Test
+  public void frozenCatalogCollectionsAreShared(final Connection connection)
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(connection,
+                                       schemaCrawlerOptionsBuilder()
+                                         .freezeCatalog()
+                                         .toOptions());
+
+    final Collection<Table> tables = catalog.getTables();
+    assertThat(tables, is(not(empty())));
+    assertThat(catalog.getTables(), is(sameInstance(tables)));
+    assertThrows(UnsupportedOperationException.class, () -> tables.clear());
+
+    final Table table = tables
+      .iterator()
+      .next();
+    final List<Column> columns = table.getColumns();
+    assertThat(table.getColumns(), is(sameInstance(columns)));
+    assertThrows(UnsupportedOperationException.class,
+                 () -> columns.remove(0));
+  }
+
+  @Test
+  public void catalogCollectionsAreCopies(final Connection connection)
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(connection,
+                                       schemaCrawlerOptionsBuilder().toOptions());
+
+    final Collection<Table> tables = catalog.getTables();
+    assertThat(catalog.getTables(), is(not(sameInstance(tables))));
+    tables.clear();
+    assertThat(catalog.getTables(), is(not(empty())));
+  }
+
+  @Test
+  public void frozenListIsRebuiltWhenModified()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema(null, "PUBLIC");
+    final MutableTable customer = new MutableTable(schema, "CUSTOMER");
+    final MutableTable invoice = new MutableTable(schema, "INVOICE");
+    final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
+    tables.add(invoice);
+    tables.freeze();
+
+    final List<MutableTable> values = tables.values();
+    assertThat(values, contains(invoice));
+    assertThat(tables.values(), is(sameInstance(values)));
+
+    tables.add(customer);
+    assertThat(tables.values(), contains(customer, invoice));
+
+    tables.remove(invoice);
+    assertThat(tables.values(), contains(customer));
+  }
+
+}
@@ -35,6 +35,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata_over_schemas;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.indexesRetrievalStrategy;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
@@ -46,7 +47,7 @@ import java.sql.Connection;
 import java.util.Arrays;
 import java.util.Collection;
 
-import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -138,7 +139,26 @@ public class IndexRetrieverTest
     verifyRetrieveIndexes(catalog);
   }
 
-  @BeforeAll
+  @Test
+  @DisplayName("Retrieve indexes from metadata over schemas")
+  public void indexesFromMetadataOverSchemas(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .with(indexesRetrievalStrategy, metadata_over_schemas)
+      .toOptions();
+    final RetrieverConnection retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final IndexRetriever indexRetriever = new IndexRetriever(retrieverConnection, catalog, options);
+    indexRetriever.retrieveIndexes(catalog.getAllTables());
+
+    verifyRetrieveIndexes(catalog);
+  }
+
+  @BeforeEach
   public void loadBaseCatalog(final Connection connection)
     throws SchemaCrawlerException
   {
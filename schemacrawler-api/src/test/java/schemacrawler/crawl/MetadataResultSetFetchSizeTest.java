@@ -0,0 +1,141 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class MetadataResultSetFetchSizeTest
+{
+
+  @Test
+  public void fetchSizeOptions()
+  {
+    final SchemaRetrievalOptions defaultOptions =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+    assertThat(defaultOptions.getFetchSize(), is(20));
+    assertThat(defaultOptions.getFetchSize(InformationSchemaKey.TABLE_COLUMNS),
+               is(20));
+    assertThat(defaultOptions.isAdaptiveFetchSize(), is(false));
+
+    final SchemaRetrievalOptions options = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withFetchSize(100)
+      .withFetchSize(InformationSchemaKey.TABLE_COLUMNS, 5000)
+      .withFetchSize(InformationSchemaKey.TABLES, -1)
+      .withAdaptiveFetchSize(true)
+      .toOptions();
+    assertThat(options.getFetchSize(), is(100));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLE_COLUMNS),
+               is(5000));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLES), is(100));
+    assertThat(options.isAdaptiveFetchSize(), is(true));
+
+    final SchemaRetrievalOptions copiedOptions =
+      SchemaRetrievalOptionsBuilder
+        .builder(options)
+        .toOptions();
+    assertThat(copiedOptions.getFetchSize(InformationSchemaKey.TABLE_COLUMNS),
+               is(5000));
+    assertThat(copiedOptions.isAdaptiveFetchSize(), is(true));
+  }
+
+  @Test
+  public void fetchSizeOptionsFromConfig()
+  {
+    final Config config = new Config();
+    config.put("schemacrawler.schema.retrieval.fetch_size", "50");
+    config.put(InformationSchemaKey.TABLE_COLUMNS.getLookupKey()
+               + ".fetch_size", "1000");
+    config.put("schemacrawler.schema.retrieval.fetch_size.adaptive", "true");
+
+    final SchemaRetrievalOptions options =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(config);
+    assertThat(options.getFetchSize(), is(50));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLE_COLUMNS),
+               is(1000));
+    assertThat(options.getFetchSize(InformationSchemaKey.INDEXES), is(50));
+    assertThat(options.isAdaptiveFetchSize(), is(true));
+  }
+
+  @Test
+  public void adaptiveFetchSizeReadsAllRows(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .toOptions();
+
+    final Catalog catalog = getCatalog(connection,
+                                       SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+                                       schemaCrawlerOptions);
+    final Map<String, Long> rowCounts = catalog
+      .getCrawlInfo()
+      .getMetadataRowCounts();
+    assertThat(rowCounts, hasKey("retrieveTablesFromMetadata"));
+    assertThat(rowCounts.get("retrieveTablesFromMetadata"),
+               is(greaterThan(0L)));
+
+    final SchemaRetrievalOptions adaptiveOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withFetchSize(1)
+      .withAdaptiveFetchSize(true)
+      .toOptions();
+    final Catalog adaptiveCatalog =
+      getCatalog(connection, adaptiveOptions, schemaCrawlerOptions);
+
+    assertThat(adaptiveCatalog.getTables().size(),
+               is(catalog.getTables().size()));
+    assertThat(adaptiveCatalog
+                 .getCrawlInfo()
+                 .getMetadataRowCounts(), is(equalTo(rowCounts)));
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class MetadataResultSetTest
+{
+
+  @Test
+  public void attributesFromUnreadColumns(final Connection connection)
+    throws Exception
+  {
+    final RetrieverConnection retrieverConnection =
+      new RetrieverConnection(connection,
+                              SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions());
+    try (
+      final Statement statement = connection.createStatement();
+      final MetadataResultSet results = new MetadataResultSet(statement.executeQuery(
+        "SELECT 1 AS ONE, 'two' AS TWO, 3 AS THREE, 'four' AS FOUR "
+        + "FROM INFORMATION_SCHEMA.SYSTEM_USERS WHERE USER_NAME = 'SA'"),
+                                                              retrieverConnection)
+    )
+    {
+      assertThat(results.next(), is(true));
+
+      assertThat(results.getInt("ONE", 0), is(1));
+      assertThat(results.getString("THREE"), is("3"));
+      assertThat(results.getString("NOT_A_COLUMN"), is(nullValue()));
+
+      final Map<String, Object> attributes = results.getAttributes();
+      assertThat(attributes.keySet(), containsInAnyOrder("TWO", "FOUR"));
+      assertThat(attributes, hasEntry("TWO", "two"));
+      assertThat(attributes, not(hasEntry("ONE", 1)));
+
+      // Reading a different set of columns gives different attributes
+      assertThat(results.getString("TWO"), is("two"));
+      assertThat(results
+                   .getAttributes()
+                   .keySet(), containsInAnyOrder("FOUR"));
+    }
+  }
+
+}
@@ -29,7 +29,11 @@ package schemacrawler.crawl;
 
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 import schemacrawler.schema.Schema;
@@ -41,6 +45,49 @@ public class NamedObjectTest
 
   public static final TableType TABLE = new TableType("TABLE");
 
+  @Test
+  public void lookupKeys()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema(null, "PUBLIC");
+    final MutableTable table = new MutableTable(schema, "CUSTOMER");
+    final MutableColumn column = new MutableColumn(table, "ID");
+    table.addColumn(column);
+    final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
+    tables.add(table);
+
+    final NamedObjectKey key = new NamedObjectKey(null, "PUBLIC", "CUSTOMER");
+    assertThat(key, is(equalTo(NamedObjectKey.fromLookupKey(table.toUniqueLookupKey()))));
+    assertThat(key.hashCode(), is(Arrays.asList(null, "PUBLIC", "CUSTOMER").hashCode()));
+    assertThat(key, is(not(equalTo(new NamedObjectKey("PUBLIC", "CUSTOMER")))));
+    assertThat(key.with("ID"), is(equalTo(NamedObjectKey.fromLookupKey(column.toUniqueLookupKey()))));
+
+    assertThat(tables.lookup(key).get(), is(table));
+    assertThat(tables.lookup(Arrays.asList(null, "PUBLIC", "CUSTOMER")).get(), is(table));
+    assertThat(tables.lookup(new NamedObjectKey(null, "PUBLIC", "INVOICE")).isPresent(), is(false));
+    assertThat(table.lookupColumn("ID").get(), is(column));
+  }
+
+  @Test
+  public void cachedLookupKeys()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema(null, "PUBLIC");
+    final MutableTable table = new MutableTable(schema, "CUSTOMER");
+    final MutableColumn column = new MutableColumn(table, "ID");
+
+    assertThat(table.getLookupKey() == table.getLookupKey(), is(true));
+    final NamedObjectKey columnKey = column.getLookupKey();
+    assertThat(columnKey, is(equalTo(new NamedObjectKey(null, "PUBLIC", "CUSTOMER", "ID"))));
+    assertThat(columnKey.hashCode(), is(Arrays.asList(null, "PUBLIC", "CUSTOMER", "ID").hashCode()));
+
+    final MutableRoutine function = new MutableFunction(schema, "CUSTOMER_COUNT");
+    function.setSpecificName("CUSTOMER_COUNT_1");
+    assertThat(function.getLookupKey(), is(equalTo(NamedObjectKey.fromLookupKey(function.toUniqueLookupKey()))));
+    function.setSpecificName("CUSTOMER_COUNT_2");
+    assertThat(function.getLookupKey(), is(equalTo(NamedObjectKey.fromLookupKey(function.toUniqueLookupKey()))));
+  }
+
   @Test
   public void tableNames()
   {
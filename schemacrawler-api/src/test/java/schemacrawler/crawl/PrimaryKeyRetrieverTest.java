@@ -36,6 +36,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata_over_schemas;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.primaryKeysRetrievalStrategy;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
@@ -47,7 +48,7 @@ import java.sql.Connection;
 import java.util.Arrays;
 import java.util.Collection;
 
-import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -147,7 +148,36 @@ public class PrimaryKeyRetrieverTest
     }
   }
 
-  @BeforeAll
+  @Test
+  @DisplayName("Retrieve primary keys from metadata over schemas")
+  public void primaryKeysFromMetadataOverSchemas(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .with(primaryKeysRetrievalStrategy, metadata_over_schemas)
+      .toOptions();
+    final RetrieverConnection retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final PrimaryKeyRetriever primaryKeyRetriever = new PrimaryKeyRetriever(retrieverConnection, catalog, options);
+    primaryKeyRetriever.retrievePrimaryKeys(catalog.getAllTables());
+
+    final Collection<Table> tables = catalog.getTables();
+    assertThat(tables, hasSize(19));
+    for (final Table table : tables)
+    {
+      if (!Arrays
+        .asList("Global Counts", "AUTHORSLIST", "BOOKAUTHORS", "PUBLICATIONWRITERS", "SALES", "SALESDATA")
+        .contains(table.getName()))
+      {
+        assertThat("Did not find primary key for " + table.getFullName(), table.getPrimaryKey(), is(not(nullValue())));
+      }
+    }
+  }
+
+  @BeforeEach
   public void loadBaseCatalog(final Connection connection)
     throws SchemaCrawlerException
   {
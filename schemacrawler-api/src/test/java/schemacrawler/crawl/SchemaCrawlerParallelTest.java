@@ -0,0 +1,238 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class SchemaCrawlerParallelTest
+{
+
+  private static List<String> describe(final Catalog catalog)
+  {
+    final List<String> description = new ArrayList<>();
+    for (final Schema schema : catalog.getSchemas())
+    {
+      description.add("schema " + schema.getFullName());
+    }
+    for (final ColumnDataType columnDataType : catalog.getColumnDataTypes())
+    {
+      description.add("data type " + columnDataType.getFullName());
+    }
+    for (final Table table : catalog.getTables())
+    {
+      description.add(String.format("table %s [%s]",
+                                    table.getFullName(),
+                                    table.getTableType()));
+      for (final Column column : table.getColumns())
+      {
+        description.add(String.format("  column %s %s",
+                                      column.getFullName(),
+                                      column.getColumnDataType()));
+      }
+      for (final ForeignKey foreignKey : table.getForeignKeys())
+      {
+        description.add("  foreign key " + foreignKey.getFullName());
+      }
+      for (final Index index : table.getIndexes())
+      {
+        description.add("  index " + index.getFullName());
+      }
+    }
+    for (final Routine routine : catalog.getRoutines())
+    {
+      description.add("routine " + routine.getFullName());
+    }
+    for (final Sequence sequence : catalog.getSequences())
+    {
+      description.add("sequence " + sequence.getFullName());
+    }
+    for (final Synonym synonym : catalog.getSynonyms())
+    {
+      description.add(String.format("synonym %s -> %s",
+                                    synonym.getFullName(),
+                                    synonym.getReferencedObject()));
+    }
+    return description;
+  }
+
+  private static Supplier<Connection> connectionSupplier(final DatabaseConnectionInfo connectionInfo)
+  {
+    return () -> {
+      try
+      {
+        return DriverManager.getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+      }
+      catch (final SQLException e)
+      {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    };
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions()
+  {
+    return SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeAllSynonyms()
+      .includeAllSequences()
+      .includeAllRoutines()
+      .loadRowCounts()
+      .toOptions();
+  }
+
+  @Test
+  public void parallelCrawlMatchesSerialCrawl(final Connection connection,
+                                              final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(loadHsqldbConfig());
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions();
+
+    final Catalog serialCatalog = getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+
+    final SchemaCrawler schemaCrawler =
+      new SchemaCrawler(connectionSupplier(connectionInfo), schemaRetrievalOptions, schemaCrawlerOptions);
+    final Catalog parallelCatalog = schemaCrawler.crawl();
+
+    final List<String> serialDescription = describe(serialCatalog);
+    assertThat(serialDescription, is(not(empty())));
+    assertThat(describe(parallelCatalog), is(equalTo(serialDescription)));
+  }
+
+  @Test
+  public void shardedMetadataRetrievalMatchesSerialCrawl(final Connection connection,
+                                                         final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions();
+
+    final Catalog serialCatalog =
+      getCatalog(connection, SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(), schemaCrawlerOptions);
+
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withMetadataRetrievalParallelism(3)
+      .toOptions();
+    assertThat(schemaRetrievalOptions.getMetadataRetrievalParallelism(), is(3));
+    final SchemaCrawler schemaCrawler =
+      new SchemaCrawler(connectionSupplier(connectionInfo), schemaRetrievalOptions, schemaCrawlerOptions);
+    final Catalog shardedCatalog = schemaCrawler.crawl();
+
+    final List<String> serialDescription = describe(serialCatalog);
+    assertThat(serialDescription, is(not(empty())));
+    assertThat(describe(shardedCatalog), is(equalTo(serialDescription)));
+  }
+
+  @Test
+  public void parallelCrawlNoSchemas(final DatabaseConnectionInfo connectionInfo)
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .includeSchemas(new RegularExpressionInclusionRule("NO_SUCH_SCHEMA"))
+      .toOptions();
+
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(connectionSupplier(connectionInfo),
+                                                          SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+                                                          schemaCrawlerOptions);
+    final SchemaCrawlerException exception = assertThrows(SchemaCrawlerException.class, schemaCrawler::crawl);
+    assertThat(exception.getMessage(), is("No matching schemas found"));
+  }
+
+  @Test
+  public void parallelCrawlFailureReleasesConnections(final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+    final Supplier<Connection> connectionSupplier = connectionSupplier(connectionInfo);
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionInclusionRule("NO_SUCH_SCHEMA"))
+      .toOptions();
+
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(() -> {
+      final Connection connection = connectionSupplier.get();
+      connections.add(connection);
+      return connection;
+    }, SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(), schemaCrawlerOptions);
+    assertThrows(SchemaCrawlerException.class, schemaCrawler::crawl);
+
+    // Phases that were running when the crawl failed are complete, and
+    // phases that depend on the failed phase were not started
+    assertThat(connections.size(), is(2));
+    for (final Connection connection : connections)
+    {
+      assertThat(connection.isClosed(), is(true));
+    }
+  }
+
+}
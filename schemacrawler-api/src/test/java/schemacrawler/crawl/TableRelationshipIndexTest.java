@@ -0,0 +1,156 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.TableRelationshipType;
+
+public class TableRelationshipIndexTest
+{
+
+  private MutableTable a;
+  private MutableTable b;
+  private MutableTable c;
+  private MutableTable d;
+  private MutableTable e;
+  private NamedObjectList<MutableTable> tables;
+
+  @BeforeEach
+  public void tables()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema(null, "PUBLIC");
+    tables = new NamedObjectList<>();
+    a = addTable(schema, "A");
+    b = addTable(schema, "B");
+    c = addTable(schema, "C");
+    d = addTable(schema, "D");
+    e = addTable(schema, "E");
+
+    // A <- B <- C <- D, A <- E, and E references itself
+    addForeignKey(a, b);
+    addForeignKey(b, c);
+    addForeignKey(c, d);
+    addForeignKey(a, e);
+    addForeignKey(e, e);
+  }
+
+  @Test
+  public void relatedTables()
+  {
+    TableRelationshipIndex.attach(tables);
+
+    assertThat(a.getRelatedTables(TableRelationshipType.child), contains(b, e));
+    assertThat(a.getRelatedTables(TableRelationshipType.parent), is(empty()));
+    assertThat(b.getRelatedTables(TableRelationshipType.parent), contains(a));
+    assertThat(e.getRelatedTables(TableRelationshipType.child), contains(e));
+    assertThat(e.getRelatedTables(TableRelationshipType.parent), contains(a, e));
+    assertThat(b.getRelatedTables(TableRelationshipType.none), is(empty()));
+  }
+
+  @Test
+  public void relatedTablesToDepth()
+  {
+    final TableRelationshipIndex relationshipIndex =
+      TableRelationshipIndex.attach(tables);
+    assertThat(TableRelationshipIndex.forTables(tables),
+               is(sameInstance(relationshipIndex)));
+
+    assertThat(relationshipIndex.getRelatedTables(Collections.singleton(b),
+                                                  TableRelationshipType.child,
+                                                  0), contains(b));
+    assertThat(relationshipIndex.getRelatedTables(Collections.singleton(b),
+                                                  TableRelationshipType.child,
+                                                  1),
+               containsInAnyOrder(b, c));
+    assertThat(relationshipIndex.getRelatedTables(Collections.singleton(b),
+                                                  TableRelationshipType.child,
+                                                  10),
+               containsInAnyOrder(b, c, d));
+    assertThat(relationshipIndex.getRelatedTables(Collections.singleton(d),
+                                                  TableRelationshipType.parent,
+                                                  2),
+               containsInAnyOrder(b, c, d));
+  }
+
+  @Test
+  public void indexIsDiscardedWhenForeignKeysChange()
+  {
+    final TableRelationshipIndex relationshipIndex =
+      TableRelationshipIndex.attach(tables);
+    assertThat(d.getRelatedTables(TableRelationshipType.child), is(empty()));
+
+    addForeignKey(d, a);
+
+    assertThat(TableRelationshipIndex.forTables(tables),
+               is(not(sameInstance(relationshipIndex))));
+    assertThat(d.getRelatedTables(TableRelationshipType.child), contains(a));
+  }
+
+  private MutableTable addTable(final Schema schema, final String name)
+  {
+    final MutableTable table = new MutableTable(schema, name);
+    table.addColumn(new MutableColumn(table, "ID"));
+    table.addColumn(new MutableColumn(table, "PARENT_ID"));
+    tables.add(table);
+    return table;
+  }
+
+  private void addForeignKey(final MutableTable parent,
+                             final MutableTable child)
+  {
+    final MutableForeignKey foreignKey =
+      new MutableForeignKey("FK_" + child.getName() + "_" + parent.getName());
+    foreignKey.addColumnReference(1,
+                                  parent
+                                    .lookupColumn("ID")
+                                    .get(),
+                                  child
+                                    .lookupColumn("PARENT_ID")
+                                    .get());
+    parent.addForeignKey(foreignKey);
+    if (parent != child)
+    {
+      child.addForeignKey(foreignKey);
+    }
+  }
+
+}
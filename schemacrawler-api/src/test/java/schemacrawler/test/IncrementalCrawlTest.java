@@ -0,0 +1,284 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.getRowCount;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseTestUtility;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class IncrementalCrawlTest
+{
+
+  private static final String DATABASE_TIMESTAMP = "schemacrawler.crawl.database_timestamp";
+
+  // Only the AUTHORS table has changed
+  private static final String AUTHORS_CHANGED_SQL =
+    "SELECT TABLE_CAT AS TABLE_CATALOG, TABLE_SCHEM AS TABLE_SCHEMA, "
+    + "TABLE_NAME, CASE WHEN TABLE_NAME = 'AUTHORS' "
+    + "THEN LOCALTIMESTAMP ELSE TIMESTAMP '2000-01-01 00:00:00' "
+    + "END AS LAST_MODIFIED "
+    + "FROM INFORMATION_SCHEMA.SYSTEM_TABLES";
+
+  private static SchemaRetrievalOptions schemaRetrievalOptions(final String tableModificationsSql,
+                                                               final String databaseTimestampSql,
+                                                               final int tableChangesSafetyMargin)
+  {
+    final Map<String, String> informationSchemaViews = new HashMap<>();
+    informationSchemaViews.put(InformationSchemaKey.TABLE_MODIFICATIONS.getLookupKey(),
+                               tableModificationsSql);
+    if (databaseTimestampSql != null)
+    {
+      informationSchemaViews.put(InformationSchemaKey.DATABASE_TIMESTAMP.getLookupKey(),
+                                 databaseTimestampSql);
+    }
+    return SchemaRetrievalOptionsBuilder
+      .builder()
+      .withInformationSchemaViews(informationSchemaViews)
+      .withTableChangesSafetyMargin(tableChangesSafetyMargin)
+      .withTableChangesTimestamp(databaseTimestampSql != null)
+      .toOptions();
+  }
+
+  /**
+   * Crawls twice, and checks that the AUTHORS table was crawled again on the
+   * second crawl, and that the BOOKAUTHORS table was carried over.
+   */
+  private static void assertAuthorsChanged(final Connection connection,
+                                           final SchemaRetrievalOptions schemaRetrievalOptions)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog previousCatalog =
+      getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    final Table previousAuthors = lookupTable(previousCatalog, "AUTHORS");
+    final Table previousBookAuthors = lookupTable(previousCatalog, "BOOKAUTHORS");
+
+    final Catalog catalog =
+      new SchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions)
+        .crawl(previousCatalog);
+
+    assertThat(lookupTable(catalog, "BOOKAUTHORS"), is(sameInstance(previousBookAuthors)));
+    assertThat(lookupTable(catalog, "AUTHORS"), is(not(sameInstance(previousAuthors))));
+  }
+
+  private static Table lookupTable(final Catalog catalog, final String tableName)
+  {
+    final Table table = catalog
+      .lookupTable(catalog
+                     .lookupSchema("PUBLIC.BOOKS")
+                     .orElse(null), tableName)
+      .orElse(null);
+    assertThat("Could not find table " + tableName, table, notNullValue());
+    return table;
+  }
+
+  @Test
+  public void incrementalCrawl(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      schemaRetrievalOptions(AUTHORS_CHANGED_SQL, null, 0);
+
+    final Catalog fullCatalog =
+      getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+
+    final Catalog previousCatalog =
+      getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    final Table previousAuthors = lookupTable(previousCatalog, "AUTHORS");
+    final Table previousBookAuthors = lookupTable(previousCatalog, "BOOKAUTHORS");
+
+    final Catalog catalog =
+      new SchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions)
+        .crawl(previousCatalog);
+
+    assertThat(catalog.getTables(), is(equalTo(fullCatalog.getTables())));
+    for (final Table table : fullCatalog.getTables())
+    {
+      final Table crawledTable = lookupTable(catalog, table.getName());
+      assertThat(crawledTable.getColumns(), is(equalTo(table.getColumns())));
+      assertThat(crawledTable.getForeignKeys(),
+                 is(equalTo(table.getForeignKeys())));
+      assertThat(crawledTable.getWeakAssociations(),
+                 is(equalTo(table.getWeakAssociations())));
+    }
+
+    // Unchanged tables are carried over, and changed tables are crawled
+    final Table authors = lookupTable(catalog, "AUTHORS");
+    final Table bookAuthors = lookupTable(catalog, "BOOKAUTHORS");
+    assertThat(bookAuthors, is(sameInstance(previousBookAuthors)));
+    assertThat(authors, is(not(sameInstance(previousAuthors))));
+
+    // The previous catalog is consumed
+    assertThat(previousCatalog.getTables(), is(empty()));
+
+    // Unchanged tables are linked to crawled tables
+    final ForeignKey foreignKey = bookAuthors
+      .lookupForeignKey("Z_FK_AUTHOR")
+      .orElse(null);
+    assertThat("Could not find foreign key", foreignKey, notNullValue());
+    assertThat(foreignKey
+                 .getColumnReferences()
+                 .get(0)
+                 .getPrimaryKeyColumn()
+                 .getParent(), is(sameInstance(authors)));
+    assertThat(authors.getRelatedTables(TableRelationshipType.child),
+               hasItem(sameInstance(bookAuthors)));
+  }
+
+  @Test
+  public void incrementalCrawlCountsRowsOfUnchangedTables(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .fromOptions(DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel)
+      .loadRowCounts()
+      .toOptions();
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      schemaRetrievalOptions(AUTHORS_CHANGED_SQL, null, 0);
+
+    final Catalog previousCatalog =
+      getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    final Table previousBookAuthors = lookupTable(previousCatalog, "BOOKAUTHORS");
+    final long bookAuthorsRowCount = getRowCount(previousBookAuthors);
+    assertThat(bookAuthorsRowCount, is(greaterThan(0L)));
+    // Rows are inserted or deleted without a change to the table definition
+    previousBookAuthors.setAttribute("schemacrawler.table.row_count", bookAuthorsRowCount + 100);
+
+    final Catalog catalog =
+      new SchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions)
+        .crawl(previousCatalog);
+
+    final Table bookAuthors = lookupTable(catalog, "BOOKAUTHORS");
+    assertThat(bookAuthors, is(sameInstance(previousBookAuthors)));
+    assertThat(getRowCount(bookAuthors), is(bookAuthorsRowCount));
+  }
+
+  @Test
+  public void databaseTimestampOnlyWhenRequested(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+    final String databaseTimestampSql =
+      "SELECT TIMESTAMP '2005-01-01 00:00:00' AS DATABASE_TIMESTAMP "
+      + "FROM INFORMATION_SCHEMA.SYSTEM_SCHEMAS";
+
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(schemaRetrievalOptions(AUTHORS_CHANGED_SQL, databaseTimestampSql, 0))
+      .withTableChangesTimestamp(false)
+      .toOptions();
+    final Catalog catalog =
+      getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    assertThat(catalog.hasAttribute(DATABASE_TIMESTAMP), is(false));
+
+    // Incremental crawls always record the database time
+    final Catalog incrementalCatalog =
+      new SchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions)
+        .crawl(catalog);
+    assertThat(incrementalCatalog.hasAttribute(DATABASE_TIMESTAMP), is(true));
+
+    final Catalog requestedCatalog =
+      getCatalog(connection,
+                 schemaRetrievalOptions(AUTHORS_CHANGED_SQL, databaseTimestampSql, 0),
+                 schemaCrawlerOptions);
+    assertThat(requestedCatalog.hasAttribute(DATABASE_TIMESTAMP), is(true));
+  }
+
+  @Test
+  public void incrementalCrawlWithDatabaseClockBehind(final Connection connection)
+    throws Exception
+  {
+    // The database clock is behind the client clock, so the AUTHORS table
+    // was changed after the previous crawl started, going by the database
+    // clock, but before it, going by the client clock
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      schemaRetrievalOptions("SELECT TABLE_CAT AS TABLE_CATALOG, TABLE_SCHEM AS TABLE_SCHEMA, "
+                             + "TABLE_NAME, CASE WHEN TABLE_NAME = 'AUTHORS' "
+                             + "THEN TIMESTAMP '2010-01-01 00:00:00' ELSE TIMESTAMP '2000-01-01 00:00:00' "
+                             + "END AS LAST_MODIFIED "
+                             + "FROM INFORMATION_SCHEMA.SYSTEM_TABLES",
+                             "SELECT TIMESTAMP '2005-01-01 00:00:00' AS DATABASE_TIMESTAMP "
+                             + "FROM INFORMATION_SCHEMA.SYSTEM_SCHEMAS",
+                             0);
+    assertAuthorsChanged(connection, schemaRetrievalOptions);
+  }
+
+  @Test
+  public void incrementalCrawlWithSafetyMargin(final Connection connection)
+    throws Exception
+  {
+    // The database time is not known, and the database clock is an hour
+    // behind the client clock, which the safety margin allows for
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      schemaRetrievalOptions("SELECT TABLE_CAT AS TABLE_CATALOG, TABLE_SCHEM AS TABLE_SCHEMA, "
+                             + "TABLE_NAME, CASE WHEN TABLE_NAME = 'AUTHORS' "
+                             + "THEN LOCALTIMESTAMP - INTERVAL '1' HOUR "
+                             + "ELSE TIMESTAMP '2000-01-01 00:00:00' "
+                             + "END AS LAST_MODIFIED "
+                             + "FROM INFORMATION_SCHEMA.SYSTEM_TABLES",
+                             null,
+                             2 * 60 * 60);
+    assertAuthorsChanged(connection, schemaRetrievalOptions);
+  }
+
+}
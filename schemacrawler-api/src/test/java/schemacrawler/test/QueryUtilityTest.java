@@ -30,6 +30,7 @@ package schemacrawler.test;
 
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -113,6 +114,28 @@ public class QueryUtilityTest
     executeAgainstSchemaTest(testContext, cxn, query, schemaInclusionRule);
   }
 
+  @Test
+  public void executeAgainstSchemaWithBindVariable(final TestContext testContext,
+                                                   final Connection cxn)
+    throws Exception
+  {
+    final Query query = new Query("Tables for schema",
+                                  "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_SCHEMA, ?{schemas}) ORDER BY TABLE_NAME");
+    final InclusionRule schemaInclusionRule =
+      new RegularExpressionInclusionRule("BOOKS");
+
+    assertThat(query.isParameterized(), is(true));
+    assertThat(query.getBindVariables(), contains("schemas"));
+    assertThat(QueryUtility.getPreparedStatementQuery(query,
+                                                      schemaInclusionRule),
+               is("SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_SCHEMA, ?) ORDER BY TABLE_NAME"));
+    assertThat(QueryUtility.getBindValues(query, schemaInclusionRule),
+               contains("BOOKS"));
+
+    // Literal substitution, when the query is run on a plain statement
+    executeAgainstSchemaTest(testContext, cxn, query, schemaInclusionRule);
+  }
+
   @Test
   public void executeForScalar(final TestContext testContext,
                                final Connection cxn)
@@ -34,25 +34,160 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.crawl.CompactCatalogReader;
+import schemacrawler.crawl.CompactCatalogWriter;
+import schemacrawler.crawl.MappedCatalogReader;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
 import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.schema.Trigger;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.test.utility.DatabaseTestUtility;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import sf.util.IOUtility;
 
 @ExtendWith(TestDatabaseConnectionParameterResolver.class)
 public class SerializationTest
 {
 
+  @Test
+  public void compactCatalogSerialization(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    for (final boolean compress : new boolean[] { false, true })
+    {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      new CompactCatalogWriter(catalog).write(out, compress);
+
+      final Catalog readCatalog =
+        new CompactCatalogReader(new ByteArrayInputStream(out.toByteArray()))
+          .read();
+
+      assertThat(readCatalog, equalTo(catalog));
+      assertThat(readCatalog
+                   .getCrawlInfo()
+                   .getRunId(),
+                 equalTo(catalog
+                           .getCrawlInfo()
+                           .getRunId()));
+      assertThat(describe(readCatalog), equalTo(describe(catalog)));
+      assertThat("Compact catalog is not smaller than Java serialization",
+                 out.size(),
+                 lessThan(SerializationUtils.serialize(catalog).length));
+    }
+  }
+
+  @Test
+  public void indexedCatalogSerialization(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path indexedCatalogFile =
+      IOUtility.createTempFilePath("sc_indexed_serialization", "scidx");
+    try (final OutputStream out = Files.newOutputStream(indexedCatalogFile))
+    {
+      new CompactCatalogWriter(catalog).writeIndexed(out);
+    }
+    assertThat(MappedCatalogReader.isIndexedCatalog(indexedCatalogFile),
+               is(true));
+
+    final Catalog mappedCatalog =
+      new MappedCatalogReader(indexedCatalogFile, schemaCrawlerOptions).read();
+    assertThat(mappedCatalog, equalTo(catalog));
+    assertThat(describe(mappedCatalog), equalTo(describe(catalog)));
+
+    // Indexed snapshots can also be read from a stream
+    final Catalog readCatalog = new CompactCatalogReader(Files.newInputStream(
+      indexedCatalogFile)).read();
+    assertThat(describe(readCatalog), equalTo(describe(catalog)));
+  }
+
+  @Test
+  public void indexedCatalogSerializationWithFilters(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path indexedCatalogFile =
+      IOUtility.createTempFilePath("sc_indexed_serialization", "scidx");
+    try (final OutputStream out = Files.newOutputStream(indexedCatalogFile))
+    {
+      new CompactCatalogWriter(catalog).writeIndexed(out);
+    }
+
+    final SchemaCrawlerOptions filterOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .fromOptions(schemaCrawlerOptions)
+      .includeSchemas(Pattern.compile("PUBLIC\\.BOOKS"))
+      .includeTables(Pattern.compile(".*\\.BOOKAUTHORS"))
+      .toOptions();
+    final Catalog mappedCatalog =
+      new MappedCatalogReader(indexedCatalogFile, filterOptions).read();
+
+    assertThat(mappedCatalog.getTables(), hasSize(1));
+    final Table table = mappedCatalog
+      .lookupTable(mappedCatalog
+                     .lookupSchema("PUBLIC.BOOKS")
+                     .orElse(null), "BOOKAUTHORS")
+      .orElse(null);
+    assertThat("Could not obtain table", table, notNullValue());
+
+    final Table originalTable = catalog
+      .lookupTable(catalog
+                     .lookupSchema("PUBLIC.BOOKS")
+                     .orElse(null), "BOOKAUTHORS")
+      .orElse(null);
+    assertThat(table.getColumns(), equalTo(originalTable.getColumns()));
+    assertThat(table.getIndexes(), equalTo(originalTable.getIndexes()));
+    assertThat(table.getForeignKeys(), hasSize(2));
+    assertThat(table.getRelatedTables(TableRelationshipType.parent),
+               equalTo(originalTable.getRelatedTables(TableRelationshipType.parent)));
+  }
+
   @Test
   public void catalogSerialization(final Connection connection)
     throws Exception
@@ -92,4 +227,172 @@ public class SerializationTest
                hasSize(10));
   }
 
+  private static String describe(final Catalog catalog)
+  {
+    final StringBuilder buffer = new StringBuilder();
+    buffer
+      .append(catalog.getDatabaseInfo())
+      .append(catalog.getJdbcDriverInfo())
+      .append(catalog.getCrawlInfo())
+      .append(catalog.getColumnDataTypes())
+      .append(catalog.getSchemas())
+      .append("\n");
+    for (final Table table : catalog.getTables())
+    {
+      buffer
+        .append(table.getFullName())
+        .append(" ")
+        .append(table.getTableType())
+        .append(" ")
+        .append(table.getRemarks())
+        .append(" ")
+        .append(table.getAttributes())
+        .append("\n");
+      for (final Column column : table.getColumns())
+      {
+        buffer
+          .append("  ")
+          .append(column.getFullName())
+          .append(" ")
+          .append(column.getColumnDataType())
+          .append(column.getWidth())
+          .append(" ")
+          .append(column.isNullable())
+          .append(column.isPartOfPrimaryKey())
+          .append(column.isPartOfForeignKey())
+          .append(column.isPartOfIndex())
+          .append(column.isPartOfUniqueIndex())
+          .append(" ")
+          .append(column.getReferencedColumn())
+          .append(" ")
+          .append(column.getPrivileges())
+          .append(column.getAttributes())
+          .append("\n");
+      }
+      buffer
+        .append("  ")
+        .append(table.getHiddenColumns().size())
+        .append("\n");
+      if (table.hasPrimaryKey())
+      {
+        buffer
+          .append("  pk ")
+          .append(table.getPrimaryKey())
+          .append(" ")
+          .append(table
+                    .getPrimaryKey()
+                    .getColumns())
+          .append("\n");
+      }
+      for (final Index index : table.getIndexes())
+      {
+        buffer
+          .append("  index ")
+          .append(index.getFullName())
+          .append(" ")
+          .append(index.getIndexType())
+          .append(index.isUnique());
+        for (final IndexColumn indexColumn : index)
+        {
+          buffer
+            .append(" ")
+            .append(indexColumn.getName())
+            .append(indexColumn.getIndexOrdinalPosition())
+            .append(indexColumn.getSortSequence());
+        }
+        buffer.append("\n");
+      }
+      for (final TableConstraint tableConstraint : table.getTableConstraints())
+      {
+        buffer
+          .append("  constraint ")
+          .append(tableConstraint.getFullName())
+          .append(" ")
+          .append(tableConstraint.getConstraintType())
+          .append(tableConstraint.getDefinition());
+        for (final TableConstraintColumn constraintColumn : tableConstraint.getColumns())
+        {
+          buffer
+            .append(" ")
+            .append(constraintColumn.getName());
+        }
+        buffer.append("\n");
+      }
+      for (final ForeignKey foreignKey : table.getForeignKeys())
+      {
+        buffer
+          .append("  fk ")
+          .append(foreignKey.getName())
+          .append(" ")
+          .append(foreignKey.getUpdateRule())
+          .append(foreignKey.getDeleteRule());
+        for (final ForeignKeyColumnReference columnReference : foreignKey)
+        {
+          buffer
+            .append(" ")
+            .append(columnReference);
+        }
+        buffer.append("\n");
+      }
+      buffer
+        .append("  weak ")
+        .append(table.getWeakAssociations())
+        .append("\n");
+      for (final Trigger trigger : table.getTriggers())
+      {
+        buffer
+          .append("  trigger ")
+          .append(trigger.getFullName())
+          .append(" ")
+          .append(trigger.getEventManipulationType())
+          .append(trigger.getActionStatement())
+          .append("\n");
+      }
+      buffer
+        .append("  ")
+        .append(table.getPrivileges())
+        .append(table.getRelatedTables(TableRelationshipType.parent))
+        .append(table.getRelatedTables(TableRelationshipType.child))
+        .append("\n");
+    }
+    for (final Routine routine : catalog.getRoutines())
+    {
+      buffer
+        .append(routine.getFullName())
+        .append(" ")
+        .append(routine.getReturnType())
+        .append(routine.getRoutineBodyType())
+        .append(routine.getDefinition());
+      for (final RoutineParameter<?> parameter : routine.getParameters())
+      {
+        buffer
+          .append(" ")
+          .append(parameter.getName())
+          .append(parameter.getColumnDataType())
+          .append(parameter.getParameterMode());
+      }
+      buffer.append("\n");
+    }
+    for (final Sequence sequence : catalog.getSequences())
+    {
+      buffer
+        .append(sequence.getFullName())
+        .append(sequence.getMinimumValue())
+        .append(sequence.getMaximumValue())
+        .append(sequence.getIncrement())
+        .append("\n");
+    }
+    for (final Synonym synonym : catalog.getSynonyms())
+    {
+      buffer
+        .append(synonym.getFullName())
+        .append(" ")
+        .append(synonym
+                  .getReferencedObject()
+                  .getFullName())
+        .append("\n");
+    }
+    return buffer.toString();
+  }
+
 }
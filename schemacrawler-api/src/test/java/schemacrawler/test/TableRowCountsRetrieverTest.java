@@ -0,0 +1,205 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.getRowCount;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.hasRowCount;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.isRowCountEstimated;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.analysis.counts.TableRowCountsRetriever;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class TableRowCountsRetrieverTest
+{
+
+  private static Supplier<Connection> connectionSupplier(final DatabaseConnectionInfo connectionInfo)
+  {
+    return () -> {
+      try
+      {
+        return DriverManager.getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+      }
+      catch (final SQLException e)
+      {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    };
+  }
+
+  private static Catalog crawlTables(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.minimum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+    return getCatalog(connection,
+                      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+                      schemaCrawlerOptions);
+  }
+
+  private static Map<String, Long> rowCounts(final Catalog catalog)
+  {
+    final Map<String, Long> rowCounts = new LinkedHashMap<>();
+    for (final Table table : catalog.getTables())
+    {
+      if (hasRowCount(table))
+      {
+        rowCounts.put(table.getFullName(), getRowCount(table));
+      }
+    }
+    return rowCounts;
+  }
+
+  @Test
+  public void parallelRowCountsMatchSerialRowCounts(final Connection connection,
+                                                    final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final Catalog serialCatalog = crawlTables(connection);
+    new TableRowCountsRetriever(connection, serialCatalog).retrieveTableRowCounts();
+
+    final Catalog parallelCatalog = crawlTables(connection);
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withTableRowCountsParallelism(3)
+      .withTableRowCountsQueryTimeout(30)
+      .toOptions();
+    new TableRowCountsRetriever(connection,
+                                connectionSupplier(connectionInfo),
+                                parallelCatalog,
+                                schemaRetrievalOptions).retrieveTableRowCounts();
+
+    final Map<String, Long> serialRowCounts = rowCounts(serialCatalog);
+    assertThat(serialRowCounts.size(), is(serialCatalog.getTables().size()));
+    assertThat(serialRowCounts.values(), is(not(empty())));
+    assertThat(rowCounts(parallelCatalog), is(equalTo(serialRowCounts)));
+  }
+
+  @Test
+  public void estimatedRowCounts(final Connection connection)
+    throws Exception
+  {
+    final Catalog serialCatalog = crawlTables(connection);
+    new TableRowCountsRetriever(connection, serialCatalog).retrieveTableRowCounts();
+
+    final Map<String, String> informationSchemaViews = new HashMap<>();
+    informationSchemaViews.put(InformationSchemaKey.TABLE_ROW_COUNTS.getLookupKey(),
+                               "SELECT TABLE_CAT AS TABLE_CATALOG, TABLE_SCHEM AS TABLE_SCHEMA, "
+                               + "TABLE_NAME, 1000 AS ROW_COUNT "
+                               + "FROM INFORMATION_SCHEMA.SYSTEM_TABLES "
+                               + "WHERE TABLE_NAME = 'AUTHORS'");
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withInformationSchemaViews(informationSchemaViews)
+      .withEstimatedTableRowCounts(true)
+      .toOptions();
+
+    final Catalog estimatedCatalog = crawlTables(connection);
+    new TableRowCountsRetriever(connection,
+                                null,
+                                estimatedCatalog,
+                                schemaRetrievalOptions).retrieveTableRowCounts();
+
+    // Tables without an estimate are counted
+    final Map<String, Long> expectedRowCounts = rowCounts(serialCatalog);
+    assertThat(expectedRowCounts.replace("PUBLIC.BOOKS.AUTHORS", 1000L), is(not(nullValue())));
+    assertThat(rowCounts(estimatedCatalog), is(equalTo(expectedRowCounts)));
+    assertThat(isRowCountEstimated(estimatedCatalog
+                                     .lookupTable(new SchemaReference("PUBLIC", "BOOKS"), "AUTHORS")
+                                     .get()), is(true));
+    assertThat(isRowCountEstimated(estimatedCatalog
+                                     .lookupTable(new SchemaReference("PUBLIC", "BOOKS"), "BOOKS")
+                                     .get()), is(false));
+  }
+
+  @Test
+  public void zeroEstimatesAreCounted(final Connection connection)
+    throws Exception
+  {
+    final Catalog serialCatalog = crawlTables(connection);
+    new TableRowCountsRetriever(connection, serialCatalog).retrieveTableRowCounts();
+
+    // Tables that were never analyzed may have an estimate of zero rows
+    final Map<String, String> informationSchemaViews = new HashMap<>();
+    informationSchemaViews.put(InformationSchemaKey.TABLE_ROW_COUNTS.getLookupKey(),
+                               "SELECT TABLE_CAT AS TABLE_CATALOG, TABLE_SCHEM AS TABLE_SCHEMA, "
+                               + "TABLE_NAME, 0 AS ROW_COUNT "
+                               + "FROM INFORMATION_SCHEMA.SYSTEM_TABLES");
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withInformationSchemaViews(informationSchemaViews)
+      .withEstimatedTableRowCounts(true)
+      .toOptions();
+
+    final Catalog estimatedCatalog = crawlTables(connection);
+    new TableRowCountsRetriever(connection,
+                                null,
+                                estimatedCatalog,
+                                schemaRetrievalOptions).retrieveTableRowCounts();
+
+    assertThat(rowCounts(estimatedCatalog), is(equalTo(rowCounts(serialCatalog))));
+    for (final Table table : estimatedCatalog.getTables())
+    {
+      assertThat(isRowCountEstimated(table), is(false));
+    }
+  }
+
+}
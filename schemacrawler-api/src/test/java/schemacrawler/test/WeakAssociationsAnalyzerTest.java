@@ -32,6 +32,7 @@ package schemacrawler.test;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
@@ -40,7 +41,10 @@ import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -49,6 +53,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import schemacrawler.analysis.associations.ProposedWeakAssociation;
 import schemacrawler.analysis.associations.WeakAssociationsAnalyzer;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.Config;
 import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
@@ -116,4 +121,18 @@ public class WeakAssociationsAnalyzerTest
     assertThat(outputOf(testout), hasSameContentAs(classpathResource(testContext.testMethodFullName())));
   }
 
+  @Test
+  public void weakAssociationsAreIndependentOfTableOrder()
+  {
+    final List<ProposedWeakAssociation> proposedWeakAssociations =
+      new ArrayList<>(new WeakAssociationsAnalyzer(catalog.getTables()).analyzeTables());
+
+    final List<Table> reversedTables = new ArrayList<>(catalog.getTables());
+    Collections.reverse(reversedTables);
+    final WeakAssociationsAnalyzer weakAssociationsAnalyzer = new WeakAssociationsAnalyzer(reversedTables);
+    assertThat(new ArrayList<>(weakAssociationsAnalyzer.analyzeTables()), is(equalTo(proposedWeakAssociations)));
+    // Analyzing again does not accumulate weak associations
+    assertThat(new ArrayList<>(weakAssociationsAnalyzer.analyzeTables()), is(equalTo(proposedWeakAssociations)));
+  }
+
 }
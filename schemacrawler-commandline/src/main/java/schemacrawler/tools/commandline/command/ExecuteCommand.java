@@ -156,6 +156,10 @@ public class ExecuteCommand
       executable.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
       executable.setConnection(connection);
+      if (state.isConnected())
+      {
+        executable.setConnectionSupplier(state.getDataSource());
+      }
       executable.setCatalog(catalog);
 
       executable.execute();
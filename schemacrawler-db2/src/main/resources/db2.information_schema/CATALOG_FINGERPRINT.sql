@@ -0,0 +1,26 @@
+SELECT
+  COUNT(*) AS OBJECT_COUNT,
+  MAX(MODIFICATIONS.MODIFY_TIME) AS LAST_MODIFIED
+FROM
+  (
+    SELECT
+      SYSCAT.TABLES.ALTER_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.TABLES
+    UNION ALL
+    SELECT
+      SYSCAT.INDEXES.CREATE_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.INDEXES
+    UNION ALL
+    SELECT
+      SYSCAT.TRIGGERS.CREATE_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.TRIGGERS
+    UNION ALL
+    SELECT
+      SYSCAT.ROUTINES.ALTER_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.ROUTINES
+  ) MODIFICATIONS
+WITH UR
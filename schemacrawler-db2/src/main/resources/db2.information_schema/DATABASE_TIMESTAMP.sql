@@ -0,0 +1,5 @@
+SELECT
+  CURRENT TIMESTAMP AS DATABASE_TIMESTAMP
+FROM
+  SYSIBM.SYSDUMMY1
+WITH UR
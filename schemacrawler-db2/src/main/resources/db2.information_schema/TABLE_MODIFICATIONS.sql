@@ -0,0 +1,32 @@
+SELECT
+  NULLIF(1, 1) AS TABLE_CATALOG,
+  MODIFICATIONS.TABLE_SCHEMA,
+  MODIFICATIONS.TABLE_NAME,
+  MAX(MODIFICATIONS.MODIFY_TIME) AS LAST_MODIFIED
+FROM
+  (
+    SELECT
+      STRIP(SYSCAT.TABLES.TABSCHEMA) AS TABLE_SCHEMA,
+      STRIP(SYSCAT.TABLES.TABNAME) AS TABLE_NAME,
+      SYSCAT.TABLES.ALTER_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.TABLES
+    UNION ALL
+    SELECT
+      STRIP(SYSCAT.INDEXES.TABSCHEMA) AS TABLE_SCHEMA,
+      STRIP(SYSCAT.INDEXES.TABNAME) AS TABLE_NAME,
+      SYSCAT.INDEXES.CREATE_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.INDEXES
+    UNION ALL
+    SELECT
+      STRIP(SYSCAT.TRIGGERS.TABSCHEMA) AS TABLE_SCHEMA,
+      STRIP(SYSCAT.TRIGGERS.TABNAME) AS TABLE_NAME,
+      SYSCAT.TRIGGERS.CREATE_TIME AS MODIFY_TIME
+    FROM
+      SYSCAT.TRIGGERS
+  ) MODIFICATIONS
+GROUP BY
+  MODIFICATIONS.TABLE_SCHEMA,
+  MODIFICATIONS.TABLE_NAME
+WITH UR
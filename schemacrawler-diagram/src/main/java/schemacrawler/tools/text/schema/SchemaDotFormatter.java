@@ -631,13 +631,14 @@ public final class SchemaDotFormatter
       .println();
   }
 
-  private void printTableColumns(final List<Column> columns)
+  private void printTableColumns(final List<Column> columnsList)
   {
-    if (columns.isEmpty())
+    if (columnsList.isEmpty())
     {
       return;
     }
 
+    final List<Column> columns = new ArrayList<>(columnsList);
     Collections.sort(columns,
                      NamedObjectSort.getNamedObjectSort(options.isAlphabeticalSortForTableColumns()));
 
@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -53,6 +54,7 @@ abstract class BaseLintReportJacksonBuilder
     {
       @JsonNaming(PropertyNamingStrategy.KebabCaseStrategy.class)
       @JsonPropertyOrder(alphabetic = true)
+      @JsonIgnoreProperties({ "metadata-row-counts" })
       abstract class JacksonAnnotationMixIn
       {
         @JsonIgnore
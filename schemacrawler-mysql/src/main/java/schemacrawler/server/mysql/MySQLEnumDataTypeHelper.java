@@ -30,11 +30,15 @@ package schemacrawler.server.mysql;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static schemacrawler.plugin.EnumDataTypeInfo.EMPTY_ENUM_DATA_TYPE_INFO;
 import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,31 +46,62 @@ import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.plugin.EnumDataTypeInfo;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Schema;
 
 public class MySQLEnumDataTypeHelper
   implements EnumDataTypeHelper
 {
 
+  // Enumerated values by column type, since many columns share the same
+  // enumeration
+  private final Map<String, List<String>> enumValuesByColumnType;
+
+  public MySQLEnumDataTypeHelper()
+  {
+    enumValuesByColumnType = new HashMap<>();
+  }
+
   @Override
   public EnumDataTypeInfo getEnumDataTypeInfo(final Column column,
                                               final ColumnDataType columnDataType,
                                               final Connection connection)
   {
     requireNonNull(column, "No column provided");
-    final List<String> enumValues = getEnumValues(column);
+
+    final String columnTypeString = column.getAttribute("COLUMN_TYPE");
+    // Only enumerated column types need to be parsed
+    if (isBlank(columnTypeString) || !columnTypeString.regionMatches(true,
+                                                                     0,
+                                                                     "enum",
+                                                                     0,
+                                                                     4))
+    {
+      return EMPTY_ENUM_DATA_TYPE_INFO;
+    }
+
+    final List<String> enumValues = enumValuesByColumnType.computeIfAbsent(
+      columnTypeString,
+      MySQLEnumDataTypeHelper::getEnumValues);
     return new EnumDataTypeInfo(!enumValues.isEmpty(), false, enumValues);
   }
 
-  private static List<String> getEnumValues(final Column column)
+  /**
+   * Enumerated values are parsed from the column type, which is already
+   * retrieved with other column attributes, so there is nothing to load from
+   * the database. Parsed values are cleared, since they are only kept for a
+   * single crawl.
+   */
+  @Override
+  public void preloadEnumDataTypes(final Collection<Schema> schemas,
+                                   final Connection connection)
+  {
+    enumValuesByColumnType.clear();
+  }
+
+  private static List<String> getEnumValues(final String columnTypeString)
   {
-    requireNonNull(column, "No column provided");
     final ArrayList<String> enumValues = new ArrayList<>();
 
-    final String columnTypeString = column.getAttribute("COLUMN_TYPE");
-    if (isBlank(columnTypeString))
-    {
-      return enumValues;
-    }
     final Matcher matcher = enumPattern.matcher(columnTypeString);
     if (!matcher.matches())
     {
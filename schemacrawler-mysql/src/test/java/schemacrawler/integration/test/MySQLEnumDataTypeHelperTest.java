@@ -0,0 +1,111 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import schemacrawler.plugin.EnumDataTypeInfo;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.server.mysql.MySQLEnumDataTypeHelper;
+
+public class MySQLEnumDataTypeHelperTest
+{
+
+  private static Column column(final String columnType)
+  {
+    final Column column = mock(Column.class);
+    when(column.<String> getAttribute("COLUMN_TYPE")).thenReturn(columnType);
+    return column;
+  }
+
+  @Test
+  public void enumValuesFromColumnType()
+  {
+    final Connection connection = mock(Connection.class);
+
+    final MySQLEnumDataTypeHelper helper = new MySQLEnumDataTypeHelper();
+    helper.preloadEnumDataTypes(Collections.emptyList(), connection);
+
+    final EnumDataTypeInfo sizeInfo =
+      helper.getEnumDataTypeInfo(column("enum('small','medium','large')"),
+                                 mock(ColumnDataType.class),
+                                 connection);
+    assertThat(sizeInfo.isColumnEnumerated(), is(true));
+    assertThat(sizeInfo.isColumnDataTypeEnumerated(), is(false));
+    assertThat(sizeInfo.getEnumValues(),
+               contains("small", "medium", "large"));
+
+    // Columns that share an enumeration get the same values
+    final EnumDataTypeInfo otherSizeInfo =
+      helper.getEnumDataTypeInfo(column("ENUM('small','medium','large')"),
+                                 mock(ColumnDataType.class),
+                                 connection);
+    assertThat(otherSizeInfo.getEnumValues(),
+               contains("small", "medium", "large"));
+
+    // Enumerated values are parsed from the column type, and never
+    // queried from the database, so there is nothing to preload
+    verifyNoInteractions(connection);
+  }
+
+  @Test
+  public void noEnumValues()
+  {
+    final Connection connection = mock(Connection.class);
+
+    final MySQLEnumDataTypeHelper helper = new MySQLEnumDataTypeHelper();
+    helper.preloadEnumDataTypes(Collections.emptyList(), connection);
+
+    for (final String columnType : new String[] {
+      "varchar(20)", "set('a','b')", "enum()", null
+    })
+    {
+      final EnumDataTypeInfo enumDataTypeInfo =
+        helper.getEnumDataTypeInfo(column(columnType),
+                                   mock(ColumnDataType.class),
+                                   connection);
+      assertThat(enumDataTypeInfo.isColumnEnumerated(), is(false));
+      assertThat(enumDataTypeInfo.getEnumValues(), is(empty()));
+    }
+
+    verifyNoInteractions(connection);
+  }
+
+}
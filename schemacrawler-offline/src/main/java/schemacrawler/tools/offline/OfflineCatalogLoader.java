@@ -7,11 +7,15 @@ import static schemacrawler.filter.ReducerFactory.getSequenceReducer;
 import static schemacrawler.filter.ReducerFactory.getSynonymReducer;
 import static schemacrawler.filter.ReducerFactory.getTableReducer;
 
+import java.io.BufferedInputStream;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.Locale;
 import java.util.logging.Level;
 
+import schemacrawler.crawl.MappedCatalogReader;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Reducible;
 import schemacrawler.schema.Routine;
@@ -25,7 +29,11 @@ import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.catalogloader.CatalogLoader;
+import schemacrawler.tools.integration.serialize.CatalogSerializer;
+import schemacrawler.tools.integration.serialize.CompactSerializedCatalog;
 import schemacrawler.tools.integration.serialize.JavaSerializedCatalog;
+import schemacrawler.tools.integration.serialize.JsonSerializedCatalog;
+import schemacrawler.tools.integration.serialize.SerializationFormat;
 import schemacrawler.tools.offline.jdbc.OfflineConnection;
 import sf.util.SchemaCrawlerLogger;
 
@@ -45,6 +53,15 @@ public final class OfflineCatalogLoader
     }
   }
 
+  private static boolean isJsonCatalog(final Path offlineDatabasePath)
+  {
+    final Path fileName = offlineDatabasePath.getFileName();
+    return fileName != null && fileName
+      .toString()
+      .toLowerCase(Locale.ENGLISH)
+      .endsWith("." + SerializationFormat.json.getFileExtension());
+  }
+
   private final String databaseSystemIdentifier;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private Config additionalConfiguration;
@@ -143,11 +160,40 @@ public final class OfflineCatalogLoader
     }
 
     final Path offlineDatabasePath = dbConnection.getOfflineDatabasePath();
-    final FileInputStream inputFileStream =
-      new FileInputStream(offlineDatabasePath.toFile());
 
-    final JavaSerializedCatalog deserializedCatalog =
-      new JavaSerializedCatalog(inputFileStream);
+    // Indexed snapshots are memory-mapped, and only the schemas and tables
+    // that pass the inclusion rules are read
+    if (MappedCatalogReader.isIndexedCatalog(offlineDatabasePath))
+    {
+      LOGGER.log(Level.INFO, "Loading indexed compact serialized offline catalog");
+      final Catalog catalog =
+        new MappedCatalogReader(offlineDatabasePath, getSchemaCrawlerOptions())
+          .read();
+      reduceCatalog(catalog);
+      return catalog;
+    }
+
+    final InputStream inputFileStream = new BufferedInputStream(new FileInputStream(
+      offlineDatabasePath.toFile()));
+
+    // JSON snapshots are recognized by their file extension, and other
+    // formats from the file header, since they may be saved with any file
+    // extension
+    final CatalogSerializer deserializedCatalog;
+    if (isJsonCatalog(offlineDatabasePath))
+    {
+      LOGGER.log(Level.INFO, "Loading JSON serialized offline catalog");
+      deserializedCatalog = new JsonSerializedCatalog(inputFileStream);
+    }
+    else if (CompactSerializedCatalog.isCompactSerializedCatalog(inputFileStream))
+    {
+      LOGGER.log(Level.INFO, "Loading compact serialized offline catalog");
+      deserializedCatalog = new CompactSerializedCatalog(inputFileStream);
+    }
+    else
+    {
+      deserializedCatalog = new JavaSerializedCatalog(inputFileStream);
+    }
 
     final Catalog catalog = deserializedCatalog.getCatalog();
     reduceCatalog(catalog);
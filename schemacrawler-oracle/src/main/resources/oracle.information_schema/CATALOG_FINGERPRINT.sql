@@ -0,0 +1,8 @@
+SELECT
+  COUNT(*) AS OBJECT_COUNT,
+  MAX(OBJECTS.LAST_DDL_TIME) AS LAST_MODIFIED
+FROM
+  ${catalogscope}_OBJECTS OBJECTS
+WHERE
+  REGEXP_LIKE(OBJECTS.OWNER, ?{schemas})
+  AND OBJECTS.OBJECT_NAME NOT LIKE 'BIN$%'
@@ -0,0 +1,4 @@
+SELECT
+  SYSDATE AS DATABASE_TIMESTAMP
+FROM
+  DUAL
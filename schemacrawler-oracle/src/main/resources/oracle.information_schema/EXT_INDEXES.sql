@@ -20,7 +20,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(INDEXES.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(INDEXES.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(INDEXES.OWNER, '${schemas}')
+  AND REGEXP_LIKE(INDEXES.OWNER, ?{schemas})
   AND INDEXES.TABLE_NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(INDEXES.TABLE_NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
 ORDER BY
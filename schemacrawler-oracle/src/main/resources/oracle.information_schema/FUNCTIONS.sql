@@ -25,7 +25,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(FUNCTIONS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(FUNCTIONS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(FUNCTIONS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(FUNCTIONS.OWNER, ?{schemas})
   AND FUNCTIONS.OBJECT_TYPE = 'FUNCTION'
 ORDER BY
   FUNCTION_SCHEM,
@@ -25,7 +25,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(PROCEDURES.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(PROCEDURES.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(PROCEDURES.OWNER, '${schemas}')
+  AND REGEXP_LIKE(PROCEDURES.OWNER, ?{schemas})
   AND PROCEDURES.OBJECT_TYPE = 'PROCEDURE'
 ORDER BY
   PROCEDURE_SCHEM,
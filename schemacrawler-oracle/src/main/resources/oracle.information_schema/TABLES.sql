@@ -17,7 +17,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(TABLES.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(TABLES.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(TABLES.OWNER, '${schemas}')
+  AND REGEXP_LIKE(TABLES.OWNER, ?{schemas})
   AND TABLES.TABLE_NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(TABLES.TABLE_NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
 UNION ALL
@@ -40,4 +40,4 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(MVIEWS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(MVIEWS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(MVIEWS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(MVIEWS.OWNER, ?{schemas})
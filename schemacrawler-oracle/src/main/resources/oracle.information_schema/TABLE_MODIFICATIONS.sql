@@ -0,0 +1,55 @@
+SELECT /*+ PARALLEL(AUTO) */
+  NULL AS TABLE_CATALOG,
+  MODIFICATIONS.TABLE_SCHEMA,
+  MODIFICATIONS.TABLE_NAME,
+  MAX(MODIFICATIONS.LAST_DDL_TIME) AS LAST_MODIFIED
+FROM
+  (
+    SELECT
+      OBJECTS.OWNER AS TABLE_SCHEMA,
+      OBJECTS.OBJECT_NAME AS TABLE_NAME,
+      OBJECTS.LAST_DDL_TIME
+    FROM
+      ${catalogscope}_OBJECTS OBJECTS
+    WHERE
+      OBJECTS.OBJECT_TYPE IN ('TABLE', 'VIEW', 'MATERIALIZED VIEW')
+    UNION ALL
+    SELECT
+      INDEXES.TABLE_OWNER AS TABLE_SCHEMA,
+      INDEXES.TABLE_NAME,
+      OBJECTS.LAST_DDL_TIME
+    FROM
+      ${catalogscope}_INDEXES INDEXES
+      INNER JOIN ${catalogscope}_OBJECTS OBJECTS
+        ON OBJECTS.OWNER = INDEXES.OWNER
+          AND OBJECTS.OBJECT_NAME = INDEXES.INDEX_NAME
+          AND OBJECTS.OBJECT_TYPE = 'INDEX'
+    UNION ALL
+    SELECT
+      TRIGGERS.TABLE_OWNER AS TABLE_SCHEMA,
+      TRIGGERS.TABLE_NAME,
+      OBJECTS.LAST_DDL_TIME
+    FROM
+      ${catalogscope}_TRIGGERS TRIGGERS
+      INNER JOIN ${catalogscope}_OBJECTS OBJECTS
+        ON OBJECTS.OWNER = TRIGGERS.OWNER
+          AND OBJECTS.OBJECT_NAME = TRIGGERS.TRIGGER_NAME
+          AND OBJECTS.OBJECT_TYPE = 'TRIGGER'
+  ) MODIFICATIONS
+WHERE MODIFICATIONS.TABLE_SCHEMA NOT IN
+   ('ANONYMOUS', 'APEX_PUBLIC_USER', 'APPQOSSYS', 'BI', 'CTXSYS', 'DBSNMP',
+    'DIP',
+    'EXFSYS', 'FLOWS_30000', 'FLOWS_FILES', 'GSMADMIN_INTERNAL', 'IX',
+    'LBACSYS',
+    'MDDATA', 'MDSYS', 'MGMT_VIEW', 'OE', 'OLAPSYS', 'ORACLE_OCM',
+    'ORDPLUGINS', 'ORDSYS', 'OUTLN', 'OWBSYS', 'PM', 'SCOTT', 'SH',
+    'SI_INFORMTN_SCHEMA', 'SPATIAL_CSW_ADMIN_USR', 'SPATIAL_WFS_ADMIN_USR',
+    'SYS', 'SYSMAN', 'SYSTEM', 'TSMSYS', 'WKPROXY', 'WKSYS', 'WK_TEST',
+    'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')
+ AND NOT REGEXP_LIKE(MODIFICATIONS.TABLE_SCHEMA, '^APEX_[0-9]{6}$')
+ AND NOT REGEXP_LIKE(MODIFICATIONS.TABLE_SCHEMA, '^FLOWS_[0-9]{5}$')
+ AND REGEXP_LIKE(MODIFICATIONS.TABLE_SCHEMA, ?{schemas})
+ AND MODIFICATIONS.TABLE_NAME NOT LIKE 'BIN$%'
+GROUP BY
+  MODIFICATIONS.TABLE_SCHEMA,
+  MODIFICATIONS.TABLE_NAME
@@ -41,5 +41,5 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(TRIGGERS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(TRIGGERS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(TRIGGERS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(TRIGGERS.OWNER, ?{schemas})
 
@@ -18,7 +18,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(VIEWS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(VIEWS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(VIEWS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(VIEWS.OWNER, ?{schemas})
   AND VIEWS.VIEW_NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(VIEWS.VIEW_NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
 UNION ALL
@@ -42,6 +42,6 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(MVIEWS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(MVIEWS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(MVIEWS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(MVIEWS.OWNER, ?{schemas})
   AND MVIEWS.MVIEW_NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(MVIEWS.MVIEW_NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
@@ -38,8 +38,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 
@@ -47,6 +51,7 @@ import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.plugin.EnumDataTypeInfo;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
@@ -57,7 +62,17 @@ public class PostgreSQLEnumDataTypeHelper
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(PostgreSQLEnumDataTypeHelper.class.getName());
 
+  private static final String ALL_ENUM_VALUES_SQL =
+    "SELECT n.nspname, t.typname, e.enumlabel "
+    + "FROM pg_catalog.pg_enum e "
+    + "JOIN pg_catalog.pg_type t ON e.enumtypid = t.oid "
+    + "JOIN pg_catalog.pg_namespace n ON t.typnamespace = n.oid "
+    + "ORDER BY e.enumtypid, e.enumsortorder";
+
   private final Set<ColumnDataType> visitedDataTypes;
+  // Enumerated values by type name, and then by schema name, or null if
+  // values were not preloaded
+  private Map<String, Map<String, List<String>>> preloadedEnumValues;
 
   public PostgreSQLEnumDataTypeHelper()
   {
@@ -77,19 +92,95 @@ public class PostgreSQLEnumDataTypeHelper
                                   columnDataType.getEnumValues());
     }
 
-    try
+    final List<String> enumValues;
+    if (preloadedEnumValues != null)
     {
-      checkConnection(connection);
+      enumValues = lookupEnumValues(columnDataType);
     }
-    catch (SchemaCrawlerSQLException e)
+    else
     {
-      LOGGER.log(Level.WARNING, "Could not obtain enumerated column values", e);
+      try
+      {
+        checkConnection(connection);
+      }
+      catch (SchemaCrawlerSQLException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not obtain enumerated column values", e);
+      }
+      enumValues = getEnumValues(columnDataType, connection);
     }
-    final List<String> enumValues = getEnumValues(columnDataType, connection);
     visitedDataTypes.add(columnDataType);
     return new EnumDataTypeInfo(false, !enumValues.isEmpty(), enumValues);
   }
 
+  /**
+   * Loads the values of all enumerated types with a single query, so that
+   * columns can be checked without a query for each data type. Enumerated
+   * types are not restricted to the crawled schemas, since a column can use a
+   * type from any schema.
+   */
+  @Override
+  public void preloadEnumDataTypes(final Collection<Schema> schemas,
+                                   final Connection connection)
+  {
+    visitedDataTypes.clear();
+    preloadedEnumValues = null;
+
+    final Map<String, Map<String, List<String>>> enumValues = new HashMap<>();
+    try (
+      final Statement statement = connection.createStatement();
+      final ResultSet results = statement.executeQuery(ALL_ENUM_VALUES_SQL)
+    )
+    {
+      while (results.next())
+      {
+        final String schemaName = results.getString(1);
+        final String typeName = results.getString(2);
+        final String enumLabel = results.getString(3);
+        enumValues
+          .computeIfAbsent(typeName, key -> new LinkedHashMap<>())
+          .computeIfAbsent(schemaName, key -> new ArrayList<>())
+          .add(enumLabel);
+      }
+      preloadedEnumValues = enumValues;
+      LOGGER.log(Level.FINE,
+                 new StringFormat("Preloaded values for <%d> enumerated types",
+                                  enumValues.size()));
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat(
+                   "Could not preload enumerated values, using SQL <%s>",
+                   ALL_ENUM_VALUES_SQL),
+                 e);
+    }
+  }
+
+  /**
+   * Looks up preloaded values for an enumerated type, preferring a type in the
+   * same schema as the column data type if there are types with the same name
+   * in different schemas.
+   */
+  private List<String> lookupEnumValues(final ColumnDataType columnDataType)
+  {
+    final Map<String, List<String>> enumValuesBySchema =
+      preloadedEnumValues.get(columnDataType.getName());
+    if (enumValuesBySchema == null)
+    {
+      return new ArrayList<>();
+    }
+    final Schema schema = columnDataType.getSchema();
+    if (schema != null && enumValuesBySchema.containsKey(schema.getName()))
+    {
+      return enumValuesBySchema.get(schema.getName());
+    }
+    return enumValuesBySchema
+      .values()
+      .iterator()
+      .next();
+  }
+
   private static List<String> getEnumValues(final ColumnDataType columnDataType,
                                            final Connection connection)
   {
@@ -0,0 +1,225 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import schemacrawler.plugin.EnumDataTypeInfo;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Schema;
+import schemacrawler.server.postgresql.PostgreSQLEnumDataTypeHelper;
+
+public class PostgreSQLEnumDataTypeHelperTest
+{
+
+  private static ColumnDataType columnDataType(final String schemaName,
+                                               final String typeName)
+  {
+    final Schema schema = mock(Schema.class);
+    when(schema.getName()).thenReturn(schemaName);
+
+    final ColumnDataType columnDataType = mock(ColumnDataType.class);
+    when(columnDataType.getName()).thenReturn(typeName);
+    when(columnDataType.getSchema()).thenReturn(schema);
+    return columnDataType;
+  }
+
+  /**
+   * Mocks the results of the query for all enumerated types, with a type
+   * name that is used in two schemas.
+   */
+  private static ResultSet allEnumValues()
+    throws SQLException
+  {
+    final ResultSet results = mock(ResultSet.class);
+    when(results.next()).thenReturn(true, true, true, true, true, false);
+    when(results.getString(1)).thenReturn("public",
+                                          "public",
+                                          "public",
+                                          "other",
+                                          "other");
+    when(results.getString(2)).thenReturn("mood",
+                                          "mood",
+                                          "mood",
+                                          "mood",
+                                          "colour");
+    when(results.getString(3)).thenReturn("sad",
+                                          "ok",
+                                          "happy",
+                                          "grumpy",
+                                          "red");
+    return results;
+  }
+
+  @Test
+  public void enumValuesForEachDataType()
+    throws Exception
+  {
+    final ResultSet results = mock(ResultSet.class);
+    when(results.next()).thenReturn(true, true, false);
+    when(results.getString(1)).thenReturn("sad", "happy");
+
+    final Statement statement = mock(Statement.class);
+    when(statement.execute(anyString())).thenReturn(true);
+    when(statement.getResultSet()).thenReturn(results);
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+
+    // Without preloading, each data type is looked up with a query of
+    // its own
+    final PostgreSQLEnumDataTypeHelper helper =
+      new PostgreSQLEnumDataTypeHelper();
+    final EnumDataTypeInfo enumDataTypeInfo =
+      helper.getEnumDataTypeInfo(mock(Column.class),
+                                 columnDataType("public", "mood"),
+                                 connection);
+
+    assertThat(enumDataTypeInfo.isColumnDataTypeEnumerated(), is(true));
+    assertThat(enumDataTypeInfo.getEnumValues(), contains("sad", "happy"));
+    verify(statement).execute(endsWith("t.typname = 'mood'"));
+  }
+
+  @Test
+  public void enumValuesForEachDataTypeWhenPreloadFails()
+    throws Exception
+  {
+    final ResultSet results = mock(ResultSet.class);
+    when(results.next()).thenReturn(true, false);
+    when(results.getString(1)).thenReturn("red");
+
+    final Statement statement = mock(Statement.class);
+    when(statement.executeQuery(anyString())).thenThrow(new SQLException(
+      "permission denied for table pg_enum"));
+    when(statement.execute(anyString())).thenReturn(true);
+    when(statement.getResultSet()).thenReturn(results);
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+
+    final PostgreSQLEnumDataTypeHelper helper =
+      new PostgreSQLEnumDataTypeHelper();
+    helper.preloadEnumDataTypes(Collections.emptyList(), connection);
+    final EnumDataTypeInfo enumDataTypeInfo =
+      helper.getEnumDataTypeInfo(mock(Column.class),
+                                 columnDataType("other", "colour"),
+                                 connection);
+
+    assertThat(enumDataTypeInfo.isColumnDataTypeEnumerated(), is(true));
+    assertThat(enumDataTypeInfo.getEnumValues(), contains("red"));
+    verify(statement).execute(endsWith("t.typname = 'colour'"));
+  }
+
+  @Test
+  public void preloadedEnumValues()
+    throws Exception
+  {
+    final Statement statement = mock(Statement.class);
+    final ResultSet results = allEnumValues();
+    when(statement.executeQuery(anyString())).thenReturn(results);
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+
+    final PostgreSQLEnumDataTypeHelper helper =
+      new PostgreSQLEnumDataTypeHelper();
+    helper.preloadEnumDataTypes(Collections.emptyList(), connection);
+
+    final EnumDataTypeInfo colourInfo =
+      helper.getEnumDataTypeInfo(mock(Column.class),
+                                 columnDataType("other", "colour"),
+                                 connection);
+    assertThat(colourInfo.isColumnDataTypeEnumerated(), is(true));
+    assertThat(colourInfo.isColumnEnumerated(), is(false));
+    assertThat(colourInfo.getEnumValues(), contains("red"));
+
+    final EnumDataTypeInfo textInfo =
+      helper.getEnumDataTypeInfo(mock(Column.class),
+                                 columnDataType("pg_catalog", "text"),
+                                 connection);
+    assertThat(textInfo.isColumnDataTypeEnumerated(), is(false));
+    assertThat(textInfo.getEnumValues(), is(empty()));
+
+    // All enumerated values are loaded with a single query, and data
+    // types are not looked up one at a time
+    verify(connection, times(1)).createStatement();
+    verify(statement, times(1)).executeQuery(anyString());
+    verify(statement, never()).execute(anyString());
+    verify(results).close();
+  }
+
+  @Test
+  public void preloadedEnumValuesPreferSchemaOfDataType()
+    throws Exception
+  {
+    final Statement statement = mock(Statement.class);
+    final ResultSet results = allEnumValues();
+    when(statement.executeQuery(anyString())).thenReturn(results);
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+
+    final PostgreSQLEnumDataTypeHelper helper =
+      new PostgreSQLEnumDataTypeHelper();
+    helper.preloadEnumDataTypes(Collections.emptyList(), connection);
+
+    assertThat(helper
+                 .getEnumDataTypeInfo(mock(Column.class),
+                                      columnDataType("public", "mood"),
+                                      connection)
+                 .getEnumValues(), contains("sad", "ok", "happy"));
+    assertThat(helper
+                 .getEnumDataTypeInfo(mock(Column.class),
+                                      columnDataType("other", "mood"),
+                                      connection)
+                 .getEnumValues(), contains("grumpy"));
+    // A data type from a schema without a type of that name falls back
+    // to the first schema that was loaded
+    assertThat(helper
+                 .getEnumDataTypeInfo(mock(Column.class),
+                                      columnDataType("third", "mood"),
+                                      connection)
+                 .getEnumValues(), contains("sad", "ok", "happy"));
+  }
+
+}
@@ -0,0 +1,163 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmark;
+
+
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+
+/**
+ * Measures the heap retained by a crawled catalog, on an in-memory database
+ * scaled to a large number of columns. The retained heap is reported as the
+ * "retainedBytes" secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CatalogHeapBenchmark
+{
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class RetainedHeap
+  {
+    public long retainedBytes;
+  }
+
+  private static final String SCHEMA_NAME = "SCALED";
+  private static final int COLUMNS_PER_TABLE = 50;
+
+  @Param("100000")
+  public int columns;
+
+  private Connection connection;
+  private SchemaCrawlerOptions schemaCrawlerOptions;
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    Class.forName("org.hsqldb.jdbc.JDBCDriver");
+    connection =
+      DriverManager.getConnection("jdbc:hsqldb:mem:heapbenchmark", "SA", "");
+    try (final Statement statement = connection.createStatement())
+    {
+      statement.execute("CREATE SCHEMA " + SCHEMA_NAME);
+      final int tables = columns / COLUMNS_PER_TABLE;
+      for (int table = 0; table < tables; table++)
+      {
+        final StringBuilder sql = new StringBuilder();
+        sql
+          .append("CREATE TABLE ")
+          .append(SCHEMA_NAME)
+          .append(".TABLE_")
+          .append(table)
+          .append(" (ID INTEGER PRIMARY KEY");
+        for (int column = 1; column < COLUMNS_PER_TABLE; column++)
+        {
+          sql
+            .append(", COLUMN_")
+            .append(column)
+            .append(" VARCHAR(20)");
+        }
+        sql.append(")");
+        statement.execute(sql.toString());
+      }
+    }
+
+    schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionInclusionRule(".*\\." + SCHEMA_NAME))
+      .toOptions();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+    throws Exception
+  {
+    try (final Statement statement = connection.createStatement())
+    {
+      statement.execute("SHUTDOWN");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public Catalog crawl(final RetainedHeap retainedHeap)
+    throws Exception
+  {
+    final long heapBefore = usedHeap();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    retainedHeap.retainedBytes = usedHeap() - heapBefore;
+    return catalog;
+  }
+
+  private static long usedHeap()
+  {
+    final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++)
+    {
+      System.gc();
+    }
+    return memory
+      .getHeapMemoryUsage()
+      .getUsed();
+  }
+
+}
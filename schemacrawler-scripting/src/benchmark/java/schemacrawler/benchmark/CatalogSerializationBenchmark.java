@@ -0,0 +1,150 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.benchmark;
+
+
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.testdb.TestDatabase;
+import schemacrawler.tools.integration.serialize.CatalogSerializer;
+import schemacrawler.tools.integration.serialize.CompactSerializedCatalog;
+import schemacrawler.tools.integration.serialize.JavaSerializedCatalog;
+
+/**
+ * Compares saving and loading offline catalog snapshots using Java
+ * serialization and the compact binary format, with and without compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CatalogSerializationBenchmark
+{
+
+  private Catalog catalog;
+  private byte[] javaSerializedCatalog;
+  private byte[] compactSerializedCatalog;
+  private byte[] compressedCompactSerializedCatalog;
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    final TestDatabase testDatabase = TestDatabase.initialize();
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .toOptions();
+    try (final Connection connection = testDatabase.getConnection())
+    {
+      catalog = getCatalog(connection, schemaCrawlerOptions);
+    }
+
+    javaSerializedCatalog = save(new JavaSerializedCatalog(catalog));
+    compactSerializedCatalog =
+      save(new CompactSerializedCatalog(catalog, false));
+    compressedCompactSerializedCatalog =
+      save(new CompactSerializedCatalog(catalog, true));
+  }
+
+  @Benchmark
+  public byte[] saveJava()
+    throws Exception
+  {
+    return save(new JavaSerializedCatalog(catalog));
+  }
+
+  @Benchmark
+  public byte[] saveCompact()
+    throws Exception
+  {
+    return save(new CompactSerializedCatalog(catalog, false));
+  }
+
+  @Benchmark
+  public byte[] saveCompactCompressed()
+    throws Exception
+  {
+    return save(new CompactSerializedCatalog(catalog, true));
+  }
+
+  @Benchmark
+  public Catalog loadJava()
+    throws Exception
+  {
+    return new JavaSerializedCatalog(new ByteArrayInputStream(
+      javaSerializedCatalog)).getCatalog();
+  }
+
+  @Benchmark
+  public Catalog loadCompact()
+    throws Exception
+  {
+    return new CompactSerializedCatalog(new ByteArrayInputStream(
+      compactSerializedCatalog)).getCatalog();
+  }
+
+  @Benchmark
+  public Catalog loadCompactCompressed()
+    throws Exception
+  {
+    return new CompactSerializedCatalog(new ByteArrayInputStream(
+      compressedCompactSerializedCatalog)).getCatalog();
+  }
+
+  private byte[] save(final CatalogSerializer serializer)
+    throws Exception
+  {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.save(out);
+    return out.toByteArray();
+  }
+
+}
@@ -0,0 +1,193 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmark;
+
+
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+
+/**
+ * Measures the cost of traversing a crawled catalog the way the formatters
+ * and linters do, asking each table for its columns, indexes and foreign keys
+ * several times. Compares a catalog that copies its collections on every call
+ * with a frozen catalog, read from one thread and from several threads at
+ * once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogTraversalBenchmark
+{
+
+  private static final String SCHEMA_NAME = "TRAVERSAL";
+  private static final int COLUMNS_PER_TABLE = 20;
+
+  @Param({ "false", "true" })
+  public boolean frozen;
+
+  @Param("500")
+  public int tables;
+
+  private Catalog catalog;
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    Class.forName("org.hsqldb.jdbc.JDBCDriver");
+    try (final Connection connection = DriverManager.getConnection(
+      "jdbc:hsqldb:mem:traversalbenchmark",
+      "SA",
+      ""))
+    {
+      try (final Statement statement = connection.createStatement())
+      {
+        statement.execute("CREATE SCHEMA " + SCHEMA_NAME);
+        for (int table = 0; table < tables; table++)
+        {
+          final StringBuilder sql = new StringBuilder();
+          sql
+            .append("CREATE TABLE ")
+            .append(SCHEMA_NAME)
+            .append(".TABLE_")
+            .append(table)
+            .append(" (ID INTEGER PRIMARY KEY");
+          if (table > 0)
+          {
+            sql
+              .append(", PARENT_ID INTEGER REFERENCES ")
+              .append(SCHEMA_NAME)
+              .append(".TABLE_")
+              .append(table - 1)
+              .append(" (ID)");
+          }
+          for (int column = 2; column < COLUMNS_PER_TABLE; column++)
+          {
+            sql
+              .append(", COLUMN_")
+              .append(column)
+              .append(" VARCHAR(20)");
+          }
+          sql.append(")");
+          statement.execute(sql.toString());
+        }
+      }
+
+      final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+        .builder()
+        .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+        .includeSchemas(new RegularExpressionInclusionRule(".*\\." + SCHEMA_NAME))
+        .freezeCatalog(frozen)
+        .toOptions();
+      catalog = getCatalog(connection, schemaCrawlerOptions);
+
+      try (final Statement statement = connection.createStatement())
+      {
+        statement.execute("SHUTDOWN");
+      }
+    }
+  }
+
+  @Benchmark
+  public void traverse(final Blackhole blackhole)
+  {
+    traverseCatalog(blackhole);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void traverseConcurrently(final Blackhole blackhole)
+  {
+    traverseCatalog(blackhole);
+  }
+
+  private void traverseCatalog(final Blackhole blackhole)
+  {
+    for (final Table table : catalog.getTables())
+    {
+      // Text, diagram and lint output each ask for the columns again
+      for (int pass = 0; pass < 3; pass++)
+      {
+        for (final Column column : table.getColumns())
+        {
+          blackhole.consume(column.getColumnDataType());
+        }
+      }
+      for (final Index index : table.getIndexes())
+      {
+        for (final IndexColumn indexColumn : index.getColumns())
+        {
+          blackhole.consume(indexColumn.getSortSequence());
+        }
+      }
+      for (final ForeignKey foreignKey : table.getForeignKeys())
+      {
+        for (final ForeignKeyColumnReference columnReference : foreignKey)
+        {
+          blackhole.consume(columnReference.getPrimaryKeyColumn());
+        }
+      }
+      blackhole.consume(table.getPrimaryKey());
+    }
+  }
+
+}
@@ -28,54 +28,35 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.integration.serialize;
 
 
-import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
-import static com.fasterxml.jackson.databind.SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS;
-import static com.fasterxml.jackson.databind.SerializationFeature.USE_EQUALITY_FOR_OBJECT_ID;
-import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_ENUMS_USING_TO_STRING;
 import static java.util.Objects.requireNonNull;
 
 import java.io.OutputStream;
 import java.io.Writer;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
-
-import com.fasterxml.jackson.annotation.JsonIdentityInfo;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategy;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import schemacrawler.schema.Catalog;
-import schemacrawler.schema.Column;
-import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 
 /**
- * Decorates a database to allow for serialization to and from plain Java serialization.
+ * Decorates a database to allow for serialization to Jackson supported text
+ * formats. The catalog is streamed to the output, with objects referenced by
+ * their full names, so that the output is the same every time a catalog is
+ * written.
  */
 public abstract class BaseJacksonSerializedCatalog
   implements CatalogSerializer
 {
 
-  private static final long serialVersionUID = 5314326260124511414L;
-
   private final Catalog catalog;
-  private final SortedSet<Column> allTableColumns;
 
   public BaseJacksonSerializedCatalog(final Catalog catalog)
   {
     this.catalog = requireNonNull(catalog, "No catalog provided");
-    allTableColumns = new TreeSet<>();
-    loadAllTableColumns();
-  }
-
-  public Set<Column> getAllTableColumns()
-  {
-    return new TreeSet<>(allTableColumns);
   }
 
+  @Override
   public Catalog getCatalog()
   {
     return catalog;
@@ -89,10 +70,12 @@ public abstract class BaseJacksonSerializedCatalog
     throws SchemaCrawlerException
   {
     requireNonNull(out, "No output stream provided");
-    try
+    try (
+      final JsonGenerator generator = getJsonFactory().createGenerator(out,
+                                                                       JsonEncoding.UTF8)
+    )
     {
-      final ObjectMapper mapper = newConfiguredObjectMapper();
-      mapper.writeValue(out, this);
+      save(generator);
     }
     catch (final Exception e)
     {
@@ -108,10 +91,9 @@ public abstract class BaseJacksonSerializedCatalog
     throws SchemaCrawlerException
   {
     requireNonNull(out, "No writer provided");
-    try
+    try (final JsonGenerator generator = getJsonFactory().createGenerator(out))
     {
-      final ObjectMapper mapper = newConfiguredObjectMapper();
-      mapper.writeValue(out, this);
+      save(generator);
     }
     catch (final Exception e)
     {
@@ -119,51 +101,19 @@ public abstract class BaseJacksonSerializedCatalog
     }
   }
 
-  protected abstract ObjectMapper newObjectMapper();
-
-  private ObjectMapper newConfiguredObjectMapper()
-  {
-    @JsonIgnoreProperties({
-                            "parent", "referenced-column", "exported-foreign-keys", "imported-foreign-keys"
-                          })
-    @JsonPropertyOrder(value = {
-      "@uuid",
-      "name",
-      "short-name",
-      "full-name",
-      "crawl-info",
-      "schema-crawler-info",
-      "jvm-system-info",
-      "operating-system-info",
-      "database-info",
-      "jdbc-driver-info",
-      "schemas",
-      "system-column-data-types",
-      "column-data-types",
-      "all-table-columns"
-    }, alphabetic = true)
-    @JsonIdentityInfo(generator = ObjectIdGenerators.UUIDGenerator.class, property = "@uuid")
-    @JsonNaming(PropertyNamingStrategy.KebabCaseStrategy.class)
-    class JacksonAnnotationMixIn
-    {
-
-    }
-
-    final ObjectMapper mapper = newObjectMapper();
-    mapper.enable(ORDER_MAP_ENTRIES_BY_KEYS, INDENT_OUTPUT, USE_EQUALITY_FOR_OBJECT_ID, WRITE_ENUMS_USING_TO_STRING);
-    mapper.addMixIn(Object.class, JacksonAnnotationMixIn.class);
-    return mapper;
-  }
+  /**
+   * Gets the factory for generators of the serialization format. Factories
+   * are thread-safe, and should be shared.
+   *
+   * @return Factory for generators
+   */
+  protected abstract JsonFactory getJsonFactory();
 
-  private void loadAllTableColumns()
+  private void save(final JsonGenerator generator)
+    throws Exception
   {
-    for (final Table table : catalog.getTables())
-    {
-      for (final Column column : table.getColumns())
-      {
-        allTableColumns.add(column);
-      }
-    }
+    generator.useDefaultPrettyPrinter();
+    new StreamingCatalogWriter(catalog).write(generator);
   }
 
 }
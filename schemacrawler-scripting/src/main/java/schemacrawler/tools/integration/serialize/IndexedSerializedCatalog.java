@@ -0,0 +1,114 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialize;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import schemacrawler.crawl.CompactCatalogReader;
+import schemacrawler.crawl.CompactCatalogWriter;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Decorates a database to allow for serialization to and from an indexed
+ * compact binary format. Indexed snapshots are not compressed, but can be
+ * memory-mapped when they are loaded as offline catalogs, so that only the
+ * schemas and tables that are needed are read.
+ */
+public final class IndexedSerializedCatalog
+  implements CatalogSerializer
+{
+
+  private static Catalog readCatalog(final InputStream in)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(in, "No input stream provided");
+    try (final InputStream catalogIn = in)
+    {
+      return new CompactCatalogReader(catalogIn).read();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Cannot deserialize catalog", e);
+    }
+  }
+
+  private final Catalog catalog;
+
+  public IndexedSerializedCatalog(final Catalog catalog)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  public IndexedSerializedCatalog(final InputStream in)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(in));
+  }
+
+  @Override
+  public Catalog getCatalog()
+  {
+    return catalog;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void save(final OutputStream out)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(out, "No output stream provided");
+    try (final OutputStream catalogOut = new BufferedOutputStream(out))
+    {
+      new CompactCatalogWriter(catalog).writeIndexed(catalogOut);
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void save(final Writer out)
+  {
+    throw new UnsupportedOperationException("Cannot serialize binary format using character data");
+  }
+
+}
@@ -28,25 +28,56 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.integration.serialize;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import schemacrawler.crawl.JsonCatalogReader;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
 
 /**
  * Decorates a database to allow for serialization to JSON serialization.
+ * Catalogs can also be read back from JSON, for offline use.
  */
 public final class JsonSerializedCatalog
   extends BaseJacksonSerializedCatalog
 {
 
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private static Catalog readCatalog(final InputStream in)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(in, "No input stream provided");
+    try (final JsonParser parser = JSON_FACTORY.createParser(in))
+    {
+      return new JsonCatalogReader(parser).read();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Cannot deserialize catalog", e);
+    }
+  }
+
   public JsonSerializedCatalog(final Catalog catalog)
   {
     super(catalog);
   }
 
+  public JsonSerializedCatalog(final InputStream in)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(in));
+  }
+
   @Override
-  protected ObjectMapper newObjectMapper()
+  protected JsonFactory getJsonFactory()
   {
-    return new ObjectMapper();
+    return JSON_FACTORY;
   }
 
 }
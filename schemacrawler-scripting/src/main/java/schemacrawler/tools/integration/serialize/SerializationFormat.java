@@ -42,6 +42,14 @@ public enum SerializationFormat
   implements OutputFormat
 {
   java("Java serialization", "schemacrawler.tools.integration.serialize.JavaSerializedCatalog", true, "ser"),
+  compact("Compact binary serialization",
+          "schemacrawler.tools.integration.serialize.CompactSerializedCatalog",
+          true,
+          "scbin"),
+  indexed("Indexed compact binary serialization, for memory-mapped offline snapshots",
+          "schemacrawler.tools.integration.serialize.IndexedSerializedCatalog",
+          true,
+          "scidx"),
   json("JavaScript Object Notation (JSON) serialization format",
        "schemacrawler.tools.integration.serialize.JsonSerializedCatalog",
        false,
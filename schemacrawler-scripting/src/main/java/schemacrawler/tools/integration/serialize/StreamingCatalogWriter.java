@@ -0,0 +1,844 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialize;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import schemacrawler.ProductVersion;
+import schemacrawler.crawl.WeakAssociation;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.BaseColumn;
+import schemacrawler.schema.BaseForeignKey;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DefinedObject;
+import schemacrawler.schema.DescribedObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+
+/**
+ * Streams a catalog to a Jackson generator, walking the catalog once in a
+ * fixed order. Schemas, tables, columns, column data types and routines are
+ * referenced by their full names, so the same catalog is always written the
+ * same way, and nothing is held in memory besides the catalog itself.
+ * Crawl metrics and metadata row counts are not written, since they change
+ * from run to run.
+ */
+final class StreamingCatalogWriter
+{
+
+  private final Catalog catalog;
+
+  StreamingCatalogWriter(final Catalog catalog)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  /**
+   * Writes the catalog as a single object. The generator is flushed, but not
+   * closed.
+   *
+   * @param generator
+   *   Generator to write to
+   * @throws IOException
+   *   On an exception writing the catalog
+   */
+  void write(final JsonGenerator generator)
+    throws IOException
+  {
+    requireNonNull(generator, "No generator provided");
+
+    generator.writeStartObject();
+    writeString(generator, "name", catalog.getName());
+    writeCrawlInfo(generator, catalog.getCrawlInfo());
+    writeRemarksAndAttributes(generator, catalog, catalog);
+    writeDatabaseInfo(generator, catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(generator, catalog.getJdbcDriverInfo());
+
+    generator.writeArrayFieldStart("schemas");
+    for (final Schema schema : catalog.getSchemas())
+    {
+      generator.writeStartObject();
+      writeString(generator, "full-name", schema.getFullName());
+      writeString(generator, "catalog-name", schema.getCatalogName());
+      writeString(generator, "name", schema.getName());
+      writeRemarksAndAttributes(generator, schema, schema);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("column-data-types");
+    for (final ColumnDataType columnDataType : catalog.getColumnDataTypes())
+    {
+      writeColumnDataType(generator, columnDataType);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("tables");
+    for (final Table table : catalog.getTables())
+    {
+      writeTable(generator, table);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("routines");
+    for (final Routine routine : catalog.getRoutines())
+    {
+      writeRoutine(generator, routine);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("sequences");
+    for (final Sequence sequence : catalog.getSequences())
+    {
+      generator.writeStartObject();
+      writeSchemaObjectName(generator, sequence);
+      generator.writeNumberField("increment", sequence.getIncrement());
+      writeBigInteger(generator,
+                      "minimum-value",
+                      sequence.getMinimumValue());
+      writeBigInteger(generator,
+                      "maximum-value",
+                      sequence.getMaximumValue());
+      generator.writeBooleanField("cycle", sequence.isCycle());
+      writeRemarksAndAttributes(generator, sequence, sequence);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("synonyms");
+    for (final Synonym synonym : catalog.getSynonyms())
+    {
+      generator.writeStartObject();
+      writeSchemaObjectName(generator, synonym);
+      writeReference(generator,
+                     "referenced-object",
+                     synonym.getReferencedObject());
+      writeRemarksAndAttributes(generator, synonym, synonym);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    generator.writeEndObject();
+    generator.flush();
+  }
+
+  /**
+   * Foreign keys and weak associations are shared by the tables at both ends,
+   * so they are written once, with the table that holds the foreign key
+   * columns. If that table was not crawled, they are written with the
+   * referenced table instead.
+   */
+  private boolean isOwnedBy(final BaseForeignKey<?> foreignKey,
+                            final Table table)
+  {
+    for (final ColumnReference columnReference : foreignKey)
+    {
+      final Table foreignKeyTable = columnReference
+        .getForeignKeyColumn()
+        .getParent();
+      if (foreignKeyTable instanceof PartialDatabaseObject)
+      {
+        return columnReference
+          .getPrimaryKeyColumn()
+          .getParent()
+          .equals(table);
+      }
+      return foreignKeyTable.equals(table);
+    }
+    return false;
+  }
+
+  private void writeAttributes(final JsonGenerator generator,
+                               final AttributedObject attributedObject)
+    throws IOException
+  {
+    final Map<String, Object> attributes = attributedObject.getAttributes();
+    if (attributes.isEmpty())
+    {
+      return;
+    }
+    generator.writeObjectFieldStart("attributes");
+    // Attributes are held in hash maps, so sort them for a stable order
+    for (final Map.Entry<String, Object> attribute : new TreeMap<>(attributes).entrySet())
+    {
+      generator.writeFieldName(attribute.getKey());
+      writeValue(generator, attribute.getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeBaseColumn(final JsonGenerator generator,
+                               final BaseColumn<?> column)
+    throws IOException
+  {
+    writeString(generator, "full-name", column.getFullName());
+    writeString(generator, "name", column.getName());
+    generator.writeNumberField("ordinal-position", column.getOrdinalPosition());
+    writeReference(generator,
+                   "column-data-type",
+                   column.getColumnDataType());
+    generator.writeNumberField("size", column.getSize());
+    generator.writeNumberField("decimal-digits", column.getDecimalDigits());
+    generator.writeBooleanField("nullable", column.isNullable());
+  }
+
+  private void writeBigInteger(final JsonGenerator generator,
+                               final String fieldName,
+                               final BigInteger value)
+    throws IOException
+  {
+    if (value != null)
+    {
+      generator.writeFieldName(fieldName);
+      generator.writeNumber(value);
+    }
+  }
+
+  private void writeColumn(final JsonGenerator generator,
+                           final Column column)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeBaseColumn(generator, column);
+    generator.writeBooleanField("auto-incremented", column.isAutoIncremented());
+    generator.writeBooleanField("generated", column.isGenerated());
+    generator.writeBooleanField("hidden", column.isHidden());
+    writeString(generator, "default-value", column.getDefaultValue());
+    writeRemarksAndAttributes(generator, column, column);
+    writePrivileges(generator, column.getPrivileges());
+    generator.writeEndObject();
+  }
+
+  private void writeColumnDataType(final JsonGenerator generator,
+                                   final ColumnDataType columnDataType)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeSchemaObjectName(generator, columnDataType);
+    generator.writeNumberField("java-sql-type",
+                               columnDataType
+                                 .getJavaSqlType()
+                                 .getVendorTypeNumber());
+    writeString(generator,
+                "type-mapped-class",
+                columnDataType
+                  .getTypeMappedClass()
+                  .getName());
+    writeString(generator,
+                "create-parameters",
+                columnDataType.getCreateParameters());
+    writeString(generator,
+                "literal-prefix",
+                columnDataType.getLiteralPrefix());
+    writeString(generator,
+                "literal-suffix",
+                columnDataType.getLiteralSuffix());
+    writeString(generator,
+                "local-type-name",
+                columnDataType.getLocalTypeName());
+    generator.writeNumberField("maximum-scale",
+                               columnDataType.getMaximumScale());
+    generator.writeNumberField("minimum-scale",
+                               columnDataType.getMinimumScale());
+    generator.writeNumberField("num-precision-radix",
+                               columnDataType.getNumPrecisionRadix());
+    generator.writeNumberField("precision", columnDataType.getPrecision());
+    writeEnum(generator, "searchable", columnDataType.getSearchable());
+    generator.writeBooleanField("auto-incrementable",
+                                columnDataType.isAutoIncrementable());
+    generator.writeBooleanField("case-sensitive",
+                                columnDataType.isCaseSensitive());
+    generator.writeBooleanField("fixed-precision-scale",
+                                columnDataType.isFixedPrecisionScale());
+    generator.writeBooleanField("nullable", columnDataType.isNullable());
+    generator.writeBooleanField("unsigned", columnDataType.isUnsigned());
+    generator.writeBooleanField("user-defined",
+                                columnDataType.isUserDefined());
+    writeStrings(generator, "enum-values", columnDataType.getEnumValues());
+    writeReference(generator, "base-type", columnDataType.getBaseType());
+    writeRemarksAndAttributes(generator, columnDataType, columnDataType);
+    generator.writeEndObject();
+  }
+
+  private void writeColumnReferences(final JsonGenerator generator,
+                                     final BaseForeignKey<?> foreignKey)
+    throws IOException
+  {
+    generator.writeArrayFieldStart("column-references");
+    for (final ColumnReference columnReference : foreignKey)
+    {
+      generator.writeStartObject();
+      if (columnReference instanceof ForeignKeyColumnReference)
+      {
+        generator.writeNumberField("key-sequence",
+                                   ((ForeignKeyColumnReference) columnReference).getKeySequence());
+      }
+      writeReference(generator,
+                     "foreign-key-column",
+                     columnReference.getForeignKeyColumn());
+      writeReference(generator,
+                     "primary-key-column",
+                     columnReference.getPrimaryKeyColumn());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeCrawlInfo(final JsonGenerator generator,
+                              final CrawlInfo crawlInfo)
+    throws IOException
+  {
+    generator.writeObjectFieldStart("crawl-info");
+    writeString(generator,
+                "crawl-timestamp",
+                crawlInfo
+                  .getCrawlTimestamp()
+                  .toString());
+    writeString(generator, "run-id", crawlInfo.getRunId());
+    writeProductVersion(generator,
+                        "schema-crawler-version",
+                        crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion(generator,
+                        "operating-system-version",
+                        crawlInfo.getOperatingSystemVersion());
+    writeProductVersion(generator, "jvm-version", crawlInfo.getJvmVersion());
+    writeProductVersion(generator,
+                        "database-version",
+                        crawlInfo.getDatabaseVersion());
+    writeProductVersion(generator,
+                        "jdbc-driver-version",
+                        crawlInfo.getJdbcDriverVersion());
+    generator.writeEndObject();
+  }
+
+  private void writeDatabaseInfo(final JsonGenerator generator,
+                                 final DatabaseInfo databaseInfo)
+    throws IOException
+  {
+    generator.writeObjectFieldStart("database-info");
+    writeString(generator, "product-name", databaseInfo.getProductName());
+    writeString(generator,
+                "product-version",
+                databaseInfo.getProductVersion());
+    writeString(generator, "user-name", databaseInfo.getUserName());
+    generator.writeArrayFieldStart("properties");
+    for (final DatabaseProperty property : databaseInfo.getProperties())
+    {
+      generator.writeStartObject();
+      writeString(generator, "name", property.getName());
+      generator.writeFieldName("value");
+      writeValue(generator, property.getValue());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("server-info");
+    for (final Property property : databaseInfo.getServerInfo())
+    {
+      generator.writeStartObject();
+      writeString(generator, "name", property.getName());
+      final Object value = property.getValue();
+      writeString(generator, "value", value == null? null: String.valueOf(value));
+      writeString(generator, "description", property.getDescription());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeDefinition(final JsonGenerator generator,
+                               final Object object)
+    throws IOException
+  {
+    if (object instanceof DefinedObject
+        && ((DefinedObject) object).hasDefinition())
+    {
+      writeString(generator,
+                  "definition",
+                  ((DefinedObject) object).getDefinition());
+    }
+  }
+
+  private void writeEnum(final JsonGenerator generator,
+                         final String fieldName,
+                         final Object value)
+    throws IOException
+  {
+    if (value instanceof Enum)
+    {
+      writeString(generator, fieldName, ((Enum<?>) value).name());
+    }
+    else if (value != null)
+    {
+      writeString(generator, fieldName, value.toString());
+    }
+  }
+
+  private void writeForeignKey(final JsonGenerator generator,
+                               final ForeignKey foreignKey)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeString(generator, "name", foreignKey.getName());
+    writeString(generator, "specific-name", foreignKey.getSpecificName());
+    writeEnum(generator, "update-rule", foreignKey.getUpdateRule());
+    writeEnum(generator, "delete-rule", foreignKey.getDeleteRule());
+    writeEnum(generator, "deferrability", foreignKey.getDeferrability());
+    writeDefinition(generator, foreignKey);
+    writeRemarksAndAttributes(generator, foreignKey, foreignKey);
+    writeColumnReferences(generator, foreignKey);
+    generator.writeEndObject();
+  }
+
+  private void writeIndex(final JsonGenerator generator, final Index index)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeString(generator, "name", index.getName());
+    generator.writeBooleanField("unique", index.isUnique());
+    writeEnum(generator, "index-type", index.getIndexType());
+    generator.writeNumberField("cardinality", index.getCardinality());
+    generator.writeNumberField("pages", index.getPages());
+    writeDefinition(generator, index);
+    writeRemarksAndAttributes(generator, index, index);
+    generator.writeArrayFieldStart("columns");
+    for (final IndexColumn indexColumn : index.getColumns())
+    {
+      generator.writeStartObject();
+      writeReference(generator, "column", indexColumn);
+      generator.writeNumberField("ordinal-position",
+                                 indexColumn.getIndexOrdinalPosition());
+      writeEnum(generator, "sort-sequence", indexColumn.getSortSequence());
+      writeDefinition(generator, indexColumn);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeJdbcDriverInfo(final JsonGenerator generator,
+                                   final JdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    generator.writeObjectFieldStart("jdbc-driver-info");
+    writeString(generator, "product-name", jdbcDriverInfo.getProductName());
+    writeString(generator,
+                "product-version",
+                jdbcDriverInfo.getProductVersion());
+    writeString(generator,
+                "driver-class-name",
+                jdbcDriverInfo.getDriverClassName());
+    writeString(generator,
+                "connection-url",
+                jdbcDriverInfo.getConnectionUrl());
+    generator.writeBooleanField("jdbc-compliant",
+                                jdbcDriverInfo.isJdbcCompliant());
+    generator.writeArrayFieldStart("driver-properties");
+    for (final JdbcDriverProperty driverProperty : jdbcDriverInfo.getDriverProperties())
+    {
+      generator.writeStartObject();
+      writeString(generator, "name", driverProperty.getName());
+      writeString(generator, "value", driverProperty.getValue());
+      writeString(generator, "description", driverProperty.getDescription());
+      generator.writeBooleanField("required", driverProperty.isRequired());
+      writeStrings(generator, "choices", driverProperty.getChoices());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writePrivileges(final JsonGenerator generator,
+                               final Collection<? extends Privilege<?>> privileges)
+    throws IOException
+  {
+    if (privileges.isEmpty())
+    {
+      return;
+    }
+    generator.writeArrayFieldStart("privileges");
+    for (final Privilege<?> privilege : privileges)
+    {
+      generator.writeStartObject();
+      writeString(generator, "name", privilege.getName());
+      generator.writeArrayFieldStart("grants");
+      for (final Grant<?> grant : privilege.getGrants())
+      {
+        generator.writeStartObject();
+        writeString(generator, "grantor", grant.getGrantor());
+        writeString(generator, "grantee", grant.getGrantee());
+        generator.writeBooleanField("grantable", grant.isGrantable());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      writeRemarksAndAttributes(generator, privilege, privilege);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeProductVersion(final JsonGenerator generator,
+                                   final String fieldName,
+                                   final ProductVersion productVersion)
+    throws IOException
+  {
+    if (productVersion == null)
+    {
+      return;
+    }
+    generator.writeObjectFieldStart(fieldName);
+    writeString(generator, "product-name", productVersion.getProductName());
+    writeString(generator,
+                "product-version",
+                productVersion.getProductVersion());
+    generator.writeEndObject();
+  }
+
+  private void writeReference(final JsonGenerator generator,
+                              final String fieldName,
+                              final NamedObject namedObject)
+    throws IOException
+  {
+    if (namedObject != null)
+    {
+      writeString(generator, fieldName, namedObject.getFullName());
+    }
+  }
+
+  private void writeRemarksAndAttributes(final JsonGenerator generator,
+                                         final DescribedObject describedObject,
+                                         final AttributedObject attributedObject)
+    throws IOException
+  {
+    if (describedObject.hasRemarks())
+    {
+      writeString(generator, "remarks", describedObject.getRemarks());
+    }
+    writeAttributes(generator, attributedObject);
+  }
+
+  private void writeRoutine(final JsonGenerator generator,
+                            final Routine routine)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeSchemaObjectName(generator, routine);
+    writeString(generator,
+                "routine-type",
+                routine instanceof Function? "function": "procedure");
+    writeString(generator, "specific-name", routine.getSpecificName());
+    writeEnum(generator, "return-type", routine.getReturnType());
+    writeEnum(generator, "routine-body-type", routine.getRoutineBodyType());
+    writeDefinition(generator, routine);
+    writeRemarksAndAttributes(generator, routine, routine);
+    generator.writeArrayFieldStart("parameters");
+    final List<? extends RoutineParameter<?>> parameters =
+      routine.getParameters();
+    for (final RoutineParameter<?> parameter : parameters)
+    {
+      generator.writeStartObject();
+      writeBaseColumn(generator, parameter);
+      generator.writeNumberField("precision", parameter.getPrecision());
+      writeEnum(generator, "parameter-mode", parameter.getParameterMode());
+      writeRemarksAndAttributes(generator, parameter, parameter);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeSchemaObjectName(final JsonGenerator generator,
+                                     final DatabaseObject databaseObject)
+    throws IOException
+  {
+    writeString(generator, "full-name", databaseObject.getFullName());
+    writeReference(generator, "schema", databaseObject.getSchema());
+    writeString(generator, "name", databaseObject.getName());
+  }
+
+  private void writeString(final JsonGenerator generator,
+                           final String fieldName,
+                           final String value)
+    throws IOException
+  {
+    if (value != null)
+    {
+      generator.writeStringField(fieldName, value);
+    }
+  }
+
+  private void writeStrings(final JsonGenerator generator,
+                            final String fieldName,
+                            final Collection<String> values)
+    throws IOException
+  {
+    if (values == null || values.isEmpty())
+    {
+      return;
+    }
+    generator.writeArrayFieldStart(fieldName);
+    for (final String value : values)
+    {
+      generator.writeString(value);
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeTable(final JsonGenerator generator, final Table table)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeSchemaObjectName(generator, table);
+    writeString(generator,
+                "table-type",
+                table
+                  .getTableType()
+                  .getTableType());
+    if (table instanceof View)
+    {
+      final View view = (View) table;
+      writeEnum(generator, "check-option", view.getCheckOption());
+      generator.writeBooleanField("updatable", view.isUpdatable());
+    }
+    writeDefinition(generator, table);
+    writeRemarksAndAttributes(generator, table, table);
+
+    generator.writeArrayFieldStart("columns");
+    for (final Column column : table.getColumns())
+    {
+      writeColumn(generator, column);
+    }
+    for (final Column column : table.getHiddenColumns())
+    {
+      writeColumn(generator, column);
+    }
+    generator.writeEndArray();
+
+    final TableConstraint primaryKey = table.getPrimaryKey();
+    if (primaryKey != null)
+    {
+      generator.writeFieldName("primary-key");
+      writeTableConstraint(generator, primaryKey);
+    }
+
+    generator.writeArrayFieldStart("indexes");
+    for (final Index index : table.getIndexes())
+    {
+      writeIndex(generator, index);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("foreign-keys");
+    for (final ForeignKey foreignKey : table.getForeignKeys())
+    {
+      if (isOwnedBy(foreignKey, table))
+      {
+        writeForeignKey(generator, foreignKey);
+      }
+    }
+    generator.writeEndArray();
+
+    final Collection<WeakAssociation> weakAssociations =
+      table.getWeakAssociations();
+    if (!weakAssociations.isEmpty())
+    {
+      generator.writeArrayFieldStart("weak-associations");
+      for (final WeakAssociation weakAssociation : weakAssociations)
+      {
+        if (isOwnedBy(weakAssociation, table))
+        {
+          generator.writeStartObject();
+          writeString(generator, "name", weakAssociation.getName());
+          writeColumnReferences(generator, weakAssociation);
+          generator.writeEndObject();
+        }
+      }
+      generator.writeEndArray();
+    }
+
+    generator.writeArrayFieldStart("table-constraints");
+    for (final TableConstraint tableConstraint : table.getTableConstraints())
+    {
+      writeTableConstraint(generator, tableConstraint);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("triggers");
+    for (final Trigger trigger : table.getTriggers())
+    {
+      generator.writeStartObject();
+      writeString(generator, "name", trigger.getName());
+      writeEnum(generator,
+                "event-manipulation-type",
+                trigger.getEventManipulationType());
+      generator.writeNumberField("action-order", trigger.getActionOrder());
+      writeEnum(generator,
+                "action-orientation",
+                trigger.getActionOrientation());
+      writeEnum(generator, "condition-timing", trigger.getConditionTiming());
+      writeString(generator,
+                  "action-condition",
+                  trigger.getActionCondition());
+      writeString(generator,
+                  "action-statement",
+                  trigger.getActionStatement());
+      writeRemarksAndAttributes(generator, trigger, trigger);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    writePrivileges(generator, table.getPrivileges());
+    generator.writeEndObject();
+  }
+
+  private void writeTableConstraint(final JsonGenerator generator,
+                                    final TableConstraint tableConstraint)
+    throws IOException
+  {
+    generator.writeStartObject();
+    writeString(generator, "name", tableConstraint.getName());
+    writeEnum(generator,
+              "constraint-type",
+              tableConstraint.getConstraintType());
+    generator.writeBooleanField("deferrable", tableConstraint.isDeferrable());
+    generator.writeBooleanField("initially-deferred",
+                                tableConstraint.isInitiallyDeferred());
+    writeDefinition(generator, tableConstraint);
+    writeRemarksAndAttributes(generator, tableConstraint, tableConstraint);
+    generator.writeArrayFieldStart("columns");
+    for (final TableConstraintColumn constraintColumn : tableConstraint.getColumns())
+    {
+      generator.writeStartObject();
+      writeReference(generator, "column", constraintColumn);
+      generator.writeNumberField("ordinal-position",
+                                 constraintColumn.getTableConstraintOrdinalPosition());
+      writeDefinition(generator, constraintColumn);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeValue(final JsonGenerator generator, final Object value)
+    throws IOException
+  {
+    if (value == null)
+    {
+      generator.writeNull();
+    }
+    else if (value instanceof String)
+    {
+      generator.writeString((String) value);
+    }
+    else if (value instanceof Boolean)
+    {
+      generator.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer
+             || value instanceof Short
+             || value instanceof Byte)
+    {
+      generator.writeNumber(((Number) value).intValue());
+    }
+    else if (value instanceof Long)
+    {
+      generator.writeNumber((Long) value);
+    }
+    else if (value instanceof Double || value instanceof Float)
+    {
+      generator.writeNumber(((Number) value).doubleValue());
+    }
+    else if (value instanceof BigDecimal)
+    {
+      generator.writeNumber((BigDecimal) value);
+    }
+    else if (value instanceof BigInteger)
+    {
+      generator.writeNumber((BigInteger) value);
+    }
+    else if (value instanceof Collection)
+    {
+      generator.writeStartArray();
+      for (final Object item : (Collection<?>) value)
+      {
+        writeValue(generator, item);
+      }
+      generator.writeEndArray();
+    }
+    else if (value instanceof Object[])
+    {
+      writeValue(generator, Arrays.asList((Object[]) value));
+    }
+    else if (value instanceof Enum)
+    {
+      generator.writeString(((Enum<?>) value).name());
+    }
+    else
+    {
+      generator.writeString(value.toString());
+    }
+  }
+
+}
@@ -28,7 +28,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.integration.serialize;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import schemacrawler.schema.Catalog;
 
@@ -39,15 +39,17 @@ public final class YamlSerializedCatalog
   extends BaseJacksonSerializedCatalog
 {
 
+  private static final JsonFactory YAML_FACTORY = new YAMLFactory();
+
   public YamlSerializedCatalog(final Catalog catalog)
   {
     super(catalog);
   }
 
   @Override
-  protected ObjectMapper newObjectMapper()
+  protected JsonFactory getJsonFactory()
   {
-    return new ObjectMapper(new YAMLFactory());
+    return YAML_FACTORY;
   }
 
 }
@@ -0,0 +1,144 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test.serialize;
+
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static schemacrawler.test.utility.TestUtility.fileHeaderOf;
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.crawl.MappedCatalogReader;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.test.utility.DatabaseTestUtility;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.integration.serialize.CompactSerializedCatalog;
+import schemacrawler.tools.integration.serialize.IndexedSerializedCatalog;
+import schemacrawler.tools.integration.serialize.JavaSerializedCatalog;
+import sf.util.IOUtility;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CatalogCompactSerializationTest
+{
+
+  @Test
+  public void catalogSerializationWithCompactFormat(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path javaOutputFile =
+      IOUtility.createTempFilePath("sc_java_serialization", "ser");
+    new JavaSerializedCatalog(catalog).save(new FileOutputStream(javaOutputFile.toFile()));
+
+    final Path testOutputFile =
+      IOUtility.createTempFilePath("sc_compact_serialization", "scbin");
+    new CompactSerializedCatalog(catalog).save(new FileOutputStream(
+      testOutputFile.toFile()));
+    assertThat("Catalog was not serialized",
+               Files.size(testOutputFile),
+               greaterThan(0L));
+    assertThat("Compact catalog is not smaller than Java serialization",
+               Files.size(testOutputFile),
+               lessThan(Files.size(javaOutputFile)));
+    assertThat(fileHeaderOf(testOutputFile), is("5343"));
+
+    final Catalog catalogDeserialized;
+    try (
+      final InputStream in = new BufferedInputStream(new FileInputStream(
+        testOutputFile.toFile()))
+    )
+    {
+      assertThat(CompactSerializedCatalog.isCompactSerializedCatalog(in),
+                 is(true));
+      catalogDeserialized = new CompactSerializedCatalog(in).getCatalog();
+    }
+
+    final Schema schemaDeserialized = catalogDeserialized
+      .lookupSchema("PUBLIC.BOOKS")
+      .orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat("Unexpected number of tables in the schema",
+               catalogDeserialized.getTables(schemaDeserialized),
+               hasSize(10));
+  }
+
+  @Test
+  public void catalogSerializationWithIndexedFormat(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path testOutputFile =
+      IOUtility.createTempFilePath("sc_indexed_serialization", "scidx");
+    new IndexedSerializedCatalog(catalog).save(new FileOutputStream(
+      testOutputFile.toFile()));
+    assertThat("Catalog was not serialized",
+               Files.size(testOutputFile),
+               greaterThan(0L));
+    assertThat(fileHeaderOf(testOutputFile), is("5343"));
+    assertThat(MappedCatalogReader.isIndexedCatalog(testOutputFile), is(true));
+
+    final Catalog catalogDeserialized =
+      new MappedCatalogReader(testOutputFile, schemaCrawlerOptions).read();
+
+    final Schema schemaDeserialized = catalogDeserialized
+      .lookupSchema("PUBLIC.BOOKS")
+      .orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat("Unexpected number of tables in the schema",
+               catalogDeserialized.getTables(schemaDeserialized),
+               hasSize(10));
+  }
+
+}
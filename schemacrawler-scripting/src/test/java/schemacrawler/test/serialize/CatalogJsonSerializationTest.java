@@ -31,6 +31,7 @@ package schemacrawler.test.serialize;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
@@ -42,14 +43,24 @@ import static schemacrawler.test.utility.FileHasContent.outputOf;
 import static schemacrawler.test.utility.TestUtility.fileHeaderOf;
 import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -58,6 +69,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.test.utility.DatabaseTestUtility;
 import schemacrawler.test.utility.TestContext;
@@ -114,6 +128,12 @@ public class CatalogJsonSerializationTest
       Files.copy(testOutputFile, copied, StandardCopyOption.REPLACE_EXISTING);
     }
 
+    final String json =
+      new String(Files.readAllBytes(testOutputFile), StandardCharsets.UTF_8);
+    assertThat("Object identities were serialized",
+               json,
+               not(containsString("@uuid")));
+
     // Read generated JSON file, and assert values
     final ObjectMapper objectMapper = new ObjectMapper();
     final JsonNode catalogNode = objectMapper.readTree(testOutputFile.toFile());
@@ -121,36 +141,140 @@ public class CatalogJsonSerializationTest
                catalogNode.findPath("schemas"),
                not(instanceOf(MissingNode.class)));
 
-    final JsonNode allTableColumnsNode =
-      catalogNode.findPath("all-table-columns");
-    assertThat("Table columns were not serialized",
-               allTableColumnsNode,
+    final JsonNode tablesNode = catalogNode.path("tables");
+    assertThat("Tables were not serialized",
+               tablesNode,
                not(instanceOf(MissingNode.class)));
+    assertThat(tablesNode.size(), is(catalog
+                                       .getTables()
+                                       .size()));
+
+    // Tables are listed by name, so that the output does not depend on
+    // the order of tables in the catalog
+    final Map<String, List<String>> tableColumns = new TreeMap<>();
+    for (final JsonNode tableNode : tablesNode)
+    {
+      final String tableFullName = tableNode
+        .get("full-name")
+        .asText();
+      final Optional<Table> table = catalog
+        .getTables()
+        .stream()
+        .filter(catalogTable -> catalogTable
+          .getFullName()
+          .equals(tableFullName))
+        .findAny();
+      if (!table.isPresent())
+      {
+        fail("Table not found in catalog - " + tableFullName);
+      }
+
+      final List<String> expectedColumns = new ArrayList<>();
+      for (final Column column : table
+        .get()
+        .getColumns())
+      {
+        expectedColumns.add(column.getFullName());
+      }
+      for (final Column column : table
+        .get()
+        .getHiddenColumns())
+      {
+        expectedColumns.add(column.getFullName());
+      }
+      final List<String> columns = new ArrayList<>();
+      tableNode
+        .path("columns")
+        .elements()
+        .forEachRemaining(columnNode -> columns.add(columnNode
+                                                      .get("full-name")
+                                                      .asText()));
+      assertThat("Table columns were not serialized",
+                 columns,
+                 is(expectedColumns));
+      tableColumns.put(tableFullName, columns);
+    }
 
     final TestWriter testout = new TestWriter();
     try (final TestWriter out = testout)
     {
-      allTableColumnsNode
-        .elements()
-        .forEachRemaining(columnNode -> {
-          final JsonNode columnFullnameNode = columnNode.get("full-name");
-          if (columnFullnameNode != null)
-          {
-            out.println("- column @uuid: " + columnNode
-              .get("@uuid")
-              .asText());
-            out.println("  " + columnFullnameNode.asText());
-          }
-          else
-          {
-            fail("Table column object not found - " + columnNode.asText());
-          }
-        });
+      for (final Entry<String, List<String>> tableColumnsEntry : tableColumns.entrySet())
+      {
+        out.println("- table: " + tableColumnsEntry.getKey());
+        for (final String column : tableColumnsEntry.getValue())
+        {
+          out.println("  - column: " + column);
+        }
+      }
     }
 
     assertThat(outputOf(testout),
                hasSameContentAs(classpathResource(testContext.testMethodFullName())));
+  }
+
+  @Test
+  public void catalogSerializationWithJsonIsRepeatable(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final ByteArrayOutputStream first = new ByteArrayOutputStream();
+    new JsonSerializedCatalog(catalog).save(first);
+    final ByteArrayOutputStream second = new ByteArrayOutputStream();
+    new JsonSerializedCatalog(catalog).save(second);
+
+    assertThat(first.size(), greaterThan(0));
+    assertThat(second.toString("UTF-8"), is(first.toString("UTF-8")));
+  }
 
+  @Test
+  public void catalogSerializationWithJsonRoundTrip(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JsonSerializedCatalog(catalog).save(out);
+
+    final Catalog catalogFromJson = new JsonSerializedCatalog(new ByteArrayInputStream(
+      out.toByteArray())).getCatalog();
+
+    assertThat(fullNamesOf(catalogFromJson.getTables()),
+               is(fullNamesOf(catalog.getTables())));
+    assertThat(fullNamesOf(catalogFromJson.getRoutines()),
+               is(fullNamesOf(catalog.getRoutines())));
+    for (final Table table : catalog.getTables())
+    {
+      final Table tableFromJson = catalogFromJson
+        .lookupTable(table.getSchema(), table.getName())
+        .get();
+      assertThat(fullNamesOf(tableFromJson.getColumns()),
+                 is(fullNamesOf(table.getColumns())));
+      assertThat(fullNamesOf(tableFromJson.getForeignKeys()),
+                 is(fullNamesOf(table.getForeignKeys())));
+      assertThat(fullNamesOf(tableFromJson.getIndexes()),
+                 is(fullNamesOf(table.getIndexes())));
+    }
+
+    final ByteArrayOutputStream outFromJson = new ByteArrayOutputStream();
+    new JsonSerializedCatalog(catalogFromJson).save(outFromJson);
+    assertThat(outFromJson.toString("UTF-8"), is(out.toString("UTF-8")));
+  }
+
+  private static List<String> fullNamesOf(final Collection<? extends NamedObject> namedObjects)
+  {
+    final List<String> fullNames = new ArrayList<>();
+    for (final NamedObject namedObject : namedObjects)
+    {
+      fullNames.add(namedObject.getFullName());
+    }
+    return fullNames;
   }
 
 }
@@ -0,0 +1,7 @@
+SELECT
+  COUNT(*) AS OBJECT_COUNT,
+  MAX(OBJECTS.MODIFY_DATE) AS LAST_MODIFIED
+FROM
+  SYS.OBJECTS OBJECTS
+WHERE
+  OBJECTS.IS_MS_SHIPPED = 0
@@ -0,0 +1,2 @@
+SELECT
+  GETDATE() AS DATABASE_TIMESTAMP
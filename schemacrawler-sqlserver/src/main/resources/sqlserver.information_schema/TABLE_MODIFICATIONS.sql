@@ -0,0 +1,19 @@
+SELECT
+  DB_NAME() AS TABLE_CATALOG,
+  SCHEMA_NAME(OBJECTS.SCHEMA_ID) AS TABLE_SCHEMA,
+  OBJECTS.NAME AS TABLE_NAME,
+  CASE
+    WHEN MAX(TRIGGERS.MODIFY_DATE) > OBJECTS.MODIFY_DATE
+      THEN MAX(TRIGGERS.MODIFY_DATE)
+    ELSE OBJECTS.MODIFY_DATE
+  END AS LAST_MODIFIED
+FROM
+  SYS.OBJECTS OBJECTS
+  LEFT OUTER JOIN SYS.TRIGGERS TRIGGERS
+    ON TRIGGERS.PARENT_ID = OBJECTS.OBJECT_ID
+WHERE
+  OBJECTS.TYPE IN ('U', 'V')
+GROUP BY
+  OBJECTS.SCHEMA_ID,
+  OBJECTS.NAME,
+  OBJECTS.MODIFY_DATE
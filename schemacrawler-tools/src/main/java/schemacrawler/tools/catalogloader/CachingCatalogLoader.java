@@ -0,0 +1,451 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.catalogloader;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.logging.Level;
+
+import schemacrawler.Version;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.inclusionrule.InclusionRuleWithRegularExpression;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaInfoLevel;
+import schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy;
+import schemacrawler.schemacrawler.SchemaInfoRetrieval;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Decorates a catalog loader, to keep crawled catalogs in a catalog cache. The
+ * cache key is made up of the SchemaCrawler version, the database system
+ * identifier, the connection URL and user, the SchemaCrawler options, the
+ * schema retrieval options, and a fingerprint of the database objects. The fingerprint comes from the catalog
+ * fingerprint query of the database plugin, which should be cheap to run, and
+ * change whenever objects are created, altered or dropped. Without a
+ * fingerprint query, the cache is not used, unless the catalog cache allows
+ * cached catalogs to be used until they expire. Row counts
+ * change without changes to the fingerprint, so the cache is not used for
+ * crawls that load row counts, or that leave out empty tables.
+ */
+public final class CachingCatalogLoader
+  implements CatalogLoader
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(CachingCatalogLoader.class.getName());
+
+  /**
+   * Adds a named value to the cache key. The length of the value is added
+   * too, so that values with line breaks, such as SQL, cannot run into the
+   * next value.
+   */
+  private static void appendKey(final StringBuilder cacheKey,
+                                final String name,
+                                final Object value)
+  {
+    final String text = String.valueOf(value);
+    cacheKey
+      .append(name)
+      .append('=')
+      .append(text.length())
+      .append(':')
+      .append(text)
+      .append('\n');
+  }
+
+  /**
+   * Adds an inclusion rule to the cache key, by its class and regular
+   * expressions. Other inclusion rules cannot be described, so the cache
+   * cannot be used with them.
+   *
+   * @return False if the inclusion rule cannot be described
+   */
+  private static boolean appendKey(final StringBuilder cacheKey,
+                                   final String name,
+                                   final InclusionRule inclusionRule)
+  {
+    if (inclusionRule == null)
+    {
+      appendKey(cacheKey, name, (Object) null);
+      return true;
+    }
+    if (!(inclusionRule instanceof InclusionRuleWithRegularExpression))
+    {
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Cannot describe inclusion rule <%s> for the cache key",
+                                  inclusionRule.getClass().getName()));
+      return false;
+    }
+
+    final InclusionRuleWithRegularExpression regularExpressionRule =
+      (InclusionRuleWithRegularExpression) inclusionRule;
+    appendKey(cacheKey, name, inclusionRule.getClass().getName());
+    appendKey(cacheKey, name + ".include", regularExpressionRule.getInclusionPattern().pattern());
+    appendKey(cacheKey, name + ".include.flags", regularExpressionRule.getInclusionPattern().flags());
+    appendKey(cacheKey, name + ".exclude", regularExpressionRule.getExclusionPattern().pattern());
+    appendKey(cacheKey, name + ".exclude.flags", regularExpressionRule.getExclusionPattern().flags());
+    return true;
+  }
+
+  /**
+   * Adds each of the SchemaCrawler options that affect the crawled catalog to
+   * the cache key.
+   *
+   * @return False if the options cannot be described
+   */
+  private static boolean appendKey(final StringBuilder cacheKey,
+                                   final SchemaCrawlerOptions options)
+  {
+    final SchemaInfoLevel schemaInfoLevel = options.getSchemaInfoLevel();
+    appendKey(cacheKey, "info-level", schemaInfoLevel.getTag());
+    for (final SchemaInfoRetrieval schemaInfoRetrieval : SchemaInfoRetrieval.values())
+    {
+      appendKey(cacheKey,
+                "info-level." + schemaInfoRetrieval.name(),
+                schemaInfoLevel.is(schemaInfoRetrieval));
+    }
+
+    appendKey(cacheKey, "table-name-pattern", options.getTableNamePattern());
+    appendKey(cacheKey, "table-types", describe(options.getTableTypes()));
+    appendKey(cacheKey, "routine-types", describe(options.getRoutineTypes()));
+    appendKey(cacheKey, "child-table-filter-depth", options.getChildTableFilterDepth());
+    appendKey(cacheKey, "parent-table-filter-depth", options.getParentTableFilterDepth());
+    appendKey(cacheKey, "grep-invert-match", options.isGrepInvertMatch());
+    appendKey(cacheKey, "grep-only-matching", options.isGrepOnlyMatching());
+    appendKey(cacheKey, "freeze-catalog", options.isFreezeCatalog());
+
+    return appendKey(cacheKey, "schemas", options.getSchemaInclusionRule())
+           && appendKey(cacheKey, "tables", options.getTableInclusionRule())
+           && appendKey(cacheKey, "columns", options.getColumnInclusionRule())
+           && appendKey(cacheKey, "routines", options.getRoutineInclusionRule())
+           && appendKey(cacheKey, "routine-parameters", options.getRoutineParameterInclusionRule())
+           && appendKey(cacheKey, "sequences", options.getSequenceInclusionRule())
+           && appendKey(cacheKey, "synonyms", options.getSynonymInclusionRule())
+           && appendKey(cacheKey, "grep-columns", options.getGrepColumnInclusionRule().orElse(null))
+           && appendKey(cacheKey,
+                        "grep-routine-parameters",
+                        options.getGrepRoutineParameterInclusionRule().orElse(null))
+           && appendKey(cacheKey, "grep-definitions", options.getGrepDefinitionInclusionRule().orElse(null));
+  }
+
+  /**
+   * Adds each of the schema retrieval options that affect the crawled catalog
+   * to the cache key, including the data dictionary queries of the database
+   * plugin.
+   */
+  private static void appendKey(final StringBuilder cacheKey,
+                                final SchemaRetrievalOptions options)
+  {
+    appendKey(cacheKey,
+              "database-server-type",
+              options
+                .getDatabaseServerType()
+                .getDatabaseSystemIdentifier());
+    appendKey(cacheKey, "supports-catalogs", options.isSupportsCatalogs());
+    appendKey(cacheKey, "supports-schemas", options.isSupportsSchemas());
+    appendKey(cacheKey, "identifier-quote-string", options.getIdentifierQuoteString());
+    for (final SchemaInfoMetadataRetrievalStrategy strategy : SchemaInfoMetadataRetrievalStrategy.values())
+    {
+      appendKey(cacheKey, "retrieval-strategy." + strategy.name(), options.get(strategy));
+    }
+
+    final InformationSchemaViews informationSchemaViews = options.getInformationSchemaViews();
+    for (final InformationSchemaKey key : InformationSchemaKey.values())
+    {
+      if (informationSchemaViews.hasQuery(key))
+      {
+        appendKey(cacheKey,
+                  key.getLookupKey(),
+                  informationSchemaViews
+                    .getQuery(key)
+                    .getQuery());
+      }
+      appendKey(cacheKey, key.getLookupKey() + ".fetch-size", options.getFetchSize(key));
+    }
+    appendKey(cacheKey, "fetch-size", options.getFetchSize());
+    appendKey(cacheKey, "adaptive-fetch-size", options.isAdaptiveFetchSize());
+    appendKey(cacheKey, "estimated-table-row-counts", options.isEstimatedTableRowCounts());
+    appendKey(cacheKey, "table-row-counts-query-timeout", options.getTableRowCountsQueryTimeout());
+    appendKey(cacheKey, "table-changes-timestamp", options.isTableChangesTimestamp());
+  }
+
+  private static String describe(final Collection<?> values)
+  {
+    if (values == null)
+    {
+      return null;
+    }
+    // Types are matched in any order, so sort them
+    final Collection<String> sortedValues = new TreeSet<>();
+    for (final Object value : values)
+    {
+      sortedValues.add(String.valueOf(value));
+    }
+    return sortedValues.toString();
+  }
+
+  private final CatalogCache catalogCache;
+  private final CatalogLoader catalogLoader;
+
+  public CachingCatalogLoader(final CatalogLoader catalogLoader,
+                              final CatalogCache catalogCache)
+  {
+    this.catalogLoader = requireNonNull(catalogLoader, "No catalog loader provided");
+    this.catalogCache = requireNonNull(catalogCache, "No catalog cache provided");
+  }
+
+  @Override
+  public Config getAdditionalConfiguration()
+  {
+    return catalogLoader.getAdditionalConfiguration();
+  }
+
+  @Override
+  public void setAdditionalConfiguration(final Config config)
+  {
+    catalogLoader.setAdditionalConfiguration(config);
+  }
+
+  public CatalogCache getCatalogCache()
+  {
+    return catalogCache;
+  }
+
+  @Override
+  public Connection getConnection()
+  {
+    return catalogLoader.getConnection();
+  }
+
+  @Override
+  public void setConnection(final Connection connection)
+  {
+    catalogLoader.setConnection(connection);
+  }
+
+  @Override
+  public String getDatabaseSystemIdentifier()
+  {
+    return catalogLoader.getDatabaseSystemIdentifier();
+  }
+
+  @Override
+  public SchemaCrawlerOptions getSchemaCrawlerOptions()
+  {
+    return catalogLoader.getSchemaCrawlerOptions();
+  }
+
+  @Override
+  public void setSchemaCrawlerOptions(final SchemaCrawlerOptions schemaCrawlerOptions)
+  {
+    catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
+  }
+
+  @Override
+  public SchemaRetrievalOptions getSchemaRetrievalOptions()
+  {
+    return catalogLoader.getSchemaRetrievalOptions();
+  }
+
+  @Override
+  public void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions)
+  {
+    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
+  }
+
+  /**
+   * Loads the catalog from the cache, or crawls and caches it on a cache
+   * miss. If the cache key cannot be worked out, if there is no way to tell
+   * that the catalog has changed, or if row counts are needed, the cache is
+   * bypassed.
+   */
+  @Override
+  public Catalog loadCatalog()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+      requireNonNull(getSchemaCrawlerOptions(), "No SchemaCrawler options provided");
+    if (schemaCrawlerOptions.isLoadRowCounts() || schemaCrawlerOptions.isNoEmptyTables())
+    {
+      LOGGER.log(Level.INFO,
+                 "Not using the catalog cache, since row counts are not tracked by the catalog fingerprint");
+      return catalogLoader.loadCatalog();
+    }
+
+    final String cacheKey;
+    try
+    {
+      final Optional<String> optionalCacheKey = cacheKey();
+      if (!optionalCacheKey.isPresent())
+      {
+        return catalogLoader.loadCatalog();
+      }
+      cacheKey = optionalCacheKey.get();
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 "Not using the catalog cache, since the cache key could not be obtained",
+                 e);
+      return catalogLoader.loadCatalog();
+    }
+
+    final Optional<Catalog> cachedCatalog = catalogCache.get(cacheKey);
+    final Catalog catalog;
+    if (cachedCatalog.isPresent())
+    {
+      LOGGER.log(Level.INFO, "Loaded catalog from the catalog cache");
+      catalog = cachedCatalog.get();
+    }
+    else
+    {
+      LOGGER.log(Level.INFO, "Crawling catalog, since it was not cached");
+      catalog = catalogLoader.loadCatalog();
+      if (catalog != null)
+      {
+        catalogCache.put(cacheKey, catalog);
+      }
+    }
+    LOGGER.log(Level.INFO, new StringFormat("%s", catalogCache));
+
+    return catalog;
+  }
+
+  /**
+   * Builds the cache key from each of the options, rather than from their
+   * string forms, which are not meant to be stable.
+   *
+   * @return Cache key, or empty if the cache cannot be used
+   */
+  private Optional<String> cacheKey()
+    throws SQLException
+  {
+    final Connection connection =
+      requireNonNull(getConnection(), "No connection provided");
+    final DatabaseMetaData metaData = connection.getMetaData();
+
+    final StringBuilder cacheKey = new StringBuilder();
+    appendKey(cacheKey, "version", Version.getVersion());
+    appendKey(cacheKey, "database-system-identifier", getDatabaseSystemIdentifier());
+    appendKey(cacheKey, "url", metaData.getURL());
+    appendKey(cacheKey, "user", metaData.getUserName());
+    if (!appendKey(cacheKey, requireNonNull(getSchemaCrawlerOptions(), "No SchemaCrawler options provided")))
+    {
+      LOGGER.log(Level.INFO,
+                 "Not using the catalog cache, since the options cannot be described in a cache key");
+      return Optional.empty();
+    }
+    appendKey(cacheKey,
+              requireNonNull(getSchemaRetrievalOptions(), "No schema retrieval options provided"));
+
+    final Optional<String> fingerprint = fingerprint(connection);
+    if (!fingerprint.isPresent())
+    {
+      return Optional.empty();
+    }
+    appendKey(cacheKey, "fingerprint", fingerprint.get());
+    return Optional.of(cacheKey.toString());
+  }
+
+  /**
+   * Runs the catalog fingerprint query of the database plugin, if there is
+   * one, and returns all the values that it returns.
+   *
+   * @return Fingerprint, or empty if there is no fingerprint query, and the
+   * catalog cache does not allow catalogs to be cached without one
+   */
+  private Optional<String> fingerprint(final Connection connection)
+    throws SQLException
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      getSchemaRetrievalOptions();
+    final InformationSchemaViews informationSchemaViews =
+      schemaRetrievalOptions.getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(InformationSchemaKey.CATALOG_FINGERPRINT))
+    {
+      if (!catalogCache.isTimeToLiveOnly())
+      {
+        LOGGER.log(Level.INFO,
+                   "Not using the catalog cache, since the catalog fingerprint SQL statement was not provided");
+        return Optional.empty();
+      }
+      LOGGER.log(Level.INFO,
+                 "Cached catalogs are used until they expire, since the catalog fingerprint SQL statement was not provided");
+      return Optional.of("");
+    }
+
+    final Query fingerprintSql =
+      informationSchemaViews.getQuery(InformationSchemaKey.CATALOG_FINGERPRINT);
+    final StringBuilder fingerprint = new StringBuilder();
+    try (
+      final Statement statement = connection.createStatement();
+      final ResultSet results = executeAgainstSchema(fingerprintSql,
+                                                     statement,
+                                                     getSchemaCrawlerOptions().getSchemaInclusionRule())
+    )
+    {
+      if (results == null)
+      {
+        LOGGER.log(Level.INFO, "Catalog fingerprint SQL statement did not return results");
+        return catalogCache.isTimeToLiveOnly()? Optional.of(""): Optional.empty();
+      }
+      final int columnCount = results
+        .getMetaData()
+        .getColumnCount();
+      while (results.next())
+      {
+        for (int i = 1; i <= columnCount; i++)
+        {
+          fingerprint
+            .append(results.getString(i))
+            .append('\t');
+        }
+        fingerprint.append('\n');
+      }
+    }
+    return Optional.of(fingerprint.toString());
+  }
+
+}
@@ -0,0 +1,440 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.catalogloader;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.reverseOrder;
+import static java.util.Objects.requireNonNull;
+import static sf.util.Utility.isBlank;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * A cache of crawled catalogs in a local directory. Each catalog is saved
+ * with Java serialization, in a file named for a hash of its cache key.
+ * Entries expire once they are older than the time to live, and the oldest
+ * entries are evicted when the cache grows beyond its maximum size. Cache
+ * failures are logged, and treated as cache misses.
+ */
+public final class CatalogCache
+{
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(CatalogCache.class.getName());
+
+  public static final String CATALOG_CACHE_DIRECTORY =
+    "schemacrawler.catalog_cache.directory";
+  public static final String CATALOG_CACHE_MAX_SIZE_MB =
+    "schemacrawler.catalog_cache.max_size_mb";
+  public static final String CATALOG_CACHE_TIME_TO_LIVE_MINUTES =
+    "schemacrawler.catalog_cache.time_to_live_minutes";
+  public static final String CATALOG_CACHE_TIME_TO_LIVE_ONLY =
+    "schemacrawler.catalog_cache.time_to_live_only";
+
+  private static final String CACHE_FILE_EXTENSION = ".catalog";
+  private static final long DEFAULT_MAX_SIZE_MB = 1024;
+  private static final long DEFAULT_TIME_TO_LIVE_MINUTES = 60;
+
+  /**
+   * Creates a catalog cache from configuration, if a cache directory is
+   * configured.
+   *
+   * @param config
+   *   Configuration
+   * @return Catalog cache, or empty if caching is not configured
+   */
+  public static Optional<CatalogCache> fromConfig(final Config config)
+  {
+    if (config == null)
+    {
+      return Optional.empty();
+    }
+    final String directory = config.getStringValue(CATALOG_CACHE_DIRECTORY, null);
+    if (isBlank(directory))
+    {
+      return Optional.empty();
+    }
+
+    final Duration timeToLive = Duration.ofMinutes(config.getLongValue(
+      CATALOG_CACHE_TIME_TO_LIVE_MINUTES,
+      DEFAULT_TIME_TO_LIVE_MINUTES));
+    final long maxSize =
+      config.getLongValue(CATALOG_CACHE_MAX_SIZE_MB, DEFAULT_MAX_SIZE_MB)
+      * 1024 * 1024;
+    final boolean timeToLiveOnly =
+      config.getBooleanValue(CATALOG_CACHE_TIME_TO_LIVE_ONLY, false);
+    return Optional.of(new CatalogCache(Paths.get(directory),
+                                        timeToLive,
+                                        maxSize,
+                                        timeToLiveOnly));
+  }
+
+  private static String hash(final String cacheKey)
+  {
+    try
+    {
+      final byte[] digest = MessageDigest
+        .getInstance("SHA-256")
+        .digest(cacheKey.getBytes(UTF_8));
+      final StringBuilder buffer = new StringBuilder(digest.length * 2);
+      for (final byte b : digest)
+      {
+        buffer.append(String.format("%02x", b));
+      }
+      return buffer.toString();
+    }
+    catch (final NoSuchAlgorithmException e)
+    {
+      // Every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private final Path directory;
+  private final long maxSize;
+  private final Duration timeToLive;
+  private final boolean timeToLiveOnly;
+  private final AtomicLong evictionCount;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+
+  /**
+   * Creates a catalog cache, which is only used for databases with a catalog
+   * fingerprint query.
+   *
+   * @param directory
+   *   Cache directory, which is created if it does not exist
+   * @param timeToLive
+   *   Time for which cached catalogs are used
+   * @param maxSize
+   *   Maximum size of the cache directory, in bytes
+   */
+  public CatalogCache(final Path directory,
+                      final Duration timeToLive,
+                      final long maxSize)
+  {
+    this(directory, timeToLive, maxSize, false);
+  }
+
+  /**
+   * Creates a catalog cache.
+   *
+   * @param directory
+   *   Cache directory, which is created if it does not exist
+   * @param timeToLive
+   *   Time for which cached catalogs are used
+   * @param maxSize
+   *   Maximum size of the cache directory, in bytes
+   * @param timeToLiveOnly
+   *   Whether catalogs are cached for databases without a catalog
+   *   fingerprint query, when changes to the database are not noticed until
+   *   the cached catalog expires
+   */
+  public CatalogCache(final Path directory,
+                      final Duration timeToLive,
+                      final long maxSize,
+                      final boolean timeToLiveOnly)
+  {
+    this.directory = requireNonNull(directory, "No cache directory provided")
+      .toAbsolutePath()
+      .normalize();
+    this.timeToLive = requireNonNull(timeToLive, "No time to live provided");
+    if (timeToLive.isNegative() || maxSize < 0)
+    {
+      throw new IllegalArgumentException("Time to live and maximum size cannot be negative");
+    }
+    this.maxSize = maxSize;
+    this.timeToLiveOnly = timeToLiveOnly;
+
+    evictionCount = new AtomicLong();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+  }
+
+  /**
+   * Looks up a cached catalog. Expired and unreadable entries are removed.
+   *
+   * @param cacheKey
+   *   Key that identifies the crawl
+   * @return Cached catalog, or empty on a cache miss
+   */
+  public Optional<Catalog> get(final String cacheKey)
+  {
+    requireNonNull(cacheKey, "No cache key provided");
+
+    final Path cacheFile = cacheFile(cacheKey);
+    if (!Files.isRegularFile(cacheFile))
+    {
+      missCount.incrementAndGet();
+      return Optional.empty();
+    }
+
+    try
+    {
+      if (isExpired(cacheFile))
+      {
+        LOGGER.log(Level.INFO,
+                   new StringFormat("Cached catalog has expired, <%s>",
+                                    cacheFile));
+        evict(cacheFile);
+        missCount.incrementAndGet();
+        return Optional.empty();
+      }
+
+      try (final ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(
+        new BufferedInputStream(Files.newInputStream(cacheFile)))))
+      {
+        final Catalog catalog = (Catalog) in.readObject();
+        hitCount.incrementAndGet();
+        return Optional.of(catalog);
+      }
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      // Catalogs cached by a different version of SchemaCrawler may not
+      // be readable
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not read cached catalog, <%s>",
+                                  cacheFile),
+                 e);
+      evict(cacheFile);
+      missCount.incrementAndGet();
+      return Optional.empty();
+    }
+  }
+
+  public Path getDirectory()
+  {
+    return directory;
+  }
+
+  public long getEvictionCount()
+  {
+    return evictionCount.get();
+  }
+
+  public long getHitCount()
+  {
+    return hitCount.get();
+  }
+
+  public long getMissCount()
+  {
+    return missCount.get();
+  }
+
+  /**
+   * Whether catalogs are cached for databases without a catalog fingerprint
+   * query, and used until they expire.
+   *
+   * @return Whether the time to live is the only check on cached catalogs
+   */
+  public boolean isTimeToLiveOnly()
+  {
+    return timeToLiveOnly;
+  }
+
+  /**
+   * Saves a catalog in the cache, and evicts expired and old entries if the
+   * cache has grown too large. The catalog is written to a temporary file
+   * first, so that other processes never read a partly written catalog.
+   *
+   * @param cacheKey
+   *   Key that identifies the crawl
+   * @param catalog
+   *   Crawled catalog
+   */
+  public void put(final String cacheKey, final Catalog catalog)
+  {
+    requireNonNull(cacheKey, "No cache key provided");
+    requireNonNull(catalog, "No catalog provided");
+
+    final Path cacheFile = cacheFile(cacheKey);
+    Path tempFile = null;
+    try
+    {
+      Files.createDirectories(directory);
+      tempFile = Files.createTempFile(directory, "catalog", ".tmp");
+      try (final ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(tempFile)))))
+      {
+        out.writeObject(catalog);
+      }
+      Files.move(tempFile,
+                 cacheFile,
+                 StandardCopyOption.REPLACE_EXISTING,
+                 StandardCopyOption.ATOMIC_MOVE);
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Cached catalog, <%s>", cacheFile));
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not cache catalog, <%s>", cacheFile),
+                 e);
+      if (tempFile != null)
+      {
+        delete(tempFile);
+      }
+      return;
+    }
+
+    evictEntries();
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format("Catalog cache <%s>: %d hits, %d misses, %d evictions",
+                         directory,
+                         getHitCount(),
+                         getMissCount(),
+                         getEvictionCount());
+  }
+
+  private Path cacheFile(final String cacheKey)
+  {
+    return directory.resolve(hash(cacheKey) + CACHE_FILE_EXTENSION);
+  }
+
+  private boolean delete(final Path file)
+  {
+    try
+    {
+      return Files.deleteIfExists(file);
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not delete <%s>", file),
+                 e);
+      return false;
+    }
+  }
+
+  private void evict(final Path cacheFile)
+  {
+    if (delete(cacheFile))
+    {
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Removes expired entries, and then the oldest entries until the cache
+   * fits in its maximum size.
+   */
+  private void evictEntries()
+  {
+    final List<Path> cacheFiles = new ArrayList<>();
+    final Map<Path, Instant> lastModifiedTimes = new HashMap<>();
+    try (final DirectoryStream<Path> directoryStream = Files.newDirectoryStream(
+      directory,
+      "*" + CACHE_FILE_EXTENSION))
+    {
+      for (final Path cacheFile : directoryStream)
+      {
+        if (isExpired(cacheFile))
+        {
+          evict(cacheFile);
+        }
+        else
+        {
+          cacheFiles.add(cacheFile);
+          lastModifiedTimes.put(cacheFile,
+                                Files
+                                  .getLastModifiedTime(cacheFile)
+                                  .toInstant());
+        }
+      }
+
+      // Keep the newest entries that fit
+      cacheFiles.sort(comparing(lastModifiedTimes::get, reverseOrder()));
+      long size = 0;
+      for (final Path cacheFile : cacheFiles)
+      {
+        size = size + Files.size(cacheFile);
+        if (size > maxSize)
+        {
+          LOGGER.log(Level.INFO,
+                     new StringFormat("Evicting cached catalog, since the cache is full, <%s>",
+                                      cacheFile));
+          evict(cacheFile);
+        }
+      }
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not evict cached catalogs from <%s>",
+                                  directory),
+                 e);
+    }
+  }
+
+  private boolean isExpired(final Path cacheFile)
+    throws IOException
+  {
+    final Instant lastModified = Files
+      .getLastModifiedTime(cacheFile)
+      .toInstant();
+    return lastModified
+      .plus(timeToLive)
+      .isBefore(Instant.now());
+  }
+
+}
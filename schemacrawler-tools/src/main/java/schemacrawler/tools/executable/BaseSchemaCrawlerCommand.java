@@ -33,6 +33,7 @@ import static java.util.Objects.requireNonNull;
 import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Config;
@@ -55,6 +56,7 @@ public abstract class BaseSchemaCrawlerCommand
   protected Config additionalConfiguration;
   protected Catalog catalog;
   protected Connection connection;
+  protected Supplier<Connection> connectionSupplier;
   protected Identifiers identifiers;
   protected OutputOptions outputOptions;
   protected SchemaCrawlerOptions schemaCrawlerOptions;
@@ -128,6 +130,12 @@ public abstract class BaseSchemaCrawlerCommand
     this.connection = connection;
   }
 
+  @Override
+  public void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   @Override
   public Identifiers getIdentifiers()
   {
@@ -30,6 +30,7 @@ package schemacrawler.tools.executable;
 
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Config;
@@ -79,6 +80,20 @@ public interface SchemaCrawlerCommand
 
   void setConnection(Connection connection);
 
+  /**
+   * Sets a supplier of additional database connections, for commands
+   * that can run work in parallel. Connections obtained from the
+   * supplier are closed by the command once it is done with them.
+   * Commands that do not support parallel work ignore the supplier.
+   *
+   * @param connectionSupplier
+   *   Supplier of additional connections, can be null
+   */
+  default void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    // Default implementation - NO-OP
+  }
+
   Identifiers getIdentifiers();
 
   void setIdentifiers(Identifiers identifiers);
@@ -33,6 +33,8 @@ import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Catalog;
@@ -41,6 +43,8 @@ import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.tools.catalogloader.CachingCatalogLoader;
+import schemacrawler.tools.catalogloader.CatalogCache;
 import schemacrawler.tools.catalogloader.CatalogLoader;
 import schemacrawler.tools.catalogloader.CatalogLoaderRegistry;
 import schemacrawler.tools.options.OutputOptions;
@@ -68,6 +72,7 @@ public final class SchemaCrawlerExecutable
   private Config additionalConfiguration;
   private Catalog catalog;
   private Connection connection;
+  private Supplier<Connection> connectionSupplier;
   private OutputOptions outputOptions;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private SchemaRetrievalOptions schemaRetrievalOptions;
@@ -155,6 +160,7 @@ public final class SchemaCrawlerExecutable
 
     scCommand.setCatalog(catalog);
     scCommand.setConnection(connection);
+    scCommand.setConnectionSupplier(connectionSupplier);
 
     scCommand.execute();
   }
@@ -188,6 +194,19 @@ public final class SchemaCrawlerExecutable
     this.connection = requireNonNull(connection, "No connection provided");
   }
 
+  /**
+   * Sets a supplier of additional connections to the same database,
+   * which commands can use to run work in parallel. The main
+   * connection is always used, whether a supplier is set or not.
+   *
+   * @param connectionSupplier
+   *   Supplier of additional connections, can be null
+   */
+  public void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   public void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions)
   {
     this.schemaRetrievalOptions = schemaRetrievalOptions;
@@ -207,10 +226,23 @@ public final class SchemaCrawlerExecutable
   {
     final CatalogLoaderRegistry catalogLoaderRegistry =
       new CatalogLoaderRegistry();
-    final CatalogLoader catalogLoader =
+    final CatalogLoader registeredCatalogLoader =
       catalogLoaderRegistry.lookupCatalogLoader(schemaRetrievalOptions
                                                   .getDatabaseServerType()
                                                   .getDatabaseSystemIdentifier());
+    // Keep crawled catalogs in a catalog cache, if one is configured
+    final Optional<CatalogCache> catalogCache =
+      CatalogCache.fromConfig(additionalConfiguration);
+    final CatalogLoader catalogLoader;
+    if (catalogCache.isPresent())
+    {
+      catalogLoader =
+        new CachingCatalogLoader(registeredCatalogLoader, catalogCache.get());
+    }
+    else
+    {
+      catalogLoader = registeredCatalogLoader;
+    }
     LOGGER.log(Level.CONFIG,
                new StringFormat("Catalog loader: %s", getClass().getName()));
 
@@ -0,0 +1,74 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+/**
+ * Formats for the bulk export of data, which bypass text formatting, and
+ * write rows as fast as they can be read from the database.
+ */
+public enum DataExportFormat
+{
+
+  /**
+   * No bulk export, so data is formatted like any other text output
+   */
+  none(""),
+  /**
+   * Comma-separated values, with quoting of values as in RFC 4180, and
+   * nulls as empty values
+   */
+  csv("csv"),
+  /**
+   * Tab-separated values, with backslash escapes for tabs, line breaks and
+   * backslashes, and nulls as \N
+   */
+  tsv("tsv"),
+  /**
+   * JSON Lines, with one JSON object for each row
+   */
+  jsonl("jsonl");
+
+  private final String fileExtension;
+
+  DataExportFormat(final String fileExtension)
+  {
+    this.fileExtension = fileExtension;
+  }
+
+  /**
+   * File extension for files in this format.
+   *
+   * @return File extension
+   */
+  public String getFileExtension()
+  {
+    return fileExtension;
+  }
+
+}
@@ -0,0 +1,754 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Bulk export of data, which writes rows as fast as they can be read from
+ * the database. Columns are read by index, with an accessor for each column
+ * that is chosen once for each result set from the column type, and values
+ * are escaped straight into a reusable buffer, so that no objects are
+ * created for each value, other than those created by the JDBC driver.
+ *
+ * @author Sualeh Fatehi
+ */
+final class DataExporter
+{
+
+  /**
+   * Writes the value of one column of the current row.
+   */
+  @FunctionalInterface
+  private interface ColumnExporter
+  {
+
+    void export()
+      throws SQLException, IOException;
+
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final String NO_LOB_DATA = "<binary>";
+  private static final String TRUNCATED_LOB_DATA = "<truncated>";
+
+  private static String jsonKey(final String name)
+  {
+    final StringBuilder buffer = new StringBuilder(name.length() + 3);
+    buffer.append('"');
+    for (int i = 0; i < name.length(); i++)
+    {
+      final char ch = name.charAt(i);
+      if (ch == '"' || ch == '\\')
+      {
+        buffer
+          .append('\\')
+          .append(ch);
+      }
+      else if (ch < 0x20)
+      {
+        buffer.append(String.format("\\u%04x", (int) ch));
+      }
+      else
+      {
+        buffer.append(ch);
+      }
+    }
+    return buffer
+      .append('"')
+      .append(':')
+      .toString();
+  }
+
+  private final DataExportFormat dataExportFormat;
+  private final Writer out;
+  private final boolean showLobs;
+  private final int lobSizeLimit;
+  private final LobDigest lobDigest;
+  private final char[] buffer;
+  private final char[] digits;
+  private final char[] lobChars;
+  private final byte[] lobBytes;
+  private int position;
+  private int resultSetsCount;
+
+  DataExporter(final OperationOptions options, final Writer out)
+  {
+    requireNonNull(options, "No operation options provided");
+    dataExportFormat = options.getDataExportFormat();
+    if (dataExportFormat == DataExportFormat.none)
+    {
+      throw new IllegalArgumentException("No data export format provided");
+    }
+    this.out = requireNonNull(out, "No output writer provided");
+    showLobs = options.isShowLobs();
+    if (options.getLobSizeLimit() > 0)
+    {
+      lobSizeLimit = options.getLobSizeLimit();
+    }
+    else
+    {
+      lobSizeLimit = Integer.MAX_VALUE;
+    }
+    if (options.isHashLobs())
+    {
+      lobDigest = new LobDigest();
+    }
+    else
+    {
+      lobDigest = null;
+    }
+
+    buffer = new char[BUFFER_SIZE];
+    digits = new char[20];
+    lobChars = new char[8 * 1024];
+    lobBytes = new byte[4 * 1024];
+  }
+
+  /**
+   * Exports all the rows of a result set. For delimited formats, the column
+   * names are written first as a header row, and the rows of each result
+   * set after the first are separated by a blank line.
+   *
+   * @param results
+   *   Results to export
+   * @return Number of rows exported
+   */
+  long export(final ResultSet results)
+    throws SQLException, IOException
+  {
+    requireNonNull(results, "No results provided");
+
+    final ResultSetMetaData metaData = results.getMetaData();
+    final int columnCount = metaData.getColumnCount();
+    final ColumnExporter[] columnExporters = new ColumnExporter[columnCount];
+    final String[] columnNames = new String[columnCount];
+    for (int i = 0; i < columnCount; i++)
+    {
+      columnExporters[i] =
+        columnExporter(results, i + 1, metaData.getColumnType(i + 1));
+      columnNames[i] = metaData.getColumnLabel(i + 1);
+    }
+
+    if (dataExportFormat == DataExportFormat.jsonl)
+    {
+      // Keys are escaped once, and copied for every row
+      for (int i = 0; i < columnCount; i++)
+      {
+        columnNames[i] = jsonKey(columnNames[i]);
+      }
+    }
+    else
+    {
+      if (resultSetsCount > 0)
+      {
+        write('\n');
+      }
+      for (int i = 0; i < columnCount; i++)
+      {
+        if (i > 0)
+        {
+          writeSeparator();
+        }
+        writeText(columnNames[i]);
+      }
+      write('\n');
+    }
+    resultSetsCount++;
+
+    long rowCount = 0;
+    while (results.next())
+    {
+      if (dataExportFormat == DataExportFormat.jsonl)
+      {
+        write('{');
+        for (int i = 0; i < columnCount; i++)
+        {
+          if (i > 0)
+          {
+            write(',');
+          }
+          write(columnNames[i]);
+          columnExporters[i].export();
+        }
+        write('}');
+      }
+      else
+      {
+        for (int i = 0; i < columnCount; i++)
+        {
+          if (i > 0)
+          {
+            writeSeparator();
+          }
+          columnExporters[i].export();
+        }
+      }
+      write('\n');
+      rowCount++;
+    }
+    return rowCount;
+  }
+
+  /**
+   * Writes any buffered data to the output writer, and flushes it.
+   */
+  void flush()
+    throws IOException
+  {
+    flushBuffer();
+    out.flush();
+  }
+
+  private ColumnExporter columnExporter(final ResultSet results,
+                                        final int columnIndex,
+                                        final int javaSqlType)
+  {
+    switch (javaSqlType)
+    {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+        return () -> {
+          final long value = results.getLong(columnIndex);
+          if (results.wasNull())
+          {
+            writeNull();
+          }
+          else
+          {
+            writeLong(value);
+          }
+        };
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+      case Types.DECIMAL:
+      case Types.NUMERIC:
+        return () -> writeNumber(results.getString(columnIndex));
+      case Types.BOOLEAN:
+        return () -> {
+          final boolean value = results.getBoolean(columnIndex);
+          if (results.wasNull())
+          {
+            writeNull();
+          }
+          else if (dataExportFormat == DataExportFormat.jsonl)
+          {
+            write(value? "true": "false");
+          }
+          else
+          {
+            write(value? "TRUE": "FALSE");
+          }
+        };
+      case Types.BINARY:
+      case Types.VARBINARY:
+        return () -> writeBinary(results.getBytes(columnIndex));
+      case Types.BLOB:
+      case Types.LONGVARBINARY:
+        if (lobDigest != null)
+        {
+          return () -> writeDigest(results.getBinaryStream(columnIndex));
+        }
+        if (!showLobs)
+        {
+          return () -> writeNoLobData(results.getBinaryStream(columnIndex));
+        }
+        return () -> writeBinary(results.getBinaryStream(columnIndex));
+      case Types.CLOB:
+      case Types.NCLOB:
+      case Types.LONGVARCHAR:
+      case Types.LONGNVARCHAR:
+        if (lobDigest != null)
+        {
+          return () -> writeDigest(results.getCharacterStream(columnIndex));
+        }
+        if (!showLobs)
+        {
+          return () -> writeNoLobData(results.getCharacterStream(columnIndex));
+        }
+        return () -> writeText(results.getCharacterStream(columnIndex));
+      default:
+        return () -> writeText(results.getString(columnIndex));
+    }
+  }
+
+  private void flushBuffer()
+    throws IOException
+  {
+    if (position > 0)
+    {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  private void write(final char ch)
+    throws IOException
+  {
+    if (position == buffer.length)
+    {
+      flushBuffer();
+    }
+    buffer[position++] = ch;
+  }
+
+  private void write(final String text)
+    throws IOException
+  {
+    int offset = 0;
+    final int length = text.length();
+    while (offset < length)
+    {
+      if (position == buffer.length)
+      {
+        flushBuffer();
+      }
+      final int count = Math.min(length - offset, buffer.length - position);
+      text.getChars(offset, offset + count, buffer, position);
+      position += count;
+      offset += count;
+    }
+  }
+
+  private void writeBinary(final byte[] bytes)
+    throws IOException
+  {
+    if (bytes == null)
+    {
+      writeNull();
+      return;
+    }
+    if (bytes.length == 0 && dataExportFormat == DataExportFormat.csv)
+    {
+      write("\"\"");
+      return;
+    }
+    writeBinaryStart();
+    writeHex(bytes, bytes.length);
+    writeBinaryEnd();
+  }
+
+  private void writeBinary(final InputStream stream)
+    throws IOException
+  {
+    if (stream == null)
+    {
+      writeNull();
+      return;
+    }
+    try (final InputStream in = stream)
+    {
+      writeBinaryStart();
+      int length = 0;
+      int count = 0;
+      while (count != -1 && length < lobSizeLimit)
+      {
+        count =
+          in.read(lobBytes, 0, Math.min(lobBytes.length, lobSizeLimit - length));
+        if (count > 0)
+        {
+          writeHex(lobBytes, count);
+          length = length + count;
+        }
+      }
+      if (length >= lobSizeLimit && in.read() != -1)
+      {
+        write(TRUNCATED_LOB_DATA);
+      }
+      writeBinaryEnd();
+    }
+  }
+
+  private void writeBinaryEnd()
+    throws IOException
+  {
+    if (dataExportFormat == DataExportFormat.jsonl)
+    {
+      write('"');
+    }
+  }
+
+  private void writeBinaryStart()
+    throws IOException
+  {
+    if (dataExportFormat == DataExportFormat.jsonl)
+    {
+      write('"');
+    }
+  }
+
+  private void writeCsvText(final String text)
+    throws IOException
+  {
+    // Quote values only when needed, but always quote empty strings, so
+    // that they can be told apart from nulls
+    boolean needsQuotes = text.isEmpty();
+    for (int i = 0; i < text.length() && !needsQuotes; i++)
+    {
+      final char ch = text.charAt(i);
+      needsQuotes = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+    }
+    if (!needsQuotes)
+    {
+      write(text);
+      return;
+    }
+    write('"');
+    for (int i = 0; i < text.length(); i++)
+    {
+      writeCsvChar(text.charAt(i));
+    }
+    write('"');
+  }
+
+  private void writeCsvChar(final char ch)
+    throws IOException
+  {
+    if (ch == '"')
+    {
+      write('"');
+    }
+    write(ch);
+  }
+
+  private void writeEscapedChar(final char ch)
+    throws IOException
+  {
+    switch (dataExportFormat)
+    {
+      case csv:
+        writeCsvChar(ch);
+        break;
+      case tsv:
+        writeTsvChar(ch);
+        break;
+      default:
+        writeJsonChar(ch);
+        break;
+    }
+  }
+
+  private void writeHex(final byte[] bytes, final int length)
+    throws IOException
+  {
+    for (int i = 0; i < length; i++)
+    {
+      write(HEX_DIGITS[(bytes[i] >> 4) & 0xF]);
+      write(HEX_DIGITS[bytes[i] & 0xF]);
+    }
+  }
+
+  private void writeJsonChar(final char ch)
+    throws IOException
+  {
+    switch (ch)
+    {
+      case '"':
+        write('\\');
+        write('"');
+        break;
+      case '\\':
+        write('\\');
+        write('\\');
+        break;
+      case '\n':
+        write('\\');
+        write('n');
+        break;
+      case '\r':
+        write('\\');
+        write('r');
+        break;
+      case '\t':
+        write('\\');
+        write('t');
+        break;
+      default:
+        if (ch < 0x20)
+        {
+          write('\\');
+          write('u');
+          write('0');
+          write('0');
+          write(HEX_DIGITS[(ch >> 4) & 0xF]);
+          write(HEX_DIGITS[ch & 0xF]);
+        }
+        else
+        {
+          write(ch);
+        }
+        break;
+    }
+  }
+
+  private void writeLong(final long value)
+    throws IOException
+  {
+    if (value == Long.MIN_VALUE)
+    {
+      write(Long.toString(value));
+      return;
+    }
+    long remaining = Math.abs(value);
+    int start = digits.length;
+    do
+    {
+      digits[--start] = (char) ('0' + remaining % 10);
+      remaining = remaining / 10;
+    }
+    while (remaining > 0);
+    if (value < 0)
+    {
+      write('-');
+    }
+    for (int i = start; i < digits.length; i++)
+    {
+      write(digits[i]);
+    }
+  }
+
+  private void writeDigest(final InputStream stream)
+    throws IOException
+  {
+    if (stream == null)
+    {
+      writeNull();
+      return;
+    }
+    try (final InputStream in = stream)
+    {
+      writeText(lobDigest.digest(in));
+    }
+  }
+
+  private void writeDigest(final Reader reader)
+    throws IOException
+  {
+    if (reader == null)
+    {
+      writeNull();
+      return;
+    }
+    try (final Reader in = reader)
+    {
+      writeText(lobDigest.digest(in));
+    }
+  }
+
+  private void writeNoLobData(final Closeable lobData)
+    throws IOException
+  {
+    // The stream is only used to check for null, and is not read
+    if (lobData == null)
+    {
+      writeNull();
+    }
+    else
+    {
+      lobData.close();
+      writeText(NO_LOB_DATA);
+    }
+  }
+
+  private void writeNull()
+    throws IOException
+  {
+    switch (dataExportFormat)
+    {
+      case tsv:
+        write("\\N");
+        break;
+      case jsonl:
+        write("null");
+        break;
+      default:
+        // Nulls are empty values in CSV
+        break;
+    }
+  }
+
+  private void writeNumber(final String number)
+    throws IOException
+  {
+    if (number == null)
+    {
+      writeNull();
+      return;
+    }
+    // Some drivers, such as the Oracle driver, leave out the zero before the
+    // decimal point, which JSON numbers need
+    final String plainNumber;
+    if (number.startsWith("."))
+    {
+      plainNumber = "0" + number;
+    }
+    else if (number.startsWith("-."))
+    {
+      plainNumber = "-0" + number.substring(1);
+    }
+    else
+    {
+      plainNumber = number;
+    }
+    // Values such as NaN and Infinity are not valid JSON numbers
+    final boolean isNumber = !plainNumber.isEmpty()
+                             && (Character.isDigit(plainNumber.charAt(0))
+                                 || plainNumber.length() > 1
+                                    && plainNumber.charAt(0) == '-'
+                                    && Character.isDigit(plainNumber.charAt(1)));
+    if (isNumber)
+    {
+      write(plainNumber);
+    }
+    else
+    {
+      writeText(number);
+    }
+  }
+
+  private void writeSeparator()
+    throws IOException
+  {
+    write(dataExportFormat == DataExportFormat.tsv? '\t': ',');
+  }
+
+  private void writeText(final Reader reader)
+    throws IOException
+  {
+    if (reader == null)
+    {
+      writeNull();
+      return;
+    }
+    try (final Reader in = reader)
+    {
+      // Streamed text cannot be checked for special characters ahead of
+      // time, so it is always quoted
+      if (dataExportFormat != DataExportFormat.tsv)
+      {
+        write('"');
+      }
+      int length = 0;
+      int count = 0;
+      while (count != -1 && length < lobSizeLimit)
+      {
+        count =
+          in.read(lobChars, 0, Math.min(lobChars.length, lobSizeLimit - length));
+        for (int i = 0; i < count; i++)
+        {
+          writeEscapedChar(lobChars[i]);
+        }
+        length = length + Math.max(count, 0);
+      }
+      if (length >= lobSizeLimit && in.read() != -1)
+      {
+        for (int i = 0; i < TRUNCATED_LOB_DATA.length(); i++)
+        {
+          writeEscapedChar(TRUNCATED_LOB_DATA.charAt(i));
+        }
+      }
+      if (dataExportFormat != DataExportFormat.tsv)
+      {
+        write('"');
+      }
+    }
+  }
+
+  private void writeText(final String text)
+    throws IOException
+  {
+    if (text == null)
+    {
+      writeNull();
+      return;
+    }
+    switch (dataExportFormat)
+    {
+      case csv:
+        writeCsvText(text);
+        break;
+      case tsv:
+        for (int i = 0; i < text.length(); i++)
+        {
+          writeTsvChar(text.charAt(i));
+        }
+        break;
+      default:
+        write('"');
+        for (int i = 0; i < text.length(); i++)
+        {
+          writeJsonChar(text.charAt(i));
+        }
+        write('"');
+        break;
+    }
+  }
+
+  private void writeTsvChar(final char ch)
+    throws IOException
+  {
+    switch (ch)
+    {
+      case '\\':
+        write('\\');
+        write('\\');
+        break;
+      case '\t':
+        write('\\');
+        write('t');
+        break;
+      case '\n':
+        write('\\');
+        write('n');
+        break;
+      case '\r':
+        write('\\');
+        write('r');
+        break;
+      default:
+        write(ch);
+        break;
+    }
+  }
+
+}
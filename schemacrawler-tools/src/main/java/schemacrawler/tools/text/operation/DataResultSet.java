@@ -29,13 +29,16 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.operation;
 
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
-import static sf.util.IOUtility.readFully;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.PushbackReader;
 import java.io.Reader;
+import java.io.StringReader;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
@@ -54,7 +57,10 @@ import schemacrawler.tools.text.utility.BinaryData;
 import sf.util.SchemaCrawlerLogger;
 
 /**
- * Text formatting of data.
+ * Text formatting of data. LOB data is read through reusable buffers, up to
+ * the size limit for each value, so that the memory used for a row is
+ * bounded by the size limit, however large the LOBs are. Digests of LOB data
+ * are computed as the data is read, without holding it in memory.
  *
  * @author Sualeh Fatehi
  */
@@ -64,18 +70,48 @@ final class DataResultSet
   private static final SchemaCrawlerLogger LOGGER =
     SchemaCrawlerLogger.getLogger(DataResultSet.class.getName());
 
+  private static final String TRUNCATED_LOB_DATA = "<truncated>";
+
   private final ResultSet rows;
   private final List<ResultsColumn> resultsColumns;
   private final boolean showLobs;
+  private final int lobSizeLimit;
+  private final LobDigest lobDigest;
+  private final byte[] lobBytes;
+  private final char[] lobChars;
+  private final ByteArrayOutputStream lobBinary;
+  private final StringBuilder lobText;
 
-  public DataResultSet(final ResultSet rows, final boolean showLobs)
+  public DataResultSet(final ResultSet rows, final OperationOptions options)
     throws SchemaCrawlerException
   {
     this.rows = requireNonNull(rows, "Cannot use null results");
-    this.showLobs = showLobs;
+    requireNonNull(options, "No operation options provided");
+    showLobs = options.isShowLobs();
+    if (options.getLobSizeLimit() > 0)
+    {
+      lobSizeLimit = options.getLobSizeLimit();
+    }
+    else
+    {
+      lobSizeLimit = Integer.MAX_VALUE;
+    }
+    if (options.isHashLobs())
+    {
+      lobDigest = new LobDigest();
+    }
+    else
+    {
+      lobDigest = null;
+    }
     resultsColumns = new ResultsCrawler(rows)
       .crawl()
       .getColumns();
+
+    lobBytes = new byte[8 * 1024];
+    lobChars = new char[4 * 1024];
+    lobBinary = new ByteArrayOutputStream();
+    lobText = new StringBuilder();
   }
 
   public String[] getColumnNames()
@@ -196,13 +232,18 @@ final class DataResultSet
     return columnData;
   }
 
+  private boolean isLobDataShown()
+  {
+    return showLobs || lobDigest != null;
+  }
+
   private BinaryData readBlob(final Blob blob)
   {
     if (blob == null)
     {
       return null;
     }
-    else if (showLobs)
+    else if (isLobDataShown())
     {
       InputStream in = null;
       BinaryData lobData;
@@ -220,7 +261,7 @@ final class DataResultSet
 
         if (in != null)
         {
-          lobData = new BinaryData(readFully(in));
+          lobData = readStream(in);
         }
         else
         {
@@ -240,13 +281,51 @@ final class DataResultSet
     }
   }
 
+  /**
+   * Reads character data, up to the size limit, or computes its digest.
+   *
+   * @param reader
+   *   Character data, which is closed once read
+   * @return Character data, or its digest
+   */
+  private BinaryData readCharacters(final Reader reader)
+    throws IOException
+  {
+    try (final Reader in = reader)
+    {
+      if (lobDigest != null)
+      {
+        return new BinaryData(lobDigest.digest(in));
+      }
+
+      lobText.setLength(0);
+      int count = 0;
+      while (count != -1 && lobText.length() < lobSizeLimit)
+      {
+        count = in.read(lobChars,
+                        0,
+                        Math.min(lobChars.length,
+                                 lobSizeLimit - lobText.length()));
+        if (count > 0)
+        {
+          lobText.append(lobChars, 0, count);
+        }
+      }
+      if (lobText.length() >= lobSizeLimit && in.read() != -1)
+      {
+        lobText.append(TRUNCATED_LOB_DATA);
+      }
+      return new BinaryData(lobText.toString());
+    }
+  }
+
   private BinaryData readClob(final Clob clob)
   {
     if (clob == null)
     {
       return null;
     }
-    else if (showLobs)
+    else if (isLobDataShown())
     {
       Reader rdr = null;
       BinaryData lobData;
@@ -280,21 +359,33 @@ final class DataResultSet
 
         if (rdr != null)
         {
-          String lobDataString = readFully(rdr);
-          if (lobDataString.isEmpty())
+          final PushbackReader in = new PushbackReader(rdr);
+          final int firstChar = in.read();
+          if (firstChar == -1)
+          {
+            in.close();
+            // Attempt yet another read, with no more than is needed to
+            // find out if the data is truncated
+            long clobLength = clob.length();
+            if (lobDigest == null)
+            {
+              clobLength = Math.min(clobLength, lobSizeLimit + 1L);
+            }
+            lobData = readCharacters(new StringReader(clob.getSubString(1,
+                                                                        (int) clobLength)));
+          }
+          else
           {
-            // Attempt yet another read
-            final long clobLength = clob.length();
-            lobDataString = clob.getSubString(1, (int) clobLength);
+            in.unread(firstChar);
+            lobData = readCharacters(in);
           }
-          lobData = new BinaryData(lobDataString);
         }
         else
         {
           lobData = new BinaryData();
         }
       }
-      catch (final SQLException e)
+      catch (final SQLException | IOException e)
       {
         LOGGER.log(Level.WARNING, "Could not read CLOB data", e);
         lobData = new BinaryData();
@@ -308,12 +399,12 @@ final class DataResultSet
   }
 
   /**
-   * Reads data from an input stream into a string. Default system encoding is
-   * assumed.
+   * Reads data from an input stream, up to the size limit, into a string, or
+   * computes its digest. UTF-8 encoding is assumed.
    *
-   * @param columnData
-   *   Column data object returned by JDBC
-   * @return A string with the contents of the LOB
+   * @param stream
+   *   Stream returned by JDBC, which is closed once read
+   * @return A string with the contents of the LOB, or its digest
    */
   private BinaryData readStream(final InputStream stream)
   {
@@ -321,11 +412,46 @@ final class DataResultSet
     {
       return null;
     }
-    else if (showLobs)
+    else if (isLobDataShown())
     {
-      final BufferedInputStream in = new BufferedInputStream(stream);
-      final BinaryData lobData = new BinaryData(readFully(in));
-      return lobData;
+      try (final InputStream in = stream)
+      {
+        if (lobDigest != null)
+        {
+          return new BinaryData(lobDigest.digest(in));
+        }
+
+        lobBinary.reset();
+        int count = 0;
+        while (count != -1 && lobBinary.size() < lobSizeLimit)
+        {
+          count = in.read(lobBytes,
+                          0,
+                          Math.min(lobBytes.length,
+                                   lobSizeLimit - lobBinary.size()));
+          if (count > 0)
+          {
+            lobBinary.write(lobBytes, 0, count);
+          }
+        }
+        final boolean isTruncated =
+          lobBinary.size() >= lobSizeLimit && in.read() != -1;
+
+        final String lobDataString = lobBinary.toString(UTF_8.name());
+        if (isTruncated)
+        {
+          return new BinaryData(lobDataString + TRUNCATED_LOB_DATA);
+        }
+        else
+        {
+          return new BinaryData(lobDataString);
+        }
+      }
+      catch (final IOException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not read LOB data", e);
+        return new BinaryData();
+      }
     }
     else
     {
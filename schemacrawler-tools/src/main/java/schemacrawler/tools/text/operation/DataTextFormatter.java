@@ -138,6 +138,35 @@ final class DataTextFormatter
   @Override
   public void handleData(final Table table, final ResultSet rows)
     throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  /**
+   * Handles the result of an aggregate operation, such as a count, that was
+   * already obtained for a given table.
+   *
+   * @param table
+   *   Table
+   * @param aggregate
+   *   Aggregate value for the table
+   */
+  void handleAggregate(final Table table, final long aggregate)
+  {
+    if (dataBlockCount == 0)
+    {
+      printHeader();
+    }
+
+    final String message = getMessage(aggregate);
+    formattingHelper.writeNameValueRow(getTableName(table),
+                                       message,
+                                       Alignment.right);
+
+    dataBlockCount++;
+  }
+
+  private String getTableName(final Table table)
   {
     final String tableName;
     if (table != null)
@@ -155,8 +184,7 @@ final class DataTextFormatter
     {
       tableName = "";
     }
-
-    handleData(tableName, rows);
+    return tableName;
   }
 
   /**
@@ -214,7 +242,7 @@ final class DataTextFormatter
       try
       {
         final DataResultSet dataRows =
-          new DataResultSet(rows, options.isShowLobs());
+          new DataResultSet(rows, options);
 
         formattingHelper.writeRowHeader(dataRows.getColumnNames());
 
@@ -0,0 +1,156 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests of LOB data, which are computed while the data is streamed
+ * through reusable buffers, so that LOBs of any size are never held in
+ * memory. Character data is digested as UTF-8, so that a digest can be
+ * compared with one computed for a file with the same text.
+ *
+ * @author Sualeh Fatehi
+ */
+final class LobDigest
+{
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final String DIGEST_PREFIX = "sha256:";
+
+  private final MessageDigest digest;
+  private final CharsetEncoder encoder;
+  private final byte[] bytes;
+  private final CharBuffer chars;
+  private final ByteBuffer encodedChars;
+
+  LobDigest()
+  {
+    try
+    {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (final NoSuchAlgorithmException e)
+    {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+    encoder = UTF_8
+      .newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    bytes = new byte[8 * 1024];
+    chars = CharBuffer.allocate(4 * 1024);
+    encodedChars = ByteBuffer.allocate((int) Math.ceil(chars.capacity()
+                                                       * encoder.maxBytesPerChar()));
+  }
+
+  /**
+   * Reads binary data to the end, and returns its digest. The stream is
+   * not closed.
+   *
+   * @param in
+   *   Binary data
+   * @return Digest, as "sha256:" followed by hexadecimal digits
+   */
+  String digest(final InputStream in)
+    throws IOException
+  {
+    digest.reset();
+    int count;
+    while ((count = in.read(bytes)) != -1)
+    {
+      digest.update(bytes, 0, count);
+    }
+    return toDigestString(digest.digest());
+  }
+
+  /**
+   * Reads character data to the end, and returns the digest of its UTF-8
+   * encoding. The reader is not closed.
+   *
+   * @param in
+   *   Character data
+   * @return Digest, as "sha256:" followed by hexadecimal digits
+   */
+  String digest(final Reader in)
+    throws IOException
+  {
+    digest.reset();
+    encoder.reset();
+    chars.clear();
+    // A surrogate pair can be split across reads, so characters that cannot
+    // be encoded yet are kept for the next read
+    while (in.read(chars) != -1)
+    {
+      chars.flip();
+      encoder.encode(chars, encodedChars, false);
+      updateEncoded();
+      chars.compact();
+    }
+    chars.flip();
+    encoder.encode(chars, encodedChars, true);
+    encoder.flush(encodedChars);
+    updateEncoded();
+    return toDigestString(digest.digest());
+  }
+
+  private String toDigestString(final byte[] digestBytes)
+  {
+    final StringBuilder buffer =
+      new StringBuilder(DIGEST_PREFIX.length() + digestBytes.length * 2);
+    buffer.append(DIGEST_PREFIX);
+    for (final byte digestByte : digestBytes)
+    {
+      buffer
+        .append(HEX_DIGITS[(digestByte >> 4) & 0x0F])
+        .append(HEX_DIGITS[digestByte & 0x0F]);
+    }
+    return buffer.toString();
+  }
+
+  private void updateEncoded()
+  {
+    encodedChars.flip();
+    digest.update(encodedChars);
+    encodedChars.clear();
+  }
+
+}
@@ -29,17 +29,22 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.operation;
 
 
+import static java.nio.file.Files.newOutputStream;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.QueryUtility.executeAgainstTable;
 import static sf.util.DatabaseUtility.createStatement;
 import static sf.util.DatabaseUtility.executeSql;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Table;
@@ -47,8 +52,8 @@ import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
+import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.tools.options.TextOutputFormat;
-import schemacrawler.tools.traversal.DataTraversalHandler;
 import schemacrawler.utility.NamedObjectSort;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
@@ -100,9 +105,18 @@ public final class OperationCommand
       return;
     }
 
-    final DataTraversalHandler handler = getDataTraversalHandler();
     final Query query = getQuery();
 
+    // Bulk exports bypass text formatting, but aggregate operations always
+    // need to be formatted
+    if (operationOptions.isDataExport() && getOperation() != Operation.count)
+    {
+      exportData(query);
+      return;
+    }
+
+    final DataTextFormatter handler = getDataTraversalHandler();
+
     handler.begin();
 
     handler.handleInfoStart();
@@ -112,20 +126,28 @@ public final class OperationCommand
 
     if (query.isQueryOver())
     {
-      // This is a special instance of identifiers that does not use
-      // the configuration from the SchemaCrawler configuration
-      // properties file, since the database always needs identifiers
-      // to be quoted in SQL queries if they contain spaces in the
-      // name
-      final String identifierQuoteString = identifiers.getIdentifierQuoteString();
-      final Identifiers identifiers = Identifiers
-        .identifiers()
-        .withIdentifierQuoteString(identifierQuoteString)
-        .build();
+      final Identifiers identifiers = getQueryIdentifiers();
+      final List<? extends Table> tables = getSortedTables(catalog);
+
+      // Aggregates are small, so they can be obtained in parallel, and
+      // formatted in the sort order of the tables once they are all in
+      if (getOperation() == Operation.count && getDataParallelism(tables) > 1)
+      {
+        final long[] aggregates = newParallelTableOperation(query, tables, identifiers).aggregate();
+        for (int i = 0; i < tables.size(); i++)
+        {
+          if (aggregates[i] >= 0)
+          {
+            handler.handleAggregate(tables.get(i), aggregates[i]);
+          }
+        }
+        handler.end();
+        return;
+      }
 
       try (final Statement statement = createStatement(connection))
       {
-        for (final Table table : getSortedTables(catalog))
+        for (final Table table : tables)
         {
           final boolean isAlphabeticalSortForTableColumns = operationOptions.isAlphabeticalSortForTableColumns();
           try (
@@ -178,7 +200,60 @@ public final class OperationCommand
     this.operationOptions = requireNonNull(operationOptions, "No operation options provided");
   }
 
-  private DataTraversalHandler getDataTraversalHandler()
+  /**
+   * Exports data in bulk, bypassing text formatting. Compressed exports are
+   * always written to a file, as for other binary output. Tables that cannot
+   * be exported in full are left out of the output.
+   */
+  private void exportData(final Query query)
+    throws Exception
+  {
+    final DataExportFormat dataExportFormat = operationOptions.getDataExportFormat();
+
+    final Writer writer;
+    if (operationOptions.isCompressDataExport())
+    {
+      final Path outputFile = outputOptions.getOutputFile(dataExportFormat.getFileExtension() + ".gz");
+      outputOptions = OutputOptionsBuilder
+        .builder(outputOptions)
+        .withOutputFile(outputFile)
+        .toOptions();
+
+      writer = new OutputStreamWriter(new GZIPOutputStream(newOutputStream(outputFile), 64 * 1024),
+                                      outputOptions.getOutputCharset());
+    }
+    else
+    {
+      writer = outputOptions.openNewOutputWriter(operationOptions.isAppendOutput());
+    }
+
+    try (final Writer out = writer)
+    {
+      if (query.isQueryOver())
+      {
+        // Each table is exported to a part of its own, even on a single
+        // connection, so that a table that fails part way through is left
+        // out, rather than leaving a partly written row in the output
+        final List<? extends Table> tables = getSortedTables(catalog);
+        newParallelTableOperation(query, tables, getQueryIdentifiers()).export(operationOptions, out);
+      }
+      else
+      {
+        final DataExporter exporter = new DataExporter(operationOptions, out);
+        try (
+          final Statement statement = createStatement(connection);
+          final ResultSet results = executeSql(statement, query.getQuery())
+        )
+        {
+          final long rowCount = exporter.export(results);
+          LOGGER.log(Level.INFO, new StringFormat("Exported %d rows from query <%s>", rowCount, query.getName()));
+        }
+        exporter.flush();
+      }
+    }
+  }
+
+  private DataTextFormatter getDataTraversalHandler()
     throws SchemaCrawlerException
   {
     final Operation operation = getOperation();
@@ -186,11 +261,24 @@ public final class OperationCommand
     final TextOutputFormat outputFormat = TextOutputFormat.fromFormat(outputOptions.getOutputFormatValue());
     final String identifierQuoteString = identifiers.getIdentifierQuoteString();
 
-    final DataTraversalHandler formatter =
+    final DataTextFormatter formatter =
       new DataTextFormatter(operation, operationOptions, outputOptions, identifierQuoteString);
     return formatter;
   }
 
+  /**
+   * Number of connections to spread tables over, which is one unless a
+   * supplier of additional connections is available.
+   */
+  private int getDataParallelism(final List<? extends Table> tables)
+  {
+    if (connectionSupplier == null)
+    {
+      return 1;
+    }
+    return Math.min(operationOptions.getDataParallelism(), tables.size());
+  }
+
   /**
    * Determine the operation, or whether this command is a query.
    */
@@ -226,6 +314,21 @@ public final class OperationCommand
     return query;
   }
 
+  /**
+   * This is a special instance of identifiers that does not use the
+   * configuration from the SchemaCrawler configuration properties file, since
+   * the database always needs identifiers to be quoted in SQL queries if they
+   * contain spaces in the name.
+   */
+  private Identifiers getQueryIdentifiers()
+  {
+    final String identifierQuoteString = identifiers.getIdentifierQuoteString();
+    return Identifiers
+      .identifiers()
+      .withIdentifierQuoteString(identifierQuoteString)
+      .build();
+  }
+
   private List<? extends Table> getSortedTables(final Catalog catalog)
   {
     final List<? extends Table> tables = new ArrayList<>(catalog.getTables());
@@ -233,6 +336,19 @@ public final class OperationCommand
     return tables;
   }
 
+  private ParallelTableOperation newParallelTableOperation(final Query query,
+                                                            final List<? extends Table> tables,
+                                                            final Identifiers identifiers)
+  {
+    return new ParallelTableOperation(connection,
+                                      connectionSupplier,
+                                      getDataParallelism(tables),
+                                      query,
+                                      tables,
+                                      operationOptions.isAlphabeticalSortForTableColumns(),
+                                      identifiers);
+  }
+
   private boolean isOutputFormatSupported()
   {
     final String outputFormatValue = outputOptions.getOutputFormatValue();
@@ -41,11 +41,96 @@ public final class OperationOptions
 {
 
   private final boolean isShowLobs;
+  private final int lobSizeLimit;
+  private final boolean isHashLobs;
+  private final DataExportFormat dataExportFormat;
+  private final boolean isCompressDataExport;
+  private final int dataParallelism;
+  private final boolean isUnorderedParallelOutput;
 
   protected OperationOptions(final OperationOptionsBuilder builder)
   {
     super(builder);
     isShowLobs = builder.isShowLobs;
+    lobSizeLimit = builder.lobSizeLimit;
+    isHashLobs = builder.isHashLobs;
+    dataExportFormat = builder.dataExportFormat;
+    isCompressDataExport = builder.isCompressDataExport;
+    dataParallelism = builder.dataParallelism;
+    isUnorderedParallelOutput = builder.isUnorderedParallelOutput;
+  }
+
+  /**
+   * Format for the bulk export of data, or none if data is formatted as text.
+   *
+   * @return Data export format
+   */
+  public DataExportFormat getDataExportFormat()
+  {
+    return dataExportFormat;
+  }
+
+  /**
+   * Number of connections to use for row counts and bulk exports of data,
+   * if additional connections are available.
+   *
+   * @return Number of parallel connections
+   */
+  public int getDataParallelism()
+  {
+    return dataParallelism;
+  }
+
+  /**
+   * Size limit for each LOB value that is shown, in bytes for binary data,
+   * and in characters for character data.
+   *
+   * @return Size limit for LOB values, or 0 for no limit
+   */
+  public int getLobSizeLimit()
+  {
+    return lobSizeLimit;
+  }
+
+  /**
+   * Whether to compress bulk exports of data with gzip.
+   *
+   * @return Whether to compress bulk exports of data
+   */
+  public boolean isCompressDataExport()
+  {
+    return isCompressDataExport;
+  }
+
+  /**
+   * Whether data is exported in bulk, instead of being formatted as text.
+   *
+   * @return Whether data is exported in bulk
+   */
+  public boolean isDataExport()
+  {
+    return dataExportFormat != DataExportFormat.none;
+  }
+
+  /**
+   * Whether output for tables processed in parallel is written in the order
+   * in which tables complete, rather than in the sort order of tables.
+   *
+   * @return Whether parallel output is unordered
+   */
+  public boolean isUnorderedParallelOutput()
+  {
+    return isUnorderedParallelOutput;
+  }
+
+  /**
+   * Whether to show a digest of LOB data instead of the data.
+   *
+   * @return Whether to show digests of LOB data
+   */
+  public boolean isHashLobs()
+  {
+    return isHashLobs;
   }
 
   /**
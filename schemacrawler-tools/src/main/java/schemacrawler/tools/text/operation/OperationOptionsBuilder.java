@@ -42,6 +42,18 @@ public final class OperationOptionsBuilder
 {
   private static final String SHOW_LOBS =
     SCHEMACRAWLER_FORMAT_PREFIX + "data.show_lobs";
+  private static final String LOB_SIZE_LIMIT =
+    SCHEMACRAWLER_FORMAT_PREFIX + "data.lob_size_limit";
+  private static final String HASH_LOBS =
+    SCHEMACRAWLER_FORMAT_PREFIX + "data.hash_lobs";
+  private static final String DATA_EXPORT_FORMAT =
+    SCHEMACRAWLER_FORMAT_PREFIX + "data.export_format";
+  private static final String COMPRESS_DATA_EXPORT =
+    SCHEMACRAWLER_FORMAT_PREFIX + "data.export_gzip";
+  private static final String DATA_PARALLELISM =
+    SCHEMACRAWLER_FORMAT_PREFIX + "data.parallelism";
+  private static final String UNORDERED_PARALLEL_OUTPUT =
+    SCHEMACRAWLER_FORMAT_PREFIX + "data.parallel_unordered_output";
 
   public static OperationOptionsBuilder builder()
   {
@@ -66,10 +78,37 @@ public final class OperationOptionsBuilder
   }
 
   protected boolean isShowLobs;
+  protected int lobSizeLimit;
+  protected boolean isHashLobs;
+  protected DataExportFormat dataExportFormat;
+  protected boolean isCompressDataExport;
+  protected int dataParallelism;
+  protected boolean isUnorderedParallelOutput;
 
   private OperationOptionsBuilder()
   {
     // Set default values, if any
+    dataExportFormat = DataExportFormat.none;
+    dataParallelism = 1;
+  }
+
+  public OperationOptionsBuilder compressDataExport()
+  {
+    return compressDataExport(true);
+  }
+
+  /**
+   * Compress bulk exports of data with gzip, or not. Compressed exports are
+   * always written to a file.
+   *
+   * @param value
+   *   Whether to compress bulk exports of data.
+   * @return Builder
+   */
+  public OperationOptionsBuilder compressDataExport(final boolean value)
+  {
+    isCompressDataExport = value;
+    return this;
   }
 
   @Override
@@ -83,6 +122,14 @@ public final class OperationOptionsBuilder
 
     final Config config = new Config(map);
     isShowLobs = config.getBooleanValue(SHOW_LOBS, false);
+    withLobSizeLimit(config.getIntegerValue(LOB_SIZE_LIMIT, 0));
+    isHashLobs = config.getBooleanValue(HASH_LOBS, false);
+    dataExportFormat =
+      config.getEnumValue(DATA_EXPORT_FORMAT, DataExportFormat.none);
+    isCompressDataExport = config.getBooleanValue(COMPRESS_DATA_EXPORT, false);
+    withDataParallelism(config.getIntegerValue(DATA_PARALLELISM, 1));
+    isUnorderedParallelOutput =
+      config.getBooleanValue(UNORDERED_PARALLEL_OUTPUT, false);
 
     return this;
   }
@@ -97,7 +144,33 @@ public final class OperationOptionsBuilder
     super.fromOptions(options);
 
     isShowLobs = options.isShowLobs();
+    lobSizeLimit = options.getLobSizeLimit();
+    isHashLobs = options.isHashLobs();
+    dataExportFormat = options.getDataExportFormat();
+    isCompressDataExport = options.isCompressDataExport();
+    dataParallelism = options.getDataParallelism();
+    isUnorderedParallelOutput = options.isUnorderedParallelOutput();
+
+    return this;
+  }
+
+  public OperationOptionsBuilder hashLobs()
+  {
+    return hashLobs(true);
+  }
 
+  /**
+   * Show a SHA-256 digest of LOB data instead of the data, or not. Digests
+   * are shown whether or not LOB data is shown, and LOBs are read to the
+   * end, whatever the size limit.
+   *
+   * @param value
+   *   Whether to show digests of LOB data.
+   * @return Builder
+   */
+  public OperationOptionsBuilder hashLobs(final boolean value)
+  {
+    isHashLobs = value;
     return this;
   }
 
@@ -124,13 +197,105 @@ public final class OperationOptionsBuilder
   {
     final Config config = super.toConfig();
     config.setBooleanValue(SHOW_LOBS, isShowLobs);
+    config.setStringValue(LOB_SIZE_LIMIT, String.valueOf(lobSizeLimit));
+    config.setBooleanValue(HASH_LOBS, isHashLobs);
+    config.setEnumValue(DATA_EXPORT_FORMAT, dataExportFormat);
+    config.setBooleanValue(COMPRESS_DATA_EXPORT, isCompressDataExport);
+    config.setStringValue(DATA_PARALLELISM, String.valueOf(dataParallelism));
+    config.setBooleanValue(UNORDERED_PARALLEL_OUTPUT,
+                           isUnorderedParallelOutput);
     return config;
   }
 
+  public OperationOptionsBuilder unorderedParallelOutput()
+  {
+    return unorderedParallelOutput(true);
+  }
+
+  /**
+   * Write the output for each table as soon as it is ready when tables are
+   * processed in parallel, or keep to the sort order of tables.
+   *
+   * @param value
+   *   Whether to write output in the order in which tables complete.
+   * @return Builder
+   */
+  public OperationOptionsBuilder unorderedParallelOutput(final boolean value)
+  {
+    isUnorderedParallelOutput = value;
+    return this;
+  }
+
   @Override
   public OperationOptions toOptions()
   {
     return new OperationOptions(this);
   }
 
+  /**
+   * Export data in bulk, in the given format, instead of formatting it as
+   * text.
+   *
+   * @param dataExportFormat
+   *   Data export format, or null to format data as text
+   * @return Builder
+   */
+  public OperationOptionsBuilder withDataExportFormat(final DataExportFormat dataExportFormat)
+  {
+    if (dataExportFormat == null)
+    {
+      this.dataExportFormat = DataExportFormat.none;
+    }
+    else
+    {
+      this.dataExportFormat = dataExportFormat;
+    }
+    return this;
+  }
+
+  /**
+   * Limits the LOB data that is shown for each value, in bytes for binary
+   * data, and in characters for character data. Values that are longer are
+   * cut short, and marked as truncated.
+   *
+   * @param lobSizeLimit
+   *   Size limit for each LOB value, or 0 for no limit
+   * @return Builder
+   */
+  public OperationOptionsBuilder withLobSizeLimit(final int lobSizeLimit)
+  {
+    if (lobSizeLimit < 0)
+    {
+      this.lobSizeLimit = 0;
+    }
+    else
+    {
+      this.lobSizeLimit = lobSizeLimit;
+    }
+    return this;
+  }
+
+  /**
+   * Spreads row counts and bulk exports of data across a number of
+   * connections, one table at a time. Additional connections are only
+   * available when the command is given a connection supplier, otherwise
+   * tables are processed one after the other on the command connection.
+   *
+   * @param dataParallelism
+   *   Number of connections to use, with 1 for serial processing
+   * @return Builder
+   */
+  public OperationOptionsBuilder withDataParallelism(final int dataParallelism)
+  {
+    if (dataParallelism < 1)
+    {
+      this.dataParallelism = 1;
+    }
+    else
+    {
+      this.dataParallelism = dataParallelism;
+    }
+    return this;
+  }
+
 }
@@ -0,0 +1,465 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstTable;
+import static sf.util.DatabaseUtility.checkConnection;
+import static sf.util.DatabaseUtility.createStatement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Runs a query against a list of tables over a number of connections, one
+ * table at a time on each connection. The first connection is the command
+ * connection, and the others are obtained from the connection supplier, and
+ * closed once there are no more tables to take. No connection supplier is
+ * needed if the command connection is the only one. Tables that cannot be run on
+ * one connection are taken by the others. An instance is used for a single
+ * run.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ParallelTableOperation
+{
+
+  @FunctionalInterface
+  private interface TableTask
+  {
+    /**
+     * Processes the results for a table.
+     *
+     * @return Number of rows processed
+     */
+    long process(int tableIndex, ResultSet results)
+      throws Exception;
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+    SchemaCrawlerLogger.getLogger(ParallelTableOperation.class.getName());
+
+  private static final long UNKNOWN_ROW_COUNT = -1;
+
+  private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
+  private final Query query;
+  private final List<? extends Table> tables;
+  private final boolean isAlphabeticalSortForTableColumns;
+  private final Identifiers identifiers;
+  private final int parallelism;
+
+  private final List<CompletableFuture<Boolean>> tablesDone;
+  private final AtomicInteger nextTable;
+  private final AtomicInteger tablesCompleted;
+  private final AtomicInteger liveWorkers;
+  private final AtomicLong rowsProcessed;
+
+  ParallelTableOperation(final Connection connection,
+                         final Supplier<Connection> connectionSupplier,
+                         final int parallelism,
+                         final Query query,
+                         final List<? extends Table> tables,
+                         final boolean isAlphabeticalSortForTableColumns,
+                         final Identifiers identifiers)
+  {
+    this.connection = requireNonNull(connection, "No connection provided");
+    this.query = requireNonNull(query, "No query provided");
+    this.tables = requireNonNull(tables, "No tables provided");
+    this.isAlphabeticalSortForTableColumns = isAlphabeticalSortForTableColumns;
+    this.identifiers = requireNonNull(identifiers, "No identifiers provided");
+    this.parallelism = Math.max(1, Math.min(parallelism, tables.size()));
+    if (this.parallelism > 1)
+    {
+      requireNonNull(connectionSupplier, "No connection supplier provided");
+    }
+    this.connectionSupplier = connectionSupplier;
+
+    tablesDone = new ArrayList<>(tables.size());
+    for (int i = 0; i < tables.size(); i++)
+    {
+      tablesDone.add(new CompletableFuture<>());
+    }
+    nextTable = new AtomicInteger();
+    tablesCompleted = new AtomicInteger();
+    liveWorkers = new AtomicInteger(this.parallelism);
+    rowsProcessed = new AtomicLong();
+  }
+
+  /**
+   * Runs an aggregate query, such as a count, for every table.
+   *
+   * @return Aggregate value for each table, in the order of the tables, or -1
+   *   for tables that could not be queried
+   */
+  long[] aggregate()
+  {
+    final AtomicLongArray aggregates = new AtomicLongArray(tables.size());
+    for (int i = 0; i < tables.size(); i++)
+    {
+      aggregates.set(i, UNKNOWN_ROW_COUNT);
+    }
+
+    final long start = System.nanoTime();
+    final ExecutorService executorService = start((tableIndex, results) -> {
+      long aggregate = 0;
+      if (results.next())
+      {
+        aggregate = results.getLong(1);
+      }
+      aggregates.set(tableIndex, aggregate);
+      return aggregate;
+    });
+    try
+    {
+      for (final CompletableFuture<Boolean> tableDone : tablesDone)
+      {
+        tableDone.join();
+      }
+    }
+    finally
+    {
+      stop(executorService);
+    }
+    logSummary(start);
+
+    final long[] values = new long[tables.size()];
+    for (int i = 0; i < tables.size(); i++)
+    {
+      values[i] = aggregates.get(i);
+    }
+    return values;
+  }
+
+  /**
+   * Exports the data for every table. Each table is exported to a part file
+   * of its own, and the calling thread copies the parts to the output as they
+   * become available, either in the order of the tables, or in the order in
+   * which they complete.
+   *
+   * @param operationOptions
+   *   Options for the export, including whether parts are copied to the
+   *   output as soon as they complete
+   * @param out
+   *   Output writer
+   */
+  void export(final OperationOptions operationOptions, final Writer out)
+    throws IOException
+  {
+    final DataExportFormat dataExportFormat =
+      operationOptions.getDataExportFormat();
+    final boolean isUnorderedOutput =
+      operationOptions.isUnorderedParallelOutput();
+    final Path partsDirectory =
+      Files.createTempDirectory("schemacrawler.data.");
+    final BlockingQueue<Integer> completedTables = new LinkedBlockingQueue<>();
+    for (int i = 0; i < tables.size(); i++)
+    {
+      final int tableIndex = i;
+      tablesDone
+        .get(i)
+        .thenRun(() -> completedTables.add(tableIndex));
+    }
+
+    final long start = System.nanoTime();
+    final ExecutorService executorService = start((tableIndex, results) -> {
+      final Path part = partFile(partsDirectory, tableIndex);
+      try (final Writer partWriter = Files.newBufferedWriter(part, UTF_8))
+      {
+        final DataExporter exporter =
+          new DataExporter(operationOptions, partWriter);
+        final long rowCount = exporter.export(results);
+        exporter.flush();
+        return rowCount;
+      }
+    });
+    try
+    {
+      final char[] buffer = new char[64 * 1024];
+      int partsCopied = 0;
+      for (int i = 0; i < tables.size(); i++)
+      {
+        final int tableIndex;
+        if (isUnorderedOutput)
+        {
+          tableIndex = completedTables.take();
+        }
+        else
+        {
+          tableIndex = i;
+        }
+        if (!tablesDone
+          .get(tableIndex)
+          .join())
+        {
+          continue;
+        }
+
+        final Path part = partFile(partsDirectory, tableIndex);
+        // Delimited formats separate the rows of each table with a blank
+        // line, as for a sequential export
+        if (partsCopied > 0 && dataExportFormat != DataExportFormat.jsonl)
+        {
+          out.write('\n');
+        }
+        try (final Reader partReader = Files.newBufferedReader(part, UTF_8))
+        {
+          int length;
+          while ((length = partReader.read(buffer)) != -1)
+          {
+            out.write(buffer, 0, length);
+          }
+        }
+        Files.delete(part);
+        partsCopied++;
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      Thread
+        .currentThread()
+        .interrupt();
+      throw new IOException("Interrupted exporting data", e);
+    }
+    finally
+    {
+      stop(executorService);
+      deleteParts(partsDirectory);
+    }
+    logSummary(start);
+  }
+
+  private void deleteParts(final Path partsDirectory)
+  {
+    for (int i = 0; i < tables.size(); i++)
+    {
+      try
+      {
+        Files.deleteIfExists(partFile(partsDirectory, i));
+      }
+      catch (final IOException e)
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Could not delete <%s>",
+                                    partFile(partsDirectory, i)),
+                   e);
+      }
+    }
+    try
+    {
+      Files.deleteIfExists(partsDirectory);
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not delete <%s>", partsDirectory),
+                 e);
+    }
+  }
+
+  private void logSummary(final long start)
+  {
+    final long elapsedMillis =
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    LOGGER.log(Level.INFO,
+               new StringFormat(
+                 "Processed %d rows from %d tables, over %d connections, in %d ms",
+                 rowsProcessed.get(),
+                 tablesCompleted.get(),
+                 parallelism,
+                 elapsedMillis));
+  }
+
+  private Path partFile(final Path partsDirectory, final int tableIndex)
+  {
+    return partsDirectory.resolve(tableIndex + ".part");
+  }
+
+  /**
+   * Processes tables on a connection, taking the next table that has not been
+   * taken by another connection, until there are none left.
+   */
+  private void process(final Connection connection, final TableTask task)
+    throws SQLException
+  {
+    try (final Statement statement = createStatement(connection))
+    {
+      int tableIndex;
+      while ((tableIndex = nextTable.getAndIncrement()) < tables.size())
+      {
+        final Table table = tables.get(tableIndex);
+        boolean isDone = false;
+        final long start = System.nanoTime();
+        try (
+          final ResultSet results = executeAgainstTable(query,
+                                                        statement,
+                                                        table,
+                                                        isAlphabeticalSortForTableColumns,
+                                                        identifiers)
+        )
+        {
+          final long rowCount = task.process(tableIndex, results);
+          isDone = true;
+
+          rowsProcessed.addAndGet(rowCount);
+          final long elapsedNanos = Math.max(1, System.nanoTime() - start);
+          LOGGER.log(Level.INFO,
+                     new StringFormat(
+                       "Processed <%s> (%d of %d tables), %d rows in %d ms, at %d rows per second",
+                       table,
+                       tablesCompleted.incrementAndGet(),
+                       tables.size(),
+                       rowCount,
+                       TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                       rowCount * TimeUnit.SECONDS.toNanos(1) / elapsedNanos));
+        }
+        catch (final Exception e)
+        {
+          LOGGER.log(Level.WARNING,
+                     new StringFormat("Bad operation for table <%s>", table),
+                     e);
+        }
+        finally
+        {
+          tablesDone
+            .get(tableIndex)
+            .complete(isDone);
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts a worker for each connection. The last worker to finish marks any
+   * tables that were never taken as not done, so that nothing waits on them,
+   * even if no connection could be used.
+   */
+  private ExecutorService start(final TableTask task)
+  {
+    LOGGER.log(Level.INFO,
+               new StringFormat("Running <%s> for %d tables, over %d connections",
+                                query.getName(),
+                                tables.size(),
+                                parallelism));
+
+    final ExecutorService executorService =
+      Executors.newFixedThreadPool(parallelism);
+    for (int i = 0; i < parallelism; i++)
+    {
+      final boolean isCommandConnection = i == 0;
+      executorService.submit(() -> {
+        try
+        {
+          if (isCommandConnection)
+          {
+            process(connection, task);
+          }
+          else
+          {
+            try (final Connection workerConnection = checkConnection(connectionSupplier.get()))
+            {
+              process(workerConnection, task);
+            }
+          }
+        }
+        catch (final SQLException | RuntimeException e)
+        {
+          // Tables not yet taken are taken by the other connections
+          LOGGER.log(Level.WARNING,
+                     "Could not process tables on a worker connection",
+                     e);
+        }
+        finally
+        {
+          if (liveWorkers.decrementAndGet() == 0)
+          {
+            for (final CompletableFuture<Boolean> tableDone : tablesDone)
+            {
+              tableDone.complete(false);
+            }
+          }
+        }
+      });
+    }
+    executorService.shutdown();
+    return executorService;
+  }
+
+  /**
+   * Stops handing out tables, and waits for the tables that are already being
+   * processed, so that no connections or part files are left behind.
+   */
+  private void stop(final ExecutorService executorService)
+  {
+    nextTable.set(tables.size());
+    try
+    {
+      while (!executorService.awaitTermination(1, TimeUnit.MINUTES))
+      {
+        LOGGER.log(Level.INFO, "Waiting for tables that are being processed");
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      executorService.shutdownNow();
+      Thread
+        .currentThread()
+        .interrupt();
+      LOGGER.log(Level.WARNING, "Interrupted processing tables", e);
+    }
+  }
+
+}
@@ -784,13 +784,14 @@ final class SchemaTextFormatter
     formattingHelper.writeWideRow(object.getRemarks(), "remarks");
   }
 
-  private void printRoutineParameters(final List<? extends RoutineParameter<?>> parameters)
+  private void printRoutineParameters(final List<? extends RoutineParameter<?>> parametersList)
   {
-    if (parameters.isEmpty())
+    if (parametersList.isEmpty())
     {
       return;
     }
 
+    final List<RoutineParameter<?>> parameters = new ArrayList<>(parametersList);
     parameters.sort(NamedObjectSort.getNamedObjectSort(options.isAlphabeticalSortForRoutineParameters()));
 
     for (final RoutineParameter<?> parameter : parameters)
@@ -911,14 +912,15 @@ final class SchemaTextFormatter
                                     "remarks");
   }
 
-  private void printTableColumns(final List<? extends Column> columns,
+  private void printTableColumns(final List<? extends Column> columnsList,
                                  final boolean extraDetails)
   {
-    if (columns.isEmpty())
+    if (columnsList.isEmpty())
     {
       return;
     }
 
+    final List<Column> columns = new ArrayList<>(columnsList);
     Collections.sort(columns,
                      NamedObjectSort.getNamedObjectSort(options.isAlphabeticalSortForTableColumns()));
 
@@ -143,6 +143,43 @@ public final class SchemaCrawlerUtility
     return catalog;
   }
 
+  /**
+   * Crawls a database incrementally, starting from a catalog from a previous
+   * crawl, and returns a catalog. Only tables that have changed since the
+   * previous crawl are crawled again. Unchanged tables are moved to the new
+   * catalog, so the previous catalog is left without tables.
+   *
+   * @param connection
+   *   Live database connection.
+   * @param schemaCrawlerOptions
+   *   Options.
+   * @param previousCatalog
+   *   Catalog from a previous crawl with the same options, which is consumed.
+   * @return Database catalog.
+   * @throws SchemaCrawlerException
+   *   On an exception.
+   */
+  public static Catalog getCatalog(final Connection connection,
+                                   final SchemaCrawlerOptions schemaCrawlerOptions,
+                                   final Catalog previousCatalog)
+    throws SchemaCrawlerException
+  {
+    checkConnection(connection);
+    if (LOGGER.isLoggable(Level.CONFIG))
+    {
+      LOGGER.log(Level.CONFIG, ObjectToString.toString(schemaCrawlerOptions));
+    }
+
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      matchSchemaRetrievalOptions(connection);
+    final SchemaCrawler schemaCrawler = new SchemaCrawler(connection,
+                                                          schemaRetrievalOptions,
+                                                          schemaCrawlerOptions);
+    final Catalog catalog = schemaCrawler.crawl(previousCatalog);
+
+    return catalog;
+  }
+
   /**
    * Obtains result-set metadata from a live result-set.
    *
@@ -0,0 +1,297 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.catalogloader.CachingCatalogLoader;
+import schemacrawler.tools.catalogloader.CatalogCache;
+import schemacrawler.tools.catalogloader.SchemaCrawlerCatalogLoader;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CatalogCacheTest
+{
+
+  private static Catalog loadCatalog(final Connection connection,
+                                     final CatalogCache catalogCache,
+                                     final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws Exception
+  {
+    return loadCatalog(connection,
+                       catalogCache,
+                       schemaRetrievalOptions(),
+                       schemaCrawlerOptions);
+  }
+
+  private static Catalog loadCatalog(final Connection connection,
+                                     final CatalogCache catalogCache,
+                                     final SchemaRetrievalOptions schemaRetrievalOptions,
+                                     final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws Exception
+  {
+    final CachingCatalogLoader catalogLoader =
+      new CachingCatalogLoader(new SchemaCrawlerCatalogLoader(), catalogCache);
+    catalogLoader.setConnection(connection);
+    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
+    catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    return catalogLoader.loadCatalog();
+  }
+
+  /**
+   * HSQLDB has no catalog fingerprint query, so provide one for the tests.
+   */
+  private static SchemaRetrievalOptions schemaRetrievalOptions()
+    throws Exception
+  {
+    final Map<String, String> informationSchemaViews = new HashMap<>();
+    informationSchemaViews.put(InformationSchemaKey.CATALOG_FINGERPRINT.getLookupKey(),
+                               "SELECT COUNT(*) AS OBJECT_COUNT "
+                               + "FROM INFORMATION_SCHEMA.TABLES");
+    return SchemaRetrievalOptionsBuilder
+      .builder(SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(loadHsqldbConfig()))
+      .withInformationSchemaViews(informationSchemaViews)
+      .toOptions();
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions(final String schemaPattern)
+  {
+    return SchemaCrawlerOptionsBuilder
+      .builder()
+      .includeSchemas(new RegularExpressionInclusionRule(schemaPattern))
+      .toOptions();
+  }
+
+  @Test
+  public void cacheHit(final Connection connection)
+    throws Exception
+  {
+    final CatalogCache catalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       Long.MAX_VALUE);
+
+    final Catalog catalog =
+      loadCatalog(connection, catalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(catalogCache.getMissCount(), is(1L));
+    assertThat(catalogCache.getHitCount(), is(0L));
+
+    final Catalog cachedCatalog =
+      loadCatalog(connection, catalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(catalogCache.getMissCount(), is(1L));
+    assertThat(catalogCache.getHitCount(), is(1L));
+    assertThat(cachedCatalog.getTables(), is(equalTo(catalog.getTables())));
+  }
+
+  @Test
+  public void cacheMissForDifferentOptions(final Connection connection)
+    throws Exception
+  {
+    final CatalogCache catalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       Long.MAX_VALUE);
+
+    loadCatalog(connection, catalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    loadCatalog(connection,
+                catalogCache,
+                SchemaCrawlerOptionsBuilder
+                  .builder()
+                  .includeSchemas(new RegularExpressionExclusionRule(".*\\.BOOKS"))
+                  .toOptions());
+    assertThat(catalogCache.getMissCount(), is(2L));
+    assertThat(catalogCache.getHitCount(), is(0L));
+  }
+
+  @Test
+  public void cacheMissForDifferentRetrievalOptions(final Connection connection)
+    throws Exception
+  {
+    final CatalogCache catalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       Long.MAX_VALUE);
+
+    final SchemaRetrievalOptions schemaRetrievalOptions = schemaRetrievalOptions();
+    // Not run, unless estimated row counts are requested
+    final Map<String, String> informationSchemaViews = new HashMap<>();
+    informationSchemaViews.put(InformationSchemaKey.TABLE_ROW_COUNTS.getLookupKey(),
+                               "SELECT NULL AS TABLE_CATALOG, NULL AS TABLE_SCHEMA, "
+                               + "NULL AS TABLE_NAME, NULL AS ROW_COUNT "
+                               + "FROM INFORMATION_SCHEMA.SYSTEM_SCHEMAS");
+    loadCatalog(connection, catalogCache, schemaRetrievalOptions, schemaCrawlerOptions(".*\\.BOOKS"));
+    loadCatalog(connection,
+                catalogCache,
+                SchemaRetrievalOptionsBuilder
+                  .builder(schemaRetrievalOptions)
+                  .withFetchSize(schemaRetrievalOptions.getFetchSize() + 1)
+                  .toOptions(),
+                schemaCrawlerOptions(".*\\.BOOKS"));
+    loadCatalog(connection,
+                catalogCache,
+                SchemaRetrievalOptionsBuilder
+                  .builder(schemaRetrievalOptions)
+                  .withInformationSchemaViews(informationSchemaViews)
+                  .toOptions(),
+                schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(catalogCache.getMissCount(), is(3L));
+    assertThat(catalogCache.getHitCount(), is(0L));
+
+    loadCatalog(connection, catalogCache, schemaRetrievalOptions, schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(catalogCache.getHitCount(), is(1L));
+  }
+
+  @Test
+  public void noCacheWithoutFingerprint(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+      SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(loadHsqldbConfig());
+
+    final CatalogCache catalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       Long.MAX_VALUE);
+    loadCatalog(connection, catalogCache, schemaRetrievalOptions, schemaCrawlerOptions(".*\\.BOOKS"));
+    loadCatalog(connection, catalogCache, schemaRetrievalOptions, schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(catalogCache.getMissCount(), is(0L));
+    assertThat(catalogCache.getHitCount(), is(0L));
+
+    final CatalogCache timeToLiveOnlyCatalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       Long.MAX_VALUE,
+                       true);
+    loadCatalog(connection,
+                timeToLiveOnlyCatalogCache,
+                schemaRetrievalOptions,
+                schemaCrawlerOptions(".*\\.BOOKS"));
+    loadCatalog(connection,
+                timeToLiveOnlyCatalogCache,
+                schemaRetrievalOptions,
+                schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(timeToLiveOnlyCatalogCache.getMissCount(), is(1L));
+    assertThat(timeToLiveOnlyCatalogCache.getHitCount(), is(1L));
+  }
+
+  @Test
+  public void noCacheForRowCounts(final Connection connection)
+    throws Exception
+  {
+    final CatalogCache catalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       Long.MAX_VALUE);
+
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions(".*\\.BOOKS");
+    loadCatalog(connection,
+                catalogCache,
+                SchemaCrawlerOptionsBuilder
+                  .builder()
+                  .fromOptions(schemaCrawlerOptions)
+                  .loadRowCounts()
+                  .toOptions());
+    loadCatalog(connection,
+                catalogCache,
+                SchemaCrawlerOptionsBuilder
+                  .builder()
+                  .fromOptions(schemaCrawlerOptions)
+                  .noEmptyTables()
+                  .toOptions());
+    assertThat(catalogCache.getMissCount(), is(0L));
+    assertThat(catalogCache.getHitCount(), is(0L));
+  }
+
+  @Test
+  public void cacheEviction(final Connection connection)
+    throws Exception
+  {
+    final CatalogCache expiringCatalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ZERO,
+                       Long.MAX_VALUE);
+    loadCatalog(connection, expiringCatalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    Thread.sleep(10);
+    loadCatalog(connection, expiringCatalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(expiringCatalogCache.getHitCount(), is(0L));
+    assertThat(expiringCatalogCache.getMissCount(), is(2L));
+
+    final CatalogCache smallCatalogCache =
+      new CatalogCache(Files.createTempDirectory("catalog_cache"),
+                       Duration.ofMinutes(5),
+                       0);
+    loadCatalog(connection, smallCatalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    loadCatalog(connection, smallCatalogCache, schemaCrawlerOptions(".*\\.BOOKS"));
+    assertThat(smallCatalogCache.getHitCount(), is(0L));
+    assertThat(smallCatalogCache.getMissCount(), is(2L));
+  }
+
+  @Test
+  public void catalogCacheFromConfig()
+  {
+    assertThat(CatalogCache.fromConfig(new Config()), is(Optional.empty()));
+
+    final Config config = new Config();
+    config.setStringValue(CatalogCache.CATALOG_CACHE_DIRECTORY, "catalog_cache");
+    final CatalogCache catalogCache = CatalogCache
+      .fromConfig(config)
+      .get();
+    assertThat(catalogCache, is(instanceOf(CatalogCache.class)));
+    assertThat(catalogCache.isTimeToLiveOnly(), is(false));
+
+    config.setBooleanValue(CatalogCache.CATALOG_CACHE_TIME_TO_LIVE_ONLY, true);
+    assertThat(CatalogCache
+                 .fromConfig(config)
+                 .get()
+                 .isTimeToLiveOnly(), is(true));
+  }
+
+}
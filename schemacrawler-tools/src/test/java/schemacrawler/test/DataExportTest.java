@@ -0,0 +1,215 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.text.operation.DataExportFormat;
+import schemacrawler.tools.text.operation.Operation;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class DataExportTest
+{
+
+  private static final int AUTHORS_ROW_COUNT = 20;
+
+  private static Supplier<Connection> connectionSupplier(final DatabaseConnectionInfo connectionInfo)
+  {
+    return () -> {
+      try
+      {
+        return DriverManager.getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+      }
+      catch (final SQLException e)
+      {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    };
+  }
+
+  @Test
+  public void exportCsv(final Connection connection)
+    throws Exception
+  {
+    final List<String> lines = export(connection, DataExportFormat.csv);
+
+    assertThat(lines.size(), is(AUTHORS_ROW_COUNT + 1));
+    assertThat(lines.get(0),
+               is("ID,FIRSTNAME,LASTNAME,ADDRESS1,ADDRESS2,CITY,STATE,POSTALCODE,COUNTRY"));
+  }
+
+  @Test
+  public void exportJsonLines(final Connection connection)
+    throws Exception
+  {
+    final List<String> lines = export(connection, DataExportFormat.jsonl);
+
+    assertThat(lines.size(), is(AUTHORS_ROW_COUNT));
+    for (final String line : lines)
+    {
+      assertThat(line, startsWith("{\"ID\":"));
+      assertThat(line, endsWith("}"));
+    }
+  }
+
+  @Test
+  public void exportTsv(final Connection connection)
+    throws Exception
+  {
+    final List<String> lines = export(connection, DataExportFormat.tsv);
+
+    assertThat(lines.size(), is(AUTHORS_ROW_COUNT + 1));
+    for (final String line : lines)
+    {
+      assertThat(line.split("\t", -1).length, is(9));
+    }
+  }
+
+  @Test
+  public void parallelCountsMatchSerialCounts(final Connection connection,
+                                              final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final OperationOptionsBuilder serialOptions = OperationOptionsBuilder.builder();
+    final List<String> serialLines =
+      execute(connection, null, Operation.count, ".*\\.BOOKS\\..*", serialOptions);
+
+    final OperationOptionsBuilder parallelOptions = OperationOptionsBuilder
+      .builder()
+      .withDataParallelism(3);
+    final List<String> parallelLines = execute(connection,
+                                               connectionSupplier(connectionInfo),
+                                               Operation.count,
+                                               ".*\\.BOOKS\\..*",
+                                               parallelOptions);
+
+    assertThat(parallelLines, is(equalTo(serialLines)));
+  }
+
+  @Test
+  public void parallelExportMatchesSerialExport(final Connection connection,
+                                                final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final OperationOptionsBuilder serialOptions = OperationOptionsBuilder
+      .builder()
+      .withDataExportFormat(DataExportFormat.csv);
+    final List<String> serialLines =
+      execute(connection, null, Operation.dump, ".*\\.BOOKS\\..*", serialOptions);
+    assertThat(serialLines.size(), is(greaterThan(AUTHORS_ROW_COUNT)));
+
+    final OperationOptionsBuilder parallelOptions = OperationOptionsBuilder
+      .builder()
+      .withDataExportFormat(DataExportFormat.csv)
+      .withDataParallelism(3);
+    final List<String> parallelLines = execute(connection,
+                                               connectionSupplier(connectionInfo),
+                                               Operation.dump,
+                                               ".*\\.BOOKS\\..*",
+                                               parallelOptions);
+    assertThat(parallelLines, is(equalTo(serialLines)));
+
+    final OperationOptionsBuilder unorderedOptions = OperationOptionsBuilder
+      .builder()
+      .withDataExportFormat(DataExportFormat.csv)
+      .withDataParallelism(3)
+      .unorderedParallelOutput();
+    final List<String> unorderedLines = execute(connection,
+                                                connectionSupplier(connectionInfo),
+                                                Operation.dump,
+                                                ".*\\.BOOKS\\..*",
+                                                unorderedOptions);
+    assertThat(unorderedLines, containsInAnyOrder(serialLines.toArray()));
+  }
+
+  private List<String> export(final Connection connection,
+                              final DataExportFormat dataExportFormat)
+    throws Exception
+  {
+    return execute(connection,
+                   null,
+                   Operation.dump,
+                   ".*\\.BOOKS\\.AUTHORS",
+                   OperationOptionsBuilder
+                     .builder()
+                     .withDataExportFormat(dataExportFormat));
+  }
+
+  private List<String> execute(final Connection connection,
+                               final Supplier<Connection> connectionSupplier,
+                               final Operation operation,
+                               final String tablesPattern,
+                               final OperationOptionsBuilder operationOptionsBuilder)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+      .includeTables(Pattern.compile(tablesPattern))
+      .toOptions();
+
+    final SchemaCrawlerExecutable executable =
+      new SchemaCrawlerExecutable(operation.name());
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setAdditionalConfiguration(operationOptionsBuilder.toConfig());
+    executable.setConnectionSupplier(connectionSupplier);
+
+    return Files.readAllLines(executableExecution(connection, executable),
+                              StandardCharsets.UTF_8);
+  }
+
+}
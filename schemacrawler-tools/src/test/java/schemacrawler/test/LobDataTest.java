@@ -0,0 +1,143 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.text.operation.DataExportFormat;
+import schemacrawler.tools.text.operation.Operation;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class LobDataTest
+{
+
+  private static final String COUPON_DATA =
+    "sollicitudin commodo ipsum. Suspendisse non";
+
+  private static String sha256(final String text)
+    throws Exception
+  {
+    final byte[] digest = MessageDigest
+      .getInstance("SHA-256")
+      .digest(text.getBytes(StandardCharsets.UTF_8));
+    final StringBuilder buffer = new StringBuilder("sha256:");
+    for (final byte digestByte : digest)
+    {
+      buffer.append(String.format("%02x", digestByte));
+    }
+    return buffer.toString();
+  }
+
+  @Test
+  public void exportTruncatedLobs(final Connection connection)
+    throws Exception
+  {
+    final List<String> lines = dump(connection,
+                                    OperationOptionsBuilder
+                                      .builder()
+                                      .withDataExportFormat(DataExportFormat.csv)
+                                      .showLobs()
+                                      .withLobSizeLimit(12));
+
+    assertThat(lines, hasItem(startsWith("1,\"sollicitudin<truncated>\"")));
+    assertThat(lines, hasItem(startsWith("5,,")));
+    assertThat(lines, not(hasItem(containsString(COUPON_DATA))));
+  }
+
+  @Test
+  public void hashLobs(final Connection connection)
+    throws Exception
+  {
+    final List<String> lines = dump(connection,
+                                    OperationOptionsBuilder
+                                      .builder()
+                                      .hashLobs()
+                                      .withLobSizeLimit(12));
+
+    assertThat(lines, hasItem(containsString(sha256(COUPON_DATA))));
+    assertThat(lines, not(hasItem(containsString(COUPON_DATA))));
+  }
+
+  @Test
+  public void showTruncatedLobs(final Connection connection)
+    throws Exception
+  {
+    final List<String> lines = dump(connection,
+                                    OperationOptionsBuilder
+                                      .builder()
+                                      .showLobs()
+                                      .withLobSizeLimit(12));
+
+    assertThat(lines, hasItem(containsString("sollicitudin<truncated>")));
+    assertThat(lines, hasItem(containsString("lectus ante <truncated>")));
+    assertThat(lines, not(hasItem(containsString(COUPON_DATA))));
+  }
+
+  private List<String> dump(final Connection connection,
+                            final OperationOptionsBuilder operationOptionsBuilder)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+      .includeTables(Pattern.compile(".*\\.BOOKS\\.COUPONS"))
+      .toOptions();
+
+    final SchemaCrawlerExecutable executable =
+      new SchemaCrawlerExecutable(Operation.dump.name());
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setAdditionalConfiguration(operationOptionsBuilder.toConfig());
+
+    return Files.readAllLines(executableExecution(connection, executable),
+                              StandardCharsets.UTF_8);
+  }
+
+}
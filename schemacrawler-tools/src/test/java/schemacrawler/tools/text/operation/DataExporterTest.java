@@ -0,0 +1,249 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class DataExporterTest
+{
+
+  @Test
+  public void exportBooleansAndSpecialNumbersAsCsv()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.csv, booleanResults()),
+               is("FLAG,RATIO\n"
+                  + "TRUE,NaN\n"
+                  + "FALSE,Infinity\n"
+                  + ",-Infinity\n"
+                  + "TRUE,\n"));
+  }
+
+  @Test
+  public void exportBooleansAndSpecialNumbersAsJsonLines()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.jsonl, booleanResults()),
+               is("{\"FLAG\":true,\"RATIO\":\"NaN\"}\n"
+                  + "{\"FLAG\":false,\"RATIO\":\"Infinity\"}\n"
+                  + "{\"FLAG\":null,\"RATIO\":\"-Infinity\"}\n"
+                  + "{\"FLAG\":true,\"RATIO\":null}\n"));
+  }
+
+  @Test
+  public void exportBooleansAndSpecialNumbersAsTsv()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.tsv, booleanResults()),
+               is("FLAG\tRATIO\n"
+                  + "TRUE\tNaN\n"
+                  + "FALSE\tInfinity\n"
+                  + "\\N\t-Infinity\n"
+                  + "TRUE\t\\N\n"));
+  }
+
+  @Test
+  public void exportDecimalsWithoutLeadingZeroAsCsv()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.csv, decimalResults()),
+               is("AMOUNT\n0.5\n-0.5\n1.25\n-3\nNaN\n\n"));
+  }
+
+  @Test
+  public void exportDecimalsWithoutLeadingZeroAsJsonLines()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.jsonl, decimalResults()),
+               is("{\"AMOUNT\":0.5}\n"
+                  + "{\"AMOUNT\":-0.5}\n"
+                  + "{\"AMOUNT\":1.25}\n"
+                  + "{\"AMOUNT\":-3}\n"
+                  + "{\"AMOUNT\":\"NaN\"}\n"
+                  + "{\"AMOUNT\":null}\n"));
+  }
+
+  @Test
+  public void exportTextAsCsv()
+    throws Exception
+  {
+    // RFC 4180 quoting, with an empty string quoted to tell it apart
+    // from a null
+    assertThat(export(DataExportFormat.csv,
+                      textResults("plain",
+                                  "a,b",
+                                  "say \"hi\"",
+                                  "line 1\nline 2",
+                                  "",
+                                  null)),
+               is("NAME\n"
+                  + "plain\n"
+                  + "\"a,b\"\n"
+                  + "\"say \"\"hi\"\"\"\n"
+                  + "\"line 1\nline 2\"\n"
+                  + "\"\"\n"
+                  + "\n"));
+  }
+
+  @Test
+  public void exportTextAsJsonLines()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.jsonl,
+                      textResults("say \"hi\"",
+                                  "back\\slash",
+                                  "tab\tnew\nline\r",
+                                  "bell\u0007 nul\u0000 esc\u001b",
+                                  "/",
+                                  "",
+                                  null)),
+               is("{\"NAME\":\"say \\\"hi\\\"\"}\n"
+                  + "{\"NAME\":\"back\\\\slash\"}\n"
+                  + "{\"NAME\":\"tab\\tnew\\nline\\r\"}\n"
+                  + "{\"NAME\":\"bell\\u0007 nul\\u0000 esc\\u001b\"}\n"
+                  + "{\"NAME\":\"/\"}\n"
+                  + "{\"NAME\":\"\"}\n"
+                  + "{\"NAME\":null}\n"));
+  }
+
+  @Test
+  public void exportTextAsTsv()
+    throws Exception
+  {
+    assertThat(export(DataExportFormat.tsv,
+                      textResults("tab\there",
+                                  "back\\slash",
+                                  "line 1\nline 2\r",
+                                  "\\N",
+                                  "a,b",
+                                  "",
+                                  null)),
+               is("NAME\n"
+                  + "tab\\there\n"
+                  + "back\\\\slash\n"
+                  + "line 1\\nline 2\\r\n"
+                  + "\\\\N\n"
+                  + "a,b\n"
+                  + "\n"
+                  + "\\N\n"));
+  }
+
+  /**
+   * Mocks results with a boolean column, and a floating point column
+   * with values that are not numbers in JSON.
+   */
+  private ResultSet booleanResults()
+    throws SQLException
+  {
+    final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnLabel(1)).thenReturn("FLAG");
+    when(metaData.getColumnType(1)).thenReturn(Types.BOOLEAN);
+    when(metaData.getColumnLabel(2)).thenReturn("RATIO");
+    when(metaData.getColumnType(2)).thenReturn(Types.DOUBLE);
+
+    final ResultSet results = mock(ResultSet.class);
+    when(results.getMetaData()).thenReturn(metaData);
+    when(results.next()).thenReturn(true, true, true, true, false);
+    when(results.getBoolean(1)).thenReturn(true, false, false, true);
+    when(results.wasNull()).thenReturn(false, false, true, false);
+    when(results.getString(2)).thenReturn("NaN", "Infinity", "-Infinity", null);
+    return results;
+  }
+
+  private String export(final DataExportFormat dataExportFormat,
+                        final ResultSet results)
+    throws Exception
+  {
+    final StringWriter writer = new StringWriter();
+    final DataExporter dataExporter = new DataExporter(OperationOptionsBuilder
+                                                         .builder()
+                                                         .withDataExportFormat(
+                                                           dataExportFormat)
+                                                         .toOptions(), writer);
+    dataExporter.export(results);
+    dataExporter.flush();
+    return writer.toString();
+  }
+
+  /**
+   * Mocks the results, since drivers such as the Oracle driver leave out the
+   * zero before the decimal point, but the test database does not.
+   */
+  private ResultSet decimalResults()
+    throws SQLException
+  {
+    final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(1);
+    when(metaData.getColumnLabel(1)).thenReturn("AMOUNT");
+    when(metaData.getColumnType(1)).thenReturn(Types.DECIMAL);
+
+    final ResultSet results = mock(ResultSet.class);
+    when(results.getMetaData()).thenReturn(metaData);
+    when(results.next()).thenReturn(true, true, true, true, true, true, false);
+    when(results.getString(1)).thenReturn(".5", "-.5", "1.25", "-3", "NaN", null);
+    return results;
+  }
+
+  private ResultSet textResults(final String... values)
+    throws SQLException
+  {
+    final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(1);
+    when(metaData.getColumnLabel(1)).thenReturn("NAME");
+    when(metaData.getColumnType(1)).thenReturn(Types.VARCHAR);
+
+    // One row for each value, then no more rows
+    final Boolean[] hasMoreRows = new Boolean[values.length];
+    Arrays.fill(hasMoreRows, true);
+    hasMoreRows[values.length - 1] = false;
+
+    final ResultSet results = mock(ResultSet.class);
+    when(results.getMetaData()).thenReturn(metaData);
+    when(results.next()).thenReturn(true, hasMoreRows);
+    when(results.getString(1)).thenReturn(values[0],
+                                          Arrays.copyOfRange(values,
+                                                             1,
+                                                             values.length));
+    return results;
+  }
+
+}